@@ -35,12 +35,14 @@ import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.net.ProxyRegisterer;
 import org.jabref.logic.os.OS;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.protectedterms.ProtectedTermsLoader;
 import org.jabref.logic.remote.RemotePreferences;
 import org.jabref.logic.remote.server.RemoteListenerServerManager;
 import org.jabref.logic.search.IndexManager;
 import org.jabref.logic.search.PostgreServer;
 import org.jabref.logic.util.BuildInfo;
+import org.jabref.logic.util.Directories;
 import org.jabref.logic.util.FallbackExceptionHandler;
 import org.jabref.logic.util.HeadlessExecutorService;
 import org.jabref.logic.util.TaskExecutor;
@@ -66,6 +68,8 @@ public class JabRefGUI extends Application {
 
     // AI Service handles chat messages etc. Therefore, it is tightly coupled to the GUI.
     private static AiService aiService;
+    // Shared by the fulltext index and the AI features
+    private static PdfTextCache pdfTextCache;
 
     private static FileUpdateMonitor fileUpdateMonitor;
     private static StateManager stateManager;
@@ -151,6 +155,8 @@ public class JabRefGUI extends Application {
         Injector.setModelOrService(ProtectedTermsLoader.class, new ProtectedTermsLoader(preferences.getProtectedTermsPreferences()));
 
         IndexManager.clearOldSearchIndices();
+        JabRefGUI.pdfTextCache = new PdfTextCache(Optional.of(Directories.getPdfTextCacheDirectory()));
+        Injector.setModelOrService(PdfTextCache.class, pdfTextCache);
 
         JabRefGUI.remoteListenerServerManager = new RemoteListenerServerManager();
         Injector.setModelOrService(RemoteListenerServerManager.class, remoteListenerServerManager);
@@ -185,6 +191,7 @@ public class JabRefGUI extends Application {
                 preferences.getFilePreferences(),
                 preferences.getCitationKeyPatternPreferences(),
                 dialogService,
+                pdfTextCache,
                 taskExecutor);
         Injector.setModelOrService(AiService.class, aiService);
     }
@@ -407,6 +414,9 @@ public class JabRefGUI extends Application {
         stopBackgroundTasks();
         LOGGER.trace("Shutting down thread pools");
         shutdownThreadPools();
+        // After the thread pools, because indexing and embedding tasks read from the cache until they are stopped
+        LOGGER.trace("Closing PDF text cache");
+        pdfTextCache.close();
         LOGGER.trace("Finished stop");
     }
 
@@ -60,6 +60,7 @@ import org.jabref.gui.util.OptionalObjectProperty;
 import org.jabref.gui.util.UiTaskExecutor;
 import org.jabref.logic.ai.AiService;
 import org.jabref.logic.citationstyle.CitationStyleCache;
+import org.jabref.logic.groups.GroupMembershipIndex;
 import org.jabref.logic.importer.FetcherClientException;
 import org.jabref.logic.importer.FetcherException;
 import org.jabref.logic.importer.FetcherServerException;
@@ -67,6 +68,7 @@ import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.pdf.FileAnnotationCache;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.search.IndexManager;
 import org.jabref.logic.search.PostgreServer;
 import org.jabref.logic.shared.DatabaseLocation;
@@ -203,6 +205,7 @@ public class LibraryTab extends Tab {
 
         bibDatabaseContext.getDatabase().registerListener(this);
         bibDatabaseContext.getMetaData().registerListener(this);
+        stateManager.setGroupMembershipIndex(bibDatabaseContext, new GroupMembershipIndex(bibDatabaseContext.getDatabase()));
 
         this.selectedGroupsProperty = new SimpleListProperty<>(stateManager.getSelectedGroups(bibDatabaseContext));
         this.tableModel = new MainTableDataModel(getBibDatabaseContext(), preferences, taskExecutor, getIndexManager(), selectedGroupsProperty(), searchQueryProperty, resultSizeProperty());
@@ -291,7 +294,7 @@ public class LibraryTab extends Tab {
     }
 
     public void createIndexManager() {
-        indexManager = new IndexManager(bibDatabaseContext, taskExecutor, preferences, Injector.instantiateModelOrService(PostgreServer.class));
+        indexManager = new IndexManager(bibDatabaseContext, taskExecutor, preferences, Injector.instantiateModelOrService(PostgreServer.class), Injector.instantiateModelOrService(PdfTextCache.class));
         stateManager.setIndexManager(bibDatabaseContext, indexManager);
     }
 
@@ -699,6 +702,7 @@ public class LibraryTab extends Tab {
 
         // clean up the groups map
         stateManager.clearSelectedGroups(bibDatabaseContext);
+        stateManager.removeGroupMembershipIndex(bibDatabaseContext);
     }
 
     /**
@@ -31,6 +31,7 @@ import org.jabref.gui.sidepane.SidePaneType;
 import org.jabref.gui.util.CustomLocalDragboard;
 import org.jabref.gui.util.DialogWindowState;
 import org.jabref.gui.util.OptionalObjectProperty;
+import org.jabref.logic.groups.GroupMembershipIndex;
 import org.jabref.logic.search.IndexManager;
 import org.jabref.logic.util.BackgroundTask;
 import org.jabref.model.database.BibDatabaseContext;
@@ -66,6 +67,7 @@ public class StateManager {
     private final ObservableList<BibEntry> selectedEntries = FXCollections.observableArrayList();
     private final ObservableMap<String, ObservableList<GroupTreeNode>> selectedGroups = FXCollections.observableHashMap();
     private final ObservableMap<String, IndexManager> indexManagers = FXCollections.observableHashMap();
+    private final ObservableMap<String, GroupMembershipIndex> groupMembershipIndexes = FXCollections.observableHashMap();
     private final OptionalObjectProperty<SearchQuery> activeSearchQuery = OptionalObjectProperty.empty();
     private final OptionalObjectProperty<SearchQuery> activeGlobalSearchQuery = OptionalObjectProperty.empty();
     private final StringProperty searchQueryProperty = new SimpleStringProperty();
@@ -146,6 +148,22 @@ public class StateManager {
         return Optional.ofNullable(indexManagers.get(database.getUid()));
     }
 
+    public void setGroupMembershipIndex(BibDatabaseContext database, GroupMembershipIndex groupMembershipIndex) {
+        removeGroupMembershipIndex(database);
+        groupMembershipIndexes.put(database.getUid(), groupMembershipIndex);
+    }
+
+    public Optional<GroupMembershipIndex> getGroupMembershipIndex(BibDatabaseContext database) {
+        return Optional.ofNullable(groupMembershipIndexes.get(database.getUid()));
+    }
+
+    public void removeGroupMembershipIndex(BibDatabaseContext database) {
+        GroupMembershipIndex groupMembershipIndex = groupMembershipIndexes.remove(database.getUid());
+        if (groupMembershipIndex != null) {
+            groupMembershipIndex.close();
+        }
+    }
+
     public Optional<BibDatabaseContext> getActiveDatabase() {
         return activeDatabase.get();
     }
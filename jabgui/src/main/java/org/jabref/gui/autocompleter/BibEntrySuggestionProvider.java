@@ -1,6 +1,7 @@
 package org.jabref.gui.autocompleter;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.jabref.logic.bibtex.comparator.EntryComparator;
@@ -17,10 +18,18 @@ import org.controlsfx.control.textfield.AutoCompletionBinding;
  */
 public class BibEntrySuggestionProvider extends SuggestionProvider<BibEntry> {
 
-    private final BibDatabase database;
+    private final SuggestionIndex<BibEntry> index;
 
     public BibEntrySuggestionProvider(BibDatabase database) {
-        this.database = database;
+        this(createIndex(database));
+    }
+
+    BibEntrySuggestionProvider(SuggestionIndex<BibEntry> index) {
+        this.index = index;
+    }
+
+    static SuggestionIndex<BibEntry> createIndex(BibDatabase database) {
+        return new SuggestionIndex<>(database, List.of(InternalField.KEY_FIELD), Stream::of, BibEntry::getCitationKey);
     }
 
     @Override
@@ -43,6 +52,6 @@ public class BibEntrySuggestionProvider extends SuggestionProvider<BibEntry> {
 
     @Override
     public Stream<BibEntry> getSource() {
-        return database.getEntries().parallelStream();
+        return index.getSuggestions();
     }
 }
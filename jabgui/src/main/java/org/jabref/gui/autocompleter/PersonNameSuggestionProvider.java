@@ -23,20 +23,33 @@ import org.controlsfx.control.textfield.AutoCompletionBinding;
 public class PersonNameSuggestionProvider extends SuggestionProvider<Author> {
 
     private final Collection<Field> fields;
-    private final BibDatabase database;
+    private final SuggestionIndex<Author> index;
 
     PersonNameSuggestionProvider(Field field, BibDatabase database) {
         this(List.of(Objects.requireNonNull(field)), database);
     }
 
     public PersonNameSuggestionProvider(Collection<Field> fields, BibDatabase database) {
+        this(fields, createIndex(fields, database));
+    }
+
+    PersonNameSuggestionProvider(Collection<Field> fields, SuggestionIndex<Author> index) {
         super();
 
         this.fields = Objects.requireNonNull(fields);
-        this.database = database;
+        this.index = index;
+    }
+
+    static SuggestionIndex<Author> createIndex(Collection<Field> fields, BibDatabase database) {
+        Objects.requireNonNull(fields);
+        return new SuggestionIndex<>(database, fields, entry -> getAuthors(fields, entry), Author::getNamePrefixAndFamilyName);
     }
 
     public Stream<Author> getAuthors(BibEntry entry) {
+        return getAuthors(fields, entry);
+    }
+
+    private static Stream<Author> getAuthors(Collection<Field> fields, BibEntry entry) {
         return entry.getFieldMap()
                     .entrySet()
                     .stream()
@@ -63,8 +76,6 @@ public class PersonNameSuggestionProvider extends SuggestionProvider<Author> {
 
     @Override
     public Stream<Author> getSource() {
-        return database.getEntries()
-                       .parallelStream()
-                       .flatMap(this::getAuthors);
+        return index.getSuggestions();
     }
 }
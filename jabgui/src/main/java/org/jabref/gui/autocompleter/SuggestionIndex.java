@@ -0,0 +1,129 @@
+package org.jabref.gui.autocompleter;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.Field;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Keeps the distinct suggestions of the entries of a library, so that a suggestion request does not need to go through all entries.
+ * <p>
+ * The suggestions are computed once and then updated on added and removed entries and on changes of the given fields.
+ * They are ordered by the number of entries containing them, so that requests limiting the number of suggestions return the most used ones.
+ *
+ * @param <T> the type of the suggestions
+ */
+class SuggestionIndex<T> {
+
+    private final BibDatabase database;
+    private final Collection<Field> fields;
+    private final Function<BibEntry, Stream<T>> suggestionsOfEntry;
+    private final Function<T, Object> suggestionKey;
+
+    // Key of the suggestion to the entries (by id) containing it, the first value being the suggestion
+    private final Map<Object, Map<String, T>> entriesBySuggestion = new HashMap<>();
+    private final Map<String, Set<Object>> suggestionsByEntry = new HashMap<>();
+    private boolean isInitialized;
+    private volatile List<T> suggestions;
+
+    /**
+     * @param fields             the fields the suggestions of an entry depend on
+     * @param suggestionsOfEntry returns the suggestions of an entry
+     * @param suggestionKey      returns the key identifying equivalent suggestions
+     */
+    SuggestionIndex(BibDatabase database, Collection<Field> fields, Function<BibEntry, Stream<T>> suggestionsOfEntry, Function<T, Object> suggestionKey) {
+        this.database = database;
+        this.fields = fields;
+        this.suggestionsOfEntry = suggestionsOfEntry;
+        this.suggestionKey = suggestionKey;
+        database.registerListener(this);
+    }
+
+    /**
+     * @return the distinct suggestions, the most frequent first
+     */
+    public Stream<T> getSuggestions() {
+        List<T> currentSuggestions = suggestions;
+        if (currentSuggestions == null) {
+            currentSuggestions = computeSuggestions();
+        }
+        return currentSuggestions.stream();
+    }
+
+    private synchronized List<T> computeSuggestions() {
+        if (!isInitialized) {
+            database.getEntries().forEach(this::add);
+            isInitialized = true;
+        }
+        suggestions = entriesBySuggestion.values().stream()
+                                         .sorted(Comparator.comparingInt(Map<String, T>::size).reversed())
+                                         .map(entries -> entries.values().iterator().next())
+                                         .toList();
+        return suggestions;
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesAddedEvent event) {
+        if (isInitialized) {
+            event.getBibEntries().forEach(this::add);
+            suggestions = null;
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesRemovedEvent event) {
+        if (isInitialized) {
+            event.getBibEntries().forEach(this::remove);
+            suggestions = null;
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent event) {
+        if (isInitialized && fields.contains(event.getField()) && database.containsEntryWithId(event.getBibEntry().getId())) {
+            remove(event.getBibEntry());
+            add(event.getBibEntry());
+            suggestions = null;
+        }
+    }
+
+    private void add(BibEntry entry) {
+        Map<Object, T> suggestionsOfThisEntry = suggestionsOfEntry.apply(entry)
+                                                                  .collect(Collectors.toMap(suggestionKey, suggestion -> suggestion, (first, _) -> first, LinkedHashMap::new));
+        if (suggestionsOfThisEntry.isEmpty()) {
+            return;
+        }
+        suggestionsByEntry.put(entry.getId(), suggestionsOfThisEntry.keySet());
+        suggestionsOfThisEntry.forEach((key, suggestion) ->
+                entriesBySuggestion.computeIfAbsent(key, _ -> new LinkedHashMap<>()).put(entry.getId(), suggestion));
+    }
+
+    private void remove(BibEntry entry) {
+        Set<Object> keys = suggestionsByEntry.remove(entry.getId());
+        if (keys == null) {
+            return;
+        }
+        for (Object key : keys) {
+            Map<String, T> entries = entriesBySuggestion.get(key);
+            entries.remove(entry.getId());
+            if (entries.isEmpty()) {
+                entriesBySuggestion.remove(key);
+            }
+        }
+    }
+}
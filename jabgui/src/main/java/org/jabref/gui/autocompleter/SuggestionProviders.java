@@ -1,9 +1,14 @@
 package org.jabref.gui.autocompleter;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.Author;
+import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldProperty;
 import org.jabref.model.entry.field.StandardField;
@@ -15,6 +20,12 @@ public class SuggestionProviders {
     private JournalAbbreviationRepository abbreviationRepository;
     private AutoCompletePreferences autoCompletePreferences;
 
+    // The indexes are shared by all providers of the same field, e.g., of the entry editors of different entries
+    private final Map<Field, SuggestionIndex<Author>> personNameIndexes = new HashMap<>();
+    private final Map<Field, SuggestionIndex<String>> fieldValueIndexes = new HashMap<>();
+    private final Map<Field, SuggestionIndex<String>> wordIndexes = new HashMap<>();
+    private SuggestionIndex<BibEntry> bibEntryIndex;
+
     public SuggestionProviders(BibDatabase database, JournalAbbreviationRepository abbreviationRepository, AutoCompletePreferences autoCompletePreferences) {
         this.database = database;
         this.abbreviationRepository = abbreviationRepository;
@@ -33,13 +44,17 @@ public class SuggestionProviders {
 
         Set<FieldProperty> fieldProperties = field.getProperties();
         if (fieldProperties.contains(FieldProperty.PERSON_NAMES)) {
-            return new PersonNameSuggestionProvider(field, database);
+            List<Field> fields = List.of(field);
+            return new PersonNameSuggestionProvider(fields, personNameIndexes.computeIfAbsent(field, _ -> PersonNameSuggestionProvider.createIndex(fields, database)));
         } else if (fieldProperties.contains(FieldProperty.SINGLE_ENTRY_LINK) || fieldProperties.contains(FieldProperty.MULTIPLE_ENTRY_LINK)) {
-            return new BibEntrySuggestionProvider(database);
+            if (bibEntryIndex == null) {
+                bibEntryIndex = BibEntrySuggestionProvider.createIndex(database);
+            }
+            return new BibEntrySuggestionProvider(bibEntryIndex);
         } else if (fieldProperties.contains(FieldProperty.JOURNAL_NAME) || StandardField.PUBLISHER == field) {
-            return new JournalsSuggestionProvider(field, database, abbreviationRepository);
+            return new JournalsSuggestionProvider(fieldValueIndexes.computeIfAbsent(field, _ -> FieldValueSuggestionProvider.createIndex(field, database)), abbreviationRepository);
         } else {
-            return new WordSuggestionProvider(field, database);
+            return new WordSuggestionProvider(wordIndexes.computeIfAbsent(field, _ -> WordSuggestionProvider.createIndex(field, database)));
         }
     }
 }
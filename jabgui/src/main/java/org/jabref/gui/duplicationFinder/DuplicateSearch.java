@@ -27,6 +27,7 @@ import org.jabref.gui.undo.NamedCompound;
 import org.jabref.gui.undo.UndoableInsertEntries;
 import org.jabref.gui.undo.UndoableRemoveEntries;
 import org.jabref.gui.util.UiTaskExecutor;
+import org.jabref.logic.database.DuplicateCandidateIndex;
 import org.jabref.logic.database.DuplicateCheck;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.util.BackgroundTask;
@@ -97,20 +98,21 @@ public class DuplicateSearch extends SimpleCommand {
     }
 
     private void searchPossibleDuplicates(List<BibEntry> entries, BibDatabaseMode databaseMode) {
-        for (int i = 0; i < (entries.size() - 1); i++) {
-            for (int j = i + 1; j < entries.size(); j++) {
+        DuplicateCheck duplicateCheck = new DuplicateCheck(entryTypesManager);
+        // Each entry is only compared with the plausible duplicates among the preceding entries
+        DuplicateCandidateIndex candidates = new DuplicateCandidateIndex(List.of());
+        for (BibEntry second : entries) {
+            for (BibEntry first : candidates.getCandidates(second)) {
                 if (Thread.interrupted()) {
                     return;
                 }
 
-                BibEntry first = entries.get(i);
-                BibEntry second = entries.get(j);
-
-                if (new DuplicateCheck(entryTypesManager).isDuplicate(first, second, databaseMode)) {
+                if (duplicateCheck.isDuplicate(first, second, databaseMode)) {
                     duplicates.add(Arrays.asList(first, second));
                     duplicateCountObservable.set(String.valueOf(duplicateCount.incrementAndGet()));
                 }
             }
+            candidates.add(second);
         }
         libraryAnalyzed.set(true);
     }
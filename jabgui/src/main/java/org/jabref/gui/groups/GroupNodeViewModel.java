@@ -3,6 +3,7 @@ package org.jabref.gui.groups;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javafx.beans.InvalidationListener;
@@ -28,6 +29,7 @@ import org.jabref.gui.util.CustomLocalDragboard;
 import org.jabref.gui.util.DroppingMouseLocation;
 import org.jabref.gui.util.UiTaskExecutor;
 import org.jabref.logic.groups.DefaultGroupsFactory;
+import org.jabref.logic.groups.GroupMembershipIndex;
 import org.jabref.logic.layout.format.LatexToUnicodeFormatter;
 import org.jabref.logic.util.BackgroundTask;
 import org.jabref.logic.util.TaskExecutor;
@@ -68,6 +70,8 @@ public class GroupNodeViewModel {
     private final GroupTreeNode groupNode;
     @ADR(38)
     private final ObservableSet<String> matchedEntries = FXCollections.observableSet();
+    // Keeps the matches of the group in the index, see GroupMembershipIndex
+    private Optional<GroupMembershipIndex.Membership> membership = Optional.empty();
     private final SimpleBooleanProperty hasChildren;
     private final SimpleBooleanProperty expandedProperty = new SimpleBooleanProperty();
     private final BooleanBinding anySelectedEntriesMatched;
@@ -79,6 +83,8 @@ public class GroupNodeViewModel {
     private final ObservableList<BibEntry> entriesList;
     @SuppressWarnings("FieldCanBeLocal")
     private final InvalidationListener onInvalidatedGroup = _ -> refreshGroup();
+    @SuppressWarnings("FieldCanBeLocal")
+    private final Consumer<String> onMembershipChanged = entryId -> UiTaskExecutor.runInJavaFXThread(() -> updateMatchedEntry(entryId));
 
     public GroupNodeViewModel(BibDatabaseContext databaseContext, StateManager stateManager, TaskExecutor taskExecutor, GroupTreeNode groupNode, CustomLocalDragboard localDragBoard, GuiPreferences preferences) {
         this.databaseContext = Objects.requireNonNull(databaseContext);
@@ -253,10 +259,11 @@ public class GroupNodeViewModel {
     /**
      * Gets invoked if an entry in the current database changes.
      *
-     * @implNote Search groups are updated in {@link SearchIndexListener}.
+     * @implNote Search groups are updated in {@link SearchIndexListener}. Groups kept by the {@link GroupMembershipIndex}
+     * are updated by its notifications, see {@link #updateMatchedEntry(String)}.
      */
     private void onDatabaseChanged(ListChangeListener.Change<? extends BibEntry> change) {
-        if (groupNode.getGroup() instanceof SearchGroup) {
+        if ((groupNode.getGroup() instanceof SearchGroup) || membership.isPresent()) {
             return;
         }
         while (change.next()) {
@@ -300,20 +307,42 @@ public class GroupNodeViewModel {
 
     private void updateMatchedEntries() {
         // We calculate the new hit value
-        // We could be more intelligent and try to figure out the new number of hits based on the entry change
-        // for example, a previously matched entry gets removed -> hits = hits - 1
         if (preferences.getGroupsPreferences().shouldDisplayGroupCount()) {
+            // The index keeps the matches of groups not depending on the search index, so that rebuilding the group tree does not search the library again
+            membership.ifPresent(previousMembership -> previousMembership.removeListener(onMembershipChanged));
+            membership = stateManager.getGroupMembershipIndex(databaseContext).flatMap(index -> index.getMembership(groupNode));
+            membership.ifPresent(currentMembership -> currentMembership.addListener(onMembershipChanged));
+            Optional<GroupMembershipIndex.Membership> currentMembership = membership;
             BackgroundTask
-                    .wrap(() -> groupNode.findMatches(databaseContext.getDatabase()))
-                    .onSuccess(entries -> {
+                    .wrap(() -> currentMembership.map(GroupMembershipIndex.Membership::getMatchedEntryIds)
+                                                 .orElseGet(() -> groupNode.findMatches(databaseContext.getDatabase()).stream()
+                                                                           .map(BibEntry::getId)
+                                                                           .collect(Collectors.toSet())))
+                    .onSuccess(entryIds -> {
                         matchedEntries.clear();
                         // ADR-0038
-                        entries.forEach(entry -> matchedEntries.add(entry.getId()));
+                        // Read again, as the notifications of changes made in the meantime may already be processed
+                        matchedEntries.addAll(currentMembership.map(GroupMembershipIndex.Membership::getMatchedEntryIds).orElse(entryIds));
                     })
                     .executeWith(taskExecutor);
         }
     }
 
+    /**
+     * Updates the given entry in the matched entries of a group kept by the {@link GroupMembershipIndex}.
+     */
+    private void updateMatchedEntry(String entryId) {
+        membership.ifPresent(currentMembership -> {
+            if (currentMembership.isMatched(entryId)) {
+                // ADR-0038
+                matchedEntries.add(entryId);
+            } else {
+                // ADR-0038
+                matchedEntries.remove(entryId);
+            }
+        });
+    }
+
     public GroupTreeNode addSubgroup(AbstractGroup subgroup) {
         return groupNode.addSubgroup(subgroup);
     }
@@ -1,10 +1,11 @@
 package org.jabref.gui.integrity;
 
-import java.util.ArrayList;
+import java.nio.charset.Charset;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Supplier;
 
-import javafx.collections.ObservableList;
+import javafx.collections.ListChangeListener;
 import javafx.concurrent.Task;
 
 import org.jabref.gui.DialogService;
@@ -13,12 +14,14 @@ import org.jabref.gui.StateManager;
 import org.jabref.gui.actions.SimpleCommand;
 import org.jabref.gui.preferences.GuiPreferences;
 import org.jabref.gui.util.UiTaskExecutor;
+import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
+import org.jabref.logic.citationkeypattern.GlobalCitationKeyPatterns;
 import org.jabref.logic.integrity.IntegrityCheck;
 import org.jabref.logic.integrity.IntegrityMessage;
 import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.model.database.BibDatabaseContext;
-import org.jabref.model.entry.BibEntry;
+import org.jabref.model.database.BibDatabaseMode;
 
 import static org.jabref.gui.actions.ActionHelper.needsDatabase;
 
@@ -31,6 +34,11 @@ public class IntegrityCheckAction extends SimpleCommand {
     private final StateManager stateManager;
     private final JournalAbbreviationRepository abbreviationRepository;
 
+    // The check of the last checked library. It is kept to check only changed entries when checking the same library again.
+    private IntegrityCheck lastCheck;
+    private BibDatabaseContext lastCheckedDatabase;
+    private CheckSettings lastCheckSettings;
+
     public IntegrityCheckAction(Supplier<LibraryTab> tabSupplier,
                                 GuiPreferences preferences,
                                 DialogService dialogService,
@@ -44,32 +52,25 @@ public class IntegrityCheckAction extends SimpleCommand {
         this.dialogService = dialogService;
         this.abbreviationRepository = abbreviationRepository;
         this.executable.bind(needsDatabase(this.stateManager));
+        this.stateManager.getOpenDatabases().addListener((ListChangeListener<BibDatabaseContext>) change -> {
+            while (change.next()) {
+                if (change.getRemoved().contains(lastCheckedDatabase)) {
+                    closeLastCheck();
+                }
+            }
+        });
     }
 
     @Override
     public void execute() {
         BibDatabaseContext database = stateManager.getActiveDatabase().orElseThrow(() -> new NullPointerException("Database null"));
-        IntegrityCheck check = new IntegrityCheck(database,
-                preferences.getFilePreferences(),
-                preferences.getCitationKeyPatternPreferences(),
-                abbreviationRepository,
-                preferences.getEntryEditorPreferences().shouldAllowIntegerEditionBibtex());
+        IntegrityCheck check = getIntegrityCheck(database);
 
         Task<List<IntegrityMessage>> task = new Task<>() {
             @Override
             protected List<IntegrityMessage> call() {
-                ObservableList<BibEntry> entries = database.getDatabase().getEntries();
-                List<IntegrityMessage> result = new ArrayList<>(check.checkDatabase(database.getDatabase()));
-                for (int i = 0; i < entries.size(); i++) {
-                    if (isCancelled()) {
-                        break;
-                    }
-
-                    BibEntry entry = entries.get(i);
-                    result.addAll(check.checkEntry(entry));
-                    updateProgress(i, entries.size());
-                }
-                return result;
+                int numberOfEntries = database.getDatabase().getEntryCount();
+                return check.check(this::isCancelled, checkedEntries -> updateProgress(checkedEntries, numberOfEntries));
             }
         };
         task.setOnSucceeded(value -> {
@@ -88,4 +89,54 @@ public class IntegrityCheckAction extends SimpleCommand {
                 task);
         taskExecutor.execute(task);
     }
+
+    /**
+     * Reuses the check of the last checked library if the library and the settings the checkers are configured with did not change
+     */
+    private IntegrityCheck getIntegrityCheck(BibDatabaseContext database) {
+        CheckSettings settings = new CheckSettings(database, preferences.getCitationKeyPatternPreferences(), preferences.getEntryEditorPreferences().shouldAllowIntegerEditionBibtex());
+        if ((lastCheck == null) || (lastCheckedDatabase != database) || !settings.equals(lastCheckSettings)) {
+            closeLastCheck();
+            lastCheck = new IntegrityCheck(database,
+                    preferences.getFilePreferences(),
+                    preferences.getCitationKeyPatternPreferences(),
+                    abbreviationRepository,
+                    settings.allowIntegerEdition());
+            lastCheckedDatabase = database;
+            lastCheckSettings = settings;
+        }
+        return lastCheck;
+    }
+
+    /**
+     * Drops the check of the last checked library, so that it neither listens to the library nor keeps it in memory
+     */
+    private void closeLastCheck() {
+        if (lastCheck != null) {
+            lastCheck.close();
+        }
+        lastCheck = null;
+        lastCheckedDatabase = null;
+        lastCheckSettings = null;
+    }
+
+    private record CheckSettings(BibDatabaseMode mode,
+                                 Optional<Charset> encoding,
+                                 GlobalCitationKeyPatterns keyPatterns,
+                                 CitationKeyPatternPreferences.KeySuffix keySuffix,
+                                 String keyPatternRegex,
+                                 String keyPatternReplacement,
+                                 String unwantedCharacters,
+                                 boolean allowIntegerEdition) {
+        CheckSettings(BibDatabaseContext database, CitationKeyPatternPreferences citationKeyPatternPreferences, boolean allowIntegerEdition) {
+            this(database.getMode(),
+                    database.getMetaData().getEncoding(),
+                    citationKeyPatternPreferences.getKeyPatterns(),
+                    citationKeyPatternPreferences.getKeySuffix(),
+                    citationKeyPatternPreferences.getKeyPatternRegex(),
+                    citationKeyPatternPreferences.getKeyPatternReplacement(),
+                    citationKeyPatternPreferences.getUnwantedCharacters(),
+                    allowIntegerEdition);
+        }
+    }
 }
@@ -1,7 +1,11 @@
 package org.jabref.gui.maintable;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.IntegerProperty;
@@ -22,6 +26,7 @@ import org.jabref.gui.util.OptionalObjectProperty;
 import org.jabref.logic.search.IndexManager;
 import org.jabref.logic.search.SearchPreferences;
 import org.jabref.logic.util.BackgroundTask;
+import org.jabref.logic.util.DelayTaskThrottler;
 import org.jabref.logic.util.TaskExecutor;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
@@ -192,6 +197,7 @@ public class MainTableDataModel {
         groupViewModeSubscription.unsubscribe();
 
         bibDatabaseContext.getDatabase().unregisterListener(indexUpdatedListener);
+        indexUpdatedListener.shutdown();
     }
 
     public SortedList<BibEntryTableViewModel> getEntriesFilteredAndSorted() {
@@ -210,37 +216,97 @@ public class MainTableDataModel {
         this.fieldValueFormatter.setValue(new MainTableFieldValueFormatter(nameDisplayPreferences, bibDatabaseContext));
     }
 
+    /**
+     * Matches entries changed in the index against the current search query and groups.
+     * <p>
+     * Changes in quick succession, such as a cleanup of all entries, are collected and matched together: The search query
+     * is run once for all collected entries, and the table is refiltered once.
+     */
     class SearchIndexListener {
+        // Delay in milliseconds to collect changes before matching the changed entries
+        private static final int REMATCH_DELAY = 200;
+        // For more changed entries, the search query is run for the whole library instead of restricting it to the ids of the changed entries
+        private static final int MAX_ENTRY_IDS_PER_QUERY = 100;
+
+        private final Set<String> changedEntryIds = ConcurrentHashMap.newKeySet();
+        private final DelayTaskThrottler rematchThrottler = taskExecutor.createThrottler(REMATCH_DELAY);
+
         @Subscribe
         public void listen(IndexAddedOrUpdatedEvent indexAddedOrUpdatedEvent) {
-            indexAddedOrUpdatedEvent.entries().forEach(entry -> BackgroundTask.wrap(() -> {
-                int index = bibDatabaseContext.getDatabase().indexOf(entry);
-                if (index >= 0) {
-                    BibEntryTableViewModel viewModel = entriesViewModel.get(index);
-                    boolean isFloatingMode = searchPreferences.getSearchDisplayMode() == SearchDisplayMode.FLOAT;
-                    boolean isMatched;
-                    if (searchQueryProperty.get().isPresent()) {
-                        SearchQuery searchQuery = searchQueryProperty.get().get();
-                        String newSearchExpression = "(" + ENTRY_ID + "= " + entry.getId() + ") AND (" + searchQuery.getSearchExpression() + ")";
-                        SearchQuery entryQuery = new SearchQuery(newSearchExpression, searchQuery.getSearchFlags());
-                        SearchResults results = indexManager.search(entryQuery);
-
-                        isMatched = results.isMatched(entry);
-                        viewModel.hasFullTextResultsProperty().set(results.hasFulltextResults(entry));
-                    } else {
-                        isMatched = true;
-                        viewModel.hasFullTextResultsProperty().set(false);
-                    }
-
-                    updateEntrySearchMatch(viewModel, isMatched, isFloatingMode);
-                    updateEntryGroupMatch(viewModel, groupsMatcher, groupsPreferences.getGroupViewMode().contains(GroupViewMode.INVERT), !groupsPreferences.getGroupViewMode().contains(GroupViewMode.FILTER));
-                }
-                return index;
-            }).onSuccess(index -> {
-                if (index >= 0) {
-                    FilteredListProxy.refilterListReflection(entriesFiltered, index, index + 1);
+            indexAddedOrUpdatedEvent.entries().forEach(entry -> changedEntryIds.add(entry.getId()));
+            synchronized (rematchThrottler) {
+                rematchThrottler.schedule(this::rematchChangedEntries);
+            }
+        }
+
+        /**
+         * Stops matching changed entries. Changes collected, but not matched yet, are dropped.
+         */
+        void shutdown() {
+            synchronized (rematchThrottler) {
+                rematchThrottler.shutdown();
+            }
+            changedEntryIds.clear();
+        }
+
+        private void rematchChangedEntries() {
+            Set<String> entryIds = new HashSet<>(changedEntryIds);
+            changedEntryIds.removeAll(entryIds);
+            if (entryIds.isEmpty()) {
+                return;
+            }
+
+            BackgroundTask.wrap(() -> rematchEntries(entryIds))
+                          .onSuccess(changedRange -> changedRange.ifPresent(range ->
+                                  FilteredListProxy.refilterListReflection(entriesFiltered, range.from(), range.to())))
+                          .executeWith(taskExecutor);
+        }
+
+        /**
+         * @return the range of the indices of the changed entries in the table, empty if no changed entry is in the table
+         */
+        private Optional<IndexRange> rematchEntries(Set<String> entryIds) {
+            Optional<SearchResults> results = searchQueryProperty.get().map(searchQuery -> indexManager.search(restrictToEntries(searchQuery, entryIds)));
+            boolean isFloatingMode = searchPreferences.getSearchDisplayMode() == SearchDisplayMode.FLOAT;
+            boolean isInvertMode = groupsPreferences.getGroupViewMode().contains(GroupViewMode.INVERT);
+            boolean isGroupFloatingMode = !groupsPreferences.getGroupViewMode().contains(GroupViewMode.FILTER);
+
+            int from = Integer.MAX_VALUE;
+            int to = -1;
+            // Copied, because the entries may be changed on the UI thread meanwhile
+            List<BibEntryTableViewModel> viewModels = List.copyOf(entriesViewModel);
+            for (int index = 0; index < viewModels.size(); index++) {
+                BibEntryTableViewModel viewModel = viewModels.get(index);
+                BibEntry entry = viewModel.getEntry();
+                if (!entryIds.contains(entry.getId())) {
+                    continue;
                 }
-            }).executeWith(taskExecutor));
+
+                boolean isMatched = results.map(searchResults -> searchResults.isMatched(entry)).orElse(true);
+                viewModel.hasFullTextResultsProperty().set(results.map(searchResults -> searchResults.hasFulltextResults(entry)).orElse(false));
+                updateEntrySearchMatch(viewModel, isMatched, isFloatingMode);
+                updateEntryGroupMatch(viewModel, groupsMatcher, isInvertMode, isGroupFloatingMode);
+
+                from = Math.min(from, index);
+                to = index + 1;
+            }
+
+            if (to < 0) {
+                return Optional.empty();
+            }
+            // The entries may have been removed meanwhile
+            return Optional.of(new IndexRange(from, Math.min(to, entriesViewModel.size())));
+        }
+
+        private static SearchQuery restrictToEntries(SearchQuery searchQuery, Set<String> entryIds) {
+            if (entryIds.size() > MAX_ENTRY_IDS_PER_QUERY) {
+                return searchQuery;
+            }
+            String entryIdExpression = entryIds.stream()
+                                               .map(entryId -> "(" + ENTRY_ID + "= " + entryId + ")")
+                                               .collect(Collectors.joining(" OR "));
+            String newSearchExpression = "(" + entryIdExpression + ") AND (" + searchQuery.getSearchExpression() + ")";
+            return new SearchQuery(newSearchExpression, searchQuery.getSearchFlags());
         }
 
         @Subscribe
@@ -0,0 +1,53 @@
+package org.jabref.gui.autocompleter;
+
+import java.util.List;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SuggestionIndexTest {
+
+    private final BibEntry first = new BibEntry().withField(StandardField.JOURNAL, "Nature");
+    private final BibEntry second = new BibEntry().withField(StandardField.JOURNAL, "Science");
+    private final BibEntry third = new BibEntry().withField(StandardField.JOURNAL, "Science");
+
+    private BibDatabase database;
+    private SuggestionIndex<String> index;
+
+    @BeforeEach
+    void setUp() {
+        database = new BibDatabase(List.of(first, second, third));
+        index = FieldValueSuggestionProvider.createIndex(StandardField.JOURNAL, database);
+    }
+
+    @Test
+    void mostFrequentSuggestionComesFirst() {
+        assertEquals(List.of("Science", "Nature"), index.getSuggestions().toList());
+    }
+
+    @Test
+    void updatesSuggestionsOnChangedField() {
+        index.getSuggestions();
+
+        second.setField(StandardField.JOURNAL, "Nature");
+        third.clearField(StandardField.JOURNAL);
+
+        assertEquals(List.of("Nature"), index.getSuggestions().toList());
+    }
+
+    @Test
+    void updatesSuggestionsOnAddedAndRemovedEntries() {
+        index.getSuggestions();
+
+        database.insertEntry(new BibEntry().withField(StandardField.JOURNAL, "Cell"));
+        database.removeEntries(List.of(second, third));
+
+        assertEquals(List.of("Nature", "Cell"), index.getSuggestions().toList());
+    }
+}
@@ -1,27 +1,52 @@
 package org.jabref.gui.maintable;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
 import javafx.beans.InvalidationListener;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleListProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
 
+import org.jabref.gui.groups.GroupViewMode;
+import org.jabref.gui.preferences.GuiPreferences;
+import org.jabref.gui.util.OptionalObjectProperty;
 import org.jabref.logic.bibtex.comparator.EntryComparator;
+import org.jabref.logic.search.IndexManager;
+import org.jabref.logic.util.CurrentThreadTaskExecutor;
+import org.jabref.logic.util.DelayTaskThrottler;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.search.SearchDisplayMode;
+import org.jabref.model.search.event.IndexAddedOrUpdatedEvent;
+import org.jabref.model.search.query.SearchQuery;
+import org.jabref.model.search.query.SearchResult;
+import org.jabref.model.search.query.SearchResults;
 
 import com.tobiasdiez.easybind.EasyBind;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 
+import static org.jabref.model.search.PostgreConstants.ENTRY_ID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class MainTableDataModelTest {
 
@@ -62,4 +87,107 @@ class MainTableDataModelTest {
         result = entriesFilteredAndSorted.stream().map(BibEntryTableViewModel::getEntry).toList();
         assertEquals(List.of(bibEntryAuthorT, bibEntryNothingToZ), result);
     }
+
+    @Test
+    void changedEntriesAreMatchedTogetherWithOneQueryRestrictedToTheirIds() {
+        BibEntry matchedEntry = new BibEntry().withField(StandardField.TITLE, "matched");
+        BibEntry otherEntry = new BibEntry().withField(StandardField.TITLE, "other");
+        BibEntry unchangedEntry = new BibEntry().withField(StandardField.TITLE, "unchanged");
+        SearchResults results = new SearchResults();
+        results.addSearchResult(matchedEntry.getId(), new SearchResult());
+        ThrottledSearchFixture fixture = new ThrottledSearchFixture(List.of(matchedEntry, otherEntry, unchangedEntry), results);
+
+        fixture.context.getDatabase().postEvent(new IndexAddedOrUpdatedEvent(List.of(matchedEntry)));
+        fixture.context.getDatabase().postEvent(new IndexAddedOrUpdatedEvent(List.of(otherEntry)));
+        verify(fixture.indexManager, never()).search(any());
+
+        fixture.runScheduledTask();
+
+        ArgumentCaptor<SearchQuery> query = ArgumentCaptor.forClass(SearchQuery.class);
+        verify(fixture.indexManager).search(query.capture());
+        String expression = query.getValue().getSearchExpression();
+        assertTrue(expression.contains("(" + ENTRY_ID + "= " + matchedEntry.getId() + ")"));
+        assertTrue(expression.contains("(" + ENTRY_ID + "= " + otherEntry.getId() + ")"));
+        assertTrue(expression.contains(" OR "));
+        assertTrue(expression.endsWith(" AND (title=matched)"));
+        assertTrue(fixture.model.getViewModelByIndex(0).get().isMatchedBySearch().get());
+        assertFalse(fixture.model.getViewModelByIndex(1).get().isMatchedBySearch().get());
+        // Not changed, thus not matched again
+        assertTrue(fixture.model.getViewModelByIndex(2).get().isMatchedBySearch().get());
+    }
+
+    @Test
+    void manyChangedEntriesAreMatchedWithTheFullQuery() {
+        List<BibEntry> entries = IntStream.range(0, 101)
+                                          .mapToObj(i -> new BibEntry().withCitationKey("key" + i))
+                                          .toList();
+        ThrottledSearchFixture fixture = new ThrottledSearchFixture(entries, new SearchResults());
+
+        fixture.context.getDatabase().postEvent(new IndexAddedOrUpdatedEvent(entries));
+        fixture.runScheduledTask();
+
+        ArgumentCaptor<SearchQuery> query = ArgumentCaptor.forClass(SearchQuery.class);
+        verify(fixture.indexManager).search(query.capture());
+        assertEquals("title=matched", query.getValue().getSearchExpression());
+        assertFalse(fixture.model.getViewModelByIndex(0).get().isMatchedBySearch().get());
+    }
+
+    @Test
+    void changesAreCollectedForTwoHundredMilliseconds() {
+        ThrottledSearchFixture fixture = new ThrottledSearchFixture(List.of(new BibEntry()), new SearchResults());
+
+        assertEquals(List.of(200), fixture.throttlerDelays);
+    }
+
+    /**
+     * A table model for the given entries with the search "title=matched", whose throttled tasks are only run on request
+     */
+    private static class ThrottledSearchFixture {
+        private final BibDatabaseContext context = new BibDatabaseContext();
+        private final IndexManager indexManager = mock(IndexManager.class);
+        private final List<Integer> throttlerDelays = new ArrayList<>();
+        private final List<Runnable> scheduledTasks = new ArrayList<>();
+        private final MainTableDataModel model;
+
+        ThrottledSearchFixture(List<BibEntry> entries, SearchResults results) {
+            context.getDatabase().insertEntries(entries);
+            when(indexManager.search(any())).thenReturn(results);
+
+            GuiPreferences preferences = mock(GuiPreferences.class, Answers.RETURNS_DEEP_STUBS);
+            when(preferences.getNameDisplayPreferences()).thenReturn(new NameDisplayPreferences(NameDisplayPreferences.DisplayStyle.AS_IS, NameDisplayPreferences.AbbreviationStyle.FULL));
+            when(preferences.getSearchPreferences().getSearchDisplayMode()).thenReturn(SearchDisplayMode.FILTER);
+            when(preferences.getGroupsPreferences().getGroupViewMode()).thenReturn(EnumSet.noneOf(GroupViewMode.class));
+
+            DelayTaskThrottler throttler = mock(DelayTaskThrottler.class);
+            when(throttler.schedule(any())).thenAnswer(invocation -> {
+                scheduledTasks.add(invocation.getArgument(0));
+                return null;
+            });
+            CurrentThreadTaskExecutor taskExecutor = new CurrentThreadTaskExecutor() {
+                @Override
+                public DelayTaskThrottler createThrottler(int delay) {
+                    throttlerDelays.add(delay);
+                    return throttler;
+                }
+            };
+
+            OptionalObjectProperty<SearchQuery> searchQueryProperty = OptionalObjectProperty.empty();
+            searchQueryProperty.set(Optional.of(new SearchQuery("title=matched")));
+            model = new MainTableDataModel(
+                    context,
+                    preferences,
+                    taskExecutor,
+                    indexManager,
+                    new SimpleListProperty<>(FXCollections.observableArrayList()),
+                    searchQueryProperty,
+                    new SimpleIntegerProperty());
+        }
+
+        /**
+         * Runs the task scheduled last, as the throttler cancels the ones scheduled before
+         */
+        void runScheduledTask() {
+            scheduledTasks.getLast().run();
+        }
+    }
 }
@@ -41,7 +41,7 @@ import static picocli.CommandLine.Option;
         subcommands = {
                 GenerateCitationKeys.class,
                 CheckConsistency.class,
-//                CheckIntegrity.class,
+                CheckIntegrity.class,
                 Fetch.class,
                 Search.class,
                 Convert.class,
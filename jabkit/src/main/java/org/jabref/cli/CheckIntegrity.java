@@ -1,17 +1,31 @@
 package org.jabref.cli;
 
 import java.io.File;
+import java.util.List;
+import java.util.Optional;
 
+import org.jabref.logic.importer.ParserResult;
+import org.jabref.logic.integrity.IntegrityCheck;
+import org.jabref.logic.integrity.IntegrityMessage;
+import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.preferences.CliPreferences;
+import org.jabref.model.database.BibDatabaseContext;
+
+import com.airhacks.afterburner.injection.Injector;
 
 import static picocli.CommandLine.Command;
 import static picocli.CommandLine.Mixin;
 import static picocli.CommandLine.Option;
 import static picocli.CommandLine.Parameters;
+import static picocli.CommandLine.ParentCommand;
 
 @Command(name = "check-integrity", description = "Check integrity of the database.")
 class CheckIntegrity implements Runnable {
 
+    @ParentCommand
+    private ArgumentProcessor argumentProcessor;
+
     @Mixin
     private ArgumentProcessor.SharedOptions sharedOptions = new ArgumentProcessor.SharedOptions();
 
@@ -26,11 +40,58 @@ class CheckIntegrity implements Runnable {
 
     @Override
     public void run() {
+        File input = inputOption != null ? inputOption : inputFile;
+        if (input == null) {
+            System.out.println(Localization.lang("Unable to open file '%0'.", ""));
+            return;
+        }
+
         if (!sharedOptions.porcelain) {
-            System.out.println(Localization.lang("Checking integrity of '%0'.", inputFile));
+            System.out.println(Localization.lang("Checking integrity of '%0'.", input));
             System.out.flush();
         }
 
-        // TODO: Implement integrity checking
+        CliPreferences cliPreferences = argumentProcessor.cliPreferences;
+        Optional<ParserResult> parserResult = ArgumentProcessor.importFile(
+                input.toPath(),
+                "bibtex",
+                cliPreferences,
+                sharedOptions.porcelain);
+        if (parserResult.isEmpty()) {
+            System.out.println(Localization.lang("Unable to open file '%0'.", input));
+            return;
+        }
+
+        if (parserResult.get().isInvalid()) {
+            System.out.println(Localization.lang("Input file '%0' is invalid and could not be parsed.", input));
+            return;
+        }
+
+        BibDatabaseContext databaseContext = parserResult.get().getDatabaseContext();
+        IntegrityCheck integrityCheck = new IntegrityCheck(
+                databaseContext,
+                cliPreferences.getFilePreferences(),
+                cliPreferences.getCitationKeyPatternPreferences(),
+                Injector.instantiateModelOrService(JournalAbbreviationRepository.class),
+                false);
+        List<IntegrityMessage> messages = integrityCheck.check();
+
+        if ("csv".equalsIgnoreCase(outputFormat)) {
+            System.out.println("citationkey,field,message");
+            messages.forEach(message -> System.out.println(String.join(",",
+                    toCsvValue(message.entry().getCitationKey().orElse("")),
+                    toCsvValue(message.field().getName()),
+                    toCsvValue(message.message()))));
+        } else {
+            messages.forEach(System.out::println);
+        }
+
+        if (messages.isEmpty() && !sharedOptions.porcelain) {
+            System.out.println(Localization.lang("No problems found."));
+        }
+    }
+
+    private static String toCsvValue(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
     }
 }
@@ -2,6 +2,7 @@ package org.jabref.cli;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,14 +11,17 @@ import org.jabref.logic.exporter.ExporterFactory;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.search.DatabaseSearcher;
 import org.jabref.logic.search.IndexManager;
 import org.jabref.logic.search.PostgreServer;
 import org.jabref.logic.search.SearchPreferences;
 import org.jabref.logic.util.CurrentThreadTaskExecutor;
+import org.jabref.logic.util.Directories;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.search.SearchFlags;
 import org.jabref.model.search.query.SearchQuery;
 
 import com.airhacks.afterburner.injection.Injector;
@@ -25,9 +29,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static picocli.CommandLine.Command;
+import static picocli.CommandLine.ITypeConverter;
 import static picocli.CommandLine.Mixin;
 import static picocli.CommandLine.Option;
 import static picocli.CommandLine.ParentCommand;
+import static picocli.CommandLine.TypeConversionException;
 
 @Command(name = "search", description = "Search in a library.")
 class Search implements Runnable {
@@ -51,6 +57,10 @@ class Search implements Runnable {
     @Option(names = {"--output-format"}, description = "Output format: bib, txt, etc.")
     private String outputFormat = "bibtex";
 
+    @Option(names = {"--search-backend"}, converter = SearchBackend.Converter.class,
+            description = "Search backend: in-memory or postgres. Only postgres searches the linked files. Default: postgres if the linked files are searched, otherwise in-memory.")
+    private SearchBackend searchBackend;
+
     @Override
     public void run() {
         Optional<ParserResult> parserResult = ArgumentProcessor.importFile(
@@ -68,25 +78,29 @@ class Search implements Runnable {
             return;
         }
 
-        PostgreServer postgreServer = new PostgreServer();
-        IndexManager.clearOldSearchIndices();
-
         SearchPreferences searchPreferences = argumentProcessor.cliPreferences.getSearchPreferences();
         SearchQuery searchQuery = new SearchQuery(query, searchPreferences.getSearchFlags());
 
         BibDatabaseContext databaseContext = parserResult.get().getDatabaseContext();
         List<BibEntry> matches;
-        try {
-            // extract current thread task executor from indexManager
-            matches = new DatabaseSearcher(searchQuery,
-                    databaseContext,
-                    new CurrentThreadTaskExecutor(),
-                    argumentProcessor.cliPreferences,
-                    postgreServer
-            ).getMatches();
-        } catch (IOException ex) {
-            LOGGER.error("Error occurred when searching", ex);
-            return;
+        if (getSearchBackend(searchQuery) == SearchBackend.POSTGRES) {
+            PostgreServer postgreServer = new PostgreServer();
+            IndexManager.clearOldSearchIndices();
+            try (PdfTextCache pdfTextCache = new PdfTextCache(Optional.of(Directories.getPdfTextCacheDirectory()))) {
+                // extract current thread task executor from indexManager
+                matches = new DatabaseSearcher(searchQuery,
+                        databaseContext,
+                        new CurrentThreadTaskExecutor(),
+                        argumentProcessor.cliPreferences,
+                        postgreServer,
+                        pdfTextCache
+                ).getMatches();
+            } catch (IOException ex) {
+                LOGGER.error("Error occurred when searching", ex);
+                return;
+            }
+        } else {
+            matches = new DatabaseSearcher(searchQuery, databaseContext, argumentProcessor.cliPreferences).getMatches();
         }
 
         // export matches
@@ -128,4 +142,38 @@ class Search implements Runnable {
             }
         }
     }
+
+    private SearchBackend getSearchBackend(SearchQuery searchQuery) {
+        if (searchBackend != null) {
+            return searchBackend;
+        }
+        // Only the PostgreSQL backend indexes the linked files
+        return searchQuery.getSearchFlags().contains(SearchFlags.FULLTEXT) ? SearchBackend.POSTGRES : SearchBackend.IN_MEMORY;
+    }
+
+    enum SearchBackend {
+        IN_MEMORY("in-memory"),
+        POSTGRES("postgres");
+
+        private final String name;
+
+        SearchBackend(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+        static class Converter implements ITypeConverter<SearchBackend> {
+            @Override
+            public SearchBackend convert(String value) {
+                return Arrays.stream(SearchBackend.values())
+                             .filter(backend -> backend.name.equalsIgnoreCase(value))
+                             .findFirst()
+                             .orElseThrow(() -> new TypeConversionException("expected one of " + Arrays.toString(SearchBackend.values()) + " but was '" + value + "'"));
+            }
+        }
+    }
 }
@@ -36,6 +36,7 @@ import org.mockito.Answers;
 import picocli.CommandLine;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -108,6 +109,17 @@ class ArgumentProcessorTest {
         BibEntryAssert.assertEquals(expectedEntries, outputBib, bibtexImporter);
     }
 
+    @Test
+    void searchRejectsUnknownBackend(@TempDir Path tempDir) throws URISyntaxException {
+        String originBibFile = Path.of(Objects.requireNonNull(ArgumentProcessorTest.class.getResource("origin.bib")).toURI()).toAbsolutePath().toString();
+        Path outputBib = tempDir.resolve("output.bib").toAbsolutePath();
+
+        List<String> args = List.of("search", "--query", "author=Einstein", "--input", originBibFile, "--output", outputBib.toString(), "--search-backend", "lucene");
+
+        assertEquals(CommandLine.ExitCode.USAGE, commandLine.execute(args.toArray(String[]::new)));
+        assertFalse(Files.exists(outputBib));
+    }
+
     @Test
     void convertBibtexToTableRefsAsBib(@TempDir Path tempDir) throws URISyntaxException {
         Path originBib = Path.of(Objects.requireNonNull(ArgumentProcessorTest.class.getResource("origin.bib")).toURI());
@@ -431,6 +431,8 @@ tasks.test {
 }
 
 jmh {
+    // Benchmarks use the test resources
+    includeTests = true
     warmupIterations = 5
     iterations = 10
     fork = 2
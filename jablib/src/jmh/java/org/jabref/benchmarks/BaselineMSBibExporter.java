@@ -0,0 +1,64 @@
+package org.jabref.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.jabref.logic.exporter.AtomicFileWriter;
+import org.jabref.logic.exporter.Exporter;
+import org.jabref.logic.exporter.SaveException;
+import org.jabref.logic.msbib.MSBibDatabase;
+import org.jabref.logic.util.StandardFileType;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+
+import org.w3c.dom.Document;
+
+/**
+ * Exports like {@code MSBibExporter} did before the export was streamed: the whole library is built as a DOM and then written
+ * with a {@link Transformer}. The DOM-based conversion of the entries does not exist anymore, thus the entries are written
+ * into the DOM with {@link MSBibDatabase#writeForExport}. Kept as the baseline of the XML export benchmark.
+ */
+public class BaselineMSBibExporter extends Exporter {
+
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+    public BaselineMSBibExporter() {
+        super("MSBib", "MS Office 2007", StandardFileType.XML);
+    }
+
+    @Override
+    public void export(BibDatabaseContext databaseContext, Path file, List<BibEntry> entries) throws SaveException {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        MSBibDatabase msBibDatabase = new MSBibDatabase(databaseContext.getDatabase(), entries);
+        try (AtomicFileWriter ps = new AtomicFileWriter(file, StandardCharsets.UTF_8)) {
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+            XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(new DOMResult(document));
+            msBibDatabase.writeForExport(writer);
+            writer.close();
+
+            Transformer trans = transformerFactory.newTransformer();
+            trans.setOutputProperty(OutputKeys.INDENT, "yes");
+            trans.transform(new DOMSource(document), new StreamResult(ps));
+        } catch (IOException | ParserConfigurationException | XMLStreamException | TransformerException e) {
+            throw new SaveException(e);
+        }
+    }
+}
@@ -1,46 +1,76 @@
 package org.jabref.benchmarks;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 
 import org.jabref.logic.bibtex.FieldPreferences;
+import org.jabref.logic.bibtex.comparator.BibDatabaseDiff;
+import org.jabref.logic.citationkeypattern.CitationKeyGenerator;
 import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
+import org.jabref.logic.citationkeypattern.CompiledBracketedPattern;
 import org.jabref.logic.exporter.BibDatabaseWriter;
 import org.jabref.logic.exporter.BibWriter;
 import org.jabref.logic.exporter.BibtexDatabaseWriter;
+import org.jabref.logic.exporter.Exporter;
+import org.jabref.logic.exporter.ExporterFactory;
 import org.jabref.logic.exporter.SelfContainedSaveConfiguration;
 import org.jabref.logic.formatter.bibtexfields.HtmlToLatexFormatter;
+import org.jabref.logic.importer.ImportException;
+import org.jabref.logic.importer.ImportFormatReader;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.importer.fileformat.BibtexParser;
+import org.jabref.logic.journals.Abbreviation;
+import org.jabref.logic.journals.JournalAbbreviationLoader;
+import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.logic.layout.format.HTMLChars;
 import org.jabref.logic.layout.format.LatexToUnicodeFormatter;
 import org.jabref.logic.os.OS;
 import org.jabref.logic.preferences.CliPreferences;
 import org.jabref.logic.preferences.JabRefCliPreferences;
+import org.jabref.logic.search.PostgreServer;
+import org.jabref.logic.search.indexing.BibFieldsIndexer;
+import org.jabref.logic.util.BackgroundTask;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.BibDatabaseMode;
 import org.jabref.model.database.BibDatabaseModeDetection;
+import org.jabref.model.entry.AuthorList;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryPreferences;
 import org.jabref.model.entry.BibEntryTypesManager;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.entry.field.UnknownField;
+import org.jabref.model.entry.types.StandardEntryType;
 import org.jabref.model.groups.GroupHierarchyType;
 import org.jabref.model.groups.KeywordGroup;
 import org.jabref.model.groups.WordKeywordGroup;
 import org.jabref.model.metadata.MetaData;
 import org.jabref.model.metadata.SaveOrder;
+import org.jabref.model.util.DummyFileUpdateMonitor;
 
 import com.airhacks.afterburner.injection.Injector;
 import org.mockito.Answers;
 import org.openjdk.jmh.Main;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
 
 import static org.mockito.Mockito.mock;
 
@@ -111,10 +141,28 @@ public class Benchmarks {
         return List.of();
     }
 
+    @State(Scope.Benchmark)
+    public static class PostgreServerState {
+        private PostgreServer postgreServer;
+
+        @Setup
+        public void startServer() {
+            postgreServer = new PostgreServer();
+        }
+
+        @TearDown
+        public void shutdownServer() {
+            postgreServer.shutdown();
+        }
+    }
+
     @Benchmark
-    public List<BibEntry> index() {
-        // TODO: Create Benchmark for LuceneIndexer
-        return List.of();
+    public String index(PostgreServerState state) {
+        BibFieldsIndexer indexer = new BibFieldsIndexer(new BibEntryPreferences(','), new BibDatabaseContext(database), state.postgreServer.getConnection());
+        indexer.updateOnStart(BackgroundTask.wrap(() -> {
+        }));
+        indexer.closeAndWait();
+        return indexer.getTable();
     }
 
     @Benchmark
@@ -146,6 +194,334 @@ public class Benchmarks {
         return group.containsAll(database.getEntries());
     }
 
+    @State(Scope.Benchmark)
+    public static class JournalAbbreviationRepositoryState {
+        private JournalAbbreviationRepository repository;
+
+        @Setup
+        public void loadRepository() {
+            repository = JournalAbbreviationLoader.loadBuiltInRepository();
+        }
+    }
+
+    @Benchmark
+    public Optional<Abbreviation> fuzzyJournalAbbreviationLookup(JournalAbbreviationRepositoryState state) {
+        // Misspelled "Physical Review Letters", thus not found by the exact lookups
+        return state.repository.get("Physical Reviw Leters");
+    }
+
+    @State(Scope.Benchmark)
+    public static class UnknownFormatFileState {
+        private static final int REPETITIONS = 1000;
+
+        // Test resources of several formats. The text formats consisting of a sequence of records are repeated to a large file.
+        @Param({
+                "BiblioscapeImporterTestJournalArticle.txt",
+                "CopacImporterTest1.txt",
+                "Endnote.entries.enw",
+                "EndnoteXmlImporterTestArticle.xml",
+                "InspecImportTest.txt",
+                "IsiImporterTest1.isi",
+                "MedlineImporterTestArticleID.xml",
+                "MedlinePlainImporterTestCompleteEntry.txt",
+                "MODSImporterTestModsCollection.xml",
+                "MsBibImporterTest4.xml",
+                "OvidImporterTest1.txt",
+                "RisImporterTest1.ris",
+                "CffImporterTestValid.cff",
+                "CitaviXmlImporterTest1.ctv6bak",
+                "MsBibImporterTest4.bib"
+        })
+        private String resource;
+
+        private Path file;
+        private ImportFormatReader importFormatReader;
+
+        @Setup
+        public void createFile() throws IOException {
+            file = Files.createTempFile("unknown-format", resource);
+            try (InputStream inputStream = Benchmarks.class.getResourceAsStream("/org/jabref/logic/importer/fileformat/" + resource)) {
+                byte[] content = inputStream.readAllBytes();
+                boolean isSequenceOfRecords = !(resource.endsWith(".xml") || resource.endsWith(".cff") || resource.endsWith(".ctv6bak"));
+                try (OutputStream outputStream = Files.newOutputStream(file)) {
+                    outputStream.write(content);
+                    for (int i = 1; isSequenceOfRecords && i < REPETITIONS; i++) {
+                        outputStream.write('\n');
+                        outputStream.write(content);
+                    }
+                }
+            }
+
+            CliPreferences preferences = JabRefCliPreferences.getInstance();
+            importFormatReader = new ImportFormatReader(
+                    preferences.getImporterPreferences(),
+                    preferences.getImportFormatPreferences(),
+                    preferences.getCitationKeyPatternPreferences(),
+                    new DummyFileUpdateMonitor());
+        }
+
+        @TearDown
+        public void deleteFile() throws IOException {
+            Files.delete(file);
+        }
+    }
+
+    @Benchmark
+    public ImportFormatReader.UnknownFormatImport importUnknownFormat(UnknownFormatFileState state) throws ImportException {
+        return state.importFormatReader.importUnknownFormat(state.file, new DummyFileUpdateMonitor());
+    }
+
+    @State(Scope.Benchmark)
+    public static class CitationKeyGeneratorState {
+        private static final int ENTRIES = 50_000;
+
+        private final BibDatabaseContext databaseContext = new BibDatabaseContext();
+        private CitationKeyGenerator citationKeyGenerator;
+
+        @Setup
+        public void createLibrary() {
+            // Few combinations of author and year, thus many keys get a suffix letter
+            Random random = new Random(42);
+            for (int i = 0; i < ENTRIES; i++) {
+                databaseContext.getDatabase().insertEntry(new BibEntry()
+                        .withField(StandardField.AUTHOR, "Firstname Lastname" + random.nextInt(1000))
+                        .withField(StandardField.YEAR, String.valueOf(2000 + random.nextInt(10)))
+                        .withField(StandardField.TITLE, "This is my title " + i));
+            }
+            citationKeyGenerator = new CitationKeyGenerator(databaseContext, JabRefCliPreferences.getInstance().getCitationKeyPatternPreferences());
+        }
+
+        @Setup(Level.Invocation)
+        public void clearKeys() {
+            databaseContext.getDatabase().getEntries().forEach(BibEntry::clearCiteKey);
+        }
+    }
+
+    @Benchmark
+    public BibDatabase regenerateCitationKeys(CitationKeyGeneratorState state) {
+        BibDatabase database = state.databaseContext.getDatabase();
+        database.getEntries().forEach(state.citationKeyGenerator::generateAndSetKey);
+        return database;
+    }
+
+    @State(Scope.Benchmark)
+    public static class BracketedPatternState {
+        private static final int ENTRIES = 10_000;
+        private static final String PATTERN = "[auth][year]_[shorttitle:lower]";
+
+        private final List<BibEntry> entries = new ArrayList<>();
+        private final CompiledBracketedPattern compiledPattern = CompiledBracketedPattern.compile(PATTERN);
+
+        @Setup
+        public void createEntries() {
+            Random random = new Random(42);
+            for (int i = 0; i < ENTRIES; i++) {
+                entries.add(new BibEntry(StandardEntryType.Article)
+                        .withField(StandardField.AUTHOR, "Firstname Lastname" + random.nextInt(1000) + " and Firstname Lastname" + random.nextInt(1000))
+                        .withField(StandardField.YEAR, String.valueOf(1950 + random.nextInt(75)))
+                        .withField(StandardField.TITLE, "On the Title " + random.nextInt() + " of a Paper about Topic " + i));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<String> expandPatternParsedPerEntry(BracketedPatternState state) {
+        return state.entries.stream()
+                            .map(entry -> BaselineBracketedPattern.expandBrackets(BracketedPatternState.PATTERN, ';', entry, null))
+                            .toList();
+    }
+
+    @Benchmark
+    public List<String> expandCompiledPattern(BracketedPatternState state) {
+        return state.entries.stream()
+                            .map(entry -> state.compiledPattern.expand(entry, ';', null))
+                            .toList();
+    }
+
+    @State(Scope.Benchmark)
+    public static class BibDatabaseDiffState {
+        private static final int ENTRIES = 40_000;
+
+        // Share of the entries affected by each kind of edit
+        @Param({"0.001", "0.01", "0.1"})
+        private double editRate;
+
+        private BibDatabaseContext originalDatabase;
+        private BibDatabaseContext changedDatabase;
+
+        @Setup
+        public void createEditedLibrary() {
+            Random random = new Random(42);
+            List<BibEntry> originalEntries = new ArrayList<>();
+            List<BibEntry> changedEntries = new ArrayList<>();
+            for (int i = 0; i < ENTRIES; i++) {
+                BibEntry entry = new BibEntry(StandardEntryType.Article)
+                        .withCitationKey("key" + i)
+                        .withField(StandardField.AUTHOR, "Firstname Lastname" + random.nextInt(1000) + " and Firstname Lastname" + random.nextInt(1000))
+                        .withField(StandardField.TITLE, "Title " + random.nextInt() + " about topic " + i)
+                        .withField(StandardField.JOURNAL, "Journal Title " + random.nextInt(100))
+                        .withField(StandardField.YEAR, String.valueOf(1950 + random.nextInt(75)));
+                originalEntries.add(entry);
+
+                BibEntry changedEntry = (BibEntry) entry.clone();
+                double edit = random.nextDouble();
+                if (edit < editRate) {
+                    // Deleted
+                    continue;
+                } else if (edit < (2 * editRate)) {
+                    changedEntry.setField(StandardField.PAGES, random.nextInt(100) + "--" + random.nextInt(100));
+                } else if (edit < (3 * editRate)) {
+                    changedEntry.setCitationKey("renamed" + i);
+                } else if (edit < (4 * editRate)) {
+                    changedEntry.setCitationKey("renamed" + i);
+                    changedEntry.setField(StandardField.YEAR, "2025");
+                }
+                changedEntries.add(changedEntry);
+
+                if (random.nextDouble() < editRate) {
+                    changedEntries.add(new BibEntry(StandardEntryType.Article)
+                            .withCitationKey("added" + i)
+                            .withField(StandardField.TITLE, "Added title " + random.nextInt()));
+                }
+            }
+            originalDatabase = new BibDatabaseContext(new BibDatabase(originalEntries));
+            changedDatabase = new BibDatabaseContext(new BibDatabase(changedEntries));
+        }
+    }
+
+    @Benchmark
+    public BibDatabaseDiff compareChangedLibrary(BibDatabaseDiffState state) {
+        return BibDatabaseDiff.compare(state.originalDatabase, state.changedDatabase);
+    }
+
+    @State(Scope.Benchmark)
+    public static class AuthorListCorpusState {
+        private static final int ENTRIES = 100_000;
+
+        // Author fields of a large library. Some fields occur several times, as in libraries with many entries of the same authors.
+        private final String[] authorFields = new String[ENTRIES];
+
+        @Setup
+        public void createCorpus() {
+            Random random = new Random(42);
+            for (int i = 0; i < ENTRIES; i++) {
+                int fieldNumber = random.nextInt(ENTRIES);
+                authorFields[i] = "Lastname" + fieldNumber + ", Firstname and von Lastname" + (fieldNumber % 997) + ", Jr., F. M. and {Institute " + (fieldNumber % 101) + "}";
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AuthorListCursorState {
+        // Each thread starts at a different position of the corpus
+        private int position = new Random().nextInt(AuthorListCorpusState.ENTRIES);
+
+        String next(AuthorListCorpusState corpus) {
+            position = (position + 1) % AuthorListCorpusState.ENTRIES;
+            return corpus.authorFields[position];
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AuthorList parseAuthorsSingleThread(AuthorListCorpusState corpus, AuthorListCursorState cursor) {
+        return AuthorList.parse(cursor.next(corpus));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public AuthorList parseAuthorsFourThreads(AuthorListCorpusState corpus, AuthorListCursorState cursor) {
+        return AuthorList.parse(cursor.next(corpus));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public AuthorList parseAuthorsAllThreads(AuthorListCorpusState corpus, AuthorListCursorState cursor) {
+        return AuthorList.parse(cursor.next(corpus));
+    }
+
+    @State(Scope.Benchmark)
+    public static class XmlExportState {
+        private static final int ENTRIES = 80_000;
+
+        @Param({"mods", "endnote", "MSBib"})
+        private String exporterId;
+
+        // "dom" uses the copies of the exporters before the export was streamed
+        @Param({"streaming", "dom"})
+        private String implementation;
+
+        private final BibDatabaseContext databaseContext = new BibDatabaseContext();
+        private Exporter exporter;
+        private Path file;
+
+        @Setup
+        public void createLibrary() throws IOException {
+            Random random = new Random(42);
+            for (int i = 0; i < ENTRIES; i++) {
+                databaseContext.getDatabase().insertEntry(new BibEntry(StandardEntryType.Article)
+                        .withCitationKey("key" + i)
+                        .withField(StandardField.AUTHOR, "Lastname" + random.nextInt(1000) + ", Firstname and Lastname" + random.nextInt(1000) + ", Firstname")
+                        .withField(StandardField.TITLE, "Title " + random.nextInt() + " about topic " + i)
+                        .withField(StandardField.JOURNAL, "Journal Title " + random.nextInt(100))
+                        .withField(StandardField.PAGES, random.nextInt(100) + "--" + random.nextInt(100))
+                        .withField(StandardField.KEYWORDS, "keyword" + random.nextInt(50) + ", keyword" + random.nextInt(50))
+                        .withField(StandardField.YEAR, String.valueOf(1950 + random.nextInt(75))));
+            }
+            exporter = "dom".equals(implementation) ? createBaselineExporter() : ExporterFactory.create(JabRefCliPreferences.getInstance()).getExporterByName(exporterId).orElseThrow();
+            file = Files.createTempFile("xml-export", ".xml");
+        }
+
+        private Exporter createBaselineExporter() {
+            return switch (exporterId) {
+                case "mods" -> new BaselineModsExporter();
+                case "endnote" -> new BaselineEndnoteXmlExporter(JabRefCliPreferences.getInstance().getBibEntryPreferences());
+                case "MSBib" -> new BaselineMSBibExporter();
+                default -> throw new IllegalArgumentException("No baseline exporter for " + exporterId);
+            };
+        }
+
+        @Setup(Level.Iteration)
+        public void resetPeakHeapUsage() {
+            // Starts each iteration without the garbage of the previous one, so that the peak is caused by the exports
+            System.gc();
+            getHeapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+
+        /**
+         * Prints the sum of the peak usages of the heap memory pools during the iteration. As the pools reach their peaks at
+         * different times, this is an upper bound of the peak heap usage.
+         */
+        @TearDown(Level.Iteration)
+        public void printPeakHeapUsage() {
+            long peakBytes = getHeapPools().stream()
+                                           .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                                           .sum();
+            System.out.printf("%nPeak heap usage of %s (%s): %d MB%n", exporterId, implementation, peakBytes / (1024 * 1024));
+        }
+
+        private static List<MemoryPoolMXBean> getHeapPools() {
+            return ManagementFactory.getMemoryPoolMXBeans().stream()
+                                    .filter(pool -> pool.getType() == MemoryType.HEAP)
+                                    .toList();
+        }
+
+        @TearDown
+        public void deleteFile() throws IOException {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Compares the exports with the copies of the DOM-based exporters. Prints the peak heap usage of each iteration; run with
+     * <code>-prof gc</code> to compare the allocations per export as well.
+     */
+    @Benchmark
+    public Path exportXml(XmlExportState state) throws Exception {
+        state.exporter.export(state.databaseContext, state.file, state.databaseContext.getDatabase().getEntries());
+        return state.file;
+    }
+
     public static void main(String[] args) throws IOException {
         Main.main(args);
     }
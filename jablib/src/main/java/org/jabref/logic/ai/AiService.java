@@ -19,6 +19,7 @@ import org.jabref.logic.ai.summarization.SummariesService;
 import org.jabref.logic.ai.summarization.storages.MVStoreSummariesStorage;
 import org.jabref.logic.ai.templates.TemplatesService;
 import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.util.Directories;
 import org.jabref.logic.util.NotificationService;
 import org.jabref.logic.util.TaskExecutor;
@@ -64,6 +65,7 @@ public class AiService implements AutoCloseable {
                      FilePreferences filePreferences,
                      CitationKeyPatternPreferences citationKeyPatternPreferences,
                      NotificationService notificationService,
+                     PdfTextCache pdfTextCache,
                      TaskExecutor taskExecutor
     ) {
 
@@ -86,6 +88,7 @@ public class AiService implements AutoCloseable {
                 mvStoreEmbeddingStore,
                 mvStoreFullyIngestedDocumentsTracker,
                 filePreferences,
+                pdfTextCache,
                 taskExecutor
         );
 
@@ -96,6 +99,7 @@ public class AiService implements AutoCloseable {
                 templatesService,
                 shutdownSignal,
                 filePreferences,
+                pdfTextCache,
                 taskExecutor
         );
     }
@@ -0,0 +1,280 @@
+package org.jabref.logic.ai.ingestion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An inverted file index (IVF) for approximate nearest neighbour search in {@link MVStoreEmbeddingStore}.
+ * <p>
+ * The embeddings are partitioned into clusters by spherical k-means. A search compares the query with the centroids only and
+ * considers the embeddings of the closest clusters. The centroids and the cluster of each embedding are stored in the
+ * {@link MVStore} of the embedding store. Additions and removals update the clusters; the centroids stay until the index is trained again.
+ * <p>
+ * The index is trained as soon as the store holds {@link #MIN_EMBEDDINGS_FOR_TRAINING} embeddings and again whenever the store
+ * grew to four times the size the clusters were made for. The training runs in the background: the current clusters (if any) are
+ * used until the new ones replace them, and changes made meanwhile are applied to the new clusters.
+ */
+class EmbeddingClusterIndex {
+    static final int MIN_EMBEDDINGS_FOR_TRAINING = 4096;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddingClusterIndex.class);
+
+    private static final String CENTROIDS_MAP_NAME = "embeddingsIndexCentroids";
+    private static final String CLUSTERS_MAP_NAME = "embeddingsIndexClusters";
+
+    private static final int MAX_CLUSTERS = 1024;
+    private static final int TRAINING_SAMPLES_PER_CLUSTER = 32;
+    private static final int TRAINING_ITERATIONS = 5;
+    private static final int MIN_CLUSTERS_TO_PROBE = 8;
+
+    private final MVMap<Integer, float[]> centroidsMap;
+    private final MVMap<String, Integer> clusterOfEmbedding;
+    private final Map<Integer, Set<String>> embeddingsOfCluster = new ConcurrentHashMap<>();
+
+    // Changes while a training runs, applied to its clusters. Guarded by this.
+    private final Map<String, float[]> addedDuringTraining = new HashMap<>();
+    private final Set<String> removedDuringTraining = new HashSet<>();
+    private boolean isTraining;
+    // Incremented when the index is cleared, so that a running training does not restore removed embeddings
+    private int clearCount;
+    private volatile boolean isClosed;
+
+    // Normalized. Empty as long as the index is not trained.
+    private volatile List<float[]> centroids;
+
+    EmbeddingClusterIndex(MVStore mvStore) {
+        this.centroidsMap = mvStore.openMap(CENTROIDS_MAP_NAME);
+        this.clusterOfEmbedding = mvStore.openMap(CLUSTERS_MAP_NAME);
+
+        // Keys are 0 to k - 1, iterated in ascending order
+        this.centroids = List.copyOf(centroidsMap.values());
+        clusterOfEmbedding.forEach((id, cluster) -> getEmbeddingsOfCluster(cluster).add(id));
+    }
+
+    boolean isTrained() {
+        return !centroids.isEmpty();
+    }
+
+    boolean needsTraining(int embeddingsCount) {
+        int clusterCount = centroids.size();
+        if (clusterCount == 0) {
+            return embeddingsCount >= MIN_EMBEDDINGS_FOR_TRAINING;
+        }
+        return clusterCount < MAX_CLUSTERS && embeddingsCount > 4 * clusterCount * clusterCount;
+    }
+
+    /**
+     * Computes the clusters of the given embeddings from scratch. The current clusters are replaced as soon as the new ones are ready.
+     *
+     * @param ids     the ids of all embeddings of the store
+     * @param vectors returns the vector of an embedding, null if the embedding was removed meanwhile
+     */
+    void train(List<String> ids, Function<String, float[]> vectors) {
+        int clearCountAtStart;
+        synchronized (this) {
+            isTraining = true;
+            clearCountAtStart = clearCount;
+        }
+        try {
+            List<float[]> newCentroids = computeCentroids(ids, vectors);
+            if (isClosed || newCentroids.isEmpty()) {
+                return;
+            }
+
+            Map<String, Integer> newClusterOfEmbedding = new ConcurrentHashMap<>();
+            ids.parallelStream().forEach(id -> {
+                float[] vector = vectors.apply(id);
+                if (vector != null) {
+                    newClusterOfEmbedding.put(id, nearestCentroid(newCentroids, normalize(vector)));
+                }
+            });
+
+            synchronized (this) {
+                if (isClosed || clearCount != clearCountAtStart) {
+                    return;
+                }
+                clearClusters();
+                centroids = List.copyOf(newCentroids);
+                IntStream.range(0, newCentroids.size()).forEach(cluster -> centroidsMap.put(cluster, newCentroids.get(cluster)));
+                removedDuringTraining.forEach(newClusterOfEmbedding::remove);
+                newClusterOfEmbedding.forEach(this::assign);
+                addedDuringTraining.forEach(this::assign);
+            }
+        } finally {
+            synchronized (this) {
+                isTraining = false;
+                addedDuringTraining.clear();
+                removedDuringTraining.clear();
+            }
+        }
+    }
+
+    private List<float[]> computeCentroids(List<String> ids, Function<String, float[]> vectors) {
+        int clusterCount = Math.clamp(Math.round(Math.sqrt(ids.size())), 1, MAX_CLUSTERS);
+        LOGGER.debug("Training embeddings index with {} clusters for {} embeddings", clusterCount, ids.size());
+
+        List<String> shuffledIds = new ArrayList<>(ids);
+        Collections.shuffle(shuffledIds, new Random(ids.size()));
+        List<float[]> samples = shuffledIds.stream()
+                                           .map(vectors)
+                                           .filter(Objects::nonNull)
+                                           .limit((long) clusterCount * TRAINING_SAMPLES_PER_CLUSTER)
+                                           .map(EmbeddingClusterIndex::normalize)
+                                           .toList();
+
+        List<float[]> newCentroids = new ArrayList<>(samples.subList(0, Math.min(clusterCount, samples.size())));
+        for (int iteration = 0; iteration < TRAINING_ITERATIONS && !isClosed; iteration++) {
+            List<float[]> currentCentroids = List.copyOf(newCentroids);
+            int[] clusterOfSample = samples.parallelStream().mapToInt(sample -> nearestCentroid(currentCentroids, sample)).toArray();
+
+            float[][] sums = new float[currentCentroids.size()][];
+            for (int i = 0; i < samples.size(); i++) {
+                int cluster = clusterOfSample[i];
+                if (sums[cluster] == null) {
+                    sums[cluster] = new float[samples.get(i).length];
+                }
+                add(sums[cluster], samples.get(i));
+            }
+            for (int cluster = 0; cluster < sums.length; cluster++) {
+                // A cluster without samples keeps its centroid
+                if (sums[cluster] != null) {
+                    newCentroids.set(cluster, normalize(sums[cluster]));
+                }
+            }
+        }
+        return newCentroids;
+    }
+
+    synchronized void add(String id, float[] vector) {
+        if (isTraining) {
+            addedDuringTraining.put(id, vector);
+            removedDuringTraining.remove(id);
+        }
+        if (isTrained()) {
+            assign(id, vector);
+        }
+    }
+
+    private void assign(String id, float[] vector) {
+        assign(id, nearestCentroid(centroids, normalize(vector)));
+    }
+
+    private void assign(String id, int cluster) {
+        clusterOfEmbedding.put(id, cluster);
+        getEmbeddingsOfCluster(cluster).add(id);
+    }
+
+    synchronized void remove(String id) {
+        if (isTraining) {
+            removedDuringTraining.add(id);
+            addedDuringTraining.remove(id);
+        }
+        Integer cluster = clusterOfEmbedding.remove(id);
+        if (cluster != null) {
+            getEmbeddingsOfCluster(cluster).remove(id);
+        }
+    }
+
+    synchronized void clear() {
+        clearCount++;
+        clearClusters();
+    }
+
+    /**
+     * Stops a running training. Waits until a training, which is replacing the clusters, has finished.
+     */
+    synchronized void close() {
+        isClosed = true;
+    }
+
+    private void clearClusters() {
+        centroids = List.of();
+        centroidsMap.clear();
+        clusterOfEmbedding.clear();
+        embeddingsOfCluster.clear();
+    }
+
+    /**
+     * @return the ids of the embeddings in the clusters closest to the query
+     */
+    List<String> getCandidates(float[] queryVector) {
+        List<float[]> currentCentroids = centroids;
+        float[] query = normalize(queryVector);
+        return IntStream.range(0, currentCentroids.size())
+                        .boxed()
+                        .sorted(Comparator.comparingDouble(cluster -> -dotProduct(currentCentroids.get(cluster), query)))
+                        .limit(getClustersToProbe())
+                        .flatMap(cluster -> getEmbeddingsOfCluster(cluster).stream())
+                        .toList();
+    }
+
+    /**
+     * @return the number of embeddings a search considers on average
+     */
+    int getExpectedCandidateCount(int embeddingsCount) {
+        return isTrained() ? (int) ((long) embeddingsCount * getClustersToProbe() / centroids.size()) : embeddingsCount;
+    }
+
+    private int getClustersToProbe() {
+        return Math.max(MIN_CLUSTERS_TO_PROBE, centroids.size() / 16);
+    }
+
+    private Set<String> getEmbeddingsOfCluster(int cluster) {
+        return embeddingsOfCluster.computeIfAbsent(cluster, _ -> ConcurrentHashMap.newKeySet());
+    }
+
+    private static int nearestCentroid(List<float[]> centroids, float[] vector) {
+        int nearest = 0;
+        double bestSimilarity = Double.NEGATIVE_INFINITY;
+        for (int cluster = 0; cluster < centroids.size(); cluster++) {
+            double similarity = dotProduct(centroids.get(cluster), vector);
+            if (similarity > bestSimilarity) {
+                bestSimilarity = similarity;
+                nearest = cluster;
+            }
+        }
+        return nearest;
+    }
+
+    private static double dotProduct(float[] first, float[] second) {
+        double result = 0;
+        for (int i = 0; i < first.length; i++) {
+            result += first[i] * second[i];
+        }
+        return result;
+    }
+
+    private static void add(float[] sum, float[] vector) {
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] += vector[i];
+        }
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = Math.sqrt(dotProduct(vector, vector));
+        float[] result = new float[vector.length];
+        if (norm == 0) {
+            return result;
+        }
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = (float) (vector[i] / norm);
+        }
+        return result;
+    }
+}
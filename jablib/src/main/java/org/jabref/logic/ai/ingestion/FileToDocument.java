@@ -1,18 +1,18 @@
 package org.jabref.logic.ai.ingestion;
 
-import java.io.StringWriter;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javafx.beans.property.ReadOnlyBooleanProperty;
 
-import org.jabref.logic.pdf.InterruptablePDFTextStripper;
+import org.jabref.logic.pdf.PdfTextCache;
+import org.jabref.logic.pdf.PdfTextCache.PdfPage;
 import org.jabref.logic.util.io.FileUtil;
-import org.jabref.logic.xmp.XmpUtilReader;
 
 import dev.langchain4j.data.document.DefaultDocument;
 import dev.langchain4j.data.document.Document;
-import org.apache.pdfbox.pdmodel.PDDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,9 +20,11 @@ public class FileToDocument {
     private static final Logger LOGGER = LoggerFactory.getLogger(FileToDocument.class);
 
     private final ReadOnlyBooleanProperty shutdownSignal;
+    private final PdfTextCache pdfTextCache;
 
-    public FileToDocument(ReadOnlyBooleanProperty shutdownSignal) {
+    public FileToDocument(ReadOnlyBooleanProperty shutdownSignal, PdfTextCache pdfTextCache) {
         this.shutdownSignal = shutdownSignal;
+        this.pdfTextCache = pdfTextCache;
     }
 
     public Optional<Document> fromFile(Path path) {
@@ -37,20 +39,16 @@ public class FileToDocument {
     private Optional<Document> fromPdfFile(Path path) {
         // This method is private to ensure that the path is really pointing to PDF file (determined by extension).
 
-        try (PDDocument document = new XmpUtilReader().loadWithAutomaticDecryption(path)) {
-            int lastPage = document.getNumberOfPages();
-            StringWriter writer = new StringWriter();
+        try {
+            Optional<List<PdfPage>> pages = pdfTextCache.getPages(path, shutdownSignal::get);
 
-            InterruptablePDFTextStripper stripper = new InterruptablePDFTextStripper(shutdownSignal);
-            stripper.setStartPage(1);
-            stripper.setEndPage(lastPage);
-            stripper.writeText(document, writer);
-
-            if (shutdownSignal.get()) {
+            if (pages.isEmpty() || shutdownSignal.get()) {
                 return Optional.empty();
             }
 
-            return fromString(writer.toString());
+            return fromString(pages.get().stream()
+                                   .map(PdfPage::text)
+                                   .collect(Collectors.joining("\n")));
         } catch (Exception e) {
             LOGGER.error("An error occurred while reading the PDF file: {}", path, e);
             return Optional.empty();
@@ -1,6 +1,7 @@
 package org.jabref.logic.ai.ingestion;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -13,6 +14,7 @@ import org.jabref.logic.FilePreferences;
 import org.jabref.logic.ai.processingstatus.ProcessingInfo;
 import org.jabref.logic.ai.processingstatus.ProcessingState;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.util.BackgroundTask;
 import org.jabref.logic.util.ProgressCounter;
 import org.jabref.logic.util.TaskExecutor;
@@ -29,12 +31,14 @@ import org.slf4j.LoggerFactory;
  */
 public class GenerateEmbeddingsForSeveralTask extends BackgroundTask<Void> {
     private static final Logger LOGGER = LoggerFactory.getLogger(GenerateEmbeddingsForSeveralTask.class);
+    private static final int MAX_DOCUMENTS_IN_PROGRESS = 4;
 
     private final StringProperty groupName;
     private final List<ProcessingInfo<LinkedFile, Void>> linkedFiles;
     private final FileEmbeddingsManager fileEmbeddingsManager;
     private final BibDatabaseContext bibDatabaseContext;
     private final FilePreferences filePreferences;
+    private final PdfTextCache pdfTextCache;
     private final TaskExecutor taskExecutor;
     private final ReadOnlyBooleanProperty shutdownSignal;
 
@@ -48,6 +52,7 @@ public class GenerateEmbeddingsForSeveralTask extends BackgroundTask<Void> {
             FileEmbeddingsManager fileEmbeddingsManager,
             BibDatabaseContext bibDatabaseContext,
             FilePreferences filePreferences,
+            PdfTextCache pdfTextCache,
             TaskExecutor taskExecutor,
             ReadOnlyBooleanProperty shutdownSignal
     ) {
@@ -56,6 +61,7 @@ public class GenerateEmbeddingsForSeveralTask extends BackgroundTask<Void> {
         this.fileEmbeddingsManager = fileEmbeddingsManager;
         this.bibDatabaseContext = bibDatabaseContext;
         this.filePreferences = filePreferences;
+        this.pdfTextCache = pdfTextCache;
         this.taskExecutor = taskExecutor;
         this.shutdownSignal = shutdownSignal;
 
@@ -73,35 +79,36 @@ public class GenerateEmbeddingsForSeveralTask extends BackgroundTask<Void> {
     }
 
     @Override
-    public Void call() throws ExecutionException, InterruptedException {
+    public Void call() throws InterruptedException {
         LOGGER.debug("Starting embeddings generation of several files for {}", groupName.get());
 
-        List<Pair<? extends Future<?>, String>> futures = new ArrayList<>();
-
-        linkedFiles
-                .stream()
-                .map(processingInfo -> {
-                    processingInfo.setState(ProcessingState.PROCESSING);
-                    return new Pair<>(
-                            new GenerateEmbeddingsTask(
-                                    processingInfo.getObject(),
-                                    fileEmbeddingsManager,
-                                    bibDatabaseContext,
-                                    filePreferences,
-                                    shutdownSignal
-                            )
-                                    .showToUser(false)
-                                    .onSuccess(v -> processingInfo.setState(ProcessingState.SUCCESS))
-                                    .onFailure(processingInfo::setException)
-                                    .onFinished(() -> progressCounter.increaseWorkDone(1))
-                                    .executeWith(taskExecutor),
-                            processingInfo.getObject().getLink());
-                })
-                .forEach(futures::add);
-
-        for (Pair<? extends Future<?>, String> pair : futures) {
-            currentFile = pair.getValue();
-            pair.getKey().get();
+        // Each document in progress keeps its text and its segments in memory. Thus, only a few documents are submitted at once.
+        Deque<Pair<? extends Future<?>, String>> futures = new ArrayDeque<>();
+
+        linkedFiles.forEach(processingInfo -> processingInfo.setState(ProcessingState.PROCESSING));
+        for (ProcessingInfo<LinkedFile, Void> processingInfo : linkedFiles) {
+            if (futures.size() >= MAX_DOCUMENTS_IN_PROGRESS) {
+                waitFor(futures.poll());
+            }
+            futures.add(new Pair<>(
+                    new GenerateEmbeddingsTask(
+                            processingInfo.getObject(),
+                            fileEmbeddingsManager,
+                            bibDatabaseContext,
+                            filePreferences,
+                            pdfTextCache,
+                            shutdownSignal
+                    )
+                            .showToUser(false)
+                            .onSuccess(v -> processingInfo.setState(ProcessingState.SUCCESS))
+                            .onFailure(processingInfo::setException)
+                            .onFinished(() -> progressCounter.increaseWorkDone(1))
+                            .executeWith(taskExecutor),
+                    processingInfo.getObject().getLink()));
+        }
+
+        while (!futures.isEmpty()) {
+            waitFor(futures.poll());
         }
 
         LOGGER.debug("Finished embeddings generation task of several files for {}", groupName.get());
@@ -109,6 +116,19 @@ public class GenerateEmbeddingsForSeveralTask extends BackgroundTask<Void> {
         return null;
     }
 
+    /**
+     * Waits until the embeddings of the given file are generated. A failure is recorded in the processing info of the
+     * file, so it does not stop the generation for the other files.
+     */
+    private void waitFor(Pair<? extends Future<?>, String> pair) throws InterruptedException {
+        currentFile = pair.getValue();
+        try {
+            pair.getKey().get();
+        } catch (ExecutionException e) {
+            LOGGER.warn("Could not generate embeddings for {}", pair.getValue(), e);
+        }
+    }
+
     private void updateProgress() {
         updateProgress(progressCounter.getWorkDone(), progressCounter.getWorkMax());
         updateMessage(progressCounter.getMessage() + " - " + currentFile + ", ...");
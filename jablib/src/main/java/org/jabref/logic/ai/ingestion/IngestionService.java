@@ -12,6 +12,7 @@ import org.jabref.logic.FilePreferences;
 import org.jabref.logic.ai.AiPreferences;
 import org.jabref.logic.ai.processingstatus.ProcessingInfo;
 import org.jabref.logic.ai.processingstatus.ProcessingState;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.util.TaskExecutor;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.event.EntriesAddedEvent;
@@ -36,6 +37,7 @@ public class IngestionService {
 
     private final AiPreferences aiPreferences;
     private final FilePreferences filePreferences;
+    private final PdfTextCache pdfTextCache;
     private final TaskExecutor taskExecutor;
 
     private final FileEmbeddingsManager fileEmbeddingsManager;
@@ -48,10 +50,12 @@ public class IngestionService {
                             EmbeddingStore<TextSegment> embeddingStore,
                             FullyIngestedDocumentsTracker fullyIngestedDocumentsTracker,
                             FilePreferences filePreferences,
+                            PdfTextCache pdfTextCache,
                             TaskExecutor taskExecutor
     ) {
         this.aiPreferences = aiPreferences;
         this.filePreferences = filePreferences;
+        this.pdfTextCache = pdfTextCache;
         this.taskExecutor = taskExecutor;
 
         this.fileEmbeddingsManager = new FileEmbeddingsManager(
@@ -142,7 +146,7 @@ public class IngestionService {
     private void startEmbeddingsGenerationTask(LinkedFile linkedFile, BibDatabaseContext bibDatabaseContext, ProcessingInfo<LinkedFile, Void> processingInfo) {
         processingInfo.setState(ProcessingState.PROCESSING);
 
-        new GenerateEmbeddingsTask(linkedFile, fileEmbeddingsManager, bibDatabaseContext, filePreferences, shutdownSignal)
+        new GenerateEmbeddingsTask(linkedFile, fileEmbeddingsManager, bibDatabaseContext, filePreferences, pdfTextCache, shutdownSignal)
                 .showToUser(true)
                 .onSuccess(v -> processingInfo.setState(ProcessingState.SUCCESS))
                 .onFailure(processingInfo::setException)
@@ -152,7 +156,7 @@ public class IngestionService {
     private void startEmbeddingsGenerationTask(StringProperty groupName, List<ProcessingInfo<LinkedFile, Void>> linkedFiles, BibDatabaseContext bibDatabaseContext) {
         linkedFiles.forEach(processingInfo -> processingInfo.setState(ProcessingState.PROCESSING));
 
-        new GenerateEmbeddingsForSeveralTask(groupName, linkedFiles, fileEmbeddingsManager, bibDatabaseContext, filePreferences, taskExecutor, shutdownSignal)
+        new GenerateEmbeddingsForSeveralTask(groupName, linkedFiles, fileEmbeddingsManager, bibDatabaseContext, filePreferences, pdfTextCache, taskExecutor, shutdownSignal)
                 .executeWith(taskExecutor);
     }
 
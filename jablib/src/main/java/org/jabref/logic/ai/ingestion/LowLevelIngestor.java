@@ -7,28 +7,44 @@ import javafx.beans.property.ReadOnlyBooleanProperty;
 
 import org.jabref.logic.ai.AiPreferences;
 
-import dev.langchain4j.data.document.DefaultDocument;
 import dev.langchain4j.data.document.Document;
 import dev.langchain4j.data.document.DocumentSplitter;
 import dev.langchain4j.data.document.splitter.DocumentSplitters;
+import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.store.embedding.EmbeddingStore;
-import dev.langchain4j.store.embedding.EmbeddingStoreIngestor;
 
+/**
+ * Splits documents into segments and stores the embeddings of the segments.
+ * <p>
+ * The segments are passed to the embedding model in batches of {@link #DEFAULT_BATCH_SIZE} segments (or the given batch size),
+ * because embedding several segments at once is much faster than embedding them one by one, especially for local models.
+ * The embeddings of a batch are added to the store at once.
+ */
 public class LowLevelIngestor {
+    public static final int DEFAULT_BATCH_SIZE = 32;
+
     private final AiPreferences aiPreferences;
 
     private final EmbeddingStore<TextSegment> embeddingStore;
     private final EmbeddingModel embeddingModel;
+    private final int batchSize;
 
-    private EmbeddingStoreIngestor ingestor;
     private DocumentSplitter documentSplitter;
 
     public LowLevelIngestor(AiPreferences aiPreferences, EmbeddingStore<TextSegment> embeddingStore, EmbeddingModel embeddingModel) {
+        this(aiPreferences, embeddingStore, embeddingModel, DEFAULT_BATCH_SIZE);
+    }
+
+    public LowLevelIngestor(AiPreferences aiPreferences, EmbeddingStore<TextSegment> embeddingStore, EmbeddingModel embeddingModel, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, but was " + batchSize);
+        }
         this.aiPreferences = aiPreferences;
         this.embeddingStore = embeddingStore;
         this.embeddingModel = embeddingModel;
+        this.batchSize = batchSize;
 
         rebuild();
 
@@ -39,13 +55,6 @@ public class LowLevelIngestor {
         this.documentSplitter = DocumentSplitters
                 .recursive(aiPreferences.getDocumentSplitterChunkSize(),
                            aiPreferences.getDocumentSplitterOverlapSize());
-
-        this.ingestor = EmbeddingStoreIngestor
-                .builder()
-                .embeddingStore(embeddingStore)
-                .embeddingModel(embeddingModel)
-                .documentSplitter(documentSplitter)
-                .build();
     }
 
     private void setupListeningToPreferencesChanges() {
@@ -64,14 +73,19 @@ public class LowLevelIngestor {
         List<TextSegment> textSegments = documentSplitter.split(document);
         workMax.set(textSegments.size());
 
-        for (TextSegment documentPart : textSegments) {
+        for (int start = 0; start < textSegments.size(); start += batchSize) {
             if (stopProperty.get()) {
                 throw new InterruptedException();
             }
 
-            ingestor.ingest(new DefaultDocument(documentPart.text(), document.metadata()));
+            List<TextSegment> batch = textSegments.subList(start, Math.min(start + batchSize, textSegments.size()))
+                                                  .stream()
+                                                  .map(documentPart -> TextSegment.from(documentPart.text(), document.metadata().copy()))
+                                                  .toList();
+            List<Embedding> embeddings = embeddingModel.embedAll(batch).content();
+            embeddingStore.addAll(embeddings, batch);
 
-            workDone.set(workDone.get() + 1);
+            workDone.set(workDone.get() + batch.size());
         }
     }
 }
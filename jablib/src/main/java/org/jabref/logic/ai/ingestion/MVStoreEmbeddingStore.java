@@ -9,15 +9,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.UUID;
-import java.util.function.Predicate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.jabref.logic.ai.util.MVStoreBase;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.util.HeadlessExecutorService;
 import org.jabref.logic.util.NotificationService;
 
+import com.google.common.collect.Streams;
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
@@ -31,7 +37,11 @@ import dev.langchain4j.store.embedding.filter.Filter;
 import dev.langchain4j.store.embedding.filter.comparison.IsEqualTo;
 import dev.langchain4j.store.embedding.filter.comparison.IsIn;
 import jakarta.annotation.Nullable;
+import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
+import org.h2.mvstore.MVStoreException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static java.util.Comparator.comparingDouble;
 import static org.jabref.logic.ai.ingestion.FileEmbeddingsManager.LINK_METADATA_KEY;
@@ -42,19 +52,43 @@ import static org.jabref.logic.ai.ingestion.FileEmbeddingsManager.LINK_METADATA_
  * Every embedding has 3 fields: float array (the embedding itself), file where it was generated from, and the embedded
  * string (the content).
  * <p>
+ * The ids of the embeddings are additionally indexed by file, so that filtered operations only read the embeddings of the requested files.
+ * Searches in large stores use an approximate nearest neighbour index (see {@link EmbeddingClusterIndex}).
  */
 public class MVStoreEmbeddingStore extends MVStoreBase implements EmbeddingStore<TextSegment> {
     // `file` field is nullable, because {@link Optional} can't be serialized.
     private record EmbeddingRecord(@Nullable String file, String content, float[] embeddingVector) implements Serializable { }
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(MVStoreEmbeddingStore.class);
+
     private static final String EMBEDDINGS_MAP_NAME = "embeddings";
+    private static final String FILE_INDEX_MAP_NAME = "embeddingsByFile";
+
+    // Separates file and id in the keys of the file index
+    private static final char FILE_ID_SEPARATOR = '\u0000';
 
     private final Map<String, EmbeddingRecord> embeddingsMap;
 
+    // Keys are file + FILE_ID_SEPARATOR + id, so that the ids of a file are a range of keys. Values are not used.
+    private final MVMap<String, Boolean> fileIndex;
+
+    private final EmbeddingClusterIndex clusterIndex;
+
+    // The training of the cluster index in the background, done if no training is running
+    private Future<?> clusterIndexTraining = CompletableFuture.completedFuture(null);
+
     public MVStoreEmbeddingStore(Path path, NotificationService dialogService) {
         super(path, dialogService);
 
         this.embeddingsMap = this.mvStore.openMap(EMBEDDINGS_MAP_NAME);
+        this.fileIndex = this.mvStore.openMap(FILE_INDEX_MAP_NAME);
+        this.clusterIndex = new EmbeddingClusterIndex(this.mvStore);
+
+        if (fileIndex.isEmpty() && !embeddingsMap.isEmpty()) {
+            // Store written by a JabRef version without the file index
+            embeddingsMap.forEach((id, eRecord) -> addToFileIndex(id, eRecord.file));
+        }
+        trainClusterIndexIfNeeded();
     }
 
     @Override
@@ -77,6 +111,8 @@ public class MVStoreEmbeddingStore extends MVStoreBase implements EmbeddingStore
         // It does not make much sense to store single embedding vector, but this is a requirement from langchain4j's
         // {@link EmbeddingStore}.
         embeddingsMap.put(id, new EmbeddingRecord(null, "", embedding.vector()));
+        clusterIndex.add(id, embedding.vector());
+        trainClusterIndexIfNeeded();
     }
 
     @Override
@@ -84,6 +120,9 @@ public class MVStoreEmbeddingStore extends MVStoreBase implements EmbeddingStore
         String id = String.valueOf(UUID.randomUUID());
         String linkedFile = textSegment.metadata().getString(LINK_METADATA_KEY);
         embeddingsMap.put(id, new EmbeddingRecord(linkedFile, textSegment.text(), embedding.vector()));
+        addToFileIndex(id, linkedFile);
+        clusterIndex.add(id, embedding.vector());
+        trainClusterIndexIfNeeded();
         return id;
     }
 
@@ -94,7 +133,11 @@ public class MVStoreEmbeddingStore extends MVStoreBase implements EmbeddingStore
 
     @Override
     public void remove(String id) {
-        embeddingsMap.remove(id);
+        EmbeddingRecord eRecord = embeddingsMap.remove(id);
+        if (eRecord != null && eRecord.file != null) {
+            fileIndex.remove(getFileIndexKey(eRecord.file, id));
+        }
+        clusterIndex.remove(id);
     }
 
     @Override
@@ -106,6 +149,8 @@ public class MVStoreEmbeddingStore extends MVStoreBase implements EmbeddingStore
     @Override
     public void removeAll() {
         embeddingsMap.clear();
+        fileIndex.clear();
+        clusterIndex.clear();
     }
 
     /// The main function of finding most relevant text segments.
@@ -114,18 +159,50 @@ public class MVStoreEmbeddingStore extends MVStoreBase implements EmbeddingStore
     /// - [IsIn] with key [FileEmbeddingsManager#LINK_METADATA_KEY]
     /// - [IsEqualTo] with key [FileEmbeddingsManager#LINK_METADATA_KEY]
     ///
+    /// If the store is large, only the embeddings in the clusters closest to the query are compared (see [EmbeddingClusterIndex]).
+    /// Thus, the result is approximate: an embedding outside these clusters may be missing.
+    /// Until the clusters are trained in the background, all embeddings are compared.
+    /// If the filter selects fewer embeddings than the clusters contain, these embeddings are compared exactly instead.
+    ///
     /// @param request embedding search request
     ///
     /// @return an [EmbeddingSearchResult], which contains most relevant text segments
     @Override
     public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
+        if (!clusterIndex.isTrained()) {
+            return searchExactly(request);
+        }
+
+        float[] queryVector = request.queryEmbedding().vector();
+        if (request.filter() == null) {
+            return search(clusterIndex.getCandidates(queryVector).stream(), request);
+        }
+
+        Set<String> filteredIds = applyFilter(request.filter()).collect(Collectors.toSet());
+        if (filteredIds.size() <= clusterIndex.getExpectedCandidateCount(embeddingsMap.size())) {
+            return search(filteredIds.stream(), request);
+        }
+        return search(clusterIndex.getCandidates(queryVector).stream().filter(filteredIds::contains), request);
+    }
+
+    /// Compares the query with all embeddings matching the filter of the request.
+    /// Used for small stores and to check the results of [#search(EmbeddingSearchRequest)].
+    public EmbeddingSearchResult<TextSegment> searchExactly(EmbeddingSearchRequest request) {
+        return search(applyFilter(request.filter()), request);
+    }
+
+    private EmbeddingSearchResult<TextSegment> search(Stream<String> ids, EmbeddingSearchRequest request) {
         // Source: {@link InMemoryEmbeddingStore}.
 
         Comparator<EmbeddingMatch<TextSegment>> comparator = comparingDouble(EmbeddingMatch::score);
         PriorityQueue<EmbeddingMatch<TextSegment>> matches = new PriorityQueue<>(comparator);
 
-        applyFilter(request.filter()).forEach(id -> {
+        ids.forEach(id -> {
             EmbeddingRecord eRecord = embeddingsMap.get(id);
+            if (eRecord == null) {
+                // Removed concurrently
+                return;
+            }
 
             double cosineSimilarity = CosineSimilarity.between(Embedding.from(eRecord.embeddingVector), request.queryEmbedding());
             double score = RelevanceScore.fromCosineSimilarity(cosineSimilarity);
@@ -153,9 +230,44 @@ public class MVStoreEmbeddingStore extends MVStoreBase implements EmbeddingStore
         return new EmbeddingSearchResult<>(result);
     }
 
+    private synchronized void trainClusterIndexIfNeeded() {
+        if (!clusterIndexTraining.isDone() || !clusterIndex.needsTraining(embeddingsMap.size())) {
+            return;
+        }
+        List<String> ids = List.copyOf(embeddingsMap.keySet());
+        clusterIndexTraining = HeadlessExecutorService.INSTANCE.execute(() -> {
+            try {
+                clusterIndex.train(ids, id -> {
+                    EmbeddingRecord eRecord = embeddingsMap.get(id);
+                    // Removed concurrently
+                    return eRecord == null ? null : eRecord.embeddingVector;
+                });
+            } catch (MVStoreException e) {
+                LOGGER.warn("Could not train the embeddings index", e);
+            }
+            return null;
+        });
+    }
+
+    /// Waits until the cluster index trained in the background is ready
+    void waitForClusterIndexTraining() throws ExecutionException, InterruptedException {
+        Future<?> training;
+        synchronized (this) {
+            training = clusterIndexTraining;
+        }
+        training.get();
+    }
+
+    @Override
+    public void close() {
+        clusterIndex.close();
+        super.close();
+    }
+
     @Override
     public void removeAll(Collection ids) {
-        embeddingsMap.entrySet().removeIf(entry -> ids.contains(entry.getKey()));
+        List<String> idsToRemove = List.copyOf(ids);
+        idsToRemove.forEach(this::remove);
     }
 
     private Stream<String> applyFilter(@Nullable Filter filter) {
@@ -163,17 +275,33 @@ public class MVStoreEmbeddingStore extends MVStoreBase implements EmbeddingStore
             case null -> embeddingsMap.keySet().stream();
 
             case IsIn isInFilter when Objects.equals(isInFilter.key(), LINK_METADATA_KEY) ->
-                    filterEntries(entry -> isInFilter.comparisonValues().contains(entry.getValue().file));
+                    isInFilter.comparisonValues().stream().distinct().flatMap(this::getIdsOfFile);
 
             case IsEqualTo isEqualToFilter when Objects.equals(isEqualToFilter.key(), LINK_METADATA_KEY) ->
-                    filterEntries(entry -> isEqualToFilter.comparisonValue().equals(entry.getValue().file));
+                    getIdsOfFile(isEqualToFilter.comparisonValue());
 
             default -> throw new IllegalArgumentException("Wrong filter passed to MVStoreEmbeddingStore");
         };
     }
 
-    private Stream<String> filterEntries(Predicate<Map.Entry<String, EmbeddingRecord>> predicate) {
-        return embeddingsMap.entrySet().stream().filter(predicate).map(Map.Entry::getKey);
+    private Stream<String> getIdsOfFile(Object file) {
+        if (!(file instanceof String fileName)) {
+            return Stream.empty();
+        }
+        String keyPrefix = getFileIndexKey(fileName, "");
+        return Streams.stream(fileIndex.keyIterator(keyPrefix))
+                      .takeWhile(key -> key.startsWith(keyPrefix))
+                      .map(key -> key.substring(keyPrefix.length()));
+    }
+
+    private void addToFileIndex(String id, @Nullable String file) {
+        if (file != null) {
+            fileIndex.put(getFileIndexKey(file, id), Boolean.TRUE);
+        }
+    }
+
+    private static String getFileIndexKey(String file, String id) {
+        return file + FILE_ID_SEPARATOR + id;
     }
 
     @Override
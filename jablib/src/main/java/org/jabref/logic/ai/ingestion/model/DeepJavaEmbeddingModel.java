@@ -1,7 +1,6 @@
 package org.jabref.logic.ai.ingestion.model;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 import ai.djl.MalformedModelException;
@@ -27,14 +26,12 @@ public class DeepJavaEmbeddingModel implements EmbeddingModel, AutoCloseable {
     @Override
     public Response<List<Embedding>> embedAll(List<TextSegment> list) {
         try {
-            List<Embedding> result = new ArrayList<>();
-
-            for (TextSegment textSegment : list) {
-                float[] embedding = predictor.predict(textSegment.text());
-                result.add(new Embedding(embedding));
+            List<float[]> vectors;
+            // A predictor must not be used by several threads at once
+            synchronized (predictor) {
+                vectors = predictor.batchPredict(list.stream().map(TextSegment::text).toList());
             }
-
-            return new Response<>(result);
+            return new Response<>(vectors.stream().map(Embedding::new).toList());
         } catch (TranslateException e) {
             // The rationale for RuntimeException here:
             // 1. langchain4j error handling is a mess, and it uses RuntimeExceptions
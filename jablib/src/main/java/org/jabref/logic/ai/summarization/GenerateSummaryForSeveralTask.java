@@ -15,6 +15,7 @@ import org.jabref.logic.ai.processingstatus.ProcessingInfo;
 import org.jabref.logic.ai.processingstatus.ProcessingState;
 import org.jabref.logic.ai.templates.TemplatesService;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.util.BackgroundTask;
 import org.jabref.logic.util.ProgressCounter;
 import org.jabref.logic.util.TaskExecutor;
@@ -42,6 +43,7 @@ public class GenerateSummaryForSeveralTask extends BackgroundTask<Void> {
     private final ReadOnlyBooleanProperty shutdownSignal;
     private final AiPreferences aiPreferences;
     private final FilePreferences filePreferences;
+    private final PdfTextCache pdfTextCache;
     private final TaskExecutor taskExecutor;
 
     private final ProgressCounter progressCounter = new ProgressCounter();
@@ -58,6 +60,7 @@ public class GenerateSummaryForSeveralTask extends BackgroundTask<Void> {
             ReadOnlyBooleanProperty shutdownSignal,
             AiPreferences aiPreferences,
             FilePreferences filePreferences,
+            PdfTextCache pdfTextCache,
             TaskExecutor taskExecutor
     ) {
         this.groupName = groupName;
@@ -69,6 +72,7 @@ public class GenerateSummaryForSeveralTask extends BackgroundTask<Void> {
         this.shutdownSignal = shutdownSignal;
         this.aiPreferences = aiPreferences;
         this.filePreferences = filePreferences;
+        this.pdfTextCache = pdfTextCache;
         this.taskExecutor = taskExecutor;
 
         configure();
@@ -103,7 +107,8 @@ public class GenerateSummaryForSeveralTask extends BackgroundTask<Void> {
                                     templatesService,
                                     shutdownSignal,
                                     aiPreferences,
-                                    filePreferences
+                                    filePreferences,
+                                    pdfTextCache
                             )
                                     .showToUser(false)
                                     .onSuccess(processingInfo::setSuccess)
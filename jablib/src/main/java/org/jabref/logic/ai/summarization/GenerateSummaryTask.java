@@ -17,6 +17,7 @@ import org.jabref.logic.ai.templates.AiTemplate;
 import org.jabref.logic.ai.templates.TemplatesService;
 import org.jabref.logic.ai.util.CitationKeyCheck;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.util.BackgroundTask;
 import org.jabref.logic.util.ProgressCounter;
 import org.jabref.model.database.BibDatabaseContext;
@@ -54,6 +55,7 @@ public class GenerateSummaryTask extends BackgroundTask<Summary> {
     private final ReadOnlyBooleanProperty shutdownSignal;
     private final AiPreferences aiPreferences;
     private final FilePreferences filePreferences;
+    private final PdfTextCache pdfTextCache;
 
     private final ProgressCounter progressCounter = new ProgressCounter();
 
@@ -64,7 +66,8 @@ public class GenerateSummaryTask extends BackgroundTask<Summary> {
                                TemplatesService templatesService,
                                ReadOnlyBooleanProperty shutdownSignal,
                                AiPreferences aiPreferences,
-                               FilePreferences filePreferences
+                               FilePreferences filePreferences,
+                               PdfTextCache pdfTextCache
     ) {
         this.bibDatabaseContext = bibDatabaseContext;
         this.entry = entry;
@@ -75,6 +78,7 @@ public class GenerateSummaryTask extends BackgroundTask<Summary> {
         this.shutdownSignal = shutdownSignal;
         this.aiPreferences = aiPreferences;
         this.filePreferences = filePreferences;
+        this.pdfTextCache = pdfTextCache;
 
         configure();
     }
@@ -178,7 +182,7 @@ public class GenerateSummaryTask extends BackgroundTask<Summary> {
             return Optional.empty();
         }
 
-        Optional<Document> document = new FileToDocument(shutdownSignal).fromFile(path.get());
+        Optional<Document> document = new FileToDocument(shutdownSignal, pdfTextCache).fromFile(path.get());
 
         if (document.isEmpty()) {
             LOGGER.warn("Could not extract text from a linked file \"{}\" of entry {}. It will be skipped when generating a summary.", linkedFile.getLink(), citationKey);
@@ -14,6 +14,7 @@ import org.jabref.logic.ai.processingstatus.ProcessingInfo;
 import org.jabref.logic.ai.processingstatus.ProcessingState;
 import org.jabref.logic.ai.templates.TemplatesService;
 import org.jabref.logic.ai.util.CitationKeyCheck;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.util.TaskExecutor;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.event.EntriesAddedEvent;
@@ -48,6 +49,7 @@ public class SummariesService {
     private final TemplatesService templatesService;
     private final BooleanProperty shutdownSignal;
     private final FilePreferences filePreferences;
+    private final PdfTextCache pdfTextCache;
     private final TaskExecutor taskExecutor;
 
     public SummariesService(AiPreferences aiPreferences,
@@ -56,6 +58,7 @@ public class SummariesService {
                             TemplatesService templatesService,
                             BooleanProperty shutdownSignal,
                             FilePreferences filePreferences,
+                            PdfTextCache pdfTextCache,
                             TaskExecutor taskExecutor
     ) {
         this.aiPreferences = aiPreferences;
@@ -64,6 +67,7 @@ public class SummariesService {
         this.templatesService = templatesService;
         this.shutdownSignal = shutdownSignal;
         this.filePreferences = filePreferences;
+        this.pdfTextCache = pdfTextCache;
         this.taskExecutor = taskExecutor;
     }
 
@@ -136,7 +140,7 @@ public class SummariesService {
     private void startSummarizationTask(BibEntry entry, BibDatabaseContext bibDatabaseContext, ProcessingInfo<BibEntry, Summary> processingInfo) {
         processingInfo.setState(ProcessingState.PROCESSING);
 
-        new GenerateSummaryTask(entry, bibDatabaseContext, summariesStorage, chatLanguageModel, templatesService, shutdownSignal, aiPreferences, filePreferences)
+        new GenerateSummaryTask(entry, bibDatabaseContext, summariesStorage, chatLanguageModel, templatesService, shutdownSignal, aiPreferences, filePreferences, pdfTextCache)
                 .onSuccess(processingInfo::setSuccess)
                 .onFailure(processingInfo::setException)
                 .executeWith(taskExecutor);
@@ -145,7 +149,7 @@ public class SummariesService {
     private void startSummarizationTask(StringProperty groupName, List<ProcessingInfo<BibEntry, Summary>> entries, BibDatabaseContext bibDatabaseContext) {
         entries.forEach(processingInfo -> processingInfo.setState(ProcessingState.PROCESSING));
 
-        new GenerateSummaryForSeveralTask(groupName, entries, bibDatabaseContext, summariesStorage, chatLanguageModel, templatesService, shutdownSignal, aiPreferences, filePreferences, taskExecutor)
+        new GenerateSummaryForSeveralTask(groupName, entries, bibDatabaseContext, summariesStorage, chatLanguageModel, templatesService, shutdownSignal, aiPreferences, filePreferences, pdfTextCache, taskExecutor)
                 .executeWith(taskExecutor);
     }
 
@@ -1,17 +1,26 @@
 package org.jabref.logic.bibtex.comparator;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import org.jabref.logic.database.DuplicateCandidateIndex;
 import org.jabref.logic.database.DuplicateCheck;
+import org.jabref.logic.os.OS;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.BibDatabaseMode;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.strings.StringUtil;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +30,8 @@ public class BibDatabaseDiff {
     private static final Logger LOGGER = LoggerFactory.getLogger(BibDatabaseDiff.class);
 
     private static final double MATCH_THRESHOLD = 0.4;
+    // Up to this number of comparisons, each remaining original entry is compared with all remaining new entries
+    private static final long MAX_EXHAUSTIVE_COMPARISONS = 100_000;
     private final Optional<MetaDataDiff> metaDataDiff;
     private final Optional<PreambleDiff> preambleDiff;
     private final List<BibStringDiff> bibStringDiffs;
@@ -66,6 +77,14 @@ public class BibDatabaseDiff {
         return comparator;
     }
 
+    /**
+     * Pairs the original entries with the new entries in stages, so that only few entries need to be compared with each other:
+     * <ol>
+     *     <li>Entries with the same content</li>
+     *     <li>Entries with the same citation key</li>
+     *     <li>Entries being similar. If there are many remaining entries, an entry is only compared with the entries sharing a key of the {@link DuplicateCandidateIndex}.</li>
+     * </ol>
+     */
     private static List<BibEntryDiff> compareEntries(List<BibEntry> originalEntries, List<BibEntry> newEntries, BibDatabaseMode mode) {
         List<BibEntryDiff> differences = new ArrayList<>();
 
@@ -74,66 +93,98 @@ public class BibDatabaseDiff {
             return differences;
         }
 
-        // Create a HashSet where we can put references to entries in the new
-        // database that we have matched. This is to avoid matching them twice.
-        Set<Integer> matchedEntries = new HashSet<>(newEntries.size());
-        Set<BibEntry> notMatched = new HashSet<>(originalEntries.size());
+        // Entries in the new database that we have matched. This is to avoid matching them twice.
+        Set<BibEntry> matchedEntries = Collections.newSetFromMap(new IdentityHashMap<>(newEntries.size()));
 
-        // Loop through the entries of the original database, looking for exact matches in the new one.
-        // We must finish scanning for exact matches before looking for near matches, to avoid an exact
+        // Look for exact matches first. We must finish scanning for exact matches before looking for near matches, to avoid an exact
         // match being "stolen" from another entry.
-        mainLoop:
+        Map<Map<Field, String>, Deque<BibEntry>> newEntriesByContent = new HashMap<>(newEntries.size());
+        for (BibEntry newEntry : newEntries) {
+            newEntriesByContent.computeIfAbsent(getContent(newEntry), _ -> new ArrayDeque<>()).add(newEntry);
+        }
+        List<BibEntry> notMatched = new ArrayList<>();
         for (BibEntry originalEntry : originalEntries) {
-            for (int i = 0; i < newEntries.size(); i++) {
-                if (!matchedEntries.contains(i)) {
-                    double score = DuplicateCheck.compareEntriesStrictly(originalEntry, newEntries.get(i));
-                    if (score > 1) {
-                        matchedEntries.add(i);
-                        continue mainLoop;
-                    }
-                }
+            Deque<BibEntry> entriesWithSameContent = newEntriesByContent.get(getContent(originalEntry));
+            if ((entriesWithSameContent != null) && !entriesWithSameContent.isEmpty()) {
+                matchedEntries.add(entriesWithSameContent.poll());
+            } else {
+                notMatched.add(originalEntry);
             }
+        }
 
-            // No? Add this entry to the list of non-matched entries.
-            notMatched.add(originalEntry);
+        // An entry keeping its citation key is most likely the changed entry
+        Map<String, Deque<BibEntry>> unmatchedEntriesByCitationKey = new HashMap<>();
+        for (BibEntry newEntry : newEntries) {
+            if (!matchedEntries.contains(newEntry)) {
+                newEntry.getCitationKey().ifPresent(key -> unmatchedEntriesByCitationKey.computeIfAbsent(key, _ -> new ArrayDeque<>()).add(newEntry));
+            }
+        }
+        List<BibEntry> notMatchedByCitationKey = new ArrayList<>();
+        for (BibEntry originalEntry : notMatched) {
+            Optional<BibEntry> entryWithSameKey = originalEntry.getCitationKey()
+                                                               .map(unmatchedEntriesByCitationKey::get)
+                                                               .map(Deque::poll);
+            if (entryWithSameKey.isPresent()) {
+                matchedEntries.add(entryWithSameKey.get());
+                differences.add(new BibEntryDiff(originalEntry, entryWithSameKey.get()));
+            } else {
+                notMatchedByCitationKey.add(originalEntry);
+            }
         }
 
-        // Now we've found all exact matches, look through the remaining entries, looking for close matches.
+        // Now look through the remaining entries, looking for close matches.
+        List<BibEntry> unmatchedEntries = newEntries.stream().filter(entry -> !matchedEntries.contains(entry)).toList();
+        Optional<DuplicateCandidateIndex> candidateIndex = ((long) notMatchedByCitationKey.size() * unmatchedEntries.size()) > MAX_EXHAUSTIVE_COMPARISONS
+                                                           ? Optional.of(new DuplicateCandidateIndex(unmatchedEntries))
+                                                           : Optional.empty();
         DuplicateCheck duplicateCheck = new DuplicateCheck(new BibEntryTypesManager());
-        for (BibEntry originalEntry : notMatched) {
+        for (BibEntry originalEntry : notMatchedByCitationKey) {
+            List<BibEntry> candidates = candidateIndex.map(index -> index.getCandidates(originalEntry)).orElse(unmatchedEntries);
+
             // These two variables will keep track of which entry most closely matches the one we're looking at.
             double bestMatch = 0;
-            int bestMatchIndex = 0;
-            for (int i = 0; i < newEntries.size(); i++) {
-                if (!matchedEntries.contains(i)) {
-                    double score = DuplicateCheck.compareEntriesStrictly(originalEntry, newEntries.get(i));
-                    if (score > bestMatch) {
+            BibEntry bestEntry = null;
+            for (BibEntry candidate : candidates) {
+                if (!matchedEntries.contains(candidate)) {
+                    double score = DuplicateCheck.compareEntriesStrictly(originalEntry, candidate);
+                    if ((bestEntry == null) || (score > bestMatch)) {
                         bestMatch = score;
-                        bestMatchIndex = i;
+                        bestEntry = candidate;
                     }
                 }
             }
-            BibEntry bestEntry = newEntries.get(bestMatchIndex);
-            if (bestMatch > MATCH_THRESHOLD
+            if ((bestEntry != null) && ((bestMatch > MATCH_THRESHOLD)
                     || hasEqualCitationKey(originalEntry, bestEntry)
-                    || duplicateCheck.isDuplicate(originalEntry, bestEntry, mode)) {
-                matchedEntries.add(bestMatchIndex);
-                differences.add(new BibEntryDiff(originalEntry, newEntries.get(bestMatchIndex)));
+                    || duplicateCheck.isDuplicate(originalEntry, bestEntry, mode))) {
+                matchedEntries.add(bestEntry);
+                differences.add(new BibEntryDiff(originalEntry, bestEntry));
             } else {
                 differences.add(new BibEntryDiff(originalEntry, null));
             }
         }
 
         // Finally, look if there are still untouched entries in the new database. These may have been added.
-        for (int i = 0; i < newEntries.size(); i++) {
-            if (!matchedEntries.contains(i)) {
-                differences.add(new BibEntryDiff(null, newEntries.get(i)));
+        for (BibEntry newEntry : newEntries) {
+            if (!matchedEntries.contains(newEntry)) {
+                differences.add(new BibEntryDiff(null, newEntry));
             }
         }
 
         return differences;
     }
 
+    /**
+     * @return the fields of the entry with unified line breaks. Two entries have the same content if and only if
+     * {@link DuplicateCheck#compareEntriesStrictly(BibEntry, BibEntry)} is greater than 1.
+     */
+    private static Map<Field, String> getContent(BibEntry entry) {
+        Map<Field, String> content = new HashMap<>();
+        for (Field field : entry.getFields()) {
+            entry.getField(field).ifPresent(value -> content.put(field, StringUtil.unifyLineBreaks(value, OS.NEWLINE)));
+        }
+        return content;
+    }
+
     private static boolean hasEqualCitationKey(BibEntry oneEntry, BibEntry twoEntry) {
         return oneEntry.hasCitationKey() && twoEntry.hasCitationKey() && oneEntry.getCitationKey().equals(twoEntry.getCitationKey());
     }
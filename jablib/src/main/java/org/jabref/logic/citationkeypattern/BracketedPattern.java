@@ -9,9 +9,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Scanner;
 import java.util.StringJoiner;
-import java.util.StringTokenizer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
@@ -29,6 +27,7 @@ import org.jabref.model.entry.AuthorList;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.Keyword;
 import org.jabref.model.entry.KeywordList;
+import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
 import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.entry.field.StandardField;
@@ -85,7 +84,10 @@ public class BracketedPattern {
 
     private static final Pattern WHITESPACE = Pattern.compile("\\p{javaWhitespace}");
 
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
     private static final RemoveEnclosingBracesFormatter ENCLOSING_BRACES_FORMATTER = new RemoveEnclosingBracesFormatter();
+    private static final RemoveLatexCommandsFormatter LATEX_COMMANDS_FORMATTER = new RemoveLatexCommandsFormatter();
 
     private enum Institution {
         SCHOOL,
@@ -137,7 +139,29 @@ public class BracketedPattern {
         }
     }
 
+    /**
+     * Evaluates a field marker without its modifiers, see {@link #compileFieldValue(String)}
+     */
+    @FunctionalInterface
+    interface FieldValueExtractor {
+        String extract(BibEntry entry, Character keywordDelimiter, BibDatabase database);
+    }
+
+    /**
+     * A modifier of a field marker, see {@link #compileModifiers(List, int)}
+     */
+    @FunctionalInterface
+    interface LabelModifier {
+        /**
+         * @param originalLabel        the label before any modifier has been applied
+         * @param label                the label after the preceding modifiers have been applied
+         * @param expandBracketContent a function to expand the content in the parentheses.
+         */
+        String apply(String originalLabel, String label, Function<String, String> expandBracketContent);
+    }
+
     private final String pattern;
+    private CompiledBracketedPattern compiledPattern;
 
     public BracketedPattern() {
         this.pattern = null;
@@ -179,7 +203,11 @@ public class BracketedPattern {
      */
     public String expand(BibEntry bibentry, Character keywordDelimiter, BibDatabase database) {
         Objects.requireNonNull(bibentry);
-        return expandBrackets(this.pattern, keywordDelimiter, bibentry, database);
+        if (compiledPattern == null) {
+            // Compiling twice in concurrent calls is harmless, because the compiled pattern is immutable
+            compiledPattern = CompiledBracketedPattern.compile(this.pattern);
+        }
+        return compiledPattern.expand(bibentry, keywordDelimiter, database);
     }
 
     /**
@@ -194,7 +222,7 @@ public class BracketedPattern {
     public static String expandBrackets(String pattern, Character keywordDelimiter, BibEntry entry, BibDatabase database) {
         Objects.requireNonNull(pattern);
         Objects.requireNonNull(entry);
-        return expandBrackets(pattern, expandBracketContent(keywordDelimiter, entry, database));
+        return CompiledBracketedPattern.compile(pattern).expand(entry, keywordDelimiter, database);
     }
 
     /**
@@ -221,7 +249,8 @@ public class BracketedPattern {
     }
 
     /**
-     * Expands a pattern.
+     * Expands a pattern. If the same pattern is expanded for many entries, use {@link CompiledBracketedPattern} instead
+     * to parse it only once.
      *
      * @param pattern               The pattern to expand
      * @param bracketContentHandler A function taking the string representation of the content of a bracketed pattern
@@ -230,91 +259,7 @@ public class BracketedPattern {
      */
     public static String expandBrackets(String pattern, Function<String, String> bracketContentHandler) {
         Objects.requireNonNull(pattern);
-        StringBuilder expandedPattern = new StringBuilder();
-        pattern = pattern.replace("\\\"", "\u0A17");
-        StringTokenizer parsedPattern = new StringTokenizer(pattern, "\\[]\"", true);
-
-        while (parsedPattern.hasMoreTokens()) {
-            String token = parsedPattern.nextToken();
-            switch (token) {
-                case "\"" -> appendQuote(expandedPattern, parsedPattern);
-                case "[" -> {
-                    String fieldMarker = contentBetweenBrackets(parsedPattern, pattern);
-                    expandedPattern.append(bracketContentHandler.apply(fieldMarker));
-                }
-                case "\\" -> {
-                    if (parsedPattern.hasMoreTokens()) {
-                        expandedPattern.append(parsedPattern.nextToken());
-                    } else {
-                        LOGGER.warn("Found a \"\\\" that is not part of an escape sequence");
-                    }
-                }
-                default -> expandedPattern.append(token);
-            }
-        }
-
-        return expandedPattern.toString().replace("\u0A17", "\\\"");
-    }
-
-    /**
-     * Returns the content enclosed between brackets, including enclosed quotes, and excluding the paired enclosing brackets.
-     * There may be brackets in it.
-     * Intended to be used by {@link BracketedPattern#expandBrackets(String, Character, BibEntry, BibDatabase)} when a [
-     * is encountered, and has been consumed, by the {@code StringTokenizer}.
-     *
-     * @param pattern   pattern used by {@code expandBrackets}, used for logging
-     * @param tokenizer the tokenizer producing the tokens
-     * @return the content enclosed by brackets
-     */
-    private static String contentBetweenBrackets(StringTokenizer tokenizer, final String pattern) {
-        StringBuilder bracketContent = new StringBuilder();
-        boolean foundClosingBracket = false;
-        int subBrackets = 0;
-        // make sure to read until the paired ']'
-        while (tokenizer.hasMoreTokens() && !foundClosingBracket) {
-            String token = tokenizer.nextToken();
-            // If the beginning of a quote is found, append the content
-            switch (token) {
-                case "\"" -> appendQuote(bracketContent, tokenizer);
-                case "]" -> {
-                    if (subBrackets == 0) {
-                        foundClosingBracket = true;
-                    } else {
-                        subBrackets--;
-                        bracketContent.append(token);
-                    }
-                }
-                case "[" -> {
-                    subBrackets++;
-                    bracketContent.append(token);
-                }
-                default -> bracketContent.append(token);
-            }
-        }
-
-        if (!foundClosingBracket) {
-            LOGGER.warn("Missing closing bracket ']' in '{}'", pattern);
-        } else if (bracketContent.isEmpty()) {
-            LOGGER.warn("Found empty brackets \"[]\" in '{}'", pattern);
-        }
-        return bracketContent.toString();
-    }
-
-    /**
-     * Appends the content between, and including, two \" to the provided <code>StringBuilder</code>. Intended to be
-     * used by {@link BracketedPattern#expandBrackets(String, Character, BibEntry, BibDatabase)} when a \" is
-     * encountered by the StringTokenizer.
-     *
-     * @param stringBuilder the <code>StringBuilder</code> to which tokens will be appended
-     * @param tokenizer     the tokenizer producing the tokens
-     */
-    private static void appendQuote(StringBuilder stringBuilder, StringTokenizer tokenizer) {
-        stringBuilder.append("\"");  // We know that the previous token was \"
-        String token = "";
-        while (tokenizer.hasMoreTokens() && !"\"".equals(token)) {
-            token = tokenizer.nextToken();
-            stringBuilder.append(token);
-        }
+        return CompiledBracketedPattern.expandBrackets(pattern, bracketContentHandler);
     }
 
     /**
@@ -327,160 +272,69 @@ public class BracketedPattern {
      * @return String containing the evaluation result. Empty string if the pattern cannot be resolved.
      */
     public static String getFieldValue(BibEntry entry, String pattern, Character keywordDelimiter, BibDatabase database) {
-        try {
-            if (pattern.startsWith("auth") || pattern.startsWith("pureauth")) {
-                // result the author
-                String unparsedAuthors = entry.getResolvedFieldOrAlias(StandardField.AUTHOR, database).orElse("");
-
-                if (pattern.startsWith("pure")) {
-                    // "pure" is used in the context of authors to resolve to authors only and not fallback to editors
-                    // The other functionality of the pattern "ForeIni", ... is the same
-                    // Thus, remove the "pure" prefix so the remaining code in this section functions correctly
-                    //
-                    pattern = pattern.substring(4);
-                } else if (unparsedAuthors.isEmpty()) {
-                    // special feature: A pattern starting with "auth" falls back to the editor
-                    unparsedAuthors = entry.getResolvedFieldOrAlias(StandardField.EDITOR, database).orElse("");
-                }
+        return compileFieldValue(pattern).extract(entry, keywordDelimiter, database);
+    }
 
-                AuthorList authorList = createAuthorList(unparsedAuthors);
-
-                // Gather all author-related checks, so we don't
-                // have to check all the time.
-                switch (pattern) {
-                    case "auth":
-                        return firstAuthor(authorList);
-                    case "authForeIni":
-                        return firstAuthorForenameInitials(authorList);
-                    case "authFirstFull":
-                        return firstAuthorVonAndLast(authorList);
-                    case "authors":
-                        return allAuthors(authorList);
-                    case "authorsAlpha":
-                        return authorsAlpha(authorList);
-                    case "authorsAlphaLNI":
-                        return authorsAlphaLNI(authorList);
-                    case "authorLast":
-                        return lastAuthor(authorList);
-                    case "authorLastForeIni":
-                        return lastAuthorForenameInitials(authorList);
-                    case "authorIni":
-                        return oneAuthorPlusInitials(authorList);
-                    case "auth.auth.ea":
-                        return authAuthEa(authorList);
-                    case "auth.etal":
-                        return authEtal(authorList, ".", ".etal");
-                    case "authEtAl":
-                        return authEtal(authorList, "", "EtAl");
-                    case "authshort":
-                        return authShort(authorList);
-                }
+    /**
+     * Resolves which value the given pattern (such as auth, pureauth, authorLast) stands for. The returned extractor
+     * evaluates the pattern as {@link #getFieldValue(BibEntry, String, Character, BibDatabase)} does, without
+     * examining the pattern string again.
+     */
+    static FieldValueExtractor compileFieldValue(String pattern) {
+        FieldValueExtractor extractor = compileUncheckedFieldValue(pattern);
+        return (entry, keywordDelimiter, database) -> {
+            try {
+                return extractor.extract(entry, keywordDelimiter, database);
+            } catch (NullPointerException ex) {
+                LOGGER.debug("Problem making expanding bracketed expression", ex);
+                return "";
+            }
+        };
+    }
 
-                if (pattern.matches("authIni[\\d]+")) {
-                    int num = Integer.parseInt(pattern.substring(7));
-                    return authIniN(authorList, num);
-                } else if (pattern.matches("auth[\\d]+_[\\d]+")) {
-                    String[] nums = pattern.substring(4).split("_");
-                    return authNofMth(authorList, Integer.parseInt(nums[0]),
-                            Integer.parseInt(nums[1]));
-                } else if (pattern.matches("auth\\d+")) {
-                    // authN. First N chars of the first author's last name.
-                    int num = Integer.parseInt(pattern.substring(4));
-                    return authN(authorList, num);
-                } else if (pattern.matches("authors\\d+")) {
-                    return nAuthors(authorList, Integer.parseInt(pattern.substring(7)));
-                } else {
-                    // This "auth" business was a dead end, so just
-                    // use it literally:
-                    return entry.getResolvedFieldOrAlias(FieldFactory.parseField(pattern), database).orElse("");
-                }
-            } else if (pattern.startsWith("ed")) {
-                // Gather all markers starting with "ed" here, so we
-                // don't have to check all the time.
-                String unparsedEditors = entry.getResolvedFieldOrAlias(StandardField.EDITOR, database).orElse("");
-                AuthorList editorList = createAuthorList(unparsedEditors);
-
-                switch (pattern) {
-                    case "edtr":
-                        return firstAuthor(editorList);
-                    case "edtrForeIni":
-                        return firstAuthorForenameInitials(editorList);
-                    case "editors":
-                        return allAuthors(editorList);
-                    case "editorLast":
-                        return lastAuthor(editorList); // Last author's last name
-                    case "editorLastForeIni":
-                        return lastAuthorForenameInitials(editorList);
-                    case "editorIni":
-                        return oneAuthorPlusInitials(editorList);
-                    case "edtr.edtr.ea":
-                        return authAuthEa(editorList);
-                    case "edtrshort":
-                        return authShort(editorList);
-                }
+    private static FieldValueExtractor compileUncheckedFieldValue(String pattern) {
+        if (pattern.startsWith("auth") || pattern.startsWith("pureauth")) {
+            return compileAuthorValue(pattern);
+        } else if (pattern.startsWith("ed")) {
+            return compileEditorValue(pattern);
+        }
 
-                if (pattern.matches("edtrIni[\\d]+")) {
-                    int num = Integer.parseInt(pattern.substring(7));
-                    return authIniN(editorList, num);
-                } else if (pattern.matches("edtr[\\d]+_[\\d]+")) {
-                    String[] nums = pattern.substring(4).split("_");
-                    return authNofMth(editorList,
-                            Integer.parseInt(nums[0]),
-                            Integer.parseInt(nums[1]));
-                } else if (pattern.matches("edtr\\d+")) {
-                    String fa = firstAuthor(editorList);
-                    int num = Integer.parseInt(pattern.substring(4));
-                    if (num > fa.length()) {
-                        num = fa.length();
-                    }
-                    return fa.substring(0, num);
-                } else {
-                    // This "ed" business was a dead end, so just
-                    // use it literally:
-                    return entry.getResolvedFieldOrAlias(FieldFactory.parseField(pattern), database).orElse("");
-                }
-            } else if ("firstpage".equals(pattern)) {
-                return firstPage(entry.getResolvedFieldOrAlias(StandardField.PAGES, database).orElse(""));
-            } else if ("pageprefix".equals(pattern)) {
-                return pagePrefix(entry.getResolvedFieldOrAlias(StandardField.PAGES, database).orElse(""));
-            } else if ("lastpage".equals(pattern)) {
-                return lastPage(entry.getResolvedFieldOrAlias(StandardField.PAGES, database).orElse(""));
-            } else if ("title".equals(pattern)) {
-                return camelizeSignificantWordsInTitle(entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse(""));
-            } else if ("fulltitle".equals(pattern)) {
-                return entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse("");
-            } else if ("shorttitle".equals(pattern)) {
-                return getTitleWords(3,
-                        removeSmallWords(entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse("")));
-            } else if ("shorttitleINI".equals(pattern)) {
-                return keepLettersAndDigitsOnly(
-                        applyModifiers(getTitleWordsWithSpaces(3, entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse("")),
-                                List.of("abbr"), 0, Function.identity()));
-            } else if ("veryshorttitle".equals(pattern)) {
-                return getTitleWords(1,
-                        removeSmallWords(entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse("")));
-            } else if (pattern.matches("camel[\\d]+")) {
-                int num = Integer.parseInt(pattern.substring(5));
-                return getCamelizedTitle_N(entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse(""), num);
-            } else if ("camel".equals(pattern)) {
-                return getCamelizedTitle(entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse(""));
-            } else if ("shortyear".equals(pattern)) {
-                String yearString = entry.getResolvedFieldOrAlias(StandardField.YEAR, database).orElse("");
-                if (yearString.isEmpty()) {
-                    return yearString;
-                    // In press/in preparation/submitted
-                } else if (yearString.startsWith("in") || yearString.startsWith("sub")) {
-                    return "IP";
-                } else if (yearString.length() > 2) {
-                    return yearString.substring(yearString.length() - 2);
-                } else {
-                    return yearString;
-                }
-            } else if ("entrytype".equals(pattern)) {
-                return entry.getResolvedFieldOrAlias(InternalField.TYPE_HEADER, database).orElse("");
-            } else if (pattern.matches("keyword\\d+")) {
-                // according to LabelPattern.php, it returns keyword number n
-                int num = Integer.parseInt(pattern.substring(7));
+        return switch (pattern) {
+            case "firstpage" ->
+                    pagesValue(BracketedPattern::firstPage);
+            case "pageprefix" ->
+                    pagesValue(BracketedPattern::pagePrefix);
+            case "lastpage" ->
+                    pagesValue(BracketedPattern::lastPage);
+            case "title" ->
+                    titleValue(BracketedPattern::camelizeSignificantWordsInTitle);
+            case "fulltitle" ->
+                    titleValue(Function.identity());
+            case "shorttitle" ->
+                    titleValue(title -> getTitleWords(3, removeSmallWords(title)));
+            case "shorttitleINI" ->
+                    titleValue(title -> keepLettersAndDigitsOnly(abbreviate(getTitleWordsWithSpaces(3, title))));
+            case "veryshorttitle" ->
+                    titleValue(title -> getTitleWords(1, removeSmallWords(title)));
+            case "camel" ->
+                    titleValue(BracketedPattern::getCamelizedTitle);
+            case "shortyear" ->
+                    (entry, _, database) -> shortYear(entry.getResolvedFieldOrAlias(StandardField.YEAR, database).orElse(""));
+            case "entrytype" ->
+                    fieldValue(InternalField.TYPE_HEADER);
+            default ->
+                    compileNumberedFieldValue(pattern);
+        };
+    }
+
+    private static FieldValueExtractor compileNumberedFieldValue(String pattern) {
+        if (pattern.matches("camel[\\d]+")) {
+            int num = Integer.parseInt(pattern.substring(5));
+            return titleValue(title -> getCamelizedTitle_N(title, num));
+        } else if (pattern.matches("keyword\\d+")) {
+            // according to LabelPattern.php, it returns keyword number n
+            int num = Integer.parseInt(pattern.substring(7));
+            return (entry, keywordDelimiter, database) -> {
                 KeywordList separatedKeywords = entry.getResolvedKeywords(keywordDelimiter, database);
                 if (separatedKeywords.size() < num) {
                     // not enough keywords
@@ -489,20 +343,22 @@ public class BracketedPattern {
                     // num counts from 1 to n, but index in arrayList count from 0 to n-1
                     return separatedKeywords.get(num - 1).toString();
                 }
-            } else if (pattern.matches("keywords\\d*")) {
-                // return all keywords, not separated
-                int num;
-                if (pattern.length() > 8) {
-                    num = Integer.parseInt(pattern.substring(8));
-                } else {
-                    num = Integer.MAX_VALUE;
-                }
+            };
+        } else if (pattern.matches("keywords\\d*")) {
+            // return all keywords, not separated
+            int num;
+            if (pattern.length() > 8) {
+                num = Integer.parseInt(pattern.substring(8));
+            } else {
+                num = Integer.MAX_VALUE;
+            }
+            return (entry, keywordDelimiter, database) -> {
                 KeywordList separatedKeywords = entry.getResolvedKeywords(keywordDelimiter, database);
                 StringBuilder sb = new StringBuilder();
                 int i = 0;
                 for (Keyword keyword : separatedKeywords) {
                     // remove all spaces
-                    sb.append(keyword.toString().replaceAll("\\s+", ""));
+                    sb.append(WHITESPACES.matcher(keyword.toString()).replaceAll(""));
 
                     i++;
                     if (i >= num) {
@@ -510,13 +366,172 @@ public class BracketedPattern {
                     }
                 }
                 return sb.toString();
-            } else {
-                // we haven't seen any special demands
-                return entry.getResolvedFieldOrAlias(FieldFactory.parseField(pattern), database).orElse("");
+            };
+        } else {
+            // we haven't seen any special demands
+            return fieldValue(FieldFactory.parseField(pattern));
+        }
+    }
+
+    private static FieldValueExtractor compileAuthorValue(String pattern) {
+        // "pure" is used in the context of authors to resolve to authors only and not fallback to editors
+        // The other functionality of the pattern "ForeIni", ... is the same
+        // Thus, remove the "pure" prefix so the remaining code in this section functions correctly
+        boolean pure = pattern.startsWith("pure");
+        String authorPattern = pure ? pattern.substring(4) : pattern;
+
+        Optional<Function<AuthorList, String>> authorFormat = compileAuthorFormat(authorPattern);
+        if (authorFormat.isEmpty()) {
+            // This "auth" business was a dead end, so just
+            // use it literally:
+            return fieldValue(FieldFactory.parseField(authorPattern));
+        }
+
+        Function<AuthorList, String> format = authorFormat.get();
+        return (entry, _, database) -> {
+            String unparsedAuthors = entry.getResolvedFieldOrAlias(StandardField.AUTHOR, database).orElse("");
+            if (!pure && unparsedAuthors.isEmpty()) {
+                // special feature: A pattern starting with "auth" falls back to the editor
+                unparsedAuthors = entry.getResolvedFieldOrAlias(StandardField.EDITOR, database).orElse("");
             }
-        } catch (NullPointerException ex) {
-            LOGGER.debug("Problem making expanding bracketed expression", ex);
-            return "";
+            return format.apply(createAuthorList(unparsedAuthors));
+        };
+    }
+
+    private static Optional<Function<AuthorList, String>> compileAuthorFormat(String pattern) {
+        Function<AuthorList, String> format = switch (pattern) {
+            case "auth" ->
+                    BracketedPattern::firstAuthor;
+            case "authForeIni" ->
+                    BracketedPattern::firstAuthorForenameInitials;
+            case "authFirstFull" ->
+                    BracketedPattern::firstAuthorVonAndLast;
+            case "authors" ->
+                    BracketedPattern::allAuthors;
+            case "authorsAlpha" ->
+                    BracketedPattern::authorsAlpha;
+            case "authorsAlphaLNI" ->
+                    BracketedPattern::authorsAlphaLNI;
+            case "authorLast" ->
+                    BracketedPattern::lastAuthor;
+            case "authorLastForeIni" ->
+                    BracketedPattern::lastAuthorForenameInitials;
+            case "authorIni" ->
+                    BracketedPattern::oneAuthorPlusInitials;
+            case "auth.auth.ea" ->
+                    BracketedPattern::authAuthEa;
+            case "auth.etal" ->
+                    authorList -> authEtal(authorList, ".", ".etal");
+            case "authEtAl" ->
+                    authorList -> authEtal(authorList, "", "EtAl");
+            case "authshort" ->
+                    BracketedPattern::authShort;
+            default ->
+                    null;
+        };
+        if (format != null) {
+            return Optional.of(format);
+        }
+
+        if (pattern.matches("authIni[\\d]+")) {
+            int num = Integer.parseInt(pattern.substring(7));
+            return Optional.of(authorList -> authIniN(authorList, num));
+        } else if (pattern.matches("auth[\\d]+_[\\d]+")) {
+            String[] nums = pattern.substring(4).split("_");
+            int n = Integer.parseInt(nums[0]);
+            int m = Integer.parseInt(nums[1]);
+            return Optional.of(authorList -> authNofMth(authorList, n, m));
+        } else if (pattern.matches("auth\\d+")) {
+            // authN. First N chars of the first author's last name.
+            int num = Integer.parseInt(pattern.substring(4));
+            return Optional.of(authorList -> authN(authorList, num));
+        } else if (pattern.matches("authors\\d+")) {
+            int num = Integer.parseInt(pattern.substring(7));
+            return Optional.of(authorList -> nAuthors(authorList, num));
+        }
+        return Optional.empty();
+    }
+
+    private static FieldValueExtractor compileEditorValue(String pattern) {
+        Optional<Function<AuthorList, String>> editorFormat = compileEditorFormat(pattern);
+        if (editorFormat.isEmpty()) {
+            // This "ed" business was a dead end, so just
+            // use it literally:
+            return fieldValue(FieldFactory.parseField(pattern));
+        }
+
+        Function<AuthorList, String> format = editorFormat.get();
+        return (entry, _, database) -> {
+            String unparsedEditors = entry.getResolvedFieldOrAlias(StandardField.EDITOR, database).orElse("");
+            return format.apply(createAuthorList(unparsedEditors));
+        };
+    }
+
+    private static Optional<Function<AuthorList, String>> compileEditorFormat(String pattern) {
+        Function<AuthorList, String> format = switch (pattern) {
+            case "edtr" ->
+                    BracketedPattern::firstAuthor;
+            case "edtrForeIni" ->
+                    BracketedPattern::firstAuthorForenameInitials;
+            case "editors" ->
+                    BracketedPattern::allAuthors;
+            case "editorLast" ->
+                    BracketedPattern::lastAuthor; // Last author's last name
+            case "editorLastForeIni" ->
+                    BracketedPattern::lastAuthorForenameInitials;
+            case "editorIni" ->
+                    BracketedPattern::oneAuthorPlusInitials;
+            case "edtr.edtr.ea" ->
+                    BracketedPattern::authAuthEa;
+            case "edtrshort" ->
+                    BracketedPattern::authShort;
+            default ->
+                    null;
+        };
+        if (format != null) {
+            return Optional.of(format);
+        }
+
+        if (pattern.matches("edtrIni[\\d]+")) {
+            int num = Integer.parseInt(pattern.substring(7));
+            return Optional.of(editorList -> authIniN(editorList, num));
+        } else if (pattern.matches("edtr[\\d]+_[\\d]+")) {
+            String[] nums = pattern.substring(4).split("_");
+            int n = Integer.parseInt(nums[0]);
+            int m = Integer.parseInt(nums[1]);
+            return Optional.of(editorList -> authNofMth(editorList, n, m));
+        } else if (pattern.matches("edtr\\d+")) {
+            int num = Integer.parseInt(pattern.substring(4));
+            return Optional.of(editorList -> {
+                String fa = firstAuthor(editorList);
+                return fa.substring(0, Math.min(num, fa.length()));
+            });
+        }
+        return Optional.empty();
+    }
+
+    private static FieldValueExtractor fieldValue(Field field) {
+        return (entry, _, database) -> entry.getResolvedFieldOrAlias(field, database).orElse("");
+    }
+
+    private static FieldValueExtractor pagesValue(Function<String, String> format) {
+        return (entry, _, database) -> format.apply(entry.getResolvedFieldOrAlias(StandardField.PAGES, database).orElse(""));
+    }
+
+    private static FieldValueExtractor titleValue(Function<String, String> format) {
+        return (entry, _, database) -> format.apply(entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse(""));
+    }
+
+    private static String shortYear(String yearString) {
+        if (yearString.isEmpty()) {
+            return yearString;
+            // In press/in preparation/submitted
+        } else if (yearString.startsWith("in") || yearString.startsWith("sub")) {
+            return "IP";
+        } else if (yearString.length() > 2) {
+            return yearString.substring(yearString.length() - 2);
+        } else {
+            return yearString;
         }
     }
 
@@ -568,37 +583,76 @@ public class BracketedPattern {
      * @return The modified label.
      */
     static String applyModifiers(final String label, final List<String> parts, final int offset, Function<String, String> expandBracketContent) {
+        return applyModifiers(label, compileModifiers(parts, offset), expandBracketContent);
+    }
+
+    /**
+     * Applies compiled modifiers to a label generated based on a field marker.
+     *
+     * @param label                The generated label.
+     * @param modifiers            The modifiers as returned by {@link #compileModifiers(List, int)}.
+     * @param expandBracketContent a function to expand the content in the parentheses.
+     * @return The modified label.
+     */
+    static String applyModifiers(final String label, final List<LabelModifier> modifiers, Function<String, String> expandBracketContent) {
         String resultingLabel = label;
+        for (LabelModifier modifier : modifiers) {
+            resultingLabel = modifier.apply(label, resultingLabel, expandBracketContent);
+        }
+        return resultingLabel;
+    }
+
+    /**
+     * Looks up the modifiers of a field marker, so that they can be applied to many labels.
+     *
+     * @param parts  String array containing the modifiers.
+     * @param offset The number of initial items in the modifiers array to skip.
+     */
+    static List<LabelModifier> compileModifiers(final List<String> parts, final int offset) {
+        List<LabelModifier> modifiers = new ArrayList<>(Math.max(0, parts.size() - offset));
         for (int j = offset; j < parts.size(); j++) {
-            String modifier = parts.get(j);
-
-            if ("abbr".equals(modifier)) {
-                // Abbreviate - that is,
-                StringBuilder abbreviateSB = new StringBuilder();
-                String[] words = resultingLabel.replaceAll("[\\{\\}']", "")
-                                               .split("[\\(\\) \r\n\"]");
-                for (String word : words) {
-                    if (!word.isEmpty()) {
-                        abbreviateSB.append(word.charAt(0));
-                    }
-                }
-                resultingLabel = abbreviateSB.toString();
-            } else {
-                Optional<Formatter> formatter = Formatters.getFormatterForModifier(modifier);
-                if (formatter.isPresent()) {
-                    resultingLabel = formatter.get().format(resultingLabel);
-                } else if (!modifier.isEmpty() && (modifier.length() >= 2) && (modifier.charAt(0) == '(') && modifier.endsWith(")")) {
-                    // Alternate text modifier in parentheses. Should be inserted if the label is empty
-                    if (label.isEmpty() && (modifier.length() > 2)) {
-                        resultingLabel = expandBrackets(modifier.substring(1, modifier.length() - 1), expandBracketContent);
-                    }
-                } else {
-                    LOGGER.warn("Key generator warning: unknown modifier '{}'.", modifier);
-                }
+            modifiers.add(compileModifier(parts.get(j)));
+        }
+        return List.copyOf(modifiers);
+    }
+
+    private static LabelModifier compileModifier(String modifier) {
+        if ("abbr".equals(modifier)) {
+            return (_, label, _) -> abbreviate(label);
+        }
+
+        Optional<Formatter> formatter = Formatters.getFormatterForModifier(modifier);
+        if (formatter.isPresent()) {
+            Formatter modifierFormatter = formatter.get();
+            return (_, label, _) -> modifierFormatter.format(label);
+        } else if (!modifier.isEmpty() && (modifier.length() >= 2) && (modifier.charAt(0) == '(') && modifier.endsWith(")")) {
+            // Alternate text modifier in parentheses. Should be inserted if the label is empty
+            if (modifier.length() == 2) {
+                return (_, label, _) -> label;
             }
+            CompiledBracketedPattern alternative = CompiledBracketedPattern.compile(modifier.substring(1, modifier.length() - 1));
+            return (originalLabel, label, expandBracketContent) -> originalLabel.isEmpty() ? alternative.expand(expandBracketContent) : label;
+        } else {
+            return (_, label, _) -> {
+                LOGGER.warn("Key generator warning: unknown modifier '{}'.", modifier);
+                return label;
+            };
         }
+    }
 
-        return resultingLabel;
+    /**
+     * Abbreviates the label to the first letters of its words
+     */
+    private static String abbreviate(String label) {
+        StringBuilder abbreviateSB = new StringBuilder();
+        String[] words = label.replaceAll("[\\{\\}']", "")
+                              .split("[\\(\\) \r\n\"]");
+        for (String word : words) {
+            if (!word.isEmpty()) {
+                abbreviateSB.append(word.charAt(0));
+            }
+        }
+        return abbreviateSB.toString();
     }
 
     /**
@@ -612,7 +666,7 @@ public class BracketedPattern {
      * Removes any '-', unnecessary whitespace and latex commands formatting
      */
     private static String formatTitle(String title) {
-        String ss = new RemoveLatexCommandsFormatter().format(title);
+        String ss = LATEX_COMMANDS_FORMATTER.format(title);
         StringBuilder stringBuilder = new StringBuilder();
         StringBuilder current;
         int piv = 0;
@@ -642,6 +696,16 @@ public class BracketedPattern {
         return stringBuilder.toString();
     }
 
+    /**
+     * Splits a title formatted by {@link #formatTitle(String)} into its words. These are separated by single spaces and do not contain whitespace.
+     */
+    private static List<String> formattedTitleWords(String formattedTitle) {
+        if (formattedTitle.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(formattedTitle.split(" "));
+    }
+
     /**
      * Capitalises and concatenates the words out of the "title" field in the given BibTeX entry
      */
@@ -650,24 +714,12 @@ public class BracketedPattern {
     }
 
     private static String camelizeTitle(String title) {
-        StringBuilder stringBuilder = new StringBuilder();
-        String formattedTitle = formatTitle(title);
-
-        try (Scanner titleScanner = new Scanner(formattedTitle)) {
-            while (titleScanner.hasNext()) {
-                String word = titleScanner.next();
-
-                // Camelize the word
-                word = word.substring(0, 1).toUpperCase(Locale.ROOT) + word.substring(1);
-
-                if (!stringBuilder.isEmpty()) {
-                    stringBuilder.append(' ');
-                }
-                stringBuilder.append(word);
-            }
+        StringJoiner stringJoiner = new StringJoiner(" ");
+        for (String word : formattedTitleWords(formatTitle(title))) {
+            // Camelize the word
+            stringJoiner.add(word.substring(0, 1).toUpperCase(Locale.ROOT) + word.substring(1));
         }
-
-        return stringBuilder.toString();
+        return stringJoiner.toString();
     }
 
     /**
@@ -678,26 +730,7 @@ public class BracketedPattern {
     }
 
     private static String camelizeTitle_N(String title, int number) {
-        StringBuilder stringBuilder = new StringBuilder();
-        String formattedTitle = formatTitle(title);
-
-        try (Scanner titleScanner = new Scanner(formattedTitle)) {
-            while (titleScanner.hasNext()) {
-                String word = titleScanner.next();
-
-                // Camelize the word
-                word = word.substring(0, 1).toUpperCase(Locale.ROOT) + word.substring(1);
-
-                if (!stringBuilder.isEmpty()) {
-                    stringBuilder.append(' ');
-                }
-                stringBuilder.append(word);
-            }
-        }
-
-        String camelString = stringBuilder.toString();
-
-        return getSomeWords(number, camelString);
+        return getSomeWords(number, camelizeTitle(title));
     }
 
     /**
@@ -705,38 +738,28 @@ public class BracketedPattern {
      */
     public static String camelizeSignificantWordsInTitle(String title) {
         StringJoiner stringJoiner = new StringJoiner(" ");
-        String formattedTitle = formatTitle(title);
-
-        try (Scanner titleScanner = new Scanner(formattedTitle)) {
-            while (titleScanner.hasNext()) {
-                String word = titleScanner.next();
-
-                // Camelize the word if it is significant
-                boolean camelize = !Word.SMALLER_WORDS.contains(word.toLowerCase(Locale.ROOT));
+        for (String word : formattedTitleWords(formatTitle(title))) {
+            // Camelize the word if it is significant
+            boolean camelize = !Word.SMALLER_WORDS.contains(word.toLowerCase(Locale.ROOT));
 
-                // We want to capitalize significant words and the first word of the title
-                if (camelize || (stringJoiner.length() == 0)) {
-                    word = word.substring(0, 1).toUpperCase(Locale.ROOT) + word.substring(1);
-                } else {
-                    word = word.substring(0, 1).toLowerCase(Locale.ROOT) + word.substring(1);
-                }
-
-                stringJoiner.add(word);
+            // We want to capitalize significant words and the first word of the title
+            if (camelize || (stringJoiner.length() == 0)) {
+                word = word.substring(0, 1).toUpperCase(Locale.ROOT) + word.substring(1);
+            } else {
+                word = word.substring(0, 1).toLowerCase(Locale.ROOT) + word.substring(1);
             }
+
+            stringJoiner.add(word);
         }
 
         return stringJoiner.toString();
     }
 
     public static String removeSmallWords(String title) {
-        String formattedTitle = formatTitle(title);
-
-        try (Scanner titleScanner = new Scanner(formattedTitle)) {
-            return titleScanner.tokens()
-                               .filter(Predicate.not(
-                                       Word::isSmallerWord))
-                               .collect(Collectors.joining(" "));
-        }
+        return formattedTitleWords(formatTitle(title)).stream()
+                                                      .filter(Predicate.not(
+                                                              Word::isSmallerWord))
+                                                      .collect(Collectors.joining(" "));
     }
 
     private static String getTitleWordsWithSpaces(int number, String title) {
@@ -745,12 +768,13 @@ public class BracketedPattern {
         return getSomeWords(number, formattedTitle);
     }
 
+    /**
+     * @param string words separated by single spaces, such as a title formatted by {@link #formatTitle(String)}
+     */
     private static String getSomeWords(int number, String string) {
-        try (Scanner titleScanner = new Scanner(string)) {
-            return titleScanner.tokens()
-                               .limit(number)
-                               .collect(Collectors.joining(" "));
-        }
+        return formattedTitleWords(string).stream()
+                                          .limit(number)
+                                          .collect(Collectors.joining(" "));
     }
 
     private static String keepLettersAndDigitsOnly(String in) {
@@ -2,8 +2,10 @@ package org.jabref.logic.citationkeypattern;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.regex.PatternSyntaxException;
 
@@ -44,6 +46,8 @@ public class CitationKeyGenerator extends BracketedPattern {
     private final BibDatabase database;
     private final CitationKeyPatternPreferences citationKeyPatternPreferences;
     private final String unwantedCharacters;
+    // The patterns of the entry types, parsed once. Keyed by the pattern string, as entry types often share a pattern
+    private final Map<String, CompiledBracketedPattern> compiledPatterns = new ConcurrentHashMap<>();
 
     public CitationKeyGenerator(BibDatabaseContext bibDatabaseContext, CitationKeyPatternPreferences citationKeyPatternPreferences) {
         this(bibDatabaseContext.getMetaData().getCiteKeyPatterns(citationKeyPatternPreferences.getKeyPatterns()),
@@ -178,11 +182,20 @@ public class CitationKeyGenerator extends BracketedPattern {
         if (citationKeyPattern == null || CitationKeyPattern.NULL_CITATION_KEY_PATTERN.equals(citationKeyPattern)) {
             return "";
         }
-        return expandBrackets(citationKeyPattern.stringRepresentation(), expandBracketContent(entry));
+        CompiledBracketedPattern compiledPattern = compiledPatterns.computeIfAbsent(citationKeyPattern.stringRepresentation(), CompiledBracketedPattern::compile);
+        Character keywordDelimiter = citationKeyPatternPreferences.getKeywordDelimiter();
+        Function<String, String> alternativeContentHandler = expandBracketContent(entry);
+
+        return compiledPattern.expandFieldMarkers(fieldMarker -> {
+            String expandedPattern = removeUnwantedCharacters(fieldMarker.value().extract(entry, keywordDelimiter, database), unwantedCharacters);
+            expandedPattern = applyModifiers(expandedPattern, fieldMarker.modifiers(), alternativeContentHandler);
+            return cleanKey(expandedPattern, unwantedCharacters);
+        });
     }
 
     /**
      * A helper method to create a {@link Function} that takes a single bracketed expression, expands it, and cleans the key.
+     * Used for the alternative texts of field markers, such as <code>[title:(unknown)]</code>.
      *
      * @param entry the {@link BibEntry} that a citation key is generated for
      * @return a cleaned citation key for the given {@link BibEntry}
@@ -0,0 +1,226 @@
+package org.jabref.logic.citationkeypattern;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringTokenizer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.jabref.logic.citationkeypattern.BracketedPattern.FieldValueExtractor;
+import org.jabref.logic.citationkeypattern.BracketedPattern.LabelModifier;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pattern such as <code>[auth][year]_[title:lower]</code>, parsed into literal text and field markers. Each field marker
+ * knows how to extract its value from an entry and which modifiers to apply, so that expanding the pattern for an entry
+ * neither tokenizes the pattern nor compares the names of the field markers again.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ *
+ * @see BracketedPattern
+ */
+public final class CompiledBracketedPattern {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledBracketedPattern.class);
+
+    // Replaces escaped quotes (\") while parsing, so that they are not taken as the start of a quote
+    private static final String ESCAPED_QUOTE_PLACEHOLDER = "\u0A17";
+
+    private final List<Part> parts;
+
+    private CompiledBracketedPattern(List<Part> parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * Parses the given pattern. Field markers with unknown names are resolved as field names.
+     *
+     * @param pattern the pattern to parse
+     * @return the pattern, ready to be expanded
+     */
+    public static CompiledBracketedPattern compile(String pattern) {
+        List<Part> parts = new ArrayList<>();
+        parse(pattern,
+                literal -> parts.add(new Literal(literal)),
+                fieldMarker -> parts.add(FieldMarker.compile(fieldMarker)));
+        return new CompiledBracketedPattern(List.copyOf(parts));
+    }
+
+    /**
+     * Expands a pattern without compiling its field markers, for patterns which are expanded only once.
+     *
+     * @see BracketedPattern#expandBrackets(String, Function)
+     */
+    static String expandBrackets(String pattern, Function<String, String> bracketContentHandler) {
+        StringBuilder expandedPattern = new StringBuilder();
+        parse(pattern,
+                expandedPattern::append,
+                fieldMarker -> expandedPattern.append(bracketContentHandler.apply(fieldMarker)));
+        return expandedPattern.toString().replace(ESCAPED_QUOTE_PLACEHOLDER, "\\\"");
+    }
+
+    /**
+     * Splits the pattern into literal text and the content of field markers, in the order of their occurrence.
+     * Consecutive literal text is passed as one piece.
+     */
+    private static void parse(String pattern, Consumer<String> literalConsumer, Consumer<String> fieldMarkerConsumer) {
+        Objects.requireNonNull(pattern);
+        String escapedPattern = pattern.replace("\\\"", ESCAPED_QUOTE_PLACEHOLDER);
+        StringTokenizer parsedPattern = new StringTokenizer(escapedPattern, "\\[]\"", true);
+
+        StringBuilder literal = new StringBuilder();
+        while (parsedPattern.hasMoreTokens()) {
+            String token = parsedPattern.nextToken();
+            switch (token) {
+                case "\"" -> appendQuote(literal, parsedPattern);
+                case "[" -> {
+                    String fieldMarker = contentBetweenBrackets(parsedPattern, escapedPattern);
+                    if (!literal.isEmpty()) {
+                        literalConsumer.accept(literal.toString());
+                        literal.setLength(0);
+                    }
+                    fieldMarkerConsumer.accept(fieldMarker);
+                }
+                case "\\" -> {
+                    if (parsedPattern.hasMoreTokens()) {
+                        literal.append(parsedPattern.nextToken());
+                    } else {
+                        LOGGER.warn("Found a \"\\\" that is not part of an escape sequence");
+                    }
+                }
+                default -> literal.append(token);
+            }
+        }
+        if (!literal.isEmpty()) {
+            literalConsumer.accept(literal.toString());
+        }
+    }
+
+    /**
+     * Returns the content enclosed between brackets, including enclosed quotes, and excluding the paired enclosing brackets.
+     * There may be brackets in it.
+     * Intended to be used by {@link #parse(String, Consumer, Consumer)} when a [ is encountered, and has been consumed, by the {@code StringTokenizer}.
+     *
+     * @param pattern   pattern used by {@code parse}, used for logging
+     * @param tokenizer the tokenizer producing the tokens
+     * @return the content enclosed by brackets
+     */
+    private static String contentBetweenBrackets(StringTokenizer tokenizer, final String pattern) {
+        StringBuilder bracketContent = new StringBuilder();
+        boolean foundClosingBracket = false;
+        int subBrackets = 0;
+        // make sure to read until the paired ']'
+        while (tokenizer.hasMoreTokens() && !foundClosingBracket) {
+            String token = tokenizer.nextToken();
+            // If the beginning of a quote is found, append the content
+            switch (token) {
+                case "\"" -> appendQuote(bracketContent, tokenizer);
+                case "]" -> {
+                    if (subBrackets == 0) {
+                        foundClosingBracket = true;
+                    } else {
+                        subBrackets--;
+                        bracketContent.append(token);
+                    }
+                }
+                case "[" -> {
+                    subBrackets++;
+                    bracketContent.append(token);
+                }
+                default -> bracketContent.append(token);
+            }
+        }
+
+        if (!foundClosingBracket) {
+            LOGGER.warn("Missing closing bracket ']' in '{}'", pattern);
+        } else if (bracketContent.isEmpty()) {
+            LOGGER.warn("Found empty brackets \"[]\" in '{}'", pattern);
+        }
+        return bracketContent.toString();
+    }
+
+    /**
+     * Appends the content between, and including, two \" to the provided <code>StringBuilder</code>. Intended to be
+     * used by {@link #parse(String, Consumer, Consumer)} when a \" is encountered by the StringTokenizer.
+     *
+     * @param stringBuilder the <code>StringBuilder</code> to which tokens will be appended
+     * @param tokenizer     the tokenizer producing the tokens
+     */
+    private static void appendQuote(StringBuilder stringBuilder, StringTokenizer tokenizer) {
+        stringBuilder.append("\"");  // We know that the previous token was \"
+        String token = "";
+        while (tokenizer.hasMoreTokens() && !"\"".equals(token)) {
+            token = tokenizer.nextToken();
+            stringBuilder.append(token);
+        }
+    }
+
+    /**
+     * Expands the pattern using the given entry, keyword delimiter, and database.
+     *
+     * @param entry            The entry to expand.
+     * @param keywordDelimiter The keyword delimiter to use.
+     * @param database         The database to use for string-lookups and cross-refs. May be null.
+     * @return The expanded pattern. Not null.
+     */
+    public String expand(BibEntry entry, Character keywordDelimiter, BibDatabase database) {
+        Objects.requireNonNull(entry);
+        Function<String, String> alternativeContentHandler = BracketedPattern.expandBracketContent(keywordDelimiter, entry, database);
+        return expandFieldMarkers(fieldMarker -> BracketedPattern.applyModifiers(
+                fieldMarker.value().extract(entry, keywordDelimiter, database),
+                fieldMarker.modifiers(),
+                alternativeContentHandler));
+    }
+
+    /**
+     * Expands the pattern.
+     *
+     * @param bracketContentHandler A function taking the string representation of the content of a bracketed pattern
+     *                              and expanding it
+     * @return The expanded pattern. Not null.
+     */
+    public String expand(Function<String, String> bracketContentHandler) {
+        return expandFieldMarkers(fieldMarker -> bracketContentHandler.apply(fieldMarker.content()));
+    }
+
+    /**
+     * Expands the pattern, using the compiled value and modifiers of the field markers.
+     *
+     * @param fieldMarkerHandler A function expanding a field marker
+     * @return The expanded pattern. Not null.
+     */
+    String expandFieldMarkers(Function<FieldMarker, String> fieldMarkerHandler) {
+        StringBuilder expandedPattern = new StringBuilder();
+        for (Part part : parts) {
+            switch (part) {
+                case Literal literal -> expandedPattern.append(literal.text());
+                case FieldMarker fieldMarker -> expandedPattern.append(fieldMarkerHandler.apply(fieldMarker));
+            }
+        }
+        return expandedPattern.toString().replace(ESCAPED_QUOTE_PLACEHOLDER, "\\\"");
+    }
+
+    private sealed interface Part permits Literal, FieldMarker {
+    }
+
+    private record Literal(String text) implements Part {
+    }
+
+    /**
+     * The content of a pair of brackets, such as <code>title:lower</code>
+     *
+     * @param content   the content as written in the pattern
+     * @param value     extracts the value of the field marker without modifiers
+     * @param modifiers the modifiers to apply to the value
+     */
+    record FieldMarker(String content, FieldValueExtractor value, List<LabelModifier> modifiers) implements Part {
+        static FieldMarker compile(String content) {
+            List<String> fieldParts = BracketedPattern.parseFieldAndModifiers(content);
+            return new FieldMarker(content, BracketedPattern.compileFieldValue(fieldParts.getFirst()), BracketedPattern.compileModifiers(fieldParts, 1));
+        }
+    }
+}
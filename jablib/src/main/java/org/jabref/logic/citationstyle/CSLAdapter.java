@@ -1,6 +1,7 @@
 package org.jabref.logic.citationstyle;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -25,10 +26,8 @@ import de.undercouch.citeproc.output.Citation;
  * <p>
  * Note on the implementation:
  * The main function {@link #makeBibliography} will enforce
- * synchronized calling. The main CSL engine under the hood is not thread-safe. Since this class is usually called from
- * a BackgroundTask, the only other option would be to create several CSL instances which is wasting a lot of resources and very slow.
- * In the current scheme, {@link #makeBibliography} can be called as usual
- * background task and to the best of my knowledge, concurrent calls will pile up and processed sequentially.
+ * synchronized calling. The main CSL engine under the hood is not thread-safe. To render concurrently or with several styles,
+ * use several instances, as done by {@link CSLAdapterPool}.
  */
 public class CSLAdapter {
 
@@ -51,6 +50,23 @@ public class CSLAdapter {
         return Arrays.asList(bibliography.getEntries());
     }
 
+    /**
+     * Creates the bibliography of each of the provided entries on its own, i.e., as if {@link #makeBibliography} was called for
+     * each entry, but initializing the engine only once.
+     *
+     * @return the bibliography entry of each provided entry, in the order of the provided entries
+     */
+    public synchronized List<String> makeBibliographyPerEntry(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) throws IOException, IllegalArgumentException {
+        initialize(style, outputFormat);
+        List<String> bibliographies = new ArrayList<>(bibEntries.size());
+        for (BibEntry entry : bibEntries) {
+            dataProvider.setData(List.of(entry), databaseContext, entryTypesManager);
+            cslInstance.registerCitationItems(dataProvider.getIds());
+            bibliographies.add(cslInstance.makeBibliography().getEntries()[0]);
+        }
+        return bibliographies;
+    }
+
     public synchronized Citation makeCitation(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) throws IOException {
         dataProvider.setData(bibEntries, databaseContext, entryTypesManager);
         initialize(style, outputFormat);
@@ -0,0 +1,108 @@
+package org.jabref.logic.citationstyle;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+
+import de.undercouch.citeproc.output.Citation;
+
+/**
+ * Keeps initialized {@link CSLAdapter}s for the recently used combinations of style and output format.
+ * <p>
+ * A {@link CSLAdapter} is not thread-safe and expensive to create for a new style. Each call borrows an adapter for its style
+ * and output format (creating one if none is available) and returns it afterward. Thus, calls run in parallel, and switching
+ * between styles does not re-initialize the engine. At most {@link #MAX_ADAPTERS} calls run at the same time; further calls
+ * wait until one of them finished. At most {@link #MAX_ADAPTERS} idle adapters are kept; if more are returned, the least
+ * recently used style loses one of its adapters.
+ * <p>
+ * An adapter is not returned to the pool if rendering failed, because the state of the engine is unknown afterward.
+ */
+class CSLAdapterPool {
+
+    private static final int MAX_ADAPTERS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private final Semaphore adaptersInUse = new Semaphore(MAX_ADAPTERS, true);
+
+    // Iteration order is the order of access, thus the least recently used style comes first
+    private final Map<EngineKey, Deque<CSLAdapter>> idleAdapters = new LinkedHashMap<>(16, 0.75f, true);
+    private int numberOfIdleAdapters;
+
+    public List<String> makeBibliography(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) throws IOException {
+        return withAdapter(new EngineKey(style, outputFormat),
+                adapter -> adapter.makeBibliography(bibEntries, style, outputFormat, databaseContext, entryTypesManager));
+    }
+
+    public List<String> makeBibliographyPerEntry(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) throws IOException {
+        return withAdapter(new EngineKey(style, outputFormat),
+                adapter -> adapter.makeBibliographyPerEntry(bibEntries, style, outputFormat, databaseContext, entryTypesManager));
+    }
+
+    public Citation makeCitation(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) throws IOException {
+        return withAdapter(new EngineKey(style, outputFormat),
+                adapter -> adapter.makeCitation(bibEntries, style, outputFormat, databaseContext, entryTypesManager));
+    }
+
+    /**
+     * Waits until fewer than {@link #MAX_ADAPTERS} adapters are in use and runs the call with an adapter for the given key
+     */
+    private <T> T withAdapter(EngineKey key, AdapterCall<T> call) throws IOException {
+        // Rendering is short, thus waiting for an adapter is not interrupted
+        adaptersInUse.acquireUninterruptibly();
+        try {
+            CSLAdapter adapter = borrow(key);
+            T result = call.apply(adapter);
+            giveBack(key, adapter);
+            return result;
+        } finally {
+            adaptersInUse.release();
+        }
+    }
+
+    private synchronized CSLAdapter borrow(EngineKey key) {
+        Deque<CSLAdapter> adapters = idleAdapters.get(key);
+        if ((adapters == null) || adapters.isEmpty()) {
+            return new CSLAdapter();
+        }
+        numberOfIdleAdapters--;
+        CSLAdapter adapter = adapters.pop();
+        if (adapters.isEmpty()) {
+            idleAdapters.remove(key);
+        }
+        return adapter;
+    }
+
+    private synchronized void giveBack(EngineKey key, CSLAdapter adapter) {
+        if (numberOfIdleAdapters >= MAX_ADAPTERS) {
+            evictLeastRecentlyUsed();
+        }
+        idleAdapters.computeIfAbsent(key, _ -> new ArrayDeque<>()).push(adapter);
+        numberOfIdleAdapters++;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Iterator<Deque<CSLAdapter>> iterator = idleAdapters.values().iterator();
+        Deque<CSLAdapter> adapters = iterator.next();
+        adapters.removeLast();
+        numberOfIdleAdapters--;
+        if (adapters.isEmpty()) {
+            iterator.remove();
+        }
+    }
+
+    @FunctionalInterface
+    private interface AdapterCall<T> {
+        T apply(CSLAdapter adapter) throws IOException;
+    }
+
+    private record EngineKey(String style, CitationStyleOutputFormat outputFormat) {
+    }
+}
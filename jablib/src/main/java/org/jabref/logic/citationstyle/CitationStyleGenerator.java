@@ -16,12 +16,13 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Facade to unify the access to the citation style engine. Use these methods if you need rendered BibTeX item(s) in a
- * given journal style. This class uses {@link CSLAdapter} to create output.
+ * given journal style. This class uses {@link CSLAdapter}s to create output, which are kept in a {@link CSLAdapterPool} so that
+ * independent calls are rendered in parallel.
  */
 public class CitationStyleGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CitationStyleGenerator.class);
-    private static final CSLAdapter CSL_ADAPTER = new CSLAdapter();
+    private static final CSLAdapterPool CSL_ADAPTER_POOL = new CSLAdapterPool();
 
     private CitationStyleGenerator() {
     }
@@ -33,7 +34,7 @@ public class CitationStyleGenerator {
      */
     public static String generateCitation(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) {
         try {
-            return CSL_ADAPTER.makeCitation(bibEntries, style, outputFormat, databaseContext, entryTypesManager).getText();
+            return CSL_ADAPTER_POOL.makeCitation(bibEntries, style, outputFormat, databaseContext, entryTypesManager).getText();
         } catch (IOException e) {
             LOGGER.error("Could not generate BibEntry citation", e);
             return Localization.lang("Cannot generate citation based on selected citation style.");
@@ -57,22 +58,59 @@ public class CitationStyleGenerator {
      * @implNote The bibliographies are generated using an external library which may take some time, debatable if it is better to call it from outside the main Thread.
      */
     public static List<String> generateBibliography(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) {
+        return generateBibliography(CSL_ADAPTER_POOL, bibEntries, style, outputFormat, databaseContext, entryTypesManager);
+    }
+
+    private static List<String> generateBibliography(CSLAdapterPool adapterPool, List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) {
         try {
-            return CSL_ADAPTER.makeBibliography(bibEntries, style, outputFormat, databaseContext, entryTypesManager);
-        } catch (IllegalArgumentException e) {
-            LOGGER.error("Could not generate BibEntry bibliography. The CSL engine could not create a bibliography output for your item.", e);
-            return List.of(Localization.lang("Cannot generate bibliography based on selected citation style."));
-        } catch (IOException | ArrayIndexOutOfBoundsException e) {
-            LOGGER.error("Could not generate BibEntry bibliography", e);
-            return List.of(Localization.lang("Cannot generate bibliography based on selected citation style."));
-        } catch (TokenMgrException e) {
-            LOGGER.error("Bad character inside BibEntry", e);
-            // sadly one cannot easily retrieve the bad char from the TokenMgrError
-            return List.of(Localization.lang("Cannot generate bibliography based on selected citation style.") +
-                    outputFormat.getLineSeparator() +
-                    Localization.lang("Bad character inside entry") +
-                    outputFormat.getLineSeparator() +
-                    e.getLocalizedMessage());
+            return adapterPool.makeBibliography(bibEntries, style, outputFormat, databaseContext, entryTypesManager);
+        } catch (IOException | IllegalArgumentException | ArrayIndexOutOfBoundsException | TokenMgrException e) {
+            return List.of(getBibliographyErrorMessage(e, outputFormat));
+        }
+    }
+
+    /**
+     * Generates the bibliography of each of the given entries on its own, as {@link #generateBibliography(List, String, CitationStyleOutputFormat, BibDatabaseContext, BibEntryTypesManager)}
+     * called for a single entry would do, but in one pass of the citation style engine.
+     *
+     * If an entry cannot be rendered, only that entry gets the error message.
+     *
+     * @return the bibliography entry of each given entry, in the order of the given entries
+     */
+    public static List<String> generateBibliographyPerEntry(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) {
+        return generateBibliographyPerEntry(CSL_ADAPTER_POOL, bibEntries, style, outputFormat, databaseContext, entryTypesManager);
+    }
+
+    static List<String> generateBibliographyPerEntry(CSLAdapterPool adapterPool, List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) {
+        try {
+            return adapterPool.makeBibliographyPerEntry(bibEntries, style, outputFormat, databaseContext, entryTypesManager);
+        } catch (IOException | IllegalArgumentException | ArrayIndexOutOfBoundsException | TokenMgrException e) {
+            LOGGER.debug("Could not generate the bibliographies in one pass. Generating them entry by entry.", e);
+            return bibEntries.stream()
+                             .map(entry -> generateBibliography(adapterPool, List.of(entry), style, outputFormat, databaseContext, entryTypesManager).getFirst())
+                             .toList();
+        }
+    }
+
+    private static String getBibliographyErrorMessage(Exception exception, CitationStyleOutputFormat outputFormat) {
+        switch (exception) {
+            case IllegalArgumentException e -> {
+                LOGGER.error("Could not generate BibEntry bibliography. The CSL engine could not create a bibliography output for your item.", e);
+                return Localization.lang("Cannot generate bibliography based on selected citation style.");
+            }
+            case TokenMgrException e -> {
+                LOGGER.error("Bad character inside BibEntry", e);
+                // sadly one cannot easily retrieve the bad char from the TokenMgrError
+                return Localization.lang("Cannot generate bibliography based on selected citation style.") +
+                        outputFormat.getLineSeparator() +
+                        Localization.lang("Bad character inside entry") +
+                        outputFormat.getLineSeparator() +
+                        e.getLocalizedMessage();
+            }
+            default -> {
+                LOGGER.error("Could not generate BibEntry bibliography", exception);
+                return Localization.lang("Cannot generate bibliography based on selected citation style.");
+            }
         }
     }
 }
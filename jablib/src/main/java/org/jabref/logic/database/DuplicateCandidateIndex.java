@@ -0,0 +1,121 @@
+package org.jabref.logic.database;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.jabref.model.entry.AuthorList;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+/**
+ * Groups entries by keys that duplicates are likely to share, so that {@link DuplicateCheck#isDuplicate} needs to be evaluated only
+ * for the entries sharing a key with an entry instead of for all entries ("blocking").
+ * <p>
+ * The keys are
+ * <ul>
+ *     <li>the identifiers (DOI, ePrint, PMID, and ISBN),</li>
+ *     <li>each pair of consecutive words of the title, and</li>
+ *     <li>the family name of the first author (or editor) together with the year.</li>
+ * </ul>
+ * Entries without any key may be duplicates of any entry and are thus candidates for all entries.
+ * Pairs of title words shared by more than {@link #MAX_TITLE_KEY_ENTRIES} entries (such as "of the") are ignored, because they do not distinguish entries.
+ * <p>
+ * The index is not thread-safe while entries are added. Afterward, candidates can be looked up concurrently.
+ */
+public class DuplicateCandidateIndex {
+
+    private static final int MAX_TITLE_KEY_ENTRIES = 1000;
+    private static final String TITLE_KEY_PREFIX = "title:";
+    private static final Pattern NON_WORD_CHARACTERS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final List<BibEntry> entries = new ArrayList<>();
+    // Key to the positions of the entries having this key
+    private final Map<String, List<Integer>> entriesByKey = new HashMap<>();
+    private final List<Integer> entriesWithoutKeys = new ArrayList<>();
+
+    public DuplicateCandidateIndex(Collection<BibEntry> entries) {
+        entries.forEach(this::add);
+    }
+
+    public void add(BibEntry entry) {
+        int position = entries.size();
+        entries.add(entry);
+        Set<String> keys = getKeys(entry);
+        if (keys.isEmpty()) {
+            entriesWithoutKeys.add(position);
+        }
+        for (String key : keys) {
+            entriesByKey.computeIfAbsent(key, _ -> new ArrayList<>()).add(position);
+        }
+    }
+
+    /**
+     * @return the entries possibly being a duplicate of the given entry, in the order they were added. The entry itself is not contained.
+     */
+    public List<BibEntry> getCandidates(BibEntry entry) {
+        Set<String> keys = getKeys(entry);
+        if (keys.isEmpty()) {
+            return entries.stream().filter(candidate -> candidate != entry).toList();
+        }
+
+        List<Integer> positions = new ArrayList<>(entriesWithoutKeys);
+        for (String key : keys) {
+            List<Integer> entriesWithKey = entriesByKey.getOrDefault(key, List.of());
+            if (!key.startsWith(TITLE_KEY_PREFIX) || (entriesWithKey.size() <= MAX_TITLE_KEY_ENTRIES)) {
+                positions.addAll(entriesWithKey);
+            }
+        }
+        return positions.stream()
+                        .distinct()
+                        .sorted()
+                        .map(entries::get)
+                        .filter(candidate -> candidate != entry)
+                        .toList();
+    }
+
+    private static Set<String> getKeys(BibEntry entry) {
+        Set<String> keys = new HashSet<>();
+
+        entry.getField(StandardField.DOI).ifPresent(doi -> keys.add("doi:" + doi));
+        entry.getField(StandardField.EPRINT).ifPresent(eprint -> keys.add("eprint:" + eprint));
+        entry.getField(StandardField.PMID).ifPresent(pmid -> keys.add("pmid:" + pmid));
+        entry.getISBN().ifPresent(isbn -> keys.add("isbn:" + isbn.asString().toLowerCase(Locale.ROOT)));
+
+        entry.getFieldLatexFree(StandardField.TITLE).ifPresent(title -> {
+            List<String> words = normalizedWords(title);
+            if (words.size() == 1) {
+                keys.add(TITLE_KEY_PREFIX + words.getFirst());
+            }
+            for (int i = 0; i < (words.size() - 1); i++) {
+                keys.add(TITLE_KEY_PREFIX + words.get(i) + " " + words.get(i + 1));
+            }
+        });
+
+        Optional<String> year = entry.getFieldOrAlias(StandardField.YEAR);
+        entry.getFieldOrAliasLatexFree(StandardField.AUTHOR)
+             .or(() -> entry.getFieldLatexFree(StandardField.EDITOR))
+             .map(AuthorList::parse)
+             .filter(authors -> !authors.isEmpty())
+             .flatMap(authors -> authors.getAuthor(0).getFamilyName())
+             .map(familyName -> String.join("", normalizedWords(familyName)))
+             .filter(familyName -> !familyName.isEmpty())
+             .ifPresent(familyName -> keys.add("author:" + familyName + ":" + year.orElse("")));
+
+        return keys;
+    }
+
+    private static List<String> normalizedWords(String text) {
+        return Stream.of(NON_WORD_CHARACTERS.split(text.toLowerCase(Locale.ROOT)))
+                     .filter(word -> !word.isEmpty())
+                     .toList();
+    }
+}
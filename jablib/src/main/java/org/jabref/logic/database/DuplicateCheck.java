@@ -377,4 +377,18 @@ public class DuplicateCheck {
 
         return database.getEntries().stream().filter(other -> isDuplicate(entry, other, bibDatabaseMode)).findFirst();
     }
+
+    /**
+     * Like {@link #containsDuplicate(BibDatabase, BibEntry, BibDatabaseMode)}, but only checks the entries sharing a key with the given entry.
+     * Use this when checking many entries against the same entries.
+     *
+     * @param candidates The index of the entries to search.
+     * @param entry      The entry of which we are looking for duplicates.
+     * @return The first duplicate entry found. Empty Optional if no duplicates are found.
+     */
+    public Optional<BibEntry> containsDuplicate(final DuplicateCandidateIndex candidates,
+                                                final BibEntry entry,
+                                                final BibDatabaseMode bibDatabaseMode) {
+        return candidates.getCandidates(entry).stream().filter(other -> isDuplicate(entry, other, bibDatabaseMode)).findFirst();
+    }
 }
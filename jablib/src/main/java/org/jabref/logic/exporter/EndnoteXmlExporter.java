@@ -1,5 +1,6 @@
 package org.jabref.logic.exporter;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.HashMap;
@@ -7,26 +8,22 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.SequencedMap;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.jabref.logic.util.StandardFileType;
+import org.jabref.logic.util.io.IndentingXMLStreamWriter;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.Author;
 import org.jabref.model.entry.AuthorList;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryPreferences;
+import org.jabref.model.entry.Keyword;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.entry.field.UnknownField;
@@ -34,12 +31,10 @@ import org.jabref.model.entry.types.EntryType;
 import org.jabref.model.entry.types.IEEETranEntryType;
 import org.jabref.model.entry.types.StandardEntryType;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-
 public class EndnoteXmlExporter extends Exporter {
 
-    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+    private static final int INDENT_AMOUNT = 2;
 
     private record EndNoteType(String name, Integer number) {
     }
@@ -103,7 +98,7 @@ public class EndnoteXmlExporter extends Exporter {
     }
 
     @Override
-    public void export(BibDatabaseContext databaseContext, Path file, List<BibEntry> entries) throws ParserConfigurationException, TransformerException {
+    public void export(BibDatabaseContext databaseContext, Path file, List<BibEntry> entries) throws SaveException {
         Objects.requireNonNull(databaseContext);
         Objects.requireNonNull(file);
         Objects.requireNonNull(entries);
@@ -112,195 +107,204 @@ public class EndnoteXmlExporter extends Exporter {
             return;
         }
 
-        DocumentBuilder dBuilder = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
-        Document document = dBuilder.newDocument();
-
-        Element rootElement = document.createElement("xml");
-        document.appendChild(rootElement);
+        try (AtomicFileOutputStream outputStream = new AtomicFileOutputStream(file)) {
+            try {
+                XMLStreamWriter writer = new IndentingXMLStreamWriter(XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream, StandardCharsets.UTF_8.name()), INDENT_AMOUNT);
+                writeEntries(databaseContext, entries, writer);
+                writer.flush();
+                writer.close();
+            } catch (XMLStreamException | RuntimeException e) {
+                // Keep the previous file
+                outputStream.abort();
+                throw e;
+            }
+        } catch (XMLStreamException | IOException e) {
+            throw new SaveException(e);
+        }
+    }
 
-        Element recordsElement = document.createElement("records");
-        rootElement.appendChild(recordsElement);
+    /**
+     * Writes the entries one after another, so that the memory usage does not depend on the number of entries
+     */
+    private void writeEntries(BibDatabaseContext databaseContext, List<BibEntry> entries, XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+        writer.writeStartElement("xml");
+        writer.writeStartElement("records");
 
         for (BibEntry entry : entries) {
-            Element recordElement = document.createElement("record");
-            recordsElement.appendChild(recordElement);
-
-            mapEntryType(entry, document, recordElement);
-            createMetaInformationElements(databaseContext, document, recordElement);
-            mapAuthorAndEditor(entry, document, recordElement);
-            mapTitle(entry, document, recordElement);
-            mapJournalTitle(entry, document, recordElement);
-            mapKeywords(databaseContext.getDatabase(), entry, document, recordElement);
-            mapDates(entry, document, recordElement);
-            mapUrls(entry, document, recordElement);
+            writer.writeStartElement("record");
+
+            mapEntryType(entry, writer);
+            createMetaInformationElements(databaseContext, writer);
+            mapAuthorAndEditor(entry, writer);
+            mapTitle(entry, writer);
+            mapJournalTitle(entry, writer);
+            mapKeywords(databaseContext.getDatabase(), entry, writer);
+            mapDates(entry, writer);
+            mapUrls(entry, writer);
 
             for (Map.Entry<Field, String> fieldMapping : STANDARD_FIELD_MAPPING.entrySet()) {
                 Field field = fieldMapping.getKey();
                 String xmlElement = fieldMapping.getValue();
 
-                entry.getField(field).ifPresent(value -> {
-                    Element fieldElement = document.createElement(xmlElement);
-                    fieldElement.setTextContent(value);
-                    recordElement.appendChild(fieldElement);
-                });
+                Optional<String> value = entry.getField(field);
+                if (value.isPresent()) {
+                    writeElement(writer, xmlElement, value.get());
+                }
             }
+
+            writer.writeEndElement(); // end record
         }
 
-        Transformer transformer = createTransformer();
-        DOMSource source = new DOMSource(document);
-        StreamResult result = new StreamResult(file.toFile());
-        transformer.transform(source, result);
+        writer.writeEndElement(); // end records
+        writer.writeEndElement(); // end xml
+        writer.writeEndDocument();
     }
 
-    private static void mapTitle(BibEntry entry, Document document, Element recordElement) {
-        entry.getFieldOrAlias(StandardField.TITLE).ifPresent(title -> {
-            Element titlesElement = document.createElement("titles");
+    private static void writeElement(XMLStreamWriter writer, String name, String text) throws XMLStreamException {
+        writer.writeStartElement(name);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+    }
 
-            Element titleElement = document.createElement("title");
-            titleElement.setTextContent(title);
-            titlesElement.appendChild(titleElement);
+    private static void mapTitle(BibEntry entry, XMLStreamWriter writer) throws XMLStreamException {
+        Optional<String> title = entry.getFieldOrAlias(StandardField.TITLE);
+        if (title.isEmpty()) {
+            return;
+        }
+
+        writer.writeStartElement("titles");
+        writeElement(writer, "title", title.get());
 
-            entry.getField(new UnknownField("alt-title")).ifPresent(altTitle -> {
-                Element altTitleElement = document.createElement("alt-title");
-                altTitleElement.setTextContent(altTitle);
-                titlesElement.appendChild(altTitleElement);
-            });
+        Optional<String> altTitle = entry.getField(new UnknownField("alt-title"));
+        if (altTitle.isPresent()) {
+            writeElement(writer, "alt-title", altTitle.get());
+        }
 
-            entry.getField(StandardField.BOOKTITLE).ifPresent(secondaryTitle -> {
-                Element secondaryTitleElement = document.createElement("secondary-title");
-                secondaryTitleElement.setTextContent(secondaryTitle);
-                titlesElement.appendChild(secondaryTitleElement);
-            });
+        Optional<String> secondaryTitle = entry.getField(StandardField.BOOKTITLE);
+        if (secondaryTitle.isPresent()) {
+            writeElement(writer, "secondary-title", secondaryTitle.get());
+        }
 
-            recordElement.appendChild(titlesElement);
-        });
+        writer.writeEndElement(); // end titles
     }
 
-    private static void mapJournalTitle(BibEntry entry, Document document, Element recordElement) {
-        entry.getFieldOrAlias(StandardField.JOURNAL).ifPresent(journalTitle -> {
-            Element periodicalElement = document.createElement("periodical");
-            Element fullTitleElement = document.createElement("full-title");
-            fullTitleElement.setTextContent(journalTitle);
-            periodicalElement.appendChild(fullTitleElement);
-            recordElement.appendChild(periodicalElement);
-        });
+    private static void mapJournalTitle(BibEntry entry, XMLStreamWriter writer) throws XMLStreamException {
+        Optional<String> journalTitle = entry.getFieldOrAlias(StandardField.JOURNAL);
+        if (journalTitle.isPresent()) {
+            writer.writeStartElement("periodical");
+            writeElement(writer, "full-title", journalTitle.get());
+            writer.writeEndElement();
+        }
     }
 
-    private void mapKeywords(BibDatabase bibDatabase, BibEntry entry, Document document, Element recordElement) {
-        entry.getFieldOrAlias(StandardField.KEYWORDS).ifPresent(keywords -> {
-            Element keywordsElement = document.createElement("keywords");
-            entry.getResolvedKeywords(bibEntryPreferences.getKeywordSeparator(), bibDatabase).forEach(keyword -> {
-                Element keywordElement = document.createElement("keyword");
-                // Hierarchical keywords are separated by the '>' character. See {@link } for details.
-                keywordElement.setTextContent(keyword.get());
-                keywordsElement.appendChild(keywordElement);
-            });
-            recordElement.appendChild(keywordsElement);
-        });
+    private void mapKeywords(BibDatabase bibDatabase, BibEntry entry, XMLStreamWriter writer) throws XMLStreamException {
+        if (entry.getFieldOrAlias(StandardField.KEYWORDS).isEmpty()) {
+            return;
+        }
+
+        writer.writeStartElement("keywords");
+        for (Keyword keyword : entry.getResolvedKeywords(bibEntryPreferences.getKeywordSeparator(), bibDatabase)) {
+            // Hierarchical keywords are separated by the '>' character. See {@link } for details.
+            writeElement(writer, "keyword", keyword.get());
+        }
+        writer.writeEndElement();
     }
 
-    private static void mapUrls(BibEntry entry, Document document, Element recordElement) {
-        Element urlsElement = document.createElement("urls");
-
-        entry.getFieldOrAlias(StandardField.FILE).ifPresent(fileField -> {
-            Element pdfUrlsElement = document.createElement("pdf-urls");
-            Element urlElement = document.createElement("url");
-            urlElement.setTextContent(fileField);
-            pdfUrlsElement.appendChild(urlElement);
-            urlsElement.appendChild(pdfUrlsElement);
-        });
-
-        entry.getFieldOrAlias(StandardField.URL).ifPresent(url -> {
-            Element webUrlsElement = document.createElement("web-urls");
-            Element urlElement = document.createElement("url");
-            urlElement.setTextContent(url);
-            webUrlsElement.appendChild(urlElement);
-            urlsElement.appendChild(webUrlsElement);
-        });
-
-        if (urlsElement.hasChildNodes()) {
-            recordElement.appendChild(urlsElement);
+    private static void mapUrls(BibEntry entry, XMLStreamWriter writer) throws XMLStreamException {
+        Optional<String> fileField = entry.getFieldOrAlias(StandardField.FILE);
+        Optional<String> url = entry.getFieldOrAlias(StandardField.URL);
+        if (fileField.isEmpty() && url.isEmpty()) {
+            return;
+        }
+
+        writer.writeStartElement("urls");
+        if (fileField.isPresent()) {
+            writer.writeStartElement("pdf-urls");
+            writeElement(writer, "url", fileField.get());
+            writer.writeEndElement();
+        }
+        if (url.isPresent()) {
+            writer.writeStartElement("web-urls");
+            writeElement(writer, "url", url.get());
+            writer.writeEndElement();
         }
+        writer.writeEndElement();
     }
 
-    private static void mapDates(BibEntry entry, Document document, Element recordElement) {
-        Element datesElement = document.createElement("dates");
-        entry.getFieldOrAlias(StandardField.YEAR).ifPresent(year -> {
-            Element yearElement = document.createElement("year");
-            yearElement.setTextContent(year);
-            datesElement.appendChild(yearElement);
-        });
-        entry.getFieldOrAlias(StandardField.MONTH).ifPresent(month -> {
-            Element yearElement = document.createElement("month");
-            yearElement.setTextContent(month);
-            datesElement.appendChild(yearElement);
-        });
-        entry.getFieldOrAlias(StandardField.DAY).ifPresent(day -> {
-            Element yearElement = document.createElement("day");
-            yearElement.setTextContent(day);
-            datesElement.appendChild(yearElement);
-        });
+    private static void mapDates(BibEntry entry, XMLStreamWriter writer) throws XMLStreamException {
+        Optional<String> year = entry.getFieldOrAlias(StandardField.YEAR);
+        Optional<String> month = entry.getFieldOrAlias(StandardField.MONTH);
+        Optional<String> day = entry.getFieldOrAlias(StandardField.DAY);
         // We need to use getField here - getFieldOrAlias for Date tries to convert year, month, and day to a date, which we do not want
-        entry.getField(StandardField.DATE).ifPresent(date -> {
-            Element pubDatesElement = document.createElement("pub-dates");
-            Element dateElement = document.createElement("date");
-            dateElement.setTextContent(date);
-            pubDatesElement.appendChild(dateElement);
-            datesElement.appendChild(pubDatesElement);
-        });
-        if (datesElement.hasChildNodes()) {
-            recordElement.appendChild(datesElement);
+        Optional<String> date = entry.getField(StandardField.DATE);
+        if (year.isEmpty() && month.isEmpty() && day.isEmpty() && date.isEmpty()) {
+            return;
+        }
+
+        writer.writeStartElement("dates");
+        if (year.isPresent()) {
+            writeElement(writer, "year", year.get());
+        }
+        if (month.isPresent()) {
+            writeElement(writer, "month", month.get());
         }
+        if (day.isPresent()) {
+            writeElement(writer, "day", day.get());
+        }
+        if (date.isPresent()) {
+            writer.writeStartElement("pub-dates");
+            writeElement(writer, "date", date.get());
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
     }
 
-    private static void mapEntryType(BibEntry entry, Document document, Element recordElement) {
+    private static void mapEntryType(BibEntry entry, XMLStreamWriter writer) throws XMLStreamException {
         EntryType entryType = entry.getType();
         EndNoteType endNoteType = ENTRY_TYPE_MAPPING.getOrDefault(entryType, DEFAULT_TYPE);
-        Element refTypeElement = document.createElement("ref-type");
-        refTypeElement.setAttribute("name", endNoteType.name());
-        refTypeElement.setTextContent(endNoteType.number().toString());
-        recordElement.appendChild(refTypeElement);
+        writer.writeStartElement("ref-type");
+        writer.writeAttribute("name", endNoteType.name());
+        writer.writeCharacters(endNoteType.number().toString());
+        writer.writeEndElement();
     }
 
-    private static void createMetaInformationElements(BibDatabaseContext databaseContext, Document document, Element recordElement) {
-        Element databaseElement = document.createElement("database");
-        databaseElement.setAttribute("name", "MyLibrary");
+    private static void createMetaInformationElements(BibDatabaseContext databaseContext, XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement("database");
+        writer.writeAttribute("name", "MyLibrary");
         String name = databaseContext.getDatabasePath().map(Path::getFileName).map(Path::toString).orElse("MyLibrary");
-        databaseElement.setTextContent(name);
-        recordElement.appendChild(databaseElement);
+        writer.writeCharacters(name);
+        writer.writeEndElement();
 
-        Element sourceAppElement = document.createElement("source-app");
-        sourceAppElement.setAttribute("name", "JabRef");
-        sourceAppElement.setTextContent("JabRef");
-        recordElement.appendChild(sourceAppElement);
+        writer.writeStartElement("source-app");
+        writer.writeAttribute("name", "JabRef");
+        writer.writeCharacters("JabRef");
+        writer.writeEndElement();
     }
 
-    private static void mapAuthorAndEditor(BibEntry entry, Document document, Element recordElement) {
-        Element contributorsElement = document.createElement("contributors");
-        entry.getField(StandardField.AUTHOR).ifPresent(authors -> addPersons(authors, document, contributorsElement, "authors"));
-        entry.getField(StandardField.EDITOR).ifPresent(editors -> addPersons(editors, document, contributorsElement, "secondary-authors"));
-        if (contributorsElement.hasChildNodes()) {
-            recordElement.appendChild(contributorsElement);
+    private static void mapAuthorAndEditor(BibEntry entry, XMLStreamWriter writer) throws XMLStreamException {
+        Optional<String> authors = entry.getField(StandardField.AUTHOR);
+        Optional<String> editors = entry.getField(StandardField.EDITOR);
+        if (authors.isEmpty() && editors.isEmpty()) {
+            return;
+        }
+
+        writer.writeStartElement("contributors");
+        if (authors.isPresent()) {
+            addPersons(authors.get(), writer, "authors");
+        }
+        if (editors.isPresent()) {
+            addPersons(editors.get(), writer, "secondary-authors");
         }
+        writer.writeEndElement();
     }
 
-    private static void addPersons(String authors, Document document, Element contributorsElement, String wrapTagName) {
-        Element container = document.createElement(wrapTagName);
+    private static void addPersons(String authors, XMLStreamWriter writer, String wrapTagName) throws XMLStreamException {
+        writer.writeStartElement(wrapTagName);
         AuthorList parsedPersons = AuthorList.parse(authors).latexFree();
         for (Author person : parsedPersons) {
-            Element authorElement = document.createElement("author");
-            authorElement.setTextContent(person.getFamilyGiven(false));
-            container.appendChild(authorElement);
+            writeElement(writer, "author", person.getFamilyGiven(false));
         }
-        contributorsElement.appendChild(container);
-    }
-
-    private static Transformer createTransformer() throws TransformerConfigurationException {
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
-        Transformer transformer = transformerFactory.newTransformer();
-        transformer.setOutputProperty(OutputKeys.ENCODING, StandardCharsets.UTF_8.name());
-        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-        transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-        return transformer;
+        writer.writeEndElement();
     }
 }
@@ -6,16 +6,13 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
 
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.TransformerFactoryConfigurationError;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.jabref.logic.msbib.MSBibDatabase;
 import org.jabref.logic.util.StandardFileType;
+import org.jabref.logic.util.io.IndentingXMLStreamWriter;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 
@@ -26,11 +23,13 @@ import org.jspecify.annotations.NonNull;
  */
 class MSBibExporter extends Exporter {
 
-    private final TransformerFactory transformerFactory;
+    private static final int INDENT_AMOUNT = 4;
+
+    private final XMLOutputFactory outputFactory;
 
     public MSBibExporter() {
         super("MSBib", "MS Office 2007", StandardFileType.XML);
-        transformerFactory = TransformerFactory.newInstance();
+        outputFactory = XMLOutputFactory.newFactory();
     }
 
     @Override
@@ -45,17 +44,18 @@ class MSBibExporter extends Exporter {
         MSBibDatabase msBibDatabase = new MSBibDatabase(databaseContext.getDatabase(), entries);
 
         // forcing to use UTF8 output format for some problems with XML export in other encodings
-        try (AtomicFileWriter ps = new AtomicFileWriter(file, StandardCharsets.UTF_8)) {
+        try (AtomicFileOutputStream outputStream = new AtomicFileOutputStream(file)) {
             try {
-                DOMSource source = new DOMSource(msBibDatabase.getDomForExport());
-                StreamResult result = new StreamResult(ps);
-                Transformer trans = transformerFactory.newTransformer();
-                trans.setOutputProperty(OutputKeys.INDENT, "yes");
-                trans.transform(source, result);
-            } catch (TransformerException | IllegalArgumentException | TransformerFactoryConfigurationError e) {
-                throw new SaveException(e);
+                XMLStreamWriter writer = new IndentingXMLStreamWriter(outputFactory.createXMLStreamWriter(outputStream, StandardCharsets.UTF_8.name()), INDENT_AMOUNT);
+                msBibDatabase.writeForExport(writer);
+                writer.flush();
+                writer.close();
+            } catch (XMLStreamException | RuntimeException e) {
+                // Keep the previous file
+                outputStream.abort();
+                throw e;
             }
-        } catch (IOException ex) {
+        } catch (XMLStreamException | IOException ex) {
             throw new SaveException(ex);
         }
     }
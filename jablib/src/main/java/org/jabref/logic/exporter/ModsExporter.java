@@ -2,10 +2,8 @@ package org.jabref.logic.exporter;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.Reader;
-import java.io.StringWriter;
 import java.math.BigInteger;
-import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -17,14 +15,9 @@ import java.util.TreeMap;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
 
 import org.jabref.logic.util.StandardFileType;
+import org.jabref.logic.util.io.IndentingXMLStreamWriter;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.Field;
@@ -44,6 +37,7 @@ class ModsExporter extends Exporter {
     private static final String MINUS = "-";
     private static final String DOUBLE_MINUS = "--";
     private static final String MODS_SCHEMA_LOCATION = "http://www.loc.gov/standards/mods/v3/mods-3-6.xsd";
+    private static final int INDENT_AMOUNT = 4;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ModsExporter.class);
 
@@ -59,12 +53,26 @@ class ModsExporter extends Exporter {
             return;
         }
 
-        XMLStreamWriter writer = null;
-        try {
-            StringWriter sw = new StringWriter();
-            // writer is not an auto closable!
-            writer = createWriter(sw);
+        try (AtomicFileOutputStream outputStream = new AtomicFileOutputStream(file)) {
+            try {
+                writeEntries(outputStream, entries);
+            } catch (XMLStreamException | RuntimeException ex) {
+                // Keep the previous file
+                outputStream.abort();
+                throw ex;
+            }
+        } catch (XMLStreamException | IOException ex) {
+            throw new SaveException(ex);
+        }
+    }
 
+    /**
+     * Writes the entries one after another to the stream, so that the memory usage does not depend on the number of entries
+     */
+    private void writeEntries(OutputStream outputStream, List<BibEntry> entries) throws XMLStreamException {
+        // writer is not an auto closable!
+        XMLStreamWriter writer = createWriter(outputStream);
+        try {
             for (BibEntry bibEntry : entries) {
                 if (bibEntry.getCitationKey().isPresent()) {
                     String citekey = bibEntry.getCitationKey().get();
@@ -127,26 +135,22 @@ class ModsExporter extends Exporter {
                 writer.writeEndElement(); // end mods
             }
             writer.writeEndDocument();
-            writerFormatted(file, sw);
-        } catch (XMLStreamException | IOException | TransformerException ex) {
-            throw new SaveException(ex);
         } finally {
             try {
-                if (writer != null) {
-                    writer.flush();
-                    writer.close();
-                }
+                writer.flush();
+                writer.close();
             } catch (XMLStreamException e) {
                 LOGGER.error("Error closing XML writer", e);
             }
         }
     }
 
-    private XMLStreamWriter createWriter(StringWriter sw) throws XMLStreamException {
+    private XMLStreamWriter createWriter(OutputStream outputStream) throws XMLStreamException {
         XMLOutputFactory outputFactory = XMLOutputFactory.newFactory();
 
-        XMLStreamWriter writer = outputFactory.createXMLStreamWriter(new StreamResult(sw));
-        writer.writeDTD("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        XMLStreamWriter writer = new IndentingXMLStreamWriter(outputFactory.createXMLStreamWriter(outputStream, StandardCharsets.UTF_8.name()), INDENT_AMOUNT);
+        // The standalone declaration is not supported by writeStartDocument
+        writer.writeDTD("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>");
         writer.writeStartElement("mods", "modsCollection", MODS_NAMESPACE_URI);
         writer.writeNamespace("mods", MODS_NAMESPACE_URI);
         writer.writeNamespace("ns2", "http://www.w3.org/1999/xlink");
@@ -155,17 +159,6 @@ class ModsExporter extends Exporter {
         return writer;
     }
 
-    private void writerFormatted(Path file, StringWriter sw) throws TransformerException, IOException {
-        Transformer transformer = TransformerFactory.newInstance().newTransformer();
-        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-        transformer.setOutputProperty(OutputKeys.STANDALONE, "yes");
-        transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
-
-        try (OutputStream outputStream = Files.newOutputStream(file)) {
-            transformer.transform(new StreamSource(Reader.of(sw.toString())), new StreamResult(outputStream));
-        }
-    }
-
     private void writeOriginInformation(XMLStreamWriter writer, List<String> originItems, Map<Field, String> fieldMap) throws XMLStreamException {
         if (originItems.isEmpty()) {
             writer.writeEmptyElement("mods", "originInfo", MODS_NAMESPACE_URI);
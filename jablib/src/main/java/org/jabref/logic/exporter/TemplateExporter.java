@@ -9,27 +9,39 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 import org.jabref.logic.journals.JournalAbbreviationLoader;
 import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.logic.layout.Layout;
 import org.jabref.logic.layout.LayoutFormatterPreferences;
 import org.jabref.logic.layout.LayoutHelper;
+import org.jabref.logic.layout.format.NameFormatter;
 import org.jabref.logic.layout.format.Number;
 import org.jabref.logic.os.OS;
 import org.jabref.logic.util.FileType;
 import org.jabref.logic.util.StandardFileType;
+import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.types.EntryType;
 import org.jabref.model.metadata.SaveOrder;
 import org.jabref.model.metadata.SelfContainedSaveOrder;
 
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,8 +57,27 @@ public class TemplateExporter extends Exporter {
     private static final String BEGIN_INFIX = ".begin";
     private static final String END_INFIX = ".end";
 
+    /**
+     * Number of entries formatted in one task. Smaller exports are formatted by the calling thread.
+     */
+    private static final int FORMAT_CHUNK_SIZE = 200;
+    private static final int MAX_CHUNKS_IN_FLIGHT_PER_WORKER = 2;
+    private static final int LAYOUT_CACHE_SIZE = 256;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(TemplateExporter.class);
 
+    // Loaded once, so that exports without a given repository share the cached layouts
+    private static final Supplier<JournalAbbreviationRepository> BUILT_IN_ABBREVIATION_REPOSITORY =
+            Suppliers.memoize(JournalAbbreviationLoader::loadBuiltInRepository);
+
+    /**
+     * Compiled layouts of all template exporters. An empty optional marks a layout file which does not exist,
+     * so that exports do not look for missing type-specific layouts again and again.
+     */
+    private static final Cache<LayoutKey, Optional<Layout>> LAYOUT_CACHE = CacheBuilder.newBuilder()
+                                                                                       .maximumSize(LAYOUT_CACHE_SIZE)
+                                                                                       .build();
+
     private final String lfFileName;
     private final String directory;
     private final LayoutFormatterPreferences layoutPreferences;
@@ -163,19 +194,11 @@ public class TemplateExporter extends Exporter {
      * @throws IOException if the reader could not be created (e.g., file is not found)
      */
     private Reader getReader(String filename) throws IOException {
-        // If this is a custom export, just use the given filename:
-        String dir;
-        if (customExport) {
-            dir = "";
-        } else {
-            dir = LAYOUT_PREFIX + (directory == null ? "" : directory + '/');
-        }
-
         // Attempt to get a Reader for the file path given, either by
         // loading it as a resource (from within JAR), or as a normal file. If
         // unsuccessful (e.g. file not found), an IOException is thrown.
 
-        String name = dir + filename;
+        String name = getLayoutPath(filename);
 
         Path path = Path.of(name);
         if (Files.exists(path)) {
@@ -190,9 +213,20 @@ public class TemplateExporter extends Exporter {
         return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
     }
 
+    private String getLayoutPath(String filename) {
+        // If this is a custom export, just use the given filename:
+        String dir;
+        if (customExport) {
+            dir = "";
+        } else {
+            dir = LAYOUT_PREFIX + (directory == null ? "" : directory + '/');
+        }
+        return dir + filename;
+    }
+
     @Override
     public void export(BibDatabaseContext databaseContext, Path file, List<BibEntry> entries) throws IOException {
-        export(databaseContext, file, entries, List.of(), JournalAbbreviationLoader.loadBuiltInRepository());
+        export(databaseContext, file, entries, List.of(), BUILT_IN_ABBREVIATION_REPOSITORY.get());
     }
 
     @Override
@@ -211,8 +245,6 @@ public class TemplateExporter extends Exporter {
         }
 
         try (AtomicFileWriter ps = new AtomicFileWriter(file, encodingToUse)) {
-            Layout beginLayout = null;
-
             // Check if this export filter has bundled name formatters:
             // Add these to the preferences, so all layouts have access to the custom name formatters:
             readFormatterFile();
@@ -220,17 +252,12 @@ public class TemplateExporter extends Exporter {
             List<String> missingFormatters = new ArrayList<>(1);
 
             // Print header
-            try (Reader reader = getReader(lfFileName + BEGIN_INFIX + LAYOUT_EXTENSION)) {
-                LayoutHelper layoutHelper = new LayoutHelper(reader, fileDirForDatabase, layoutPreferences, abbreviationRepository);
-                beginLayout = layoutHelper.getLayoutFromText();
-            } catch (IOException ex) {
-                // If an exception was cast, export filter doesn't have a begin
-                // file.
-            }
+            // If there is no layout, the export filter doesn't have a begin file.
+            Optional<Layout> beginLayout = getLayout(lfFileName + BEGIN_INFIX + LAYOUT_EXTENSION, fileDirForDatabase, abbreviationRepository);
             // Write the header
-            if (beginLayout != null) {
-                ps.write(beginLayout.doLayout(databaseContext, encodingToUse));
-                missingFormatters.addAll(beginLayout.getMissingFormatters());
+            if (beginLayout.isPresent()) {
+                ps.write(beginLayout.get().doLayout(databaseContext, encodingToUse));
+                missingFormatters.addAll(beginLayout.get().getMissingFormatters());
             }
 
             /*
@@ -240,74 +267,40 @@ public class TemplateExporter extends Exporter {
             List<BibEntry> sorted = BibDatabaseWriter.getSortedEntries(entries, saveOrder);
 
             // Load default layout
-            Layout defLayout;
-            LayoutHelper layoutHelper;
-            try (Reader reader = getReader(lfFileName + LAYOUT_EXTENSION)) {
-                layoutHelper = new LayoutHelper(reader, fileDirForDatabase, layoutPreferences, abbreviationRepository);
-                defLayout = layoutHelper.getLayoutFromText();
+            Layout defLayout = getLayout(lfFileName + LAYOUT_EXTENSION, fileDirForDatabase, abbreviationRepository)
+                    .orElseThrow(() -> new IOException("Cannot find layout file: '" + lfFileName + LAYOUT_EXTENSION + "'."));
+            missingFormatters.addAll(defLayout.getMissingFormatters());
+            if (!missingFormatters.isEmpty()) {
+                LOGGER.warn("Missing formatters found: {}", missingFormatters);
             }
-            if (defLayout != null) {
-                missingFormatters.addAll(defLayout.getMissingFormatters());
-                if (!missingFormatters.isEmpty()) {
-                    LOGGER.warn("Missing formatters found: {}", missingFormatters);
-                }
-            }
-            Map<EntryType, Layout> layouts = new HashMap<>();
-            Layout layout;
 
-            Number.serialExportNumber = 0;
+            // We try to get a type-specific layout for each entry type. If there is none, we go with the default one.
+            Map<EntryType, Layout> layouts = new HashMap<>();
             for (BibEntry entry : sorted) {
-                Number.serialExportNumber++; // Increment entry counter.
-                // Get the layout
                 EntryType type = entry.getType();
-                if (layouts.containsKey(type)) {
-                    layout = layouts.get(type);
-                } else {
-                    try (Reader reader = getReader(lfFileName + '.' + type.getName() + LAYOUT_EXTENSION)) {
-                        // We try to get a type-specific layout for this entry.
-                        layoutHelper = new LayoutHelper(reader, fileDirForDatabase, layoutPreferences, abbreviationRepository);
-                        layout = layoutHelper.getLayoutFromText();
-                        layouts.put(type, layout);
-                        if (layout != null) {
-                            missingFormatters.addAll(layout.getMissingFormatters());
-                        }
-                    } catch (IOException ex) {
-                        // The exception indicates that no type-specific layout
-                        // exists, so we
-                        // go with the default one.
-                        layout = defLayout;
-                    }
-                }
-
-                // Write the entry
-                if (layout != null) {
-                    if (blankLineBehaviour == BlankLineBehaviour.DELETE_BLANKS) {
-                        String[] lines = layout.doLayout(entry, databaseContext.getDatabase()).split(BLANK_LINE_PATTERN);
-                        for (String line : lines) {
-                            if (!line.isBlank() && !line.isEmpty()) {
-                                ps.write(line + OS.NEWLINE);
-                            }
-                        }
-                    } else {
-                        ps.write(layout.doLayout(entry, databaseContext.getDatabase()));
-                    }
+                if (!layouts.containsKey(type)) {
+                    Optional<Layout> typeLayout = getLayout(lfFileName + '.' + type.getName() + LAYOUT_EXTENSION, fileDirForDatabase, abbreviationRepository);
+                    typeLayout.ifPresent(layout -> missingFormatters.addAll(layout.getMissingFormatters()));
+                    layouts.put(type, typeLayout.orElse(defLayout));
                 }
             }
 
+            // Write the entries
+            writeEntries(ps, sorted, layouts, databaseContext.getDatabase());
+
             // Print footer
-            Layout endLayout = null;
-            try (Reader reader = getReader(lfFileName + END_INFIX + LAYOUT_EXTENSION)) {
-                layoutHelper = new LayoutHelper(reader, fileDirForDatabase, layoutPreferences, abbreviationRepository);
-                endLayout = layoutHelper.getLayoutFromText();
-            } catch (IOException ex) {
-                // If an exception was thrown, export filter doesn't have an end
-                // file.
-            }
+            // If there is no layout, the export filter doesn't have an end file.
+            Optional<Layout> endLayout = getLayout(lfFileName + END_INFIX + LAYOUT_EXTENSION, fileDirForDatabase, abbreviationRepository);
 
             // Write footer
-            if (endLayout != null) {
-                ps.write(endLayout.doLayout(databaseContext, encodingToUse));
-                missingFormatters.addAll(endLayout.getMissingFormatters());
+            if (endLayout.isPresent()) {
+                try {
+                    Number.setSerialExportNumber(sorted.size());
+                    ps.write(endLayout.get().doLayout(databaseContext, encodingToUse));
+                } finally {
+                    Number.resetSerialExportNumber();
+                }
+                missingFormatters.addAll(endLayout.get().getMissingFormatters());
             }
 
             layoutPreferences.clearCustomExportNameFormatters();
@@ -318,6 +311,104 @@ public class TemplateExporter extends Exporter {
         }
     }
 
+    /**
+     * Returns the compiled layout of the given layout file, or an empty optional if there is no such file.
+     * <p>
+     * Layouts are cached across exports. Files on disk are compiled again after they have been modified.
+     */
+    Optional<Layout> getLayout(String filename, List<Path> fileDirForDatabase, JournalAbbreviationRepository abbreviationRepository) {
+        String name = getLayoutPath(filename);
+        Path path = Path.of(name);
+        long lastModified = -1;
+        try {
+            if (Files.exists(path)) {
+                lastModified = Files.getLastModifiedTime(path).toMillis();
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Could not determine modification time of {}", path, e);
+        }
+
+        LayoutKey key = new LayoutKey(name,
+                lastModified,
+                List.copyOf(fileDirForDatabase),
+                FormatterSettings.of(layoutPreferences),
+                abbreviationRepository);
+        return LAYOUT_CACHE.asMap().computeIfAbsent(key, _ -> {
+            try (Reader reader = getReader(filename)) {
+                LayoutHelper layoutHelper = new LayoutHelper(reader, fileDirForDatabase, layoutPreferences, abbreviationRepository);
+                return Optional.ofNullable(layoutHelper.getLayoutFromText());
+            } catch (IOException ex) {
+                // The exception indicates that there is no such layout file
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Writes the given entries in the given order.
+     * <p>
+     * Large exports are formatted in chunks of {@link #FORMAT_CHUNK_SIZE} entries on the common fork-join pool,
+     * while the calling thread writes the finished chunks in order. At most {@link #MAX_CHUNKS_IN_FLIGHT_PER_WORKER} chunks per worker
+     * are formatted ahead of the writer to bound the memory usage. Layouts using groups are formatted by the calling thread,
+     * because a group depends on the previously formatted entry.
+     */
+    private void writeEntries(AtomicFileWriter ps, List<BibEntry> sorted, Map<EntryType, Layout> layouts, BibDatabase database) throws IOException {
+        if ((sorted.size() <= FORMAT_CHUNK_SIZE) || layouts.values().stream().anyMatch(Layout::usesGroups)) {
+            ps.write(formatEntries(sorted, 0, layouts, database));
+            return;
+        }
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int maxChunksInFlight = pool.getParallelism() * MAX_CHUNKS_IN_FLIGHT_PER_WORKER;
+        Deque<Future<String>> chunksInFlight = new ArrayDeque<>();
+        int submitted = 0;
+        try {
+            while (submitted < sorted.size() || !chunksInFlight.isEmpty()) {
+                while (chunksInFlight.size() < maxChunksInFlight && submitted < sorted.size()) {
+                    List<BibEntry> chunk = sorted.subList(submitted, Math.min(submitted + FORMAT_CHUNK_SIZE, sorted.size()));
+                    int offset = submitted;
+                    chunksInFlight.add(pool.submit(() -> formatEntries(chunk, offset, layouts, database)));
+                    submitted += chunk.size();
+                }
+                ps.write(chunksInFlight.remove().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not format entries", e.getCause());
+        } finally {
+            chunksInFlight.forEach(chunk -> chunk.cancel(true));
+        }
+    }
+
+    /**
+     * Formats the given entries, numbering them starting after the given offset
+     */
+    private String formatEntries(List<BibEntry> entries, int offset, Map<EntryType, Layout> layouts, BibDatabase database) {
+        StringBuilder output = new StringBuilder();
+        try {
+            for (int i = 0; i < entries.size(); i++) {
+                BibEntry entry = entries.get(i);
+                Number.setSerialExportNumber(offset + i + 1);
+                Layout layout = layouts.get(entry.getType());
+                if (blankLineBehaviour == BlankLineBehaviour.DELETE_BLANKS) {
+                    String[] lines = layout.doLayout(entry, database).split(BLANK_LINE_PATTERN);
+                    for (String line : lines) {
+                        if (!line.isBlank() && !line.isEmpty()) {
+                            output.append(line).append(OS.NEWLINE);
+                        }
+                    }
+                } else {
+                    output.append(layout.doLayout(entry, database));
+                }
+            }
+        } finally {
+            Number.resetSerialExportNumber();
+        }
+        return output.toString();
+    }
+
     /**
      * See if there is a name formatter file bundled with this export format.
      * If so, read all the name formatters so they can be used by the filter layouts.
@@ -361,4 +452,38 @@ public class TemplateExporter extends Exporter {
     public String getLayoutFileNameWithExtension() {
         return lfFileName + LAYOUT_EXTENSION;
     }
+
+    /**
+     * Everything the compilation of a layout file depends on
+     *
+     * @param lastModified the modification time of the layout file on disk, -1 for layouts from the classpath and for missing files
+     */
+    private record LayoutKey(String name,
+                             long lastModified,
+                             List<Path> fileDirForDatabase,
+                             FormatterSettings formatterSettings,
+                             JournalAbbreviationRepository abbreviationRepository) {
+    }
+
+    /**
+     * The values of the {@link LayoutFormatterPreferences} a layout depends on. The preferences are created anew for each export,
+     * thus they are compared by these values.
+     */
+    private record FormatterSettings(Map<String, String> nameFormatters,
+                                     boolean useCustomDoiBaseUri,
+                                     String doiBaseUri,
+                                     String mainFileDirectory,
+                                     Map<String, String> customExportNameFormatters) {
+        static FormatterSettings of(LayoutFormatterPreferences layoutPreferences) {
+            if (layoutPreferences == null) {
+                return new FormatterSettings(Map.of(), false, null, null, Map.of());
+            }
+            return new FormatterSettings(
+                    NameFormatter.getNameFormatters(layoutPreferences.getNameFormatterPreferences()),
+                    layoutPreferences.getDoiPreferences().isUseCustom(),
+                    layoutPreferences.getDoiPreferences().getDefaultBaseURI(),
+                    layoutPreferences.getMainFileDirectory(),
+                    layoutPreferences.getCustomExportNameFormatters());
+        }
+    }
 }
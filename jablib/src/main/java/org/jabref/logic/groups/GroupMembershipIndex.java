@@ -0,0 +1,258 @@
+package org.jabref.logic.groups;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.EntryChangedEvent;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.groups.AbstractGroup;
+import org.jabref.model.groups.AllEntriesGroup;
+import org.jabref.model.groups.AutomaticGroup;
+import org.jabref.model.groups.GroupHierarchyType;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.groups.KeywordGroup;
+import org.jabref.model.groups.SearchGroup;
+import org.jabref.model.groups.TexGroup;
+import org.jabref.model.search.SearchMatcher;
+import org.jabref.model.search.matchers.MatcherSet;
+import org.jabref.model.search.matchers.MatcherSets;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Keeps the entries matched by the groups of a library up to date, so that the hits of a group are known without searching the whole library again.
+ * <p>
+ * The matches of a group are computed when they are requested the first time. Afterward, they are updated on each added, removed, or changed entry.
+ * On a changed field, only the groups depending on that field are updated.
+ * <p>
+ * The matches are shared by all nodes with equal groups in their matcher (see {@link GroupTreeNode#getSearchMatcher()}).
+ * Thus, nodes created again for the same groups (e.g., when the group tree is rebuilt) do not search the library again.
+ * The matches are kept as long as a {@link Membership} is referenced.
+ * <p>
+ * Search groups and TeX groups are not supported, because their matches are not determined by the fields of the entry.
+ */
+public class GroupMembershipIndex {
+
+    private final BibDatabase database;
+    private final Cache<MatcherKey, Membership> memberships = CacheBuilder.newBuilder().weakValues().build();
+
+    public GroupMembershipIndex(BibDatabase database) {
+        this.database = database;
+        database.registerListener(this);
+    }
+
+    /**
+     * @return the matches of the given node, or an empty optional if the node is not supported
+     */
+    public Optional<Membership> getMembership(GroupTreeNode node) {
+        return MatcherKey.of(node).map(key -> memberships.asMap().computeIfAbsent(key, Membership::new));
+    }
+
+    public void close() {
+        database.unregisterListener(this);
+        memberships.invalidateAll();
+    }
+
+    @Subscribe
+    public void listen(EntriesAddedEvent event) {
+        for (Membership membership : memberships.asMap().values()) {
+            event.getBibEntries().forEach(membership::update);
+        }
+    }
+
+    @Subscribe
+    public void listen(EntriesRemovedEvent event) {
+        for (Membership membership : memberships.asMap().values()) {
+            event.getBibEntries().forEach(membership::remove);
+        }
+    }
+
+    @Subscribe
+    public void listen(EntryChangedEvent event) {
+        Optional<Field> changedField = event instanceof FieldChangedEvent fieldChangedEvent
+                                       ? Optional.of(fieldChangedEvent.getField())
+                                       : Optional.empty();
+        for (Membership membership : memberships.asMap().values()) {
+            if (changedField.isEmpty() || membership.dependsOn(changedField.get())) {
+                membership.update(event.getBibEntry());
+            }
+        }
+    }
+
+    /**
+     * The entries matched by a group tree node.
+     */
+    public class Membership {
+        private final SearchMatcher matcher;
+        // Empty if any field may change the matches
+        private final Optional<Set<Field>> fields;
+        private final Set<String> matchedEntryIds = ConcurrentHashMap.newKeySet();
+        private final Set<BibEntry> changedWhileComputing = ConcurrentHashMap.newKeySet();
+        // Weakly referenced, so that listeners do not keep their owners alive as long as the membership is in use
+        private final Set<Consumer<String>> listeners = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+        private volatile boolean isComputing;
+        private boolean isComputed;
+
+        private Membership(MatcherKey key) {
+            this.matcher = key.toMatcher();
+            this.fields = key.getFields();
+        }
+
+        /**
+         * @return the ids of the matched entries. On the first call, the whole library is searched.
+         */
+        public Set<String> getMatchedEntryIds() {
+            ensureComputed();
+            return Set.copyOf(matchedEntryIds);
+        }
+
+        public int getHitCount() {
+            ensureComputed();
+            return matchedEntryIds.size();
+        }
+
+        /**
+         * Does not search the library, thus it is only reliable after the matches are computed.
+         */
+        public boolean isMatched(String entryId) {
+            return matchedEntryIds.contains(entryId);
+        }
+
+        /**
+         * Adds a listener which is called with the id of each entry that got matched or unmatched. The listener is
+         * called on the thread changing the entry. It is referenced weakly, thus the caller needs to keep a reference.
+         */
+        public void addListener(Consumer<String> listener) {
+            listeners.add(listener);
+        }
+
+        public void removeListener(Consumer<String> listener) {
+            listeners.remove(listener);
+        }
+
+        private void notifyListeners(String entryId) {
+            List<Consumer<String>> currentListeners;
+            synchronized (listeners) {
+                currentListeners = List.copyOf(listeners);
+            }
+            currentListeners.forEach(listener -> listener.accept(entryId));
+        }
+
+        private synchronized void ensureComputed() {
+            if (isComputed) {
+                return;
+            }
+            isComputing = true;
+            database.getEntries().forEach(this::update);
+            isComputing = false;
+            // An entry changed during the search may have been matched in its previous state
+            changedWhileComputing.forEach(this::update);
+            changedWhileComputing.clear();
+            isComputed = true;
+        }
+
+        private boolean dependsOn(Field field) {
+            return fields.map(dependencies -> dependencies.contains(field)).orElse(true);
+        }
+
+        private void update(BibEntry entry) {
+            if (isComputing) {
+                changedWhileComputing.add(entry);
+            }
+            boolean changed = matcher.isMatch(entry)
+                              ? matchedEntryIds.add(entry.getId())
+                              : matchedEntryIds.remove(entry.getId());
+            if (changed) {
+                notifyListeners(entry.getId());
+            }
+        }
+
+        private void remove(BibEntry entry) {
+            changedWhileComputing.remove(entry);
+            if (matchedEntryIds.remove(entry.getId())) {
+                notifyListeners(entry.getId());
+            }
+        }
+    }
+
+    /**
+     * Identifies the matcher of a group tree node by copies of the groups it consists of. Mirrors {@link GroupTreeNode#getSearchMatcher()}.
+     *
+     * @param rules the keys of the parent (refining groups) or of the children (including groups)
+     */
+    private record MatcherKey(AbstractGroup group, GroupHierarchyType context, List<MatcherKey> rules) {
+
+        static Optional<MatcherKey> of(GroupTreeNode node) {
+            return of(node, node.getGroup().getHierarchicalContext());
+        }
+
+        private static Optional<MatcherKey> of(GroupTreeNode node, GroupHierarchyType originalContext) {
+            AbstractGroup group = node.getGroup();
+            if ((group instanceof SearchGroup) || (group instanceof TexGroup)) {
+                return Optional.empty();
+            }
+
+            GroupHierarchyType context = group.getHierarchicalContext();
+            List<GroupTreeNode> ruleNodes = new ArrayList<>();
+            if ((context == GroupHierarchyType.INCLUDING) && (originalContext != GroupHierarchyType.REFINING)) {
+                ruleNodes.addAll(node.getChildren());
+            } else if ((context == GroupHierarchyType.REFINING) && !node.isRoot() && (originalContext != GroupHierarchyType.INCLUDING)) {
+                node.getParent().ifPresent(ruleNodes::add);
+            }
+
+            List<MatcherKey> rules = new ArrayList<>();
+            for (GroupTreeNode ruleNode : ruleNodes) {
+                Optional<MatcherKey> rule = of(ruleNode, originalContext);
+                if (rule.isEmpty()) {
+                    return Optional.empty();
+                }
+                rules.add(rule.get());
+            }
+            return Optional.of(new MatcherKey(group.deepCopy(), context, List.copyOf(rules)));
+        }
+
+        SearchMatcher toMatcher() {
+            if (rules.isEmpty()) {
+                return group;
+            }
+            MatcherSet matcherSet = MatcherSets.build(context == GroupHierarchyType.REFINING ? MatcherSets.MatcherType.AND : MatcherSets.MatcherType.OR);
+            matcherSet.addRule(group);
+            rules.forEach(rule -> matcherSet.addRule(rule.toMatcher()));
+            return matcherSet;
+        }
+
+        /**
+         * @return the fields the matches depend on, or an empty optional if any field may change the matches
+         */
+        Optional<Set<Field>> getFields() {
+            Set<Field> fields = new HashSet<>();
+            if (group instanceof KeywordGroup keywordGroup) {
+                fields.add(keywordGroup.getSearchField());
+            } else if (!(group instanceof AllEntriesGroup) && !(group instanceof AutomaticGroup)) {
+                return Optional.empty();
+            }
+            for (MatcherKey rule : rules) {
+                Optional<Set<Field>> ruleFields = rule.getFields();
+                if (ruleFields.isEmpty()) {
+                    return Optional.empty();
+                }
+                fields.addAll(ruleFields.get());
+            }
+            return Optional.of(fields);
+        }
+    }
+}
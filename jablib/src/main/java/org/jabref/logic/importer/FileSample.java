@@ -0,0 +1,38 @@
+package org.jabref.logic.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The beginning of a file, used to find a suitable importer without reading the whole file for each importer.
+ *
+ * @param content    the content of the file up to {@link #MAX_LENGTH} characters. If the file is longer, the content ends at the last complete line.
+ * @param isComplete true if the content is the whole file
+ */
+record FileSample(String content, boolean isComplete) {
+
+    static final int MAX_LENGTH = 64 * 1024;
+
+    /**
+     * Reads the sample with the same encoding detection as {@link Importer#isRecognizedFormat(Path)}
+     */
+    static FileSample read(Path filePath) throws IOException {
+        try (BufferedReader reader = Importer.getReader(filePath)) {
+            char[] buffer = new char[MAX_LENGTH];
+            int length = 0;
+            int read;
+            while (length < MAX_LENGTH && (read = reader.read(buffer, length, MAX_LENGTH - length)) != -1) {
+                length += read;
+            }
+
+            if (length < MAX_LENGTH || reader.read() == -1) {
+                return new FileSample(new String(buffer, 0, length), true);
+            }
+
+            String content = new String(buffer, 0, length);
+            int lastLineBreak = content.lastIndexOf('\n');
+            return new FileSample(lastLineBreak >= 0 ? content.substring(0, lastLineBreak + 1) : content, false);
+        }
+    }
+}
@@ -38,8 +38,13 @@ import org.jabref.model.database.BibDatabases;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.util.FileUpdateMonitor;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class ImportFormatReader {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportFormatReader.class);
+
     public static final String BIBTEX_FORMAT = "BibTeX";
 
     /**
@@ -142,14 +147,19 @@ public class ImportFormatReader {
     /// Tries to import a file by iterating through the available import filters,
     /// and keeping the import that seems most promising.
     ///
-    /// This method first attempts to read this file as bibtex.
+    /// The beginning of the file is read once and all importers check it to recognize their format.
+    /// If the file is larger than that sample, the recognizing importers parse the sample only,
+    /// and the importer finding the most entries in it imports the whole file.
+    /// The other importers parse the whole file only if that import does not find any entries.
+    ///
+    /// If no importer succeeds, this method attempts to read this file as bibtex.
     ///
     /// @throws ImportException if the import fails (for example, if no suitable importer is found)
     public UnknownFormatImport importUnknownFormat(Path filePath, FileUpdateMonitor fileMonitor) throws ImportException {
         Objects.requireNonNull(filePath);
 
         try {
-            UnknownFormatImport unknownFormatImport = importUnknownFormat(importer -> importer.importDatabase(filePath), importer -> importer.isRecognizedFormat(filePath));
+            UnknownFormatImport unknownFormatImport = importUnknownFormatUsingSample(filePath);
             unknownFormatImport.parserResult.setPath(filePath);
             return unknownFormatImport;
         } catch (ImportException e) {
@@ -169,29 +179,100 @@ public class ImportFormatReader {
         }
     }
 
+    private UnknownFormatImport importUnknownFormatUsingSample(Path filePath) throws ImportException {
+        FileSample sample;
+        try {
+            sample = FileSample.read(filePath);
+        } catch (IOException e) {
+            LOGGER.debug("Could not read beginning of {}", filePath, e);
+            return importUnknownFormat(getRecognizingImporters(importer -> importer.isRecognizedFormat(filePath)), importer -> importer.importDatabase(filePath));
+        }
+
+        List<Importer> importers = getRecognizingImporters(importer -> importer.isRecognizedFormat(filePath, sample.content()));
+        if (!sample.isComplete()) {
+            Optional<UnknownFormatImport> unknownFormatImport = importUsingBestImporterForSample(importers, filePath, sample.content());
+            if (unknownFormatImport.isPresent()) {
+                return unknownFormatImport.get();
+            }
+        }
+        return importUnknownFormat(importers, importer -> importer.importDatabase(filePath));
+    }
+
     /**
-     * Tries to import entries by iterating through the available import filters,
-     * and keeping the import that seems the most promising
+     * Imports the file with the importer finding the most entries in the sample.
      *
-     * @param importDatabase     the function to import the entries with a formatter
+     * @return empty if no importer finds entries in the sample or the selected importer does not find entries in the file
+     */
+    private Optional<UnknownFormatImport> importUsingBestImporterForSample(List<Importer> importers, Path filePath, String sample) {
+        Importer bestImporter = null;
+        int bestEntryCount = 0;
+        for (Importer importer : importers) {
+            try {
+                List<BibEntry> entries = importer.importDatabase(sample).getDatabase().getEntries();
+                BibDatabases.purgeEmptyEntries(entries);
+                if (entries.size() > bestEntryCount) {
+                    bestImporter = importer;
+                    bestEntryCount = entries.size();
+                }
+            } catch (IOException | RuntimeException e) {
+                // The sample ends at an arbitrary line, on which some importers fail. Binary formats can only be imported from the file.
+                LOGGER.debug("Importer {} could not import sample of {}", importer.getName(), filePath, e);
+            }
+        }
+
+        if (bestImporter == null) {
+            return Optional.empty();
+        }
+
+        try {
+            List<BibEntry> entries = bestImporter.importDatabase(filePath).getDatabase().getEntries();
+            BibDatabases.purgeEmptyEntries(entries);
+            if (!entries.isEmpty()) {
+                return Optional.of(new UnknownFormatImport(bestImporter.getName(), new ParserResult(entries)));
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Importer {} could not import {}", bestImporter.getName(), filePath, e);
+        }
+        return Optional.empty();
+    }
+
+    /**
      * @param isRecognizedFormat the function to check whether the source is in the correct format for an importer
+     * @return the importers recognizing the source, in the order of {@link #formats}
+     */
+    private List<Importer> getRecognizingImporters(CheckedFunction<Importer, Boolean> isRecognizedFormat) {
+        List<Importer> recognizingImporters = new ArrayList<>();
+        for (Importer imFo : formats) {
+            try {
+                // Refer/BibIX should be explicitly chosen by user
+                if (isRecognizedFormat.apply(imFo) && !imFo.equals(new ReferImporter())) {
+                    recognizingImporters.add(imFo);
+                }
+            } catch (IOException ex) {
+                // The check did not succeed. Go on.
+            }
+        }
+        return recognizingImporters;
+    }
+
+    /**
+     * Tries to import entries by iterating through the given import filters,
+     * and keeping the import that seems the most promising
+     *
+     * @param importers      the importers recognizing the source
+     * @param importDatabase the function to import the entries with a formatter
      * @return an UnknownFormatImport with the imported entries and metadata
      * @throws ImportException if the import fails (for example, if no suitable importer is found)
      */
-    private UnknownFormatImport importUnknownFormat(CheckedFunction<Importer, ParserResult> importDatabase, CheckedFunction<Importer, Boolean> isRecognizedFormat) throws ImportException {
+    private UnknownFormatImport importUnknownFormat(List<Importer> importers, CheckedFunction<Importer, ParserResult> importDatabase) throws ImportException {
         // stores ref to best result, gets updated at the next loop
         List<BibEntry> bestResult = null;
         int bestResultCount = 0;
         String bestFormatName = null;
 
-        // Cycle through all importers:
-        for (Importer imFo : formats) {
+        // Cycle through all recognizing importers:
+        for (Importer imFo : importers) {
             try {
-                if (!isRecognizedFormat.apply(imFo) || imFo.equals(new ReferImporter())) {
-                    // Refer/BibIX should be explicitly chosen by user
-                    continue;
-                }
-
                 ParserResult parserResult = importDatabase.apply(imFo);
                 List<BibEntry> entries = parserResult.getDatabase().getEntries();
 
@@ -234,6 +315,6 @@ public class ImportFormatReader {
     public UnknownFormatImport importUnknownFormat(String data) throws ImportException {
         Objects.requireNonNull(data);
 
-        return importUnknownFormat(importer -> importer.importDatabase(data), importer -> importer.isRecognizedFormat(data));
+        return importUnknownFormat(getRecognizingImporters(importer -> importer.isRecognizedFormat(data)), importer -> importer.importDatabase(data));
     }
 }
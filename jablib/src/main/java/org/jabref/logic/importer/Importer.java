@@ -54,6 +54,21 @@ public abstract class Importer implements Comparable<Importer> {
         }
     }
 
+    /**
+     * Check whether the file is in the correct format for this importer, based on the beginning of its content.
+     * <p>
+     * Used when searching for a suitable import format, so that the file is read only once for all importers.
+     * Importers which cannot recognize their format from the text of the file (e.g., because it is compressed) check the file itself.
+     *
+     * @param filePath the path of the file to check
+     * @param sample   the beginning of the file, read by {@link #getReader(Path)}
+     * @return true, if the file is in a recognized format
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public boolean isRecognizedFormat(Path filePath, String sample) throws IOException {
+        return isRecognizedFormat(sample);
+    }
+
     /**
      * Check whether the source is in the correct format for this importer.
      *
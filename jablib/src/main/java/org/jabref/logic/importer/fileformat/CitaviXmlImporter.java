@@ -132,6 +132,12 @@ public class CitaviXmlImporter extends Importer implements Parser {
         return false;
     }
 
+    @Override
+    public boolean isRecognizedFormat(Path filePath, String sample) throws IOException {
+        // The sample is the compressed content
+        return isRecognizedFormat(filePath);
+    }
+
     @Override
     public ParserResult importDatabase(Path filePath) throws IOException {
         try (BufferedReader reader = getReaderFromZip(filePath)) {
@@ -2,22 +2,78 @@ package org.jabref.logic.integrity;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
 
 import org.jabref.logic.FilePreferences;
 import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
 import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.metadata.event.MetaDataChangedEvent;
 
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Runs all integrity checkers on the entries of a library.
+ * <p>
+ * {@link #check()} checks the entries in parallel and keeps the messages of each entry together with the revision of the
+ * entry they were computed for. A later check runs the checkers only for entries changed since then:
+ * <ul>
+ *     <li>Changes of an entry invalidate its messages, changes of the metadata the messages of all entries.</li>
+ *     <li>Changes of citation keys, of cross-references, and of the set of entries invalidate the messages of the checkers
+ *     comparing entries (such as {@link CitationKeyDuplicationChecker}).</li>
+ *     <li>Changes of DOIs and of the set of entries invalidate the messages of {@link DoiDuplicationChecker}.</li>
+ * </ul>
+ * Checkers depending on files on disk run on each check.
+ * <p>
+ * The checkers are configured once. Thus, a new instance is required if the preferences or the mode of the library change.
+ * An instance no longer used needs to be {@link #close() closed}, as it listens to the changes of the library.
+ */
 public class IntegrityCheck {
 
+    private static final Set<Field> LINKING_FIELDS = Set.of(InternalField.KEY_FIELD, StandardField.CROSSREF);
+
     private final BibDatabaseContext bibDatabaseContext;
     private final FieldCheckers fieldCheckers;
     private final List<EntryChecker> entryCheckers;
 
+    // Checkers depending on the entry only
+    private final List<EntryChecker> entryOnlyCheckers = new ArrayList<>();
+    // Checkers depending on other entries, e.g., on their citation keys
+    private final List<EntryChecker> crossEntryCheckers = new ArrayList<>();
+    // Checkers depending on the file system
+    private final List<EntryChecker> uncachedCheckers = new ArrayList<>();
+    private final List<DatabaseChecker> databaseCheckers = List.of(new DoiDuplicationChecker());
+
+    // Source of all revisions. Using a single counter makes the maximum of two revisions a revision, too.
+    private final AtomicLong revisionCounter = new AtomicLong();
+    // Entry id to the revision of the last change of the entry. Unchanged entries have revision 0.
+    private final Map<String, Long> entryRevisions = new ConcurrentHashMap<>();
+    private volatile long metaDataRevision;
+    private volatile long crossEntryRevision;
+    private volatile long databaseRevision;
+    // Citation keys of changed entries, whose cross-referencing entries need to be checked again
+    private final Set<String> changedCitationKeys = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, CachedMessages> entryOnlyMessages = new ConcurrentHashMap<>();
+    private final Map<String, CachedMessages> crossEntryMessages = new ConcurrentHashMap<>();
+    private volatile CachedMessages databaseMessages;
+
     public IntegrityCheck(BibDatabaseContext bibDatabaseContext,
                           FilePreferences filePreferences,
                           CitationKeyPatternPreferences citationKeyPatternPreferences,
@@ -52,21 +108,67 @@ public class IntegrityCheck {
                     new BibTeXEntryTypeChecker())
             );
         }
+
+        for (FieldChecker fieldChecker : fieldCheckers.getAll()) {
+            if (fieldChecker.field == StandardField.FILE) {
+                uncachedCheckers.add(fieldChecker);
+            } else {
+                entryOnlyCheckers.add(fieldChecker);
+            }
+        }
+        for (EntryChecker entryChecker : entryCheckers) {
+            if ((entryChecker instanceof EntryLinkChecker)
+                    || (entryChecker instanceof CitationKeyDeviationChecker)
+                    || (entryChecker instanceof CitationKeyDuplicationChecker)) {
+                crossEntryCheckers.add(entryChecker);
+            } else {
+                entryOnlyCheckers.add(entryChecker);
+            }
+        }
+
+        bibDatabaseContext.getDatabase().registerListener(this);
+        bibDatabaseContext.getMetaData().registerListener(this);
     }
 
-    List<IntegrityMessage> check() {
-        List<IntegrityMessage> result = new ArrayList<>();
+    public List<IntegrityMessage> check() {
+        return check(() -> false, _ -> {
+        });
+    }
 
+    /**
+     * Checks all entries of the library in parallel, running the checkers only for entries changed since the last check.
+     *
+     * @param isCancelled    checked before each entry. Entries not checked because of the cancellation have no messages.
+     * @param onEntryChecked called with the number of checked entries after an entry has been checked. Called from several threads.
+     * @return the messages of all entries in the order of the entries, followed by the messages of the database checkers
+     */
+    public List<IntegrityMessage> check(BooleanSupplier isCancelled, IntConsumer onEntryChecked) {
         BibDatabase database = bibDatabaseContext.getDatabase();
+        // Copied, because the list of entries is not safe for access from several threads
+        List<BibEntry> entries = List.copyOf(database.getEntries());
+        invalidateCrossReferencingEntries(entries);
 
-        for (BibEntry entry : database.getEntries()) {
-            result.addAll(checkEntry(entry));
-        }
-        result.addAll(checkDatabase(database));
+        AtomicInteger checkedEntries = new AtomicInteger();
+        List<IntegrityMessage> result = new ArrayList<>();
+        entries.parallelStream()
+               .map(entry -> {
+                   if (isCancelled.getAsBoolean()) {
+                       return List.<IntegrityMessage>of();
+                   }
+                   List<IntegrityMessage> messages = checkEntryIncrementally(entry);
+                   onEntryChecked.accept(checkedEntries.incrementAndGet());
+                   return messages;
+               })
+               .toList()
+               .forEach(result::addAll);
+        result.addAll(checkDatabaseIncrementally(database));
 
         return result;
     }
 
+    /**
+     * Runs all checkers on the given entry, without using the results of previous checks.
+     */
     public List<IntegrityMessage> checkEntry(BibEntry entry) {
         List<IntegrityMessage> result = new ArrayList<>();
         if (entry == null) {
@@ -85,6 +187,120 @@ public class IntegrityCheck {
     }
 
     public List<IntegrityMessage> checkDatabase(BibDatabase database) {
-        return new DoiDuplicationChecker().check(database);
+        List<IntegrityMessage> result = new ArrayList<>();
+        for (DatabaseChecker databaseChecker : databaseCheckers) {
+            result.addAll(databaseChecker.check(database));
+        }
+        return result;
+    }
+
+    private List<IntegrityMessage> checkEntryIncrementally(BibEntry entry) {
+        long entryRevision = Math.max(entryRevisions.getOrDefault(entry.getId(), 0L), metaDataRevision);
+        List<IntegrityMessage> result = new ArrayList<>();
+        result.addAll(getMessages(entryOnlyMessages, entry, entryRevision, entryOnlyCheckers));
+        result.addAll(getMessages(crossEntryMessages, entry, Math.max(entryRevision, crossEntryRevision), crossEntryCheckers));
+        for (EntryChecker checker : uncachedCheckers) {
+            result.addAll(checker.check(entry));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached messages of the entry if they were computed for the given revision, otherwise runs the checkers.
+     * The revision is determined before running the checkers. Thus, a change during the run leads to another run on the next check.
+     */
+    private static List<IntegrityMessage> getMessages(Map<String, CachedMessages> cache, BibEntry entry, long revision, List<EntryChecker> checkers) {
+        CachedMessages cachedMessages = cache.get(entry.getId());
+        if ((cachedMessages != null) && (cachedMessages.revision() == revision)) {
+            return cachedMessages.messages();
+        }
+
+        List<IntegrityMessage> messages = new ArrayList<>();
+        for (EntryChecker checker : checkers) {
+            messages.addAll(checker.check(entry));
+        }
+        cache.put(entry.getId(), new CachedMessages(revision, messages));
+        return messages;
+    }
+
+    private List<IntegrityMessage> checkDatabaseIncrementally(BibDatabase database) {
+        long revision = databaseRevision;
+        CachedMessages cachedMessages = databaseMessages;
+        if ((cachedMessages != null) && (cachedMessages.revision() == revision)) {
+            return cachedMessages.messages();
+        }
+
+        List<IntegrityMessage> messages = checkDatabase(database);
+        databaseMessages = new CachedMessages(revision, messages);
+        return messages;
+    }
+
+    /**
+     * The citation key of an entry may be generated from fields inherited from the entry it cross-references.
+     * Thus, a change of a referenced entry invalidates the messages of the referencing entries.
+     */
+    private void invalidateCrossReferencingEntries(List<BibEntry> entries) {
+        if (changedCitationKeys.isEmpty()) {
+            return;
+        }
+        Set<String> citationKeys = new HashSet<>(changedCitationKeys);
+        changedCitationKeys.removeAll(citationKeys);
+        for (BibEntry entry : entries) {
+            entry.getField(StandardField.CROSSREF)
+                 .filter(citationKeys::contains)
+                 .ifPresent(_ -> entryRevisions.put(entry.getId(), revisionCounter.incrementAndGet()));
+        }
+    }
+
+    /**
+     * Stops listening to the changes of the library and drops the cached messages.
+     * Afterward, {@link #check()} does not notice changes anymore, thus the instance must not be used for further checks.
+     */
+    public void close() {
+        bibDatabaseContext.getDatabase().unregisterListener(this);
+        bibDatabaseContext.getMetaData().unregisterListener(this);
+        entryOnlyMessages.clear();
+        crossEntryMessages.clear();
+        databaseMessages = null;
+    }
+
+    @Subscribe
+    public void listen(EntriesAddedEvent event) {
+        crossEntryRevision = revisionCounter.incrementAndGet();
+        databaseRevision = revisionCounter.incrementAndGet();
+    }
+
+    @Subscribe
+    public void listen(EntriesRemovedEvent event) {
+        for (BibEntry entry : event.getBibEntries()) {
+            entryRevisions.remove(entry.getId());
+            entryOnlyMessages.remove(entry.getId());
+            crossEntryMessages.remove(entry.getId());
+        }
+        crossEntryRevision = revisionCounter.incrementAndGet();
+        databaseRevision = revisionCounter.incrementAndGet();
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        BibEntry entry = event.getBibEntry();
+        entryRevisions.put(entry.getId(), revisionCounter.incrementAndGet());
+        entry.getCitationKey().ifPresent(changedCitationKeys::add);
+
+        if (LINKING_FIELDS.contains(event.getField())) {
+            crossEntryRevision = revisionCounter.incrementAndGet();
+        }
+        if (event.getField() == StandardField.DOI) {
+            databaseRevision = revisionCounter.incrementAndGet();
+        }
+    }
+
+    @Subscribe
+    public void listen(MetaDataChangedEvent event) {
+        // The library mode and the citation key patterns are stored in the metadata
+        metaDataRevision = revisionCounter.incrementAndGet();
+    }
+
+    private record CachedMessages(long revision, List<IntegrityMessage> messages) {
     }
 }
@@ -33,6 +33,9 @@ public class JournalAbbreviationRepository {
     private final StringSimilarity similarity = new StringSimilarity();
     private final LtwaRepository ltwaRepository;
 
+    // Built on the first fuzzy lookup, because most sessions never need it
+    private JournalNameFuzzyIndex fullNameFuzzyIndex;
+
     /**
      * Initializes the internal data based on the abbreviations found in the given MV file
      *
@@ -165,25 +168,41 @@ public class JournalAbbreviationRepository {
             return customMatch;
         }
 
-        return findBestFuzzyMatched(fullToAbbreviationObject.values(), input);
+        return findBestFuzzyMatched(getFullNameFuzzyIndex().findWithin(input, StringSimilarity.METRIC_THRESHOLD));
+    }
+
+    private synchronized JournalNameFuzzyIndex getFullNameFuzzyIndex() {
+        if (fullNameFuzzyIndex == null) {
+            fullNameFuzzyIndex = new JournalNameFuzzyIndex(fullToAbbreviationObject.values());
+        }
+        return fullNameFuzzyIndex;
     }
 
     private Optional<Abbreviation> findBestFuzzyMatched(Collection<Abbreviation> abbreviations, String input) {
+        return findBestFuzzyMatched(abbreviations.stream()
+                                                 .filter(abbreviation -> similarity.isSimilar(input, abbreviation.getName()))
+                                                 .map(abbreviation -> new JournalNameFuzzyIndex.Match(abbreviation, similarity.editDistanceIgnoreCase(input, abbreviation.getName())))
+                                                 .toList());
+    }
+
+    /**
+     * @param candidates the abbreviations whose full name is similar to the input, together with their edit distance to it
+     */
+    private Optional<Abbreviation> findBestFuzzyMatched(List<JournalNameFuzzyIndex.Match> candidates) {
         // threshold for edit distance similarity comparison
         final double SIMILARITY_THRESHOLD = 1.0;
 
-        List<Abbreviation> candidates = abbreviations.stream()
-                .filter(abbreviation -> similarity.isSimilar(input, abbreviation.getName()))
-                .sorted(Comparator.comparingDouble(abbreviation -> similarity.editDistanceIgnoreCase(input, abbreviation.getName())))
-                .toList();
+        List<JournalNameFuzzyIndex.Match> sortedCandidates = candidates.stream()
+                                                                       .sorted(Comparator.comparingDouble(JournalNameFuzzyIndex.Match::distance))
+                                                                       .toList();
 
-        if (candidates.isEmpty()) {
+        if (sortedCandidates.isEmpty()) {
             return Optional.empty();
         }
 
-        if (candidates.size() > 1) {
-            double bestDistance = similarity.editDistanceIgnoreCase(input, candidates.getFirst().getName());
-            double secondDistance = similarity.editDistanceIgnoreCase(input, candidates.get(1).getName());
+        if (sortedCandidates.size() > 1) {
+            double bestDistance = sortedCandidates.getFirst().distance();
+            double secondDistance = sortedCandidates.get(1).distance();
 
             // If there is a very close match of two abbreviations, do not use any of them, because they are too close.
             if (Math.abs(bestDistance - secondDistance) < SIMILARITY_THRESHOLD) {
@@ -191,7 +210,7 @@ public class JournalAbbreviationRepository {
             }
         }
 
-        return Optional.of(candidates.getFirst());
+        return Optional.of(sortedCandidates.getFirst().abbreviation());
     }
 
     public void addCustomAbbreviation(Abbreviation abbreviation) {
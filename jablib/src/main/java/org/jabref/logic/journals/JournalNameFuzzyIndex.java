@@ -0,0 +1,105 @@
+package org.jabref.logic.journals;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import info.debatty.java.stringsimilarity.Levenshtein;
+
+/**
+ * A <a href="https://en.wikipedia.org/wiki/BK-tree">BK-tree</a> over the full journal names, used to find all names within a given
+ * case-insensitive Levenshtein distance without comparing the input to each of the (tens of thousands) known journal names.
+ * <p>
+ * The Levenshtein distance is a metric. Thus, when searching for names within distance <code>d</code> of the input and the input has
+ * distance <code>k</code> to a node, only the children at edge distance <code>k - d</code> to <code>k + d</code> can contain matches.
+ */
+class JournalNameFuzzyIndex {
+
+    private static final Levenshtein LEVENSHTEIN = new Levenshtein();
+
+    private Node root;
+
+    JournalNameFuzzyIndex(Collection<Abbreviation> abbreviations) {
+        abbreviations.forEach(this::add);
+    }
+
+    private void add(Abbreviation abbreviation) {
+        String key = normalize(abbreviation.getName());
+        if (root == null) {
+            root = new Node(key);
+            root.abbreviations.add(abbreviation);
+            return;
+        }
+
+        Node node = root;
+        while (true) {
+            int distance = distance(key, node.key);
+            if (distance == 0) {
+                node.abbreviations.add(abbreviation);
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                child = new Node(key);
+                child.abbreviations.add(abbreviation);
+                node.children.put(distance, child);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * @return all abbreviations whose full name has an edit distance (ignoring case) of at most <code>maxDistance</code> to the input, in no particular order
+     */
+    List<Match> findWithin(String input, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+
+        String key = normalize(input);
+        Deque<Node> nodesToVisit = new ArrayDeque<>();
+        nodesToVisit.push(root);
+        while (!nodesToVisit.isEmpty()) {
+            Node node = nodesToVisit.pop();
+            int distance = distance(key, node.key);
+            if (distance <= maxDistance) {
+                node.abbreviations.forEach(abbreviation -> matches.add(new Match(abbreviation, distance)));
+            }
+            node.children.forEach((edgeDistance, child) -> {
+                if (Math.abs(edgeDistance - distance) <= maxDistance) {
+                    nodesToVisit.push(child);
+                }
+            });
+        }
+        return matches;
+    }
+
+    private static String normalize(String name) {
+        // Same normalization as StringSimilarity#editDistanceIgnoreCase
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static int distance(String first, String second) {
+        return (int) LEVENSHTEIN.distance(first, second);
+    }
+
+    record Match(Abbreviation abbreviation, double distance) {
+    }
+
+    private static class Node {
+        private final String key;
+        private final List<Abbreviation> abbreviations = new ArrayList<>(1);
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        private Node(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -22,11 +22,14 @@ public class Layout {
 
     private final List<String> missingFormatters = new ArrayList<>();
 
+    private final boolean usesGroups;
+
     public Layout(List<StringInt> parsedEntries,
                   List<Path> fileDirForDatabase,
                   LayoutFormatterPreferences layoutPreferences,
                   JournalAbbreviationRepository abbreviationRepository) {
         List<LayoutEntry> tmpEntries = new ArrayList<>(parsedEntries.size());
+        usesGroups = parsedEntries.stream().anyMatch(parsedEntry -> parsedEntry.i == LayoutHelper.IS_GROUP_START);
 
         List<StringInt> blockEntries = null;
         LayoutEntry le;
@@ -87,6 +90,14 @@ public class Layout {
         }
     }
 
+    /**
+     * A group (<code>\begingroup</code>) is printed only if its field differs from the one of the previously formatted entry.
+     * Thus, layouts using groups need to format the entries one after the other.
+     */
+    public boolean usesGroups() {
+        return usesGroups;
+    }
+
     public String getText() {
         return layoutEntries.stream().map(LayoutEntry::getText).collect(Collectors.joining("\n"));
     }
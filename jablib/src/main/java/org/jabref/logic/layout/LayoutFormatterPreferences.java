@@ -37,6 +37,10 @@ public class LayoutFormatterPreferences {
         return Optional.ofNullable(customExportNameFormatters.get(formatterName));
     }
 
+    public Map<String, String> getCustomExportNameFormatters() {
+        return Map.copyOf(customExportNameFormatters);
+    }
+
     public void clearCustomExportNameFormatters() {
         customExportNameFormatters.clear();
     }
@@ -5,10 +5,24 @@ import org.jabref.logic.layout.ParamLayoutFormatter;
 /**
  * Formatter that outputs a sequence number for the current entry. The sequence number is
  * tied to the entry's position in the order, not to the number of calls to this formatter.
+ * <p>
+ * The number is set per thread by the one formatting the entry, so that entries can be formatted in parallel.
+ * Threads not having set a number get 1, e.g., for formatting a single entry in the preview.
  */
 public class Number implements ParamLayoutFormatter {
 
-    public static int serialExportNumber;
+    private static final ThreadLocal<Integer> SERIAL_EXPORT_NUMBER = ThreadLocal.withInitial(() -> 1);
+
+    public static void setSerialExportNumber(int serialExportNumber) {
+        SERIAL_EXPORT_NUMBER.set(serialExportNumber);
+    }
+
+    /**
+     * Resets the number of the current thread to the default. To be called after formatting, as threads may be reused.
+     */
+    public static void resetSerialExportNumber() {
+        SERIAL_EXPORT_NUMBER.remove();
+    }
 
     @Override
     public void setArgument(String arg) {
@@ -17,6 +31,6 @@ public class Number implements ParamLayoutFormatter {
 
     @Override
     public String format(String fieldText) {
-        return String.valueOf(serialExportNumber);
+        return String.valueOf(SERIAL_EXPORT_NUMBER.get());
     }
 }
@@ -2,14 +2,15 @@ package org.jabref.logic.msbib;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.entry.BibEntry;
@@ -18,7 +19,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -31,39 +31,34 @@ import org.xml.sax.SAXException;
 public class MSBibDatabase {
 
     public static final String NAMESPACE = "http://schemas.openxmlformats.org/officeDocument/2006/bibliography";
-    public static final String PREFIX = "b:";
+    public static final String PREFIX = "b";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MSBibDatabase.class);
 
     private final DocumentBuilderFactory factory;
 
-    private Set<MSBibEntry> entriesForExport;
+    private final BibDatabase database;
+    private final List<BibEntry> entriesForExport;
 
     /**
      * Creates a {@link MSBibDatabase} for <b>import</b>
      */
     public MSBibDatabase() {
-        entriesForExport = new HashSet<>();
-        factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
+        this(new BibDatabase(), List.of());
     }
 
     /**
      * Creates a new {@link MSBibDatabase} for <b>export</b>.
-     * Directly converts the given entries.
+     * The entries are converted while writing them.
      *
      * @param database The bib database
      * @param entries  List of {@link BibEntry}
      */
     public MSBibDatabase(BibDatabase database, List<BibEntry> entries) {
-        this();
-        List<BibEntry> resolvedEntries;
-        if (entries == null) {
-            resolvedEntries = database.resolveForStrings(database.getEntries(), false);
-        } else {
-            resolvedEntries = database.resolveForStrings(entries, false);
-        }
-        setEntriesForExport(resolvedEntries);
+        factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        this.database = database;
+        this.entriesForExport = entries == null ? database.getEntries() : entries;
     }
 
     /**
@@ -72,7 +67,6 @@ public class MSBibDatabase {
      * @return List of {@link BibEntry}
      */
     public List<BibEntry> importEntriesFromXml(BufferedReader reader) {
-        entriesForExport = new HashSet<>();
         Document inputDocument;
         try {
             DocumentBuilder documentBuilder = factory.newDocumentBuilder();
@@ -93,41 +87,30 @@ public class MSBibDatabase {
         NodeList sourceList = ((Element) rootList.item(0)).getElementsByTagNameNS("*", "Source");
         for (int i = 0; i < sourceList.getLength(); i++) {
             MSBibEntry entry = new MSBibEntry((Element) sourceList.item(i));
-            entriesForExport.add(entry);
             bibitems.add(BibTeXConverter.convert(entry));
         }
 
         return bibitems;
     }
 
-    private void setEntriesForExport(List<BibEntry> entriesToAdd) {
-        entriesForExport = new HashSet<>();
-        for (BibEntry entry : entriesToAdd) {
-            MSBibEntry newMods = MSBibConverter.convert(entry);
-            entriesForExport.add(newMods);
+    /**
+     * Writes the entries for export. Each entry is resolved and converted just before writing it,
+     * so that the memory usage does not depend on the number of entries.
+     *
+     * @param writer the writer to write the document to. The document is ended, but the writer is not closed.
+     */
+    public void writeForExport(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+        writer.writeStartElement(PREFIX, "Sources", NAMESPACE);
+        writer.writeDefaultNamespace(NAMESPACE);
+        writer.writeNamespace(PREFIX, NAMESPACE);
+        writer.writeAttribute("SelectedStyle", "");
+
+        for (BibEntry entry : entriesForExport) {
+            MSBibConverter.convert(database.resolveForStrings(entry, false)).writeEntry(writer);
         }
-    }
 
-    public Document getDomForExport() {
-        Document document = null;
-        try {
-            DocumentBuilder documentBuilder = factory.newDocumentBuilder();
-            document = documentBuilder.newDocument();
-
-            Element rootNode = document.createElementNS(NAMESPACE, PREFIX + "Sources");
-            rootNode.setAttributeNS("http://www.w3.org/2000/xmlns/", "xmlns", NAMESPACE);
-            rootNode.setAttributeNS("http://www.w3.org/2000/xmlns/",
-                    "xmlns:" + PREFIX.substring(0, PREFIX.length() - 1), NAMESPACE);
-            rootNode.setAttribute("SelectedStyle", "");
-
-            for (MSBibEntry entry : entriesForExport) {
-                Node node = entry.getEntryDom(document);
-                rootNode.appendChild(node);
-            }
-            document.appendChild(rootNode);
-        } catch (ParserConfigurationException e) {
-            LOGGER.warn("Could not build XML document", e);
-        }
-        return document;
+        writer.writeEndElement(); // end Sources
+        writer.writeEndDocument();
     }
 }
@@ -8,13 +8,15 @@ import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.jabref.model.entry.Author;
 import org.jabref.model.entry.AuthorList;
 import org.jabref.model.entry.Date;
 import org.jabref.model.entry.Month;
 import org.jabref.model.strings.StringUtil;
 
-import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -233,121 +235,118 @@ class MSBibEntry {
     }
 
     /**
-     * Gets the dom representation for one entry, used for export
+     * Writes the XML representation of this entry, used for export
      *
-     * @param document XmlDocument
-     * @return XmlElement represenation of one entry
+     * @param writer the writer positioned inside the <code>Sources</code> element
      */
-    public Element getEntryDom(Document document) {
-        Element rootNode = document.createElementNS(MSBibDatabase.NAMESPACE, MSBibDatabase.PREFIX + "Source");
+    public void writeEntry(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(MSBibDatabase.PREFIX, "Source", MSBibDatabase.NAMESPACE);
 
         for (Map.Entry<String, String> entry : fields.entrySet()) {
-            addField(document, rootNode, entry.getKey(), entry.getValue());
+            addField(writer, entry.getKey(), entry.getValue());
         }
 
-        Optional.ofNullable(dateAccessed).ifPresent(field -> addDateAcessedFields(document, rootNode));
-
-        Element allAuthors = document.createElementNS(MSBibDatabase.NAMESPACE, MSBibDatabase.PREFIX + "Author");
-
-        addAuthor(document, allAuthors, "Author", authors);
-        addAuthor(document, allAuthors, "BookAuthor", bookAuthors);
-        addAuthor(document, allAuthors, "Editor", editors);
-        addAuthor(document, allAuthors, "Translator", translators);
-        addAuthor(document, allAuthors, "ProducerName", producerNames);
-        addAuthor(document, allAuthors, "Composer", composers);
-        addAuthor(document, allAuthors, "Conductor", conductors);
-        addAuthor(document, allAuthors, "Performer", performers);
-        addAuthor(document, allAuthors, "Writer", writers);
-        addAuthor(document, allAuthors, "Director", directors);
-        addAuthor(document, allAuthors, "Compiler", compilers);
-        addAuthor(document, allAuthors, "Interviewer", interviewers);
-        addAuthor(document, allAuthors, "Interviewee", interviewees);
-        addAuthor(document, allAuthors, "Inventor", inventors);
-        addAuthor(document, allAuthors, "Counsel", counsels);
+        if (dateAccessed != null) {
+            addDateAcessedFields(writer);
+        }
 
-        rootNode.appendChild(allAuthors);
+        writer.writeStartElement(MSBibDatabase.PREFIX, "Author", MSBibDatabase.NAMESPACE);
+
+        addAuthor(writer, "Author", authors);
+        addAuthor(writer, "BookAuthor", bookAuthors);
+        addAuthor(writer, "Editor", editors);
+        addAuthor(writer, "Translator", translators);
+        addAuthor(writer, "ProducerName", producerNames);
+        addAuthor(writer, "Composer", composers);
+        addAuthor(writer, "Conductor", conductors);
+        addAuthor(writer, "Performer", performers);
+        addAuthor(writer, "Writer", writers);
+        addAuthor(writer, "Director", directors);
+        addAuthor(writer, "Compiler", compilers);
+        addAuthor(writer, "Interviewer", interviewers);
+        addAuthor(writer, "Interviewee", interviewees);
+        addAuthor(writer, "Inventor", inventors);
+        addAuthor(writer, "Counsel", counsels);
+
+        writer.writeEndElement(); // end Author
 
         if (pages != null) {
-            addField(document, rootNode, "Pages", pages.toString("-"));
+            addField(writer, "Pages", pages.toString("-"));
         }
-        addField(document, rootNode, "Year", year);
-        addField(document, rootNode, "Month", month);
-        addField(document, rootNode, "Day", day);
+        addField(writer, "Year", year);
+        addField(writer, "Month", month);
+        addField(writer, "Day", day);
 
-        addField(document, rootNode, "JournalName", journalName);
-        addField(document, rootNode, "PatentNumber", patentNumber);
+        addField(writer, "JournalName", journalName);
+        addField(writer, "PatentNumber", patentNumber);
 
-        addField(document, rootNode, "Number", number);
+        addField(writer, "Number", number);
 
-        addField(document, rootNode, "StandardNumber", standardNumber);
-        addField(document, rootNode, "ConferenceName", conferenceName);
+        addField(writer, "StandardNumber", standardNumber);
+        addField(writer, "ConferenceName", conferenceName);
 
-        addAddress(document, rootNode, address);
+        addAddress(writer, address);
 
-        addField(document, rootNode, "ThesisType", thesisType);
-        addField(document, rootNode, "InternetSiteTitle", internetSiteTitle);
+        addField(writer, "ThesisType", thesisType);
+        addField(writer, "InternetSiteTitle", internetSiteTitle);
 
-        addField(document, rootNode, "PublicationTitle", publicationTitle);
-        addField(document, rootNode, "AlbumTitle", albumTitle);
-        addField(document, rootNode, "BroadcastTitle", broadcastTitle);
+        addField(writer, "PublicationTitle", publicationTitle);
+        addField(writer, "AlbumTitle", albumTitle);
+        addField(writer, "BroadcastTitle", broadcastTitle);
 
-        return rootNode;
+        writer.writeEndElement(); // end Source
     }
 
-    private void addField(Document document, Element parent, String name, String value) {
+    private void addField(XMLStreamWriter writer, String name, String value) throws XMLStreamException {
         if (value == null) {
             return;
         }
-        Element elem = document.createElementNS(MSBibDatabase.NAMESPACE, MSBibDatabase.PREFIX + name);
-        elem.appendChild(document.createTextNode(StringUtil.stripNonValidXMLCharacters(value)));
-        parent.appendChild(elem);
+        writer.writeStartElement(MSBibDatabase.PREFIX, name, MSBibDatabase.NAMESPACE);
+        writer.writeCharacters(StringUtil.stripNonValidXMLCharacters(value));
+        writer.writeEndElement();
     }
 
     // Add authors for export
-    private void addAuthor(Document document, Element allAuthors, String entryName, List<MsBibAuthor> authorsLst) {
+    private void addAuthor(XMLStreamWriter writer, String entryName, List<MsBibAuthor> authorsLst) throws XMLStreamException {
         if (authorsLst == null) {
             return;
         }
-        Element authorTop = document.createElementNS(MSBibDatabase.NAMESPACE, MSBibDatabase.PREFIX + entryName);
+        writer.writeStartElement(MSBibDatabase.PREFIX, entryName, MSBibDatabase.NAMESPACE);
 
         Optional<MsBibAuthor> personName = authorsLst.stream()
                                                      .filter(MsBibAuthor::isCorporate)
                                                      .findFirst();
         if (personName.isPresent()) {
             MsBibAuthor person = personName.get();
-            Element corporate = document.createElementNS(MSBibDatabase.NAMESPACE,
-                    MSBibDatabase.PREFIX + "Corporate");
-            corporate.setTextContent(person.getLastName());
-            authorTop.appendChild(corporate);
+            writer.writeStartElement(MSBibDatabase.PREFIX, "Corporate", MSBibDatabase.NAMESPACE);
+            writer.writeCharacters(person.getLastName());
+            writer.writeEndElement();
         } else {
-            Element nameList = document.createElementNS(MSBibDatabase.NAMESPACE, MSBibDatabase.PREFIX + "NameList");
+            writer.writeStartElement(MSBibDatabase.PREFIX, "NameList", MSBibDatabase.NAMESPACE);
             for (MsBibAuthor name : authorsLst) {
-                Element person = document.createElementNS(MSBibDatabase.NAMESPACE, MSBibDatabase.PREFIX + "Person");
-                addField(document, person, "Last", name.getLastName());
-                addField(document, person, "Middle", name.getMiddleName());
-                addField(document, person, "First", name.getFirstName());
-                nameList.appendChild(person);
+                writer.writeStartElement(MSBibDatabase.PREFIX, "Person", MSBibDatabase.NAMESPACE);
+                addField(writer, "Last", name.getLastName());
+                addField(writer, "Middle", name.getMiddleName());
+                addField(writer, "First", name.getFirstName());
+                writer.writeEndElement(); // end Person
             }
-            authorTop.appendChild(nameList);
+            writer.writeEndElement(); // end NameList
         }
-        allAuthors.appendChild(authorTop);
+        writer.writeEndElement();
     }
 
-    private void addDateAcessedFields(Document document, Element rootNode) {
+    private void addDateAcessedFields(XMLStreamWriter writer) throws XMLStreamException {
         Optional<Date> parsedDateAcesseField = Date.parse(dateAccessed);
-        parsedDateAcesseField.flatMap(Date::getYear)
-            .map(Object::toString)
-            .ifPresent(yearAccessed -> addField(document, rootNode, "Year" + "Accessed", yearAccessed));
-
-        parsedDateAcesseField.flatMap(Date::getMonth)
-                             .map(Month::getFullName)
-                             .ifPresent(monthAcessed -> addField(document, rootNode, "Month" + "Accessed", monthAcessed));
-        parsedDateAcesseField.flatMap(Date::getDay)
-            .map(Object::toString)
-            .ifPresent(dayAccessed -> addField(document, rootNode, "Day" + "Accessed", dayAccessed));
+        Optional<String> yearAccessed = parsedDateAcesseField.flatMap(Date::getYear).map(Object::toString);
+        Optional<String> monthAccessed = parsedDateAcesseField.flatMap(Date::getMonth).map(Month::getFullName);
+        Optional<String> dayAccessed = parsedDateAcesseField.flatMap(Date::getDay).map(Object::toString);
+
+        addField(writer, "Year" + "Accessed", yearAccessed.orElse(null));
+        addField(writer, "Month" + "Accessed", monthAccessed.orElse(null));
+        addField(writer, "Day" + "Accessed", dayAccessed.orElse(null));
     }
 
-    private void addAddress(Document document, Element parent, String addressToSplit) {
+    private void addAddress(XMLStreamWriter writer, String addressToSplit) throws XMLStreamException {
         if (addressToSplit == null) {
             return;
         }
@@ -355,11 +354,11 @@ class MSBibEntry {
         Matcher matcher = ADDRESS_PATTERN.matcher(addressToSplit);
 
         if (addressToSplit.contains(",") && matcher.matches() && (matcher.groupCount() >= 3)) {
-            addField(document, parent, "City", matcher.group(1));
-            addField(document, parent, "StateProvince", matcher.group(2));
-            addField(document, parent, "CountryRegion", matcher.group(3));
+            addField(writer, "City", matcher.group(1));
+            addField(writer, "StateProvince", matcher.group(2));
+            addField(writer, "CountryRegion", matcher.group(3));
         } else {
-            addField(document, parent, "City", addressToSplit);
+            addField(writer, "City", addressToSplit);
         }
     }
 }
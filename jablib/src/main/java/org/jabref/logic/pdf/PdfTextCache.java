@@ -0,0 +1,254 @@
+package org.jabref.logic.pdf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import org.jabref.logic.xmp.XmpUtilReader;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.h2.mvstore.MVStoreException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the text and the annotation contents of each page of PDF files, so that a PDF file is parsed only once for the fulltext
+ * index and for the AI features, and only once per change of the file.
+ * <p>
+ * The key is the hash of the content of the file. The hash is stored together with the modification time and the size of the
+ * file, and is computed again only if one of them changed. The pages are stored compressed on disk and are removed after
+ * {@link #MAX_UNUSED_DAYS} days without being requested.
+ * <p>
+ * The text of a page is extracted with "\n" as line separator and without further processing, so that each consumer can post-process it.
+ */
+public class PdfTextCache implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PdfTextCache.class);
+
+    private static final String FILE_NAME = "pdf-text.mv";
+    private static final String PAGES_MAP_NAME = "pages";
+    private static final String LAST_USED_MAP_NAME = "lastUsed";
+    private static final String FILE_STATES_MAP_NAME = "fileStates";
+    private static final int MAX_UNUSED_DAYS = 90;
+
+    private final MVStore mvStore;
+    private final MVMap<String, byte[]> pagesByHash;
+    // Hash to the day (epoch day) the pages were requested the last time
+    private final MVMap<String, Long> lastUsed;
+    // Absolute path of a file to its state when its hash was computed
+    private final MVMap<String, FileState> fileStates;
+
+    /**
+     * @param directory the directory to store the cache in, or empty to keep the cache in memory only
+     */
+    public PdfTextCache(Optional<Path> directory) {
+        this.mvStore = openStore(directory.map(dir -> dir.resolve(FILE_NAME)));
+        this.pagesByHash = mvStore.openMap(PAGES_MAP_NAME);
+        this.lastUsed = mvStore.openMap(LAST_USED_MAP_NAME);
+        this.fileStates = mvStore.openMap(FILE_STATES_MAP_NAME);
+        removeUnused();
+    }
+
+    /**
+     * Files that cannot be opened (e.g., because the cache is used by another instance) are replaced by an in-memory store.
+     */
+    private static MVStore openStore(Optional<Path> path) {
+        if (path.isPresent()) {
+            try {
+                Files.createDirectories(path.get().getParent());
+                return new MVStore.Builder()
+                        .fileName(path.get().toString())
+                        .compress()
+                        .open();
+            } catch (IOException | MVStoreException e) {
+                LOGGER.warn("Could not open PDF text cache at {}. Using an in-memory cache.", path.get(), e);
+            }
+        }
+        return new MVStore.Builder()
+                .fileName(null) // creates an in memory store
+                .open();
+    }
+
+    private void removeUnused() {
+        long oldestDayToKeep = LocalDate.now().toEpochDay() - MAX_UNUSED_DAYS;
+        // Collected first, because the key set of an MVMap does not support removal
+        List<String> unusedHashes = lastUsed.entrySet().stream()
+                                            .filter(entry -> entry.getValue() < oldestDayToKeep)
+                                            .map(Map.Entry::getKey)
+                                            .toList();
+        unusedHashes.forEach(hash -> {
+            pagesByHash.remove(hash);
+            lastUsed.remove(hash);
+        });
+
+        List<String> unusedFiles = fileStates.entrySet().stream()
+                                             .filter(entry -> !lastUsed.containsKey(entry.getValue().contentHash()))
+                                             .map(Map.Entry::getKey)
+                                             .toList();
+        unusedFiles.forEach(fileStates::remove);
+    }
+
+    public List<PdfPage> getPages(Path path) throws IOException {
+        return getPages(path, () -> false).orElseThrow();
+    }
+
+    /**
+     * Returns the pages of the given PDF file, parsing the file only if it is not in the cache.
+     *
+     * @param isCancelled checked before each page is parsed
+     * @return the pages, or empty if the parsing has been cancelled
+     * @throws IOException if the file cannot be read or is not a PDF file
+     */
+    public Optional<List<PdfPage>> getPages(Path path, BooleanSupplier isCancelled) throws IOException {
+        String hash = getContentHash(path);
+        long today = LocalDate.now().toEpochDay();
+
+        byte[] cachedPages = pagesByHash.get(hash);
+        if (cachedPages != null) {
+            lastUsed.put(hash, today);
+            return Optional.of(decode(cachedPages));
+        }
+
+        Optional<List<PdfPage>> pages = extractPages(path, isCancelled);
+        pages.ifPresent(extractedPages -> {
+            pagesByHash.put(hash, encode(extractedPages));
+            lastUsed.put(hash, today);
+        });
+        return pages;
+    }
+
+    private String getContentHash(Path path) throws IOException {
+        Path normalizedPath = path.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(normalizedPath, BasicFileAttributes.class);
+        Instant modified = attributes.lastModifiedTime().toInstant();
+        FileState state = fileStates.get(normalizedPath.toString());
+        if ((state != null) && state.modified().equals(modified) && (state.size() == attributes.size())) {
+            return state.contentHash();
+        }
+
+        String hash = MoreFiles.asByteSource(normalizedPath).hash(Hashing.sha256()).toString();
+        fileStates.put(normalizedPath.toString(), new FileState(modified, attributes.size(), hash));
+        return hash;
+    }
+
+    private static Optional<List<PdfPage>> extractPages(Path path, BooleanSupplier isCancelled) throws IOException {
+        try (PDDocument document = new XmpUtilReader().loadWithAutomaticDecryption(path)) {
+            int numberOfPages = document.getNumberOfPages();
+            LOGGER.debug("Extracting the text of {} with {} pages", path.toAbsolutePath(), numberOfPages);
+
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setLineSeparator("\n");
+            List<PdfPage> pages = new ArrayList<>(numberOfPages);
+            for (int pageNumber = 1; pageNumber <= numberOfPages; pageNumber++) {
+                if (isCancelled.getAsBoolean()) {
+                    return Optional.empty();
+                }
+                pages.add(extractPage(document, stripper, pageNumber, path));
+            }
+            return Optional.of(pages);
+        }
+    }
+
+    private static PdfPage extractPage(PDDocument document, PDFTextStripper stripper, int pageNumber, Path path) {
+        // Apache PDFTextStripper is 1-based. See {@link org.apache.pdfbox.text.PDFTextStripper.processPages}
+        stripper.setStartPage(pageNumber);
+        stripper.setEndPage(pageNumber);
+        try {
+            String text = stripper.getText(document);
+            List<String> annotations = document.getPage(pageNumber - 1)
+                                               .getAnnotations()
+                                               .stream()
+                                               .map(PDAnnotation::getContents)
+                                               .filter(Objects::nonNull)
+                                               .toList();
+            return new PdfPage(text, annotations);
+        } catch (IOException e) {
+            LOGGER.warn("Could not read page {} of {}", pageNumber, path.toAbsolutePath(), e);
+            return new PdfPage("", List.of());
+        }
+    }
+
+    private static byte[] encode(List<PdfPage> pages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(pages.size());
+            for (PdfPage page : pages) {
+                writeString(output, page.text());
+                output.writeInt(page.annotations().size());
+                for (String annotation : page.annotations()) {
+                    writeString(output, annotation);
+                }
+            }
+        } catch (IOException e) {
+            // Cannot happen when writing to a byte array
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<PdfPage> decode(byte[] bytes) throws IOException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int numberOfPages = input.readInt();
+            List<PdfPage> pages = new ArrayList<>(numberOfPages);
+            for (int i = 0; i < numberOfPages; i++) {
+                String text = readString(input);
+                int numberOfAnnotations = input.readInt();
+                List<String> annotations = new ArrayList<>(numberOfAnnotations);
+                for (int j = 0; j < numberOfAnnotations; j++) {
+                    annotations.add(readString(input));
+                }
+                pages.add(new PdfPage(text, annotations));
+            }
+            return pages;
+        }
+    }
+
+    // DataOutput#writeUTF is limited to 64 KB, which the text of a page may exceed
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        mvStore.close();
+    }
+
+    /**
+     * The text and the contents of the annotations of a single page
+     */
+    public record PdfPage(String text, List<String> annotations) {
+    }
+
+    // Serializable to be stored in the MVStore
+    private record FileState(Instant modified, long size, String contentHash) implements Serializable {
+    }
+}
@@ -4,13 +4,19 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.preferences.CliPreferences;
+import org.jabref.logic.search.indexing.InMemoryBibFieldsIndex;
+import org.jabref.logic.search.retrieval.InMemoryBibFieldsSearcher;
 import org.jabref.logic.util.TaskExecutor;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.BibDatabases;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.search.SearchFlags;
 import org.jabref.model.search.query.SearchQuery;
+import org.jabref.model.search.query.SearchResults;
 
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,17 +25,33 @@ public class DatabaseSearcher {
 
     private final BibDatabaseContext databaseContext;
     private final SearchQuery query;
-    private final IndexManager indexManager;
+    @Nullable private final IndexManager indexManager;
+    @Nullable private final InMemoryBibFieldsSearcher inMemorySearcher;
 
     // TODO: get rid of task executor here or add a constructor overload?
     public DatabaseSearcher(SearchQuery query,
                             BibDatabaseContext databaseContext,
                             TaskExecutor taskExecutor,
                             CliPreferences preferences,
-                            PostgreServer postgreServer) throws IOException {
+                            PostgreServer postgreServer,
+                            PdfTextCache pdfTextCache) throws IOException {
         this.databaseContext = databaseContext;
         this.query = Objects.requireNonNull(query);
-        this.indexManager = new IndexManager(databaseContext, taskExecutor, preferences, postgreServer);
+        this.indexManager = new IndexManager(databaseContext, taskExecutor, preferences, postgreServer, pdfTextCache);
+        this.inMemorySearcher = null;
+    }
+
+    /**
+     * Searches without a PostgreSQL server, using an {@link InMemoryBibFieldsIndex}. Intended for a single search in headless use.
+     * The linked files are not searched.
+     */
+    public DatabaseSearcher(SearchQuery query,
+                            BibDatabaseContext databaseContext,
+                            CliPreferences preferences) {
+        this.databaseContext = databaseContext;
+        this.query = Objects.requireNonNull(query);
+        this.indexManager = null;
+        this.inMemorySearcher = new InMemoryBibFieldsSearcher(new InMemoryBibFieldsIndex(preferences.getBibEntryPreferences(), databaseContext));
     }
 
     /**
@@ -40,15 +62,30 @@ public class DatabaseSearcher {
 
         if (!query.isValid()) {
             LOGGER.warn("Search failed: invalid search expression");
-            indexManager.closeAndWait();
+            close();
             return List.of();
         }
-        List<BibEntry> matchEntries = indexManager.search(query)
-                                                  .getMatchedEntries()
-                                                  .stream()
-                                                  .map(entryId -> databaseContext.getDatabase().getEntryById(entryId))
-                                                  .toList();
-        indexManager.closeAndWait();
+        List<BibEntry> matchEntries = search().getMatchedEntries()
+                                              .stream()
+                                              .map(entryId -> databaseContext.getDatabase().getEntryById(entryId))
+                                              .toList();
+        close();
         return BibDatabases.purgeEmptyEntries(matchEntries);
     }
+
+    private SearchResults search() {
+        if (indexManager != null) {
+            return indexManager.search(query);
+        }
+        if (query.getSearchFlags().contains(SearchFlags.FULLTEXT)) {
+            LOGGER.info("Linked files are not searched without a search index");
+        }
+        return inMemorySearcher.search(query);
+    }
+
+    private void close() {
+        if (indexManager != null) {
+            indexManager.closeAndWait();
+        }
+    }
 }
@@ -15,6 +15,7 @@ import java.util.concurrent.Future;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.value.ChangeListener;
 
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.preferences.CliPreferences;
 import org.jabref.logic.search.indexing.BibFieldsIndexer;
 import org.jabref.logic.search.indexing.DefaultLinkedFilesIndexer;
@@ -55,7 +56,8 @@ public class IndexManager {
     public IndexManager(BibDatabaseContext databaseContext,
                         TaskExecutor executor,
                         CliPreferences preferences,
-                        PostgreServer postgreServer) {
+                        PostgreServer postgreServer,
+                        PdfTextCache pdfTextCache) {
         this.taskExecutor = executor;
         this.databaseContext = databaseContext;
         this.shouldIndexLinkedFiles = preferences.getFilePreferences().fulltextIndexLinkedFilesProperty();
@@ -66,7 +68,7 @@ public class IndexManager {
 
         LuceneIndexer indexer;
         try {
-            indexer = new DefaultLinkedFilesIndexer(databaseContext, preferences.getFilePreferences());
+            indexer = new DefaultLinkedFilesIndexer(databaseContext, preferences.getFilePreferences(), pdfTextCache);
         } catch (IOException e) {
             LOGGER.debug("Error initializing linked files index - using read only index");
             indexer = new ReadOnlyLinkedFilesIndexer(databaseContext);
@@ -0,0 +1,142 @@
+package org.jabref.logic.search.indexing;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.StandardField;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.h2.mvstore.MVStore;
+import org.h2.mvstore.MVStoreException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the rows computed by {@link BibFieldsIndexer} for each entry, so that re-opening a library only needs to compute the rows of changed entries.
+ * <p>
+ * The cache is stored next to the linked files index of the library (see {@link BibDatabaseContext#getFulltextIndexPath()}).
+ * The key is a hash of the content of the entry. The values are the rows in the text format of <code>COPY</code> without the entry id column,
+ * because the entry id is generated anew in each session.
+ * <p>
+ * Entries whose indexed values depend on other parts of the library (cross-references, xdata, string constants) are not cached.
+ */
+public class BibFieldsIndexCache implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BibFieldsIndexCache.class);
+
+    private static final String FILE_NAME = "bib-fields.mv";
+    private static final String MAIN_TABLE_ROWS_MAP_NAME = "mainTableRows";
+    private static final String SPLIT_VALUES_TABLE_ROWS_MAP_NAME = "splitValuesTableRows";
+
+    private final MVStore mvStore;
+    private final Map<String, String> mainTableRows;
+    private final Map<String, String> splitValuesTableRows;
+    private final Set<String> usedHashes = ConcurrentHashMap.newKeySet();
+    private final Character keywordSeparator;
+
+    public BibFieldsIndexCache(BibDatabaseContext databaseContext, Character keywordSeparator) {
+        this.keywordSeparator = keywordSeparator;
+        this.mvStore = openStore(databaseContext.getDatabasePath().map(_ -> databaseContext.getFulltextIndexPath().resolve(FILE_NAME)));
+        this.mainTableRows = mvStore.openMap(MAIN_TABLE_ROWS_MAP_NAME);
+        this.splitValuesTableRows = mvStore.openMap(SPLIT_VALUES_TABLE_ROWS_MAP_NAME);
+    }
+
+    /**
+     * Unsaved libraries and libraries whose cache file cannot be opened (e.g., because it is used by another instance) get an in-memory store.
+     */
+    private static MVStore openStore(Optional<Path> path) {
+        if (path.isPresent()) {
+            try {
+                Files.createDirectories(path.get().getParent());
+                return new MVStore.Builder()
+                        .autoCommitDisabled()
+                        .fileName(path.get().toString())
+                        .open();
+            } catch (IOException | MVStoreException e) {
+                LOGGER.warn("Could not open bib fields index cache at {}. Using an in-memory cache.", path.get(), e);
+            }
+        }
+        return new MVStore.Builder()
+                .autoCommitDisabled()
+                .fileName(null) // creates an in memory store
+                .open();
+    }
+
+    /**
+     * @return the hash of the content of the entry, or empty if the rows of the entry cannot be cached
+     */
+    public Optional<String> getContentHash(BibEntry entry) {
+        Map<Field, String> fields = entry.getFieldMap();
+        if (fields.containsKey(StandardField.CROSSREF) || fields.containsKey(StandardField.XDATA)
+                || fields.values().stream().anyMatch(value -> value.indexOf('#') >= 0)) {
+            return Optional.empty();
+        }
+
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putChar(keywordSeparator);
+        hasher.putString(entry.getType().getName(), StandardCharsets.UTF_8);
+        fields.entrySet().stream()
+              .sorted(Map.Entry.comparingByKey((first, second) -> first.getName().compareTo(second.getName())))
+              .forEach(field -> {
+                  // Length prefixes avoid collisions between different splits of the same character sequence
+                  String name = field.getKey().getName();
+                  hasher.putInt(name.length()).putString(name, StandardCharsets.UTF_8);
+                  hasher.putInt(field.getValue().length()).putString(field.getValue(), StandardCharsets.UTF_8);
+              });
+        return Optional.of(hasher.hash().toString());
+    }
+
+    public Optional<CachedRows> get(String contentHash) {
+        String mainRows = mainTableRows.get(contentHash);
+        String splitRows = splitValuesTableRows.get(contentHash);
+        if (mainRows == null || splitRows == null) {
+            return Optional.empty();
+        }
+        usedHashes.add(contentHash);
+        return Optional.of(new CachedRows(mainRows, splitRows));
+    }
+
+    public void put(String contentHash, CachedRows rows) {
+        mainTableRows.put(contentHash, rows.mainTableRows());
+        splitValuesTableRows.put(contentHash, rows.splitValuesTableRows());
+        usedHashes.add(contentHash);
+    }
+
+    /**
+     * Removes the rows of all entries not requested or stored since opening the cache and writes the cache to disk.
+     * To be called after the whole library has been loaded.
+     */
+    public void removeUnusedAndCommit() {
+        // Collected first, because the key set of an MVMap does not support removal
+        List<String> unusedHashes = mainTableRows.keySet().stream()
+                                                 .filter(hash -> !usedHashes.contains(hash))
+                                                 .toList();
+        unusedHashes.forEach(hash -> {
+            mainTableRows.remove(hash);
+            splitValuesTableRows.remove(hash);
+        });
+        mvStore.commit();
+        LOGGER.debug("Bib fields index cache contains {} entries", usedHashes.size());
+    }
+
+    @Override
+    public void close() {
+        mvStore.close();
+    }
+
+    /**
+     * The rows of one entry in the text format of <code>COPY</code>, each row lacking the leading entry id column
+     */
+    public record CachedRows(String mainTableRows, String splitValuesTableRows) {
+    }
+}
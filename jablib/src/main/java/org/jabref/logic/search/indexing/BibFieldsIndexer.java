@@ -1,34 +1,36 @@
 package org.jabref.logic.search.indexing;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.Arrays;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Map;
+import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.jabref.logic.l10n.Localization;
-import org.jabref.logic.layout.format.LatexToUnicodeFormatter;
+import org.jabref.logic.search.indexing.BibFieldsIndexCache.CachedRows;
 import org.jabref.logic.util.BackgroundTask;
 import org.jabref.logic.util.HeadlessExecutorService;
 import org.jabref.model.database.BibDatabaseContext;
-import org.jabref.model.entry.AuthorList;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryPreferences;
-import org.jabref.model.entry.KeywordList;
 import org.jabref.model.entry.field.Field;
-import org.jabref.model.entry.field.FieldProperty;
-import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.search.PostgreConstants;
 
 import io.github.thibaultmeyer.cuid.CUID;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import static org.jabref.model.entry.field.InternalField.TYPE_HEADER;
 import static org.jabref.model.search.PostgreConstants.ENTRY_ID;
 import static org.jabref.model.search.PostgreConstants.FIELD_NAME;
 import static org.jabref.model.search.PostgreConstants.FIELD_VALUE_LITERAL;
@@ -37,9 +39,12 @@ import static org.jabref.model.search.PostgreConstants.SPLIT_TABLE_SUFFIX;
 
 public class BibFieldsIndexer {
     private static final Logger LOGGER = LoggerFactory.getLogger(BibFieldsIndexer.class);
-    private static final LatexToUnicodeFormatter LATEX_TO_UNICODE_FORMATTER = new LatexToUnicodeFormatter();
-    private static final Pattern GROUPS_SEPARATOR_REGEX = Pattern.compile("\s*,\s*");
-    private static final Set<Field> DATE_FIELDS = Set.of(StandardField.DATE, StandardField.YEAR, StandardField.MONTH, StandardField.DAY);
+
+    /**
+     * Number of entries sent to the server in one <code>COPY</code> operation during the initial load. Progress is reported once per chunk.
+     */
+    private static final int BULK_LOAD_CHUNK_SIZE = 1000;
+    private static final int MAX_CHUNKS_IN_FLIGHT_PER_WORKER = 2;
 
     private final BibDatabaseContext databaseContext;
     private final Connection connection;
@@ -48,12 +53,15 @@ public class BibFieldsIndexer {
     private final String schemaMainTableReference;
     private final String splitValuesTable;
     private final String schemaSplitValuesTableReference;
-    private final Character keywordSeparator;
+    private final BibFieldsRowCollector rowCollector;
+    private final BibFieldsIndexCache indexCache;
 
     public BibFieldsIndexer(BibEntryPreferences bibEntryPreferences, BibDatabaseContext databaseContext, Connection connection) {
         this.databaseContext = databaseContext;
         this.connection = connection;
-        this.keywordSeparator = bibEntryPreferences.getKeywordSeparator();
+        Character keywordSeparator = bibEntryPreferences.getKeywordSeparator();
+        this.rowCollector = new BibFieldsRowCollector(databaseContext, keywordSeparator);
+        this.indexCache = new BibFieldsIndexCache(databaseContext, keywordSeparator);
         this.libraryName = databaseContext.getDatabasePath().map(path -> path.getFileName().toString()).orElse("unsaved");
 
         this.mainTable = CUID.randomCUID2(12).toString();
@@ -62,13 +70,14 @@ public class BibFieldsIndexer {
         this.schemaMainTableReference = PostgreConstants.getMainTableSchemaReference(mainTable);
         this.schemaSplitValuesTableReference = PostgreConstants.getSplitTableSchemaReference(mainTable);
         // TODO: Set-up should be in a background task
-        setup();
+        createTables();
     }
 
     /**
-     * Creates a table for the library in the database, and sets up indexes on the columns.
+     * Creates a table for the library in the database.
+     * The indexes on the columns are created by {@link #createIndexes()} after the initial load.
      */
-    private void setup() {
+    private void createTables() {
         try {
             connection.createStatement().executeUpdate("""
                     CREATE TABLE IF NOT EXISTS %s (
@@ -104,6 +113,12 @@ public class BibFieldsIndexer {
         } catch (SQLException e) {
             LOGGER.error("Could not create tables for library: {}", libraryName, e);
         }
+    }
+
+    /**
+     * Sets up indexes on the columns. Building the indexes once after all rows are present is much cheaper than maintaining them row by row during the initial load.
+     */
+    private void createIndexes() {
         try {
             // region btree index on id column
             connection.createStatement().executeUpdate("""
@@ -161,7 +176,148 @@ public class BibFieldsIndexer {
     }
 
     public void updateOnStart(BackgroundTask<?> task) {
-        addToIndex(databaseContext.getDatabase().getEntries(), task);
+        try {
+            bulkLoad(databaseContext.getDatabase().getEntries(), task);
+        } finally {
+            createIndexes();
+        }
+    }
+
+    /**
+     * Streams the rows of all given entries to the server using the PostgreSQL <code>COPY</code> protocol.
+     * This avoids one round trip per entry and is used for the initial load of the library only.
+     * Falls back to {@link #addToIndex(Collection, BackgroundTask)} if the connection does not support <code>COPY</code>.
+     * <p>
+     * The load is a producer/consumer pipeline: the field values of chunks of entries are converted into rows on the common fork-join pool,
+     * while the calling thread is the single writer sending the finished chunks in order to the server.
+     * At most {@link #MAX_CHUNKS_IN_FLIGHT_PER_WORKER} chunks per worker are prepared ahead of the writer to bound the memory usage.
+     * <p>
+     * The rows of entries unchanged since the last session are taken from the {@link BibFieldsIndexCache}.
+     * If a chunk cannot be copied, its entries are added one by one, so that only the entries failing on their own are missing.
+     */
+    private void bulkLoad(Collection<BibEntry> entries, BackgroundTask<?> task) {
+        CopyManager copyManager;
+        try {
+            copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        } catch (SQLException e) {
+            LOGGER.warn("Could not use COPY for library: {}, falling back to row-wise inserts", libraryName, e);
+            addToIndex(entries, task);
+            return;
+        }
+
+        if (entries.size() > 1) {
+            task.showToUser(true);
+            task.setTitle(Localization.lang("Indexing bib fields for %0", libraryName));
+        }
+        String copyMainTable = getCopyStatement(schemaMainTableReference);
+        String copySplitValuesTable = getCopyStatement(schemaSplitValuesTableReference);
+
+        long startTime = System.currentTimeMillis();
+        LOGGER.debug("Bulk loading {} entries to index", entries.size());
+        // Snapshot, because the workers read the entries concurrently to the writer
+        List<BibEntry> entryList = new ArrayList<>(entries);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int maxChunksInFlight = pool.getParallelism() * MAX_CHUNKS_IN_FLIGHT_PER_WORKER;
+        Deque<PendingChunk> chunksInFlight = new ArrayDeque<>();
+        int submitted = 0;
+        int done = 0;
+        while (done < entryList.size()) {
+            if (task.isCancelled()) {
+                LOGGER.debug("Indexing canceled");
+                chunksInFlight.forEach(chunk -> chunk.rows().cancel(true));
+                return;
+            }
+            while (chunksInFlight.size() < maxChunksInFlight && submitted < entryList.size()) {
+                List<BibEntry> chunk = entryList.subList(submitted, Math.min(submitted + BULK_LOAD_CHUNK_SIZE, entryList.size()));
+                chunksInFlight.add(new PendingChunk(chunk, pool.submit(() -> toRowChunk(chunk))));
+                submitted += chunk.size();
+            }
+            PendingChunk pendingChunk = chunksInFlight.remove();
+            try {
+                RowChunk rowChunk = pendingChunk.rows().get();
+                copyManager.copyIn(copyMainTable, new StringReader(rowChunk.mainTableRows()));
+                copyManager.copyIn(copySplitValuesTable, new StringReader(rowChunk.splitValuesTableRows()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                chunksInFlight.forEach(chunk -> chunk.rows().cancel(true));
+                return;
+            } catch (ExecutionException | SQLException | IOException e) {
+                LOGGER.warn("Could not copy {} entries to the index. Adding them one by one.", pendingChunk.entries().size(), e);
+                addToIndexOneByOne(pendingChunk.entries());
+            }
+            done = Math.min(done + BULK_LOAD_CHUNK_SIZE, entryList.size());
+            task.updateProgress(done, entryList.size());
+            task.updateMessage(Localization.lang("%0 of %1 entries added to the index.", done, entryList.size()));
+        }
+        indexCache.removeUnusedAndCommit();
+        LOGGER.debug("Bulk loaded {} entries to index in {} ms", entryList.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Adds the entries of a chunk that could not be copied. If only copying the split values failed, the main table already
+     * contains the rows of the chunk, thus the rows of each entry are removed before adding it.
+     */
+    private void addToIndexOneByOne(List<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            removeFromIndex(entry);
+            addToIndex(entry);
+        }
+    }
+
+    /**
+     * Converts the given entries into the text format of <code>COPY</code>. This is the CPU-bound part of the bulk load and does not touch the connection.
+     */
+    private RowChunk toRowChunk(List<BibEntry> entries) {
+        StringBuilder mainTableRows = new StringBuilder();
+        StringBuilder splitValuesTableRows = new StringBuilder();
+        for (BibEntry entry : entries) {
+            CachedRows rows = getRowsWithoutEntryId(entry);
+            String entryId = appendCopyValue(new StringBuilder(), entry.getId()).toString();
+            prependEntryId(mainTableRows, entryId, rows.mainTableRows());
+            prependEntryId(splitValuesTableRows, entryId, rows.splitValuesTableRows());
+        }
+        return new RowChunk(mainTableRows.toString(), splitValuesTableRows.toString());
+    }
+
+    private CachedRows getRowsWithoutEntryId(BibEntry entry) {
+        Optional<String> contentHash = indexCache.getContentHash(entry);
+        Optional<CachedRows> cachedRows = contentHash.flatMap(indexCache::get);
+        if (cachedRows.isPresent()) {
+            return cachedRows.get();
+        }
+
+        StringBuilder mainTableRows = new StringBuilder();
+        StringBuilder splitValuesTableRows = new StringBuilder();
+        rowCollector.collectRows(entry,
+                (_, field, value, normalized) -> appendCopyRow(mainTableRows, field, value, normalized),
+                (_, field, value, normalized) -> appendCopyRow(splitValuesTableRows, field, value, normalized));
+        CachedRows rows = new CachedRows(mainTableRows.toString(), splitValuesTableRows.toString());
+        contentHash.ifPresent(hash -> indexCache.put(hash, rows));
+        return rows;
+    }
+
+    /**
+     * Appends the given rows lacking the entry id column, adding the (already escaped) entry id as first column to each row
+     */
+    private static void prependEntryId(StringBuilder target, String escapedEntryId, String rowsWithoutEntryId) {
+        int start = 0;
+        while (start < rowsWithoutEntryId.length()) {
+            // Each row ends with a newline. Newlines inside values are escaped.
+            int end = rowsWithoutEntryId.indexOf('\n', start) + 1;
+            target.append(escapedEntryId).append('\t').append(rowsWithoutEntryId, start, end);
+            start = end;
+        }
+    }
+
+    private static String getCopyStatement(String tableReference) {
+        return """
+                COPY %s ("%s", "%s", "%s", "%s") FROM STDIN
+                """.formatted(
+                tableReference,
+                ENTRY_ID,
+                FIELD_NAME,
+                FIELD_VALUE_LITERAL,
+                FIELD_VALUE_TRANSFORMED);
     }
 
     public void addToIndex(Collection<BibEntry> entries, BackgroundTask<?> task) {
@@ -208,49 +364,9 @@ public class BibFieldsIndexer {
 
         try (PreparedStatement preparedStatement = connection.prepareStatement(insertFieldQuery);
              PreparedStatement preparedStatementSplitValues = connection.prepareStatement(insertIntoSplitTable)) {
-            String entryId = bibEntry.getId();
-            for (Map.Entry<Field, String> fieldPair : bibEntry.getFieldMap().entrySet()) {
-                Field field = fieldPair.getKey();
-                String value = fieldPair.getValue();
-
-                // If a field exists, there also exists a resolved field latex free.
-                // We add a `.orElse("")` only because there could be some flaw in the future in the code - and we want to have search working even if the flaws are present.
-                // To uncover these flaws, we add the "assert" statement.
-                // One potential future flaw is that the bibEntry is modified concurrently and the field being deleted.
-                // Skip indexing of date-related fields separately to ensure proper handling later in the process.
-                if (!DATE_FIELDS.contains(field)) {
-                    Optional<String> resolvedFieldLatexFree = bibEntry.getResolvedFieldOrAliasLatexFree(field, this.databaseContext.getDatabase());
-                    assert resolvedFieldLatexFree.isPresent();
-                    addBatch(preparedStatement, entryId, field, value, resolvedFieldLatexFree.orElse(""));
-                }
-                // region Handling of known multi-value fields
-                // split and convert to Unicode
-                if (field.getProperties().contains(FieldProperty.PERSON_NAMES)) {
-                    addAuthors(value, preparedStatementSplitValues, entryId, field);
-                } else if (field == StandardField.KEYWORDS) {
-                    addKeywords(value, preparedStatementSplitValues, entryId, field, keywordSeparator);
-                } else if (field == StandardField.GROUPS) {
-                    addGroups(value, preparedStatementSplitValues, entryId, field);
-                } else if (field.getProperties().contains(FieldProperty.MULTIPLE_ENTRY_LINK)) {
-                    addEntryLinks(bibEntry, field, preparedStatementSplitValues, entryId);
-                } else if (field == StandardField.FILE) {
-                    // No handling of File, because due to relative paths, we think, there won't be any exact match operation
-                    // We could add the filename itself (with and without extension). However, the user can also use regular expressions to achieve the same.
-                    // The use case to search for file names seems pretty seldom, therefore we omit it.
-                } else {
-                    // No other multi-value fields are known
-                    // No action needed -> main table has the value
-                }
-                // endregion
-            }
-            // ensure all date-related fields are indexed.
-            for (Field dateField : DATE_FIELDS) {
-                Optional<String> resolvedDateValue = bibEntry.getResolvedFieldOrAlias(dateField, this.databaseContext.getDatabase());
-                resolvedDateValue.ifPresent(dateValue -> addBatch(preparedStatement, entryId, dateField, dateValue));
-            }
-            // add entry type
-            addBatch(preparedStatement, entryId, TYPE_HEADER, bibEntry.getType().getName());
-
+            rowCollector.collectRows(bibEntry,
+                    (entryId, field, value, normalized) -> addBatch(preparedStatement, entryId, field, value, normalized),
+                    (entryId, field, value, normalized) -> addBatch(preparedStatementSplitValues, entryId, field, value, normalized));
             preparedStatement.executeBatch();
             preparedStatementSplitValues.executeBatch();
         } catch (SQLException e) {
@@ -329,12 +445,9 @@ public class BibFieldsIndexer {
                 FIELD_VALUE_TRANSFORMED, FIELD_VALUE_TRANSFORMED);
 
         String entryId = entry.getId();
-        if (DATE_FIELDS.contains(field)) {
+        if (BibFieldsRowCollector.DATE_FIELDS.contains(field)) {
             try (PreparedStatement preparedStatement = connection.prepareStatement(insertDateFieldQuery)) {
-                for (Field dateField : DATE_FIELDS) {
-                    Optional<String> resolvedDateValue = entry.getResolvedFieldOrAlias(dateField, this.databaseContext.getDatabase());
-                    resolvedDateValue.ifPresent(dateValue -> addBatch(preparedStatement, entryId, dateField, dateValue));
-                }
+                rowCollector.collectDateRows(entry, (id, dateField, dateValue, normalized) -> addBatch(preparedStatement, id, dateField, dateValue, normalized));
                 preparedStatement.executeBatch();
             } catch (SQLException e) {
                 LOGGER.error("Could not add an entry to the index.", e);
@@ -365,17 +478,7 @@ public class BibFieldsIndexer {
         try (PreparedStatement preparedStatement = connection.prepareStatement(insertIntoSplitTable)) {
             String value = entry.getField(field).orElse("");
 
-            if (field.getProperties().contains(FieldProperty.PERSON_NAMES)) {
-                addAuthors(value, preparedStatement, entryId, field);
-            } else if (field == StandardField.KEYWORDS) {
-                addKeywords(value, preparedStatement, entryId, field, keywordSeparator);
-            } else if (field == StandardField.GROUPS) {
-                addGroups(value, preparedStatement, entryId, field);
-            } else if (field.getProperties().contains(FieldProperty.MULTIPLE_ENTRY_LINK)) {
-                addEntryLinks(entry, field, preparedStatement, entryId);
-            } else if (field == StandardField.FILE) {
-                // No handling of File, because due to relative paths, we think, there won't be any exact match operation
-            }
+            rowCollector.collectSplitValueRows(entry, field, value, (id, splitField, splitValue, normalized) -> addBatch(preparedStatement, id, splitField, splitValue, normalized));
             preparedStatement.executeBatch();
         } catch (SQLException e) {
             LOGGER.error("Could not add an entry to the index.", e);
@@ -419,47 +522,13 @@ public class BibFieldsIndexer {
         } catch (SQLException e) {
             LOGGER.error("Could not drop table for library: {}", libraryName, e);
         }
+        indexCache.close();
     }
 
     public String getTable() {
         return mainTable;
     }
 
-    private void addEntryLinks(BibEntry bibEntry, Field field, PreparedStatement preparedStatementSplitValues, String entryId) {
-        bibEntry.getEntryLinkList(field, databaseContext.getDatabase()).stream()
-            .distinct()
-            .forEach(link -> addBatch(preparedStatementSplitValues, entryId, field, link.getKey()));
-    }
-
-    private static void addGroups(String value, PreparedStatement preparedStatementSplitValues, String entryId, Field field) {
-        // We could use KeywordList, but we are afraid that group names could have ">" in their name, and then they would not be handled correctly
-        Arrays.stream(GROUPS_SEPARATOR_REGEX.split(value))
-              .distinct()
-              .forEach(group -> addBatch(preparedStatementSplitValues, entryId, field, group));
-    }
-
-    private static void addKeywords(String keywordsString, PreparedStatement preparedStatementSplitValues, String entryId, Field field, Character keywordSeparator) {
-        KeywordList keywordList = KeywordList.parse(keywordsString, keywordSeparator);
-        keywordList.stream().flatMap(keyword -> keyword.flatten().stream()).forEach(keyword -> {
-            String value = keyword.toString();
-            addBatch(preparedStatementSplitValues, entryId, field, value);
-        });
-    }
-
-    private static void addAuthors(String value, PreparedStatement preparedStatementSplitValues, String entryId, Field field) {
-        AuthorList.parse(value).getAuthors().forEach(author -> {
-            // Author object does not support literal values
-            // We use the method giving us the most complete information for the literal value;
-            String literal = author.getGivenFamily(false);
-            String transformed = author.latexFree().getGivenFamily(false);
-            addBatch(preparedStatementSplitValues, entryId, field, literal, transformed);
-        });
-    }
-
-    private static void addBatch(PreparedStatement preparedStatement, String entryId, Field field, String value) {
-        addBatch(preparedStatement, entryId, field, value, LATEX_TO_UNICODE_FORMATTER.format(value));
-    }
-
     /**
      * The values are passed as they should be inserted into the database table
      */
@@ -474,4 +543,44 @@ public class BibFieldsIndexer {
             LOGGER.error("Could not add field {} having value {} of entry {} to the index.", field.getName(), value, entryId, e);
         }
     }
+
+    /**
+     * Appends one row without the entry id column in the text format of <code>COPY</code>: columns are separated by tabs, rows by newlines.
+     */
+    private static void appendCopyRow(StringBuilder rows, Field field, String value, String normalized) {
+        appendCopyValue(rows, field.getName()).append('\t');
+        appendCopyValue(rows, value).append('\t');
+        appendCopyValue(rows, normalized).append('\n');
+    }
+
+    /**
+     * Escapes the characters having a special meaning in the text format of <code>COPY</code>
+     *
+     * @see <a href="https://www.postgresql.org/docs/current/sql-copy.html#id-1.9.3.55.9.2">PostgreSQL documentation on the text format</a>
+     */
+    private static StringBuilder appendCopyValue(StringBuilder rows, String value) {
+        if (value == null) {
+            return rows.append("\\N");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> rows.append("\\\\");
+                case '\t' -> rows.append("\\t");
+                case '\n' -> rows.append("\\n");
+                case '\r' -> rows.append("\\r");
+                default -> rows.append(c);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Rows of a chunk of entries, ready to be sent using <code>COPY</code>
+     */
+    private record RowChunk(String mainTableRows, String splitValuesTableRows) {
+    }
+
+    private record PendingChunk(List<BibEntry> entries, Future<RowChunk> rows) {
+    }
 }
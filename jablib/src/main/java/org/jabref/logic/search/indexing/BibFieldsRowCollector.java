@@ -0,0 +1,147 @@
+package org.jabref.logic.search.indexing;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.jabref.logic.layout.format.LatexToUnicodeFormatter;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.AuthorList;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.KeywordList;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldProperty;
+import org.jabref.model.entry.field.StandardField;
+
+import static org.jabref.model.entry.field.InternalField.TYPE_HEADER;
+
+/**
+ * Computes the indexed values of the fields of an entry, i.e., the rows of the main table and of the split values table
+ * created by {@link BibFieldsIndexer}.
+ * <p>
+ * The main table has one row per field, holding the value of the field as it is and converted to Unicode.
+ * The split values table has one row per part of a multi-value field, such as one row per author.
+ * The in-memory index ({@link InMemoryBibFieldsIndex}) uses the same rows, so that both indexes find the same entries.
+ */
+public class BibFieldsRowCollector {
+    static final Set<Field> DATE_FIELDS = Set.of(StandardField.DATE, StandardField.YEAR, StandardField.MONTH, StandardField.DAY);
+
+    private static final LatexToUnicodeFormatter LATEX_TO_UNICODE_FORMATTER = new LatexToUnicodeFormatter();
+    private static final Pattern GROUPS_SEPARATOR_REGEX = Pattern.compile("\s*,\s*");
+
+    private final BibDatabaseContext databaseContext;
+    private final Character keywordSeparator;
+
+    public BibFieldsRowCollector(BibDatabaseContext databaseContext, Character keywordSeparator) {
+        this.databaseContext = databaseContext;
+        this.keywordSeparator = keywordSeparator;
+    }
+
+    /**
+     * Computes all rows of the main table and of the split values table for the given entry and passes them to the respective consumer.
+     */
+    public void collectRows(BibEntry bibEntry, RowConsumer mainTableRows, RowConsumer splitValuesTableRows) {
+        String entryId = bibEntry.getId();
+        for (Map.Entry<Field, String> fieldPair : bibEntry.getFieldMap().entrySet()) {
+            Field field = fieldPair.getKey();
+            String value = fieldPair.getValue();
+
+            // If a field exists, there also exists a resolved field latex free.
+            // We add a `.orElse("")` only because there could be some flaw in the future in the code - and we want to have search working even if the flaws are present.
+            // To uncover these flaws, we add the "assert" statement.
+            // One potential future flaw is that the bibEntry is modified concurrently and the field being deleted.
+            // Skip indexing of date-related fields separately to ensure proper handling later in the process.
+            if (!DATE_FIELDS.contains(field)) {
+                Optional<String> resolvedFieldLatexFree = bibEntry.getResolvedFieldOrAliasLatexFree(field, this.databaseContext.getDatabase());
+                assert resolvedFieldLatexFree.isPresent();
+                mainTableRows.accept(entryId, field, value, resolvedFieldLatexFree.orElse(""));
+            }
+            collectSplitValueRows(bibEntry, field, value, splitValuesTableRows);
+        }
+        // ensure all date-related fields are indexed.
+        collectDateRows(bibEntry, mainTableRows);
+        // add entry type
+        mainTableRows.accept(entryId, TYPE_HEADER, bibEntry.getType().getName());
+    }
+
+    /**
+     * Computes the rows of the date-related fields. These are resolved, e.g., the year is derived from the date if not present.
+     */
+    public void collectDateRows(BibEntry bibEntry, RowConsumer mainTableRows) {
+        for (Field dateField : DATE_FIELDS) {
+            Optional<String> resolvedDateValue = bibEntry.getResolvedFieldOrAlias(dateField, this.databaseContext.getDatabase());
+            resolvedDateValue.ifPresent(dateValue -> mainTableRows.accept(bibEntry.getId(), dateField, dateValue));
+        }
+    }
+
+    /**
+     * Computes the rows of the split values table for the given field, if it is a known multi-value field
+     */
+    public void collectSplitValueRows(BibEntry bibEntry, Field field, String value, RowConsumer splitValuesTableRows) {
+        String entryId = bibEntry.getId();
+        // region Handling of known multi-value fields
+        // split and convert to Unicode
+        if (field.getProperties().contains(FieldProperty.PERSON_NAMES)) {
+            addAuthors(value, splitValuesTableRows, entryId, field);
+        } else if (field == StandardField.KEYWORDS) {
+            addKeywords(value, splitValuesTableRows, entryId, field, keywordSeparator);
+        } else if (field == StandardField.GROUPS) {
+            addGroups(value, splitValuesTableRows, entryId, field);
+        } else if (field.getProperties().contains(FieldProperty.MULTIPLE_ENTRY_LINK)) {
+            addEntryLinks(bibEntry, field, splitValuesTableRows, entryId);
+        } else if (field == StandardField.FILE) {
+            // No handling of File, because due to relative paths, we think, there won't be any exact match operation
+            // We could add the filename itself (with and without extension). However, the user can also use regular expressions to achieve the same.
+            // The use case to search for file names seems pretty seldom, therefore we omit it.
+        } else {
+            // No other multi-value fields are known
+            // No action needed -> main table has the value
+        }
+        // endregion
+    }
+
+    private void addEntryLinks(BibEntry bibEntry, Field field, RowConsumer splitValuesTableRows, String entryId) {
+        bibEntry.getEntryLinkList(field, databaseContext.getDatabase()).stream()
+            .distinct()
+            .forEach(link -> splitValuesTableRows.accept(entryId, field, link.getKey()));
+    }
+
+    private static void addGroups(String value, RowConsumer splitValuesTableRows, String entryId, Field field) {
+        // We could use KeywordList, but we are afraid that group names could have ">" in their name, and then they would not be handled correctly
+        Arrays.stream(GROUPS_SEPARATOR_REGEX.split(value))
+              .distinct()
+              .forEach(group -> splitValuesTableRows.accept(entryId, field, group));
+    }
+
+    private static void addKeywords(String keywordsString, RowConsumer splitValuesTableRows, String entryId, Field field, Character keywordSeparator) {
+        KeywordList keywordList = KeywordList.parse(keywordsString, keywordSeparator);
+        keywordList.stream().flatMap(keyword -> keyword.flatten().stream()).forEach(keyword -> {
+            String value = keyword.toString();
+            splitValuesTableRows.accept(entryId, field, value);
+        });
+    }
+
+    private static void addAuthors(String value, RowConsumer splitValuesTableRows, String entryId, Field field) {
+        AuthorList.parse(value).getAuthors().forEach(author -> {
+            // Author object does not support literal values
+            // We use the method giving us the most complete information for the literal value;
+            String literal = author.getGivenFamily(false);
+            String transformed = author.latexFree().getGivenFamily(false);
+            splitValuesTableRows.accept(entryId, field, literal, transformed);
+        });
+    }
+
+    /**
+     * Receives the values of one row as they should be inserted into the database table
+     */
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(String entryId, Field field, String value, String normalized);
+
+        default void accept(String entryId, Field field, String value) {
+            accept(entryId, field, value, LATEX_TO_UNICODE_FORMATTER.format(value));
+        }
+    }
+}
@@ -3,15 +3,27 @@ package org.jabref.logic.search.indexing;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import javafx.util.Pair;
@@ -19,6 +31,7 @@ import javafx.util.Pair;
 import org.jabref.logic.FilePreferences;
 import org.jabref.logic.importer.util.FileFieldParser;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.search.LuceneIndexer;
 import org.jabref.logic.util.BackgroundTask;
 import org.jabref.logic.util.HeadlessExecutorService;
@@ -29,6 +42,7 @@ import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.LinkedFile;
 import org.jabref.model.search.LinkedFilesConstants;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.commons.io.FileUtils;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.index.IndexWriter;
@@ -48,11 +62,22 @@ import org.slf4j.LoggerFactory;
 
 public class DefaultLinkedFilesIndexer implements LuceneIndexer {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultLinkedFilesIndexer.class);
-    private static final DocumentReader DOCUMENT_READER = new DocumentReader();
+    private static final int READER_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int MAX_PENDING_FILES = 2 * READER_THREADS;
+    private static final Duration FILE_TIMEOUT = Duration.ofSeconds(120);
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+    private static final long PROGRESS_UPDATE_INTERVAL_MILLIS = 500;
+    // Shared by all libraries, so that indexing several libraries at once does not use more threads than there are processors
+    private static final ExecutorService READER_EXECUTOR = Executors.newFixedThreadPool(READER_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("linked-files-reader-%d").setDaemon(true).build());
     private static int NUMBER_OF_UNSAVED_LIBRARIES = 1;
 
     private final BibDatabaseContext databaseContext;
     private final FilePreferences filePreferences;
+    private final BiFunction<String, Path, List<Document>> pdfReader;
+    private final ExecutorService readerExecutor;
+    private final int maxPendingFiles;
+    private final Duration fileTimeout;
     private final String libraryName;
     private final Directory indexDirectory;
     private final IndexWriter indexWriter;
@@ -60,9 +85,27 @@ public class DefaultLinkedFilesIndexer implements LuceneIndexer {
     private Path indexDirectoryPath;
     private Map<String, Long> indexedFiles;
 
-    public DefaultLinkedFilesIndexer(BibDatabaseContext databaseContext, FilePreferences filePreferences) throws IOException {
+    public DefaultLinkedFilesIndexer(BibDatabaseContext databaseContext, FilePreferences filePreferences, PdfTextCache pdfTextCache) throws IOException {
+        this(databaseContext, filePreferences, new DocumentReader(pdfTextCache)::readPdfContents, READER_EXECUTOR, MAX_PENDING_FILES, FILE_TIMEOUT);
+    }
+
+    /**
+     * @param pdfReader       reads the pages of a file given its link and its resolved path
+     * @param maxPendingFiles the number of files read ahead of the file that is added to the index
+     * @param fileTimeout     the time a file may be read before it is skipped, measured from when its reading started
+     */
+    DefaultLinkedFilesIndexer(BibDatabaseContext databaseContext,
+                              FilePreferences filePreferences,
+                              BiFunction<String, Path, List<Document>> pdfReader,
+                              ExecutorService readerExecutor,
+                              int maxPendingFiles,
+                              Duration fileTimeout) throws IOException {
         this.databaseContext = databaseContext;
         this.filePreferences = filePreferences;
+        this.pdfReader = pdfReader;
+        this.readerExecutor = readerExecutor;
+        this.maxPendingFiles = maxPendingFiles;
+        this.fileTimeout = fileTimeout;
         this.libraryName = databaseContext.getDatabasePath().map(path -> path.getFileName().toString()).orElse("untitled");
         this.indexedFiles = new ConcurrentHashMap<>();
 
@@ -97,7 +140,7 @@ public class DefaultLinkedFilesIndexer implements LuceneIndexer {
         }
         removeFromIndex(filesToRemove);
 
-        Map<String, Pair<Long, Path>> filesToAdd = new HashMap<>();
+        Map<String, Pair<Long, Path>> filesToAdd = new LinkedHashMap<>();
         for (Map.Entry<String, Pair<Long, Path>> entry : currentFiles.entrySet()) {
             String fileLink = entry.getKey();
             if (!indexedFiles.containsKey(fileLink)) {
@@ -114,7 +157,7 @@ public class DefaultLinkedFilesIndexer implements LuceneIndexer {
     }
 
     private void addToIndex(Set<LinkedFile> linkedFiles, BackgroundTask<?> task) {
-        Map<String, Pair<Long, Path>> filesToAdd = new HashMap<>();
+        Map<String, Pair<Long, Path>> filesToAdd = new LinkedHashMap<>();
         for (LinkedFile linkedFile : linkedFiles) {
             Pair<Long, Path> fileInfo = getLinkedFileInfo(linkedFile);
             if (fileInfo != null) {
@@ -125,41 +168,90 @@ public class DefaultLinkedFilesIndexer implements LuceneIndexer {
     }
 
     private void addToIndex(Map<String, Pair<Long, Path>> linkedFiles, BackgroundTask<?> task) {
-        for (String fileLink : linkedFiles.keySet()) {
+        linkedFiles.keySet().removeIf(fileLink -> {
             if (indexedFiles.containsKey(fileLink)) {
                 LOGGER.debug("File {} is already indexed.", fileLink);
-                linkedFiles.remove(fileLink);
+                return true;
             }
-        }
+            return false;
+        });
         if (linkedFiles.isEmpty()) {
             return;
         }
 
         LOGGER.debug("Adding {} files to index", linkedFiles.size());
-        int i = 1;
-        for (Map.Entry<String, Pair<Long, Path>> entry : linkedFiles.entrySet()) {
+        // The pages of the files are read in parallel, while the files are added to the index in the order they were submitted.
+        // At most maxPendingFiles files are read ahead, so that the pages of a large library are not all kept in memory.
+        Deque<PendingFile> pendingFiles = new ArrayDeque<>();
+        int indexed = 0;
+        long lastProgressUpdate = 0;
+        Iterator<Map.Entry<String, Pair<Long, Path>>> filesToRead = linkedFiles.entrySet().iterator();
+        while (filesToRead.hasNext() || !pendingFiles.isEmpty()) {
             if (task.isCancelled()) {
                 LOGGER.debug("Adding files to index canceled");
+                pendingFiles.forEach(pendingFile -> pendingFile.pages().cancel(true));
                 return;
             }
-            addToIndex(entry.getKey(), entry.getValue().getKey(), entry.getValue().getValue());
-            task.setTitle(Localization.lang("Indexing files for %1 | %2 of %0 file(s) indexed.", linkedFiles.size(), libraryName, i));
-            task.updateProgress(i, linkedFiles.size());
-            task.updateMessage(Localization.lang("Indexing %0", FileUtil.shortenFileName(entry.getValue().getValue().getFileName().toString(), 68)));
-            task.showToUser(true);
-            i++;
+            if (filesToRead.hasNext() && (pendingFiles.size() < maxPendingFiles)) {
+                Map.Entry<String, Pair<Long, Path>> entry = filesToRead.next();
+                pendingFiles.add(startReading(entry.getKey(), entry.getValue().getKey(), entry.getValue().getValue()));
+                continue;
+            }
+            PendingFile pendingFile = pendingFiles.poll();
+            try {
+                addToIndex(pendingFile);
+            } catch (InterruptedException e) {
+                LOGGER.debug("Adding files to index interrupted", e);
+                pendingFiles.forEach(remainingFile -> remainingFile.pages().cancel(true));
+                Thread.currentThread().interrupt();
+                return;
+            }
+            indexed++;
+            lastProgressUpdate = updateProgress(task, indexed, linkedFiles.size(), pendingFile.resolvedPath(), lastProgressUpdate);
         }
         LOGGER.debug("Added {} files to index", linkedFiles.size());
     }
 
-    private void addToIndex(String fileLink, long modifiedTime, Path resolvedPath) {
-        LOGGER.debug("Adding file {} to the index.", fileLink);
-        List<Document> pages = DOCUMENT_READER.readPdfContents(fileLink, resolvedPath);
+    /**
+     * Updates the progress of the task at most every {@link #PROGRESS_UPDATE_INTERVAL_MILLIS} and after the last file
+     *
+     * @return the time of the last update of the progress
+     */
+    private long updateProgress(BackgroundTask<?> task, int indexed, int total, Path lastIndexedFile, long lastProgressUpdate) {
+        long now = System.currentTimeMillis();
+        if ((indexed < total) && ((now - lastProgressUpdate) < PROGRESS_UPDATE_INTERVAL_MILLIS)) {
+            return lastProgressUpdate;
+        }
+        task.setTitle(Localization.lang("Indexing files for %1 | %2 of %0 file(s) indexed.", total, libraryName, indexed));
+        task.updateProgress(indexed, total);
+        task.updateMessage(Localization.lang("Indexing %0", FileUtil.shortenFileName(lastIndexedFile.getFileName().toString(), 68)));
+        task.showToUser(true);
+        return now;
+    }
+
+    private PendingFile startReading(String fileLink, long modifiedTime, Path resolvedPath) {
+        AtomicLong readingStarted = new AtomicLong(NOT_STARTED);
+        Future<List<Document>> pages = readerExecutor.submit(() -> {
+            readingStarted.set(System.nanoTime());
+            return pdfReader.apply(fileLink, resolvedPath);
+        });
+        return new PendingFile(fileLink, modifiedTime, resolvedPath, readingStarted, pages);
+    }
+
+    private void addToIndex(PendingFile pendingFile) throws InterruptedException {
+        LOGGER.debug("Adding file {} to the index.", pendingFile.fileLink());
         try {
+            List<Document> pages = getPages(pendingFile);
             indexWriter.addDocuments(pages);
-            indexedFiles.put(fileLink, modifiedTime);
-        } catch (IOException e) {
-            LOGGER.warn("Could not add the document {} to the index.", fileLink, e);
+            indexedFiles.put(pendingFile.fileLink(), pendingFile.modifiedTime());
+        } catch (TimeoutException e) {
+            LOGGER.warn("Reading {} took longer than {} seconds. The file will not be indexed.", pendingFile.resolvedPath(), fileTimeout.toSeconds());
+            pendingFile.pages().cancel(true);
+        } catch (InterruptedException e) {
+            pendingFile.pages().cancel(true);
+            throw e;
+        } catch (ExecutionException | IOException e) {
+            LOGGER.warn("Could not add the document {} to the index.", pendingFile.fileLink(), e);
         }
     }
 
@@ -259,7 +351,8 @@ public class DefaultLinkedFilesIndexer implements LuceneIndexer {
     }
 
     private Map<String, Pair<Long, Path>> getLinkedFilesFromEntries(Collection<BibEntry> entries) {
-        Map<String, Pair<Long, Path>> linkedFiles = new HashMap<>();
+        // Keeps the order of the entries, so that the files are indexed in the order of the library
+        Map<String, Pair<Long, Path>> linkedFiles = new LinkedHashMap<>();
         for (BibEntry entry : entries) {
             for (LinkedFile linkedFile : entry.getFiles()) {
                 Pair<Long, Path> fileInfo = getLinkedFileInfo(linkedFile);
@@ -290,6 +383,34 @@ public class DefaultLinkedFilesIndexer implements LuceneIndexer {
         }
     }
 
+    /**
+     * Waits for the pages of the file until {@link #fileTimeout} has passed since its reading started.
+     * The time the file waits for a free reader thread does not count.
+     */
+    private List<Document> getPages(PendingFile pendingFile) throws InterruptedException, ExecutionException, TimeoutException {
+        while (true) {
+            long readingStarted = pendingFile.readingStarted().get();
+            long remainingNanos = fileTimeout.toNanos();
+            if (readingStarted != NOT_STARTED) {
+                remainingNanos -= System.nanoTime() - readingStarted;
+            }
+            try {
+                return pendingFile.pages().get(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (readingStarted != NOT_STARTED) {
+                    throw e;
+                }
+                // The reading started while waiting, the remaining time is computed from its start
+            }
+        }
+    }
+
+    /**
+     * @param readingStarted the {@link System#nanoTime()} the reading of the file started, or {@link #NOT_STARTED}
+     */
+    private record PendingFile(String fileLink, long modifiedTime, Path resolvedPath, AtomicLong readingStarted, Future<List<Document>> pages) {
+    }
+
     private void optimizeIndex() {
         LOGGER.debug("Optimizing index");
         if (indexWriter.hasDeletions()) {
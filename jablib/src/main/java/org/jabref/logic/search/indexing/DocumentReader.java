@@ -5,21 +5,18 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
+import org.jabref.logic.pdf.PdfTextCache;
+import org.jabref.logic.pdf.PdfTextCache.PdfPage;
 import org.jabref.model.strings.StringUtil;
 
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
-import org.apache.pdfbox.text.PDFTextStripper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +28,7 @@ import static org.jabref.model.search.LinkedFilesConstants.PATH;
 
 /**
  * Utility class for reading the data from LinkedFiles of a BibEntry for Lucene.
+ * The text of PDF files is taken from the {@link PdfTextCache}.
  */
 public final class DocumentReader {
 
@@ -38,27 +36,45 @@ public final class DocumentReader {
     private static final Pattern HYPHEN_LINEBREAK_PATTERN = Pattern.compile("\\-\n");
     private static final Pattern LINEBREAK_WITHOUT_PERIOD_PATTERN = Pattern.compile("([^\\\\.])\\n");
 
+    private final PdfTextCache pdfTextCache;
+
+    public DocumentReader(PdfTextCache pdfTextCache) {
+        this.pdfTextCache = pdfTextCache;
+    }
+
+    /**
+     * Reads the pages of the given PDF file. Stops parsing the file if the current thread is interrupted.
+     *
+     * @return the pages, or an empty list if the file cannot be read or the thread has been interrupted
+     */
     public List<Document> readPdfContents(String fileLink, Path resolvedPdfPath) {
         List<Document> pages = new ArrayList<>();
-        try (PDDocument pdfDocument = Loader.loadPDF(resolvedPdfPath.toFile())) {
-            int numberOfPages = pdfDocument.getNumberOfPages();
-            LOGGER.debug("Reading file {} content with {} pages", resolvedPdfPath.toAbsolutePath(), numberOfPages);
-            for (int pageNumber = 1; pageNumber <= numberOfPages; pageNumber++) {
-                Document newDocument = new Document();
-                addIdentifiers(newDocument, fileLink);
-                addMetaData(newDocument, resolvedPdfPath, pageNumber);
-                addContentIfNotEmpty(pdfDocument, newDocument, resolvedPdfPath, pageNumber);
-
-                pages.add(newDocument);
+        List<PdfPage> pdfPages;
+        try {
+            Optional<List<PdfPage>> readPages = pdfTextCache.getPages(resolvedPdfPath, Thread.currentThread()::isInterrupted);
+            if (readPages.isEmpty()) {
+                LOGGER.debug("Reading {} was interrupted", resolvedPdfPath.toAbsolutePath());
+                return pages;
             }
+            pdfPages = readPages.get();
         } catch (IOException e) {
             LOGGER.warn("Could not read {}", resolvedPdfPath.toAbsolutePath(), e);
             return pages;
         }
+        LOGGER.debug("Reading file {} content with {} pages", resolvedPdfPath.toAbsolutePath(), pdfPages.size());
+        Optional<String> modifiedTime = getModifiedTime(resolvedPdfPath);
+        for (int pageNumber = 1; pageNumber <= pdfPages.size(); pageNumber++) {
+            Document newDocument = new Document();
+            addIdentifiers(newDocument, fileLink);
+            addMetaData(newDocument, modifiedTime, pageNumber);
+            addContentIfNotEmpty(pdfPages.get(pageNumber - 1), newDocument);
+
+            pages.add(newDocument);
+        }
         if (pages.isEmpty()) {
             Document newDocument = new Document();
             addIdentifiers(newDocument, fileLink);
-            addMetaData(newDocument, resolvedPdfPath, 1);
+            addMetaData(newDocument, modifiedTime, 1);
             pages.add(newDocument);
         }
         return pages;
@@ -80,41 +96,26 @@ public final class DocumentReader {
         return LINEBREAK_WITHOUT_PERIOD_PATTERN.matcher(mergedHyphenNewlines).replaceAll("$1 ");
     }
 
-    private void addMetaData(Document newDocument, Path resolvedPdfPath, int pageNumber) {
+    private Optional<String> getModifiedTime(Path resolvedPdfPath) {
         try {
-            long modifiedTime = Files.getLastModifiedTime(resolvedPdfPath).to(TimeUnit.SECONDS);
-            addStringField(newDocument, MODIFIED.toString(), String.valueOf(modifiedTime));
+            return Optional.of(String.valueOf(Files.getLastModifiedTime(resolvedPdfPath).to(TimeUnit.SECONDS)));
         } catch (IOException e) {
             LOGGER.error("Could not read timestamp for {}", resolvedPdfPath, e);
+            return Optional.empty();
         }
-        addStringField(newDocument, PAGE_NUMBER.toString(), String.valueOf(pageNumber));
     }
 
-    private void addContentIfNotEmpty(PDDocument pdfDocument, Document newDocument, Path resolvedPath, int pageNumber) {
-        PDFTextStripper pdfTextStripper = new PDFTextStripper();
-        pdfTextStripper.setLineSeparator("\n");
-        pdfTextStripper.setStartPage(pageNumber);
-        pdfTextStripper.setEndPage(pageNumber);
-
-        try {
-            String pdfContent = pdfTextStripper.getText(pdfDocument);
-            if (StringUtil.isNotBlank(pdfContent)) {
-                newDocument.add(new TextField(CONTENT.toString(), mergeLines(pdfContent), Field.Store.YES));
-            }
-
-            // Apache PDFTextStripper is 1-based. See {@link org.apache.pdfbox.text.PDFTextStripper.processPages}
-            PDPage page = pdfDocument.getPage(pageNumber - 1);
-            List<String> annotations = page.getAnnotations()
-                                           .stream()
-                                           .map(PDAnnotation::getContents)
-                                           .filter(Objects::nonNull)
-                                           .toList();
+    private void addMetaData(Document newDocument, Optional<String> modifiedTime, int pageNumber) {
+        modifiedTime.ifPresent(time -> addStringField(newDocument, MODIFIED.toString(), time));
+        addStringField(newDocument, PAGE_NUMBER.toString(), String.valueOf(pageNumber));
+    }
 
-            if (!annotations.isEmpty()) {
-                newDocument.add(new TextField(ANNOTATIONS.toString(), String.join("\n", annotations), Field.Store.YES));
-            }
-        } catch (IOException e) {
-            LOGGER.warn("Could not read page {} of  {}", pageNumber, resolvedPath.toAbsolutePath(), e);
+    private void addContentIfNotEmpty(PdfPage page, Document newDocument) {
+        if (StringUtil.isNotBlank(page.text())) {
+            newDocument.add(new TextField(CONTENT.toString(), mergeLines(page.text()), Field.Store.YES));
+        }
+        if (!page.annotations().isEmpty()) {
+            newDocument.add(new TextField(ANNOTATIONS.toString(), String.join("\n", page.annotations()), Field.Store.YES));
         }
     }
 
@@ -0,0 +1,235 @@
+package org.jabref.logic.search.indexing;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryPreferences;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.StandardField;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the rows computed by {@link BibFieldsRowCollector} in memory, as an alternative to the tables created by {@link BibFieldsIndexer}
+ * for headless use, where starting a PostgreSQL server costs more than the search itself.
+ * <p>
+ * Entries are numbered in the order of the library. Sets of entries are represented as {@link BitSet}s of these numbers.
+ * <ul>
+ *     <li>The rows of the main table are stored per field as columns, i.e., as arrays of entry numbers and values, which are scanned
+ *     for substring and regular expression matches.</li>
+ *     <li>The values of the main table and of the split values table are inverted per field, mapping each value to the entries having it,
+ *     which answers exact matches without scanning.</li>
+ * </ul>
+ * The index is a snapshot of the library at the time of its creation.
+ */
+public class InMemoryBibFieldsIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryBibFieldsIndex.class);
+
+    // https://github.com/JabRef/jabref/issues/7996
+    private static final String GROUPS_FIELD = StandardField.GROUPS.getName();
+
+    private final List<String> entryIds;
+    private final Map<String, Integer> entryNumbers;
+    private final Map<String, ValueColumn> mainTableColumns;
+    private final Map<String, Map<String, BitSet>> exactValues;
+    private final Map<String, Map<String, BitSet>> exactValuesLowerCase;
+
+    public InMemoryBibFieldsIndex(BibEntryPreferences bibEntryPreferences, BibDatabaseContext databaseContext) {
+        BibFieldsRowCollector rowCollector = new BibFieldsRowCollector(databaseContext, bibEntryPreferences.getKeywordSeparator());
+        List<BibEntry> entries = List.copyOf(databaseContext.getDatabase().getEntries());
+
+        long startTime = System.currentTimeMillis();
+        // Computing the rows (LaTeX to Unicode conversion, name parsing) is the expensive part and done in parallel
+        List<EntryRows> rowsOfEntries = entries.parallelStream()
+                                               .map(entry -> collectRows(rowCollector, entry))
+                                               .toList();
+
+        entryIds = new ArrayList<>(entries.size());
+        entryNumbers = HashMap.newHashMap(entries.size());
+        Map<String, ColumnBuilder> columnBuilders = new HashMap<>();
+        exactValues = new HashMap<>();
+        exactValuesLowerCase = new HashMap<>();
+        for (int entryNumber = 0; entryNumber < entries.size(); entryNumber++) {
+            String entryId = entries.get(entryNumber).getId();
+            entryIds.add(entryId);
+            entryNumbers.put(entryId, entryNumber);
+
+            EntryRows rows = rowsOfEntries.get(entryNumber);
+            for (Row row : rows.mainTableRows()) {
+                columnBuilders.computeIfAbsent(row.field(), _ -> new ColumnBuilder()).add(entryNumber, row);
+                addExactValues(entryNumber, row);
+            }
+            for (Row row : rows.splitValuesTableRows()) {
+                addExactValues(entryNumber, row);
+            }
+        }
+        mainTableColumns = HashMap.newHashMap(columnBuilders.size());
+        columnBuilders.forEach((field, builder) -> mainTableColumns.put(field, builder.build()));
+        LOGGER.debug("Indexed {} entries in memory in {} ms", entries.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private static EntryRows collectRows(BibFieldsRowCollector rowCollector, BibEntry entry) {
+        List<Row> mainTableRows = new ArrayList<>();
+        List<Row> splitValuesTableRows = new ArrayList<>();
+        rowCollector.collectRows(entry,
+                (_, field, value, normalized) -> mainTableRows.add(new Row(field.getName(), value, normalized)),
+                (_, field, value, normalized) -> splitValuesTableRows.add(new Row(field.getName(), value, normalized)));
+        return new EntryRows(mainTableRows, splitValuesTableRows);
+    }
+
+    private void addExactValues(int entryNumber, Row row) {
+        Map<String, BitSet> values = exactValues.computeIfAbsent(row.field(), _ -> new HashMap<>());
+        Map<String, BitSet> valuesLowerCase = exactValuesLowerCase.computeIfAbsent(row.field(), _ -> new HashMap<>());
+        for (String value : new String[] {row.literal(), row.transformed()}) {
+            if (value != null) {
+                values.computeIfAbsent(value, _ -> new BitSet()).set(entryNumber);
+                valuesLowerCase.computeIfAbsent(toLowerCase(value), _ -> new BitSet()).set(entryNumber);
+            }
+        }
+    }
+
+    public static String toLowerCase(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    public int size() {
+        return entryIds.size();
+    }
+
+    public String getEntryId(int entryNumber) {
+        return entryIds.get(entryNumber);
+    }
+
+    public BitSet getAllEntries() {
+        BitSet allEntries = new BitSet(size());
+        allEntries.set(0, size());
+        return allEntries;
+    }
+
+    public BitSet getEntry(String entryId) {
+        BitSet entry = new BitSet();
+        Integer entryNumber = entryNumbers.get(entryId);
+        if (entryNumber != null) {
+            entry.set(entryNumber);
+        }
+        return entry;
+    }
+
+    /**
+     * Finds the entries with a value of the given field, as it is or converted to Unicode, matching the given predicate.
+     * Considers the main table only.
+     *
+     * @param lowerCase whether the predicate is to be tested with the lower-cased values
+     */
+    public BitSet matchFieldValues(String field, Predicate<String> valueMatcher, boolean lowerCase) {
+        BitSet result = new BitSet();
+        ValueColumn column = mainTableColumns.get(field);
+        if (column != null) {
+            column.match(valueMatcher, lowerCase, result);
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #matchFieldValues(String, Predicate, boolean)} for all fields except the groups field
+     */
+    public BitSet matchAnyFieldValues(Predicate<String> valueMatcher, boolean lowerCase) {
+        BitSet result = new BitSet();
+        mainTableColumns.forEach((field, column) -> {
+            if (!GROUPS_FIELD.equals(field)) {
+                column.match(valueMatcher, lowerCase, result);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Finds the entries with a value of the given field equal to the given term. This includes the single values of multi-value fields, such as a single author.
+     *
+     * @param caseSensitive if false, the term has to be lower-cased already
+     */
+    public BitSet matchExactFieldValue(String field, String term, boolean caseSensitive) {
+        Map<String, BitSet> values = (caseSensitive ? exactValues : exactValuesLowerCase).get(field);
+        BitSet result = new BitSet();
+        if (values != null) {
+            BitSet entries = values.get(term);
+            if (entries != null) {
+                result.or(entries);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #matchExactFieldValue(String, String, boolean)} for all fields except the groups field
+     */
+    public BitSet matchExactAnyFieldValue(String term, boolean caseSensitive) {
+        BitSet result = new BitSet();
+        (caseSensitive ? exactValues : exactValuesLowerCase).forEach((field, values) -> {
+            BitSet entries = values.get(term);
+            if ((entries != null) && !GROUPS_FIELD.equals(field)) {
+                result.or(entries);
+            }
+        });
+        return result;
+    }
+
+    private record Row(String field, String literal, String transformed) {
+    }
+
+    private record EntryRows(List<Row> mainTableRows, List<Row> splitValuesTableRows) {
+    }
+
+    /**
+     * The rows of the main table for one field. Element <code>i</code> of each array belongs to the same row.
+     */
+    private record ValueColumn(int[] entryNumbers,
+                               String[] literals,
+                               String[] transformed,
+                               String[] literalsLowerCase,
+                               String[] transformedLowerCase) {
+
+        void match(Predicate<String> valueMatcher, boolean lowerCase, BitSet result) {
+            String[] literalValues = lowerCase ? literalsLowerCase : literals;
+            String[] transformedValues = lowerCase ? transformedLowerCase : transformed;
+            for (int row = 0; row < entryNumbers.length; row++) {
+                if (result.get(entryNumbers[row])) {
+                    continue;
+                }
+                if (((literalValues[row] != null) && valueMatcher.test(literalValues[row]))
+                        || ((transformedValues[row] != null) && valueMatcher.test(transformedValues[row]))) {
+                    result.set(entryNumbers[row]);
+                }
+            }
+        }
+    }
+
+    private static class ColumnBuilder {
+        private final List<Integer> entryNumbers = new ArrayList<>();
+        private final List<String> literals = new ArrayList<>();
+        private final List<String> transformed = new ArrayList<>();
+
+        void add(int entryNumber, Row row) {
+            entryNumbers.add(entryNumber);
+            literals.add(row.literal());
+            transformed.add(row.transformed());
+        }
+
+        ValueColumn build() {
+            return new ValueColumn(
+                    entryNumbers.stream().mapToInt(Integer::intValue).toArray(),
+                    literals.toArray(String[]::new),
+                    transformed.toArray(String[]::new),
+                    literals.stream().map(value -> value == null ? null : toLowerCase(value)).toArray(String[]::new),
+                    transformed.stream().map(value -> value == null ? null : toLowerCase(value)).toArray(String[]::new));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package org.jabref.logic.search.retrieval;
+
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.jabref.logic.search.indexing.InMemoryBibFieldsIndex;
+import org.jabref.logic.search.query.SearchComparison;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.search.SearchFlags;
+import org.jabref.model.search.query.SearchQuery;
+import org.jabref.model.search.query.SearchResult;
+import org.jabref.model.search.query.SearchResults;
+import org.jabref.search.SearchBaseVisitor;
+import org.jabref.search.SearchParser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.jabref.model.search.PostgreConstants.ENTRY_ID;
+import static org.jabref.model.search.SearchFlags.CASE_SENSITIVE;
+import static org.jabref.model.search.SearchFlags.EXACT_MATCH;
+import static org.jabref.model.search.SearchFlags.NEGATION;
+import static org.jabref.model.search.SearchFlags.REGULAR_EXPRESSION;
+
+/**
+ * Searches the bib fields like {@link BibFieldsSearcher}, but evaluates the search expression directly on an {@link InMemoryBibFieldsIndex}
+ * instead of converting it to SQL. Does not need a PostgreSQL server.
+ * <p>
+ * Regular expressions are evaluated using {@link Pattern} instead of the POSIX regular expressions of PostgreSQL. Both agree on the common syntax.
+ */
+public class InMemoryBibFieldsSearcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryBibFieldsSearcher.class);
+
+    private final InMemoryBibFieldsIndex index;
+
+    public InMemoryBibFieldsSearcher(InMemoryBibFieldsIndex index) {
+        this.index = index;
+    }
+
+    public boolean isMatched(BibEntry entry, SearchQuery searchQuery) {
+        return search(searchQuery).isMatched(entry);
+    }
+
+    public SearchResults search(SearchQuery searchQuery) {
+        SearchResults searchResults = new SearchResults();
+        if (!searchQuery.isValid()) {
+            return searchResults;
+        }
+        BitSet matches;
+        try {
+            matches = new SearchToBitSetVisitor(searchQuery.getSearchFlags()).visit(searchQuery.getContext());
+        } catch (PatternSyntaxException e) {
+            LOGGER.error("Error during bib fields search execution", e);
+            return searchResults;
+        }
+        matches.stream().forEach(entryNumber -> searchResults.addSearchResult(index.getEntryId(entryNumber), new SearchResult()));
+        return searchResults;
+    }
+
+    /**
+     * Evaluates each node of the search expression to the set of matching entries, following the semantics of
+     * {@link org.jabref.logic.search.query.SearchToSqlVisitor}
+     */
+    private class SearchToBitSetVisitor extends SearchBaseVisitor<BitSet> {
+        private final EnumSet<SearchFlags> searchBarFlags;
+
+        SearchToBitSetVisitor(EnumSet<SearchFlags> searchBarFlags) {
+            this.searchBarFlags = searchBarFlags;
+        }
+
+        @Override
+        public BitSet visitStart(SearchParser.StartContext ctx) {
+            if (ctx.andExpression() == null) {
+                return new BitSet();
+            }
+            return visit(ctx.andExpression());
+        }
+
+        @Override
+        public BitSet visitImplicitAndExpression(SearchParser.ImplicitAndExpressionContext ctx) {
+            BitSet result = null;
+            for (SearchParser.ExpressionContext expression : ctx.expression()) {
+                BitSet matches = visit(expression);
+                if (result == null) {
+                    result = matches;
+                } else {
+                    result.and(matches);
+                }
+            }
+            return result == null ? new BitSet() : result;
+        }
+
+        @Override
+        public BitSet visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+            return visit(ctx.andExpression());
+        }
+
+        @Override
+        public BitSet visitNegatedExpression(SearchParser.NegatedExpressionContext ctx) {
+            return negate(visit(ctx.expression()));
+        }
+
+        @Override
+        public BitSet visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+            BitSet left = visit(ctx.left);
+            BitSet right = visit(ctx.right);
+            if (ctx.bin_op.getType() == SearchParser.AND) {
+                left.and(right);
+            } else {
+                left.or(right);
+            }
+            return left;
+        }
+
+        @Override
+        public BitSet visitComparisonExpression(SearchParser.ComparisonExpressionContext ctx) {
+            return visit(ctx.comparison());
+        }
+
+        @Override
+        public BitSet visitComparison(SearchParser.ComparisonContext ctx) {
+            SearchComparison comparison = SearchComparison.of(ctx, searchBarFlags);
+            String field = comparison.field();
+            String term = comparison.term();
+            EnumSet<SearchFlags> searchFlags = comparison.searchFlags();
+            boolean caseSensitive = searchFlags.contains(CASE_SENSITIVE);
+
+            if (ENTRY_ID.toString().equals(field)) {
+                return index.getEntry(term);
+            }
+
+            BitSet matches;
+            if (searchFlags.contains(EXACT_MATCH)) {
+                String exactTerm = caseSensitive ? term : InMemoryBibFieldsIndex.toLowerCase(term);
+                matches = SearchComparison.ANY_FIELD.equals(field)
+                        ? index.matchExactAnyFieldValue(exactTerm, caseSensitive)
+                        : index.matchExactFieldValue(field, exactTerm, caseSensitive);
+            } else {
+                Predicate<String> valueMatcher;
+                boolean lowerCase;
+                if (searchFlags.contains(REGULAR_EXPRESSION)) {
+                    valueMatcher = getRegexMatcher(term, caseSensitive);
+                    lowerCase = false;
+                } else {
+                    String containedTerm = caseSensitive ? term : InMemoryBibFieldsIndex.toLowerCase(term);
+                    valueMatcher = value -> value.contains(containedTerm);
+                    lowerCase = !caseSensitive;
+                }
+                matches = SearchComparison.ANY_FIELD.equals(field)
+                        ? index.matchAnyFieldValues(valueMatcher, lowerCase)
+                        : index.matchFieldValues(field, valueMatcher, lowerCase);
+            }
+
+            return searchFlags.contains(NEGATION) ? negate(matches) : matches;
+        }
+
+        /**
+         * @throws PatternSyntaxException if the regular expression is invalid. Fails the whole search, as an invalid query does with PostgreSQL.
+         */
+        private static Predicate<String> getRegexMatcher(String regex, boolean caseSensitive) {
+            Pattern pattern = caseSensitive
+                    ? Pattern.compile(regex)
+                    : Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            return value -> pattern.matcher(value).find();
+        }
+
+        private BitSet negate(BitSet matches) {
+            BitSet result = index.getAllEntries();
+            result.andNot(matches);
+            return result;
+        }
+    }
+}
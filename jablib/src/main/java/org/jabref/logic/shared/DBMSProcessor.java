@@ -163,16 +163,42 @@ public abstract class DBMSProcessor {
         if (notYetExistingEntries.isEmpty()) {
             return;
         }
-        insertIntoEntryTable(notYetExistingEntries);
-        insertIntoFieldTable(notYetExistingEntries);
+        List<Integer> previousSharedIDs = notYetExistingEntries.stream()
+                                                               .map(entry -> entry.getSharedBibEntryData().getSharedID())
+                                                               .toList();
+        try {
+            // Entries and their fields are inserted in one transaction, so that other clients are not notified about entries without fields
+            connection.setAutoCommit(false);
+            insertIntoEntryTable(notYetExistingEntries);
+            insertIntoFieldTable(notYetExistingEntries);
+            connection.commit();
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackException) {
+                LOGGER.error("SQL Error during rollback: ", rollbackException);
+            }
+            // The shared ids assigned by the rolled back insertion do not exist in the shared database
+            for (int i = 0; i < notYetExistingEntries.size(); i++) {
+                notYetExistingEntries.get(i).getSharedBibEntryData().setSharedID(previousSharedIDs.get(i));
+            }
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                LOGGER.error("SQL Error: ", e);
+            }
+        }
     }
 
     /**
      * Inserts the given List of BibEntry into the ENTRY table.
      *
      * @param bibEntries List of {@link BibEntry} to be inserted
+     * @throws SQLException in case of error
      */
-    protected void insertIntoEntryTable(List<BibEntry> bibEntries) {
+    protected void insertIntoEntryTable(List<BibEntry> bibEntries) throws SQLException {
         StringBuilder insertIntoEntryQuery = new StringBuilder()
                 .append("INSERT INTO ")
                 .append(escape_Table("ENTRY"))
@@ -200,8 +226,6 @@ public abstract class DBMSProcessor {
                     LOGGER.error("Error: Some shared IDs left unassigned");
                 }
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
         }
     }
 
@@ -243,50 +267,47 @@ public abstract class DBMSProcessor {
      * Inserts the given list of BibEntry into FIELD table.
      *
      * @param bibEntries {@link BibEntry} to be inserted
+     * @throws SQLException in case of error
      */
-    protected void insertIntoFieldTable(List<BibEntry> bibEntries) {
-        try {
-            // Inserting into FIELD table
-            // Coerce to ArrayList in order to use List.get()
-            List<List<Field>> fields = bibEntries.stream().map(bibEntry -> new ArrayList<>(bibEntry.getFields()))
-                                                 .collect(Collectors.toList());
-
-            StringBuilder insertFieldQuery = new StringBuilder()
-                    .append("INSERT INTO ")
-                    .append(escape_Table("FIELD"))
-                    .append("(")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(", ")
-                    .append(escape("NAME"))
-                    .append(", ")
-                    .append(escape("VALUE"))
-                    .append(") VALUES(?, ?, ?)");
-            int numFields = 0;
-            for (List<Field> entryFields : fields) {
-                numFields += entryFields.size();
-            }
+    protected void insertIntoFieldTable(List<BibEntry> bibEntries) throws SQLException {
+        // Inserting into FIELD table
+        // Coerce to ArrayList in order to use List.get()
+        List<List<Field>> fields = bibEntries.stream().map(bibEntry -> new ArrayList<>(bibEntry.getFields()))
+                                             .collect(Collectors.toList());
 
-            if (numFields == 0) {
-                return; // Prevent SQL Exception
-            }
+        StringBuilder insertFieldQuery = new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape_Table("FIELD"))
+                .append("(")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(", ")
+                .append(escape("NAME"))
+                .append(", ")
+                .append(escape("VALUE"))
+                .append(") VALUES(?, ?, ?)");
+        int numFields = 0;
+        for (List<Field> entryFields : fields) {
+            numFields += entryFields.size();
+        }
 
-            // Number of commas is fields.size() - 1
-            insertFieldQuery.append(", (?, ?, ?)".repeat(Math.max(0, numFields - 1)));
-            try (PreparedStatement preparedFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
-                int fieldsCompleted = 0;
-                for (int entryIndex = 0; entryIndex < fields.size(); entryIndex++) {
-                    for (int entryFieldsIndex = 0; entryFieldsIndex < fields.get(entryIndex).size(); entryFieldsIndex++) {
-                        // columnIndex starts with 1
-                        preparedFieldStatement.setInt((3 * fieldsCompleted) + 1, bibEntries.get(entryIndex).getSharedBibEntryData().getSharedID());
-                        preparedFieldStatement.setString((3 * fieldsCompleted) + 2, fields.get(entryIndex).get(entryFieldsIndex).getName());
-                        preparedFieldStatement.setString((3 * fieldsCompleted) + 3, bibEntries.get(entryIndex).getField(fields.get(entryIndex).get(entryFieldsIndex)).get());
-                        fieldsCompleted += 1;
-                    }
+        if (numFields == 0) {
+            return; // Prevent SQL Exception
+        }
+
+        // Number of commas is fields.size() - 1
+        insertFieldQuery.append(", (?, ?, ?)".repeat(Math.max(0, numFields - 1)));
+        try (PreparedStatement preparedFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
+            int fieldsCompleted = 0;
+            for (int entryIndex = 0; entryIndex < fields.size(); entryIndex++) {
+                for (int entryFieldsIndex = 0; entryFieldsIndex < fields.get(entryIndex).size(); entryFieldsIndex++) {
+                    // columnIndex starts with 1
+                    preparedFieldStatement.setInt((3 * fieldsCompleted) + 1, bibEntries.get(entryIndex).getSharedBibEntryData().getSharedID());
+                    preparedFieldStatement.setString((3 * fieldsCompleted) + 2, fields.get(entryIndex).get(entryFieldsIndex).getName());
+                    preparedFieldStatement.setString((3 * fieldsCompleted) + 3, bibEntries.get(entryIndex).getField(fields.get(entryIndex).get(entryFieldsIndex)).get());
+                    fieldsCompleted += 1;
                 }
-                preparedFieldStatement.executeUpdate();
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
+            preparedFieldStatement.executeUpdate();
         }
     }
 
@@ -691,4 +712,28 @@ public abstract class DBMSProcessor {
     public void notifyClients() {
         // nothing to do
     }
+
+    /**
+     * Returns the current position in the change log. All changes committed before the position was read are returned
+     * by {@link #getEntryChangesSince(long)} for any earlier position. Changes committed later may still be returned
+     * for this position. Needs to be implemented if the DBMS keeps a change log of the entries.
+     *
+     * @return the current position, or <code>0</code> if there is no change log
+     */
+    public long getChangeLogPosition() {
+        return 0;
+    }
+
+    /**
+     * Returns the changes of entries committed at or after the given position of the change log, ordered by sequence
+     * number. Changes returned for an earlier position may be returned again. Needs to be implemented if the DBMS
+     * keeps a change log of the entries.
+     *
+     * @param changeLogPosition a position obtained by {@link #getChangeLogPosition()}
+     * @return the changes, or empty if there is no change log or it does not cover the position anymore, and a full
+     * synchronization is required
+     */
+    public Optional<List<SharedEntryChange>> getEntryChangesSince(long changeLogPosition) {
+        return Optional.empty();
+    }
 }
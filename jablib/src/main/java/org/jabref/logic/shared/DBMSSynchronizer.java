@@ -3,6 +3,7 @@ package org.jabref.logic.shared;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -57,6 +58,10 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
     private final FieldPreferences fieldPreferences;
     private final FileUpdateMonitor fileMonitor;
     private Optional<BibEntry> lastEntryChanged;
+    // The position of the shared change log up to which all changes are known to be applied locally
+    private volatile long changeLogPosition;
+    // The sequence numbers of the changes read from the shared change log by the latest incremental synchronization
+    private volatile Set<Long> appliedChangeSequences = Set.of();
 
     public DBMSSynchronizer(BibDatabaseContext bibDatabaseContext, Character keywordSeparator,
                             FieldPreferences fieldPreferences,
@@ -175,42 +180,102 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
             return;
         }
 
+        // read before the entries, so that changes done in between are pulled again by the next incremental synchronization
+        long currentChangeLogPosition = dbmsProcessor.getChangeLogPosition();
         List<BibEntry> localEntries = bibDatabase.getEntries();
         Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
 
         // remove old entries locally
         removeNotSharedEntries(localEntries, idVersionMap.keySet());
+
+        Map<Integer, List<BibEntry>> localEntriesBySharedID = localEntries.stream()
+                                                                          .collect(Collectors.groupingBy(localEntry -> localEntry.getSharedBibEntryData().getSharedID()));
+        List<Integer> entriesToUpdateInLocalDatabase = new ArrayList<>();
         List<Integer> entriesToInsertIntoLocalDatabase = new ArrayList<>();
-        // compare versions and update local entry if needed
+        // compare versions to find the local entries which need to be updated
         for (Map.Entry<Integer, Integer> idVersionEntry : idVersionMap.entrySet()) {
-            boolean remoteEntryMatchingOneLocalEntryFound = false;
-            for (BibEntry localEntry : localEntries) {
-                if (idVersionEntry.getKey().equals(localEntry.getSharedBibEntryData().getSharedID())) {
-                    remoteEntryMatchingOneLocalEntryFound = true;
-                    if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
-                        Optional<BibEntry> sharedEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                        if (sharedEntry.isPresent()) {
-                            // update fields
-                            localEntry.setType(sharedEntry.get().getType(), EntriesEventSource.SHARED);
-                            localEntry.getSharedBibEntryData()
-                                      .setVersion(sharedEntry.get().getSharedBibEntryData().getVersion());
-                            sharedEntry.get().getFieldMap().forEach(
-                                    // copy remote values to local entry
-                                    (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
-                            );
-
-                            // locally remove not existing fields
-                            localEntry.getFields().stream()
-                                      .filter(field -> !sharedEntry.get().hasField(field))
-                                      .forEach(
-                                              field -> localEntry.clearField(field, EntriesEventSource.SHARED)
-                                      );
-                        }
-                    }
+            List<BibEntry> matchingLocalEntries = localEntriesBySharedID.get(idVersionEntry.getKey());
+            if (matchingLocalEntries == null) {
+                entriesToInsertIntoLocalDatabase.add(idVersionEntry.getKey());
+            } else if (matchingLocalEntries.stream().anyMatch(localEntry -> idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion())) {
+                entriesToUpdateInLocalDatabase.add(idVersionEntry.getKey());
+            }
+        }
+
+        updateAndInsertLocalEntries(localEntriesBySharedID, entriesToUpdateInLocalDatabase, entriesToInsertIntoLocalDatabase);
+        changeLogPosition = Math.max(changeLogPosition, currentChangeLogPosition);
+    }
+
+    /**
+     * Synchronizes the local database with the shared one by applying only the changes recorded in the change log of
+     * the shared database since the last synchronization. Falls back to {@link #synchronizeLocalDatabase()} if the
+     * shared database does not provide a change log.
+     */
+    public void synchronizeLocalDatabaseIncrementally() {
+        if (!checkCurrentConnection()) {
+            return;
+        }
+
+        // Read before the changes, so that changes committed in between are read again by the next synchronization.
+        // Changes read again are skipped by comparing the versions.
+        long currentChangeLogPosition = dbmsProcessor.getChangeLogPosition();
+        Optional<List<SharedEntryChange>> changes = dbmsProcessor.getEntryChangesSince(changeLogPosition);
+        if (changes.isEmpty()) {
+            synchronizeLocalDatabase();
+            return;
+        }
+
+        // only the latest change of each entry is relevant
+        Map<Integer, SharedEntryChange> latestChangeBySharedID = new HashMap<>();
+        for (SharedEntryChange change : changes.get()) {
+            latestChangeBySharedID.put(change.sharedID(), change);
+        }
+
+        Map<Integer, List<BibEntry>> localEntriesBySharedID = bibDatabase.getEntries().stream()
+                                                                         .collect(Collectors.groupingBy(localEntry -> localEntry.getSharedBibEntryData().getSharedID()));
+        List<BibEntry> entriesToRemoveFromLocalDatabase = new ArrayList<>();
+        List<Integer> entriesToUpdateInLocalDatabase = new ArrayList<>();
+        List<Integer> entriesToInsertIntoLocalDatabase = new ArrayList<>();
+        for (SharedEntryChange change : latestChangeBySharedID.values()) {
+            List<BibEntry> matchingLocalEntries = localEntriesBySharedID.get(change.sharedID());
+            if (change.deleted()) {
+                if (matchingLocalEntries != null) {
+                    entriesToRemoveFromLocalDatabase.addAll(matchingLocalEntries);
                 }
+            } else if (matchingLocalEntries == null) {
+                entriesToInsertIntoLocalDatabase.add(change.sharedID());
+            } else if (matchingLocalEntries.stream().anyMatch(localEntry -> change.version() > localEntry.getSharedBibEntryData().getVersion())) {
+                entriesToUpdateInLocalDatabase.add(change.sharedID());
             }
-            if (!remoteEntryMatchingOneLocalEntryFound) {
-                entriesToInsertIntoLocalDatabase.add(idVersionEntry.getKey());
+        }
+
+        if (!entriesToRemoveFromLocalDatabase.isEmpty()) {
+            eventBus.post(new SharedEntriesNotPresentEvent(entriesToRemoveFromLocalDatabase));
+            bibDatabase.removeEntries(entriesToRemoveFromLocalDatabase, EntriesEventSource.SHARED);
+        }
+        updateAndInsertLocalEntries(localEntriesBySharedID, entriesToUpdateInLocalDatabase, entriesToInsertIntoLocalDatabase);
+        appliedChangeSequences = changes.get().stream().map(SharedEntryChange::sequence).collect(Collectors.toUnmodifiableSet());
+        changeLogPosition = Math.max(changeLogPosition, currentChangeLogPosition);
+    }
+
+    /**
+     * Fetches the given shared entries in batches and applies them locally.
+     *
+     * @param localEntriesBySharedID           the local entries grouped by their shared id
+     * @param entriesToUpdateInLocalDatabase   shared ids of entries present locally, but outdated
+     * @param entriesToInsertIntoLocalDatabase shared ids of entries not present locally
+     */
+    private void updateAndInsertLocalEntries(Map<Integer, List<BibEntry>> localEntriesBySharedID,
+                                             List<Integer> entriesToUpdateInLocalDatabase,
+                                             List<Integer> entriesToInsertIntoLocalDatabase) {
+        if (!entriesToUpdateInLocalDatabase.isEmpty()) {
+            // fetch all outdated entries at once instead of one query per entry
+            for (BibEntry sharedEntry : dbmsProcessor.partitionAndGetSharedEntries(entriesToUpdateInLocalDatabase)) {
+                for (BibEntry localEntry : localEntriesBySharedID.get(sharedEntry.getSharedBibEntryData().getSharedID())) {
+                    if (sharedEntry.getSharedBibEntryData().getVersion() > localEntry.getSharedBibEntryData().getVersion()) {
+                        updateLocalEntry(localEntry, sharedEntry);
+                    }
+                }
             }
         }
 
@@ -220,6 +285,27 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         }
     }
 
+    /**
+     * Copies type, version and fields of the shared entry to the local entry.
+     * Only fields having a different value are set, so that listeners are notified about actual changes only.
+     */
+    private void updateLocalEntry(BibEntry localEntry, BibEntry sharedEntry) {
+        localEntry.setType(sharedEntry.getType(), EntriesEventSource.SHARED);
+        localEntry.getSharedBibEntryData()
+                  .setVersion(sharedEntry.getSharedBibEntryData().getVersion());
+        sharedEntry.getFieldMap().forEach(
+                // copy remote values to local entry
+                (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
+        );
+
+        // locally remove not existing fields
+        localEntry.getFields().stream()
+                  .filter(field -> !sharedEntry.hasField(field))
+                  .forEach(
+                          field -> localEntry.clearField(field, EntriesEventSource.SHARED)
+                  );
+    }
+
     /**
      * Removes all local entries which are not present on shared database.
      *
@@ -323,6 +409,20 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         synchronizeLocalMetaData();
     }
 
+    /**
+     * Pulls the entry changes announced by a notification of the shared database. The pull is skipped if the announced
+     * change was already read by the latest synchronization.
+     *
+     * @param changeSequence the sequence number of the announced change in the change log of the shared database
+     */
+    public void pullEntryChanges(long changeSequence) {
+        if (appliedChangeSequences.contains(changeSequence) || !checkCurrentConnection()) {
+            return;
+        }
+        pullWithLastEntry();
+        synchronizeLocalDatabaseIncrementally();
+    }
+
     /**
      * Synchronizes local BibEntries only if last entry changes still remain
      */
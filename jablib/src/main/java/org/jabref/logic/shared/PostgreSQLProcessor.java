@@ -4,8 +4,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.jabref.logic.shared.listener.PostgresSQLNotificationListener;
 import org.jabref.logic.util.HeadlessExecutorService;
@@ -19,6 +21,11 @@ import org.postgresql.PGConnection;
  */
 public class PostgreSQLProcessor extends DBMSProcessor {
 
+    /**
+     * Changes older than this are removed from the change log when a client connects
+     */
+    private static final String CHANGE_LOG_RETENTION = "7 days";
+
     private PostgresSQLNotificationListener listener;
 
     private int VERSION_DB_STRUCT_DEFAULT = -1;
@@ -91,7 +98,7 @@ public class PostgreSQLProcessor extends DBMSProcessor {
     }
 
     @Override
-    protected void insertIntoEntryTable(List<BibEntry> bibEntries) {
+    protected void insertIntoEntryTable(List<BibEntry> bibEntries) throws SQLException {
         StringBuilder insertIntoEntryQuery = new StringBuilder()
                 .append("INSERT INTO ")
                 .append(escape_Table("ENTRY"))
@@ -118,8 +125,6 @@ public class PostgreSQLProcessor extends DBMSProcessor {
                     LOGGER.error("Some shared IDs left unassigned");
                 }
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error during entry insertion", e);
         }
     }
 
@@ -138,11 +143,169 @@ public class PostgreSQLProcessor extends DBMSProcessor {
         return CURRENT_VERSION_DB_STRUCT;
     }
 
+    /**
+     * Sets up the change log of the entries. Each insertion, update and deletion of an entry is recorded by a trigger
+     * in the CHANGELOG table. The trigger also notifies all clients with the payload
+     * <code>&lt;processor id&gt;;&lt;sequence number&gt;</code>, so that clients only need to pull the changed entries.
+     * <p>
+     * Sequence numbers are assigned when a change is made, but the change becomes visible when its transaction commits.
+     * Thus, a change with a lower sequence number may become visible after one with a higher number. Therefore, each
+     * change also records the id of its transaction, which is used to read the change log in commit order
+     * (see {@link #getChangeLogPosition()}).
+     * <p>
+     * The change log is pruned by {@link #pruneChangeLog()}. The CHANGELOG_PRUNED table keeps the highest transaction id of
+     * the removed changes, so that a client whose position is not after it synchronizes all entries.
+     * <p>
+     * This is done independently of the structure version, because clients not aware of the change log keep working
+     * with it.
+     */
+    private void setUpChangeLog() throws SQLException {
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS " + escape_Table("CHANGELOG") + " (" +
+                        "\"SEQUENCE\" BIGSERIAL PRIMARY KEY, " +
+                        "\"SHARED_ID\" INTEGER NOT NULL, " +
+                        "\"VERSION\" INTEGER, " +
+                        "\"DELETED\" BOOLEAN NOT NULL DEFAULT FALSE, " +
+                        "\"TRANSACTION_ID\" BIGINT NOT NULL DEFAULT txid_current(), " +
+                        "\"CREATED\" TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now())");
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS " + escape_Table("CHANGELOG_PRUNED") + " (" +
+                        "\"TRANSACTION_ID\" BIGINT NOT NULL)");
+        connection.createStatement().executeUpdate(
+                "INSERT INTO " + escape_Table("CHANGELOG_PRUNED") + " (\"TRANSACTION_ID\") " +
+                        "SELECT 0 WHERE NOT EXISTS (SELECT 1 FROM " + escape_Table("CHANGELOG_PRUNED") + ")");
+        connection.createStatement().executeUpdate(
+                "CREATE INDEX IF NOT EXISTS " + escape("CHANGELOG_TRANSACTION_ID") + " ON " + escape_Table("CHANGELOG") +
+                        " (" + escape("TRANSACTION_ID") + ")");
+
+        // The channel name is lower case, because "LISTEN jabrefLiveUpdate" is not quoted
+        connection.createStatement().execute("""
+                CREATE OR REPLACE FUNCTION jabref.log_entry_change()
+                    RETURNS trigger
+                    LANGUAGE plpgsql
+                AS
+                $$
+                DECLARE
+                    sequence_number BIGINT;
+                BEGIN
+                    IF TG_OP = 'DELETE' THEN
+                        INSERT INTO jabref."CHANGELOG" ("SHARED_ID", "VERSION", "DELETED")
+                            VALUES (OLD."SHARED_ID", OLD."VERSION", TRUE)
+                            RETURNING "SEQUENCE" INTO sequence_number;
+                    ELSE
+                        INSERT INTO jabref."CHANGELOG" ("SHARED_ID", "VERSION", "DELETED")
+                            VALUES (NEW."SHARED_ID", NEW."VERSION", FALSE)
+                            RETURNING "SEQUENCE" INTO sequence_number;
+                    END IF;
+                    PERFORM pg_notify('jabrefliveupdate', coalesce(current_setting('jabref.processor_id', TRUE), '') || ';' || sequence_number);
+                    RETURN NULL;
+                END
+                $$;
+                """);
+
+        connection.createStatement().execute("""
+                DO
+                $$
+                BEGIN
+                    IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'log_entry_change' AND tgrelid = 'jabref."ENTRY"'::regclass) THEN
+                        CREATE TRIGGER log_entry_change
+                            AFTER INSERT OR UPDATE OR DELETE ON jabref."ENTRY"
+                            FOR EACH ROW EXECUTE FUNCTION jabref.log_entry_change();
+                    END IF;
+                END
+                $$;
+                """);
+
+        // Used by the trigger to tell the clients which processor caused the change
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT set_config('jabref.processor_id', ?, FALSE)")) {
+            preparedStatement.setString(1, PROCESSOR_ID);
+            preparedStatement.execute();
+        }
+    }
+
+    /**
+     * Removes the changes older than {@link #CHANGE_LOG_RETENTION} from the change log. The changes are removed up to the
+     * highest transaction id among them, which is recorded in the CHANGELOG_PRUNED table.
+     */
+    void pruneChangeLog() {
+        try {
+            connection.createStatement().executeUpdate("""
+                    WITH pruned AS (
+                        DELETE FROM jabref."CHANGELOG"
+                        WHERE "TRANSACTION_ID" <= (SELECT MAX("TRANSACTION_ID") FROM jabref."CHANGELOG"
+                                                   WHERE "CREATED" < now() - interval '%s')
+                        RETURNING "TRANSACTION_ID")
+                    UPDATE jabref."CHANGELOG_PRUNED"
+                    SET "TRANSACTION_ID" = GREATEST("TRANSACTION_ID", (SELECT MAX("TRANSACTION_ID") FROM pruned))
+                    WHERE EXISTS (SELECT 1 FROM pruned)
+                    """.formatted(CHANGE_LOG_RETENTION));
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error during pruning the change log", e);
+        }
+    }
+
+    private long getPrunedChangeLogPosition() throws SQLException {
+        try (ResultSet resultSet = connection.createStatement().executeQuery(
+                "SELECT MAX(" + escape("TRANSACTION_ID") + ") FROM " + escape_Table("CHANGELOG_PRUNED"))) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Returns the id of the oldest transaction still running. All transactions with a lower id are finished, so their
+     * changes are visible to any later read of the change log.
+     */
+    @Override
+    public long getChangeLogPosition() {
+        try (ResultSet resultSet = connection.createStatement().executeQuery(
+                "SELECT txid_snapshot_xmin(txid_current_snapshot())")) {
+            if (resultSet.next()) {
+                return resultSet.getLong(1);
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error during reading the change log position", e);
+        }
+        return 0;
+    }
+
+    /**
+     * @return the changes, or empty if changes since the given position may have been pruned
+     */
+    @Override
+    public Optional<List<SharedEntryChange>> getEntryChangesSince(long changeLogPosition) {
+        String query = "SELECT * FROM " + escape_Table("CHANGELOG") +
+                " WHERE " + escape("TRANSACTION_ID") + " >= ?" +
+                " ORDER BY " + escape("SEQUENCE");
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            if (changeLogPosition <= getPrunedChangeLogPosition()) {
+                LOGGER.debug("Changes since {} have been pruned from the change log", changeLogPosition);
+                return Optional.empty();
+            }
+            preparedStatement.setLong(1, changeLogPosition);
+            List<SharedEntryChange> changes = new ArrayList<>();
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    changes.add(new SharedEntryChange(
+                            resultSet.getLong("SEQUENCE"),
+                            resultSet.getInt("SHARED_ID"),
+                            resultSet.getInt("VERSION"),
+                            resultSet.getBoolean("DELETED")));
+                }
+            }
+            return Optional.of(changes);
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error during reading the change log", e);
+            return Optional.empty();
+        }
+    }
+
     @Override
     public void startNotificationListener(DBMSSynchronizer dbmsSynchronizer) {
         // Disable cleanup output of ThreadedHousekeeper
         // Logger.getLogger(ThreadedHousekeeper.class.getName()).setLevel(Level.SEVERE);
         try {
+            setUpChangeLog();
+            pruneChangeLog();
             connection.createStatement().execute("LISTEN jabrefLiveUpdate");
             // Do not use `new PostgresSQLNotificationListener(...)` as the object has to exist continuously!
             // Otherwise, the listener is going to be deleted by Java's garbage collector.
@@ -0,0 +1,16 @@
+package org.jabref.logic.shared;
+
+/**
+ * An entry of the change log of a shared database.
+ *
+ * @param sequence the position in the change log. Later changes of the same entry have a higher sequence number.
+ * @param sharedID the shared id of the changed entry
+ * @param version  the version of the entry after the change. Irrelevant if the entry was deleted.
+ * @param deleted  <code>true</code> if the entry was deleted by this change
+ */
+public record SharedEntryChange(
+        long sequence,
+        int sharedID,
+        int version,
+        boolean deleted) {
+}
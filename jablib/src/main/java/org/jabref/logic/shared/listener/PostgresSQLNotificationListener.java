@@ -36,9 +36,7 @@ public class PostgresSQLNotificationListener implements Runnable {
 
                 if (notifications != null) {
                     for (PGNotification notification : notifications) {
-                        if (!DBMSProcessor.PROCESSOR_ID.equals(notification.getName())) {
-                            dbmsSynchronizer.pullChanges();
-                        }
+                        handleNotification(notification.getParameter());
                     }
                 }
 
@@ -50,6 +48,27 @@ public class PostgresSQLNotificationListener implements Runnable {
         }
     }
 
+    /**
+     * Handles the payload of a notification. Entry changes are announced as <code>&lt;processor id&gt;;&lt;sequence number&gt;</code>
+     * by the change log trigger. Other notifications (e.g., on meta data changes) only carry the processor id and lead to a full pull.
+     * Notifications caused by this client are ignored.
+     */
+    private void handleNotification(String payload) {
+        String[] parts = payload.split(";", 2);
+        if (DBMSProcessor.PROCESSOR_ID.equals(parts[0])) {
+            return;
+        }
+        if (parts.length == 2) {
+            try {
+                dbmsSynchronizer.pullEntryChanges(Long.parseLong(parts[1]));
+                return;
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unknown notification payload {}", payload, e);
+            }
+        }
+        dbmsSynchronizer.pullChanges();
+    }
+
     public void stop() {
         stop = true;
     }
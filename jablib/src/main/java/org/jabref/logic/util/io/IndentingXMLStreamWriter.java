@@ -0,0 +1,230 @@
+package org.jabref.logic.util.io;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Pretty-prints the XML written to the given writer, so that exporters can stream large documents
+ * instead of building them in memory and formatting them with a {@link javax.xml.transform.Transformer}.
+ * <p>
+ * Each element starts on a new line, indented by its depth. Elements containing other elements have their end tag on a new line.
+ * Elements containing text only are written on one line, so that no whitespace is added to the text.
+ */
+public class IndentingXMLStreamWriter implements XMLStreamWriter {
+
+    private static final String NEWLINE = "\n";
+
+    private final XMLStreamWriter writer;
+    private final String indent;
+
+    // For each open element, whether it contains other elements
+    private final Deque<Boolean> containsElements = new ArrayDeque<>();
+    private boolean isAtStartOfDocument = true;
+
+    public IndentingXMLStreamWriter(XMLStreamWriter writer, int indentAmount) {
+        this.writer = writer;
+        this.indent = " ".repeat(indentAmount);
+    }
+
+    private void beforeStartElement() throws XMLStreamException {
+        if (!containsElements.isEmpty()) {
+            containsElements.pop();
+            containsElements.push(true);
+        }
+        if (!isAtStartOfDocument) {
+            writeNewLineAndIndent(containsElements.size());
+        }
+        isAtStartOfDocument = false;
+    }
+
+    private void writeNewLineAndIndent(int depth) throws XMLStreamException {
+        writer.writeCharacters(NEWLINE + indent.repeat(depth));
+    }
+
+    @Override
+    public void writeStartElement(String localName) throws XMLStreamException {
+        beforeStartElement();
+        writer.writeStartElement(localName);
+        containsElements.push(false);
+    }
+
+    @Override
+    public void writeStartElement(String namespaceURI, String localName) throws XMLStreamException {
+        beforeStartElement();
+        writer.writeStartElement(namespaceURI, localName);
+        containsElements.push(false);
+    }
+
+    @Override
+    public void writeStartElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        beforeStartElement();
+        writer.writeStartElement(prefix, localName, namespaceURI);
+        containsElements.push(false);
+    }
+
+    @Override
+    public void writeEmptyElement(String namespaceURI, String localName) throws XMLStreamException {
+        beforeStartElement();
+        writer.writeEmptyElement(namespaceURI, localName);
+    }
+
+    @Override
+    public void writeEmptyElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        beforeStartElement();
+        writer.writeEmptyElement(prefix, localName, namespaceURI);
+    }
+
+    @Override
+    public void writeEmptyElement(String localName) throws XMLStreamException {
+        beforeStartElement();
+        writer.writeEmptyElement(localName);
+    }
+
+    @Override
+    public void writeEndElement() throws XMLStreamException {
+        if (!containsElements.isEmpty() && containsElements.pop()) {
+            writeNewLineAndIndent(containsElements.size());
+        }
+        writer.writeEndElement();
+    }
+
+    @Override
+    public void writeEndDocument() throws XMLStreamException {
+        while (!containsElements.isEmpty()) {
+            writeEndElement();
+        }
+        writer.writeCharacters(NEWLINE);
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        writer.close();
+    }
+
+    @Override
+    public void flush() throws XMLStreamException {
+        writer.flush();
+    }
+
+    @Override
+    public void writeAttribute(String localName, String value) throws XMLStreamException {
+        writer.writeAttribute(localName, value);
+    }
+
+    @Override
+    public void writeAttribute(String prefix, String namespaceURI, String localName, String value) throws XMLStreamException {
+        writer.writeAttribute(prefix, namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeAttribute(String namespaceURI, String localName, String value) throws XMLStreamException {
+        writer.writeAttribute(namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeNamespace(String prefix, String namespaceURI) throws XMLStreamException {
+        writer.writeNamespace(prefix, namespaceURI);
+    }
+
+    @Override
+    public void writeDefaultNamespace(String namespaceURI) throws XMLStreamException {
+        writer.writeDefaultNamespace(namespaceURI);
+    }
+
+    @Override
+    public void writeComment(String data) throws XMLStreamException {
+        writer.writeComment(data);
+        isAtStartOfDocument = false;
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target) throws XMLStreamException {
+        writer.writeProcessingInstruction(target);
+        isAtStartOfDocument = false;
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target, String data) throws XMLStreamException {
+        writer.writeProcessingInstruction(target, data);
+        isAtStartOfDocument = false;
+    }
+
+    @Override
+    public void writeCData(String data) throws XMLStreamException {
+        writer.writeCData(data);
+    }
+
+    @Override
+    public void writeDTD(String dtd) throws XMLStreamException {
+        writer.writeDTD(dtd);
+        isAtStartOfDocument = false;
+    }
+
+    @Override
+    public void writeEntityRef(String name) throws XMLStreamException {
+        writer.writeEntityRef(name);
+    }
+
+    @Override
+    public void writeStartDocument() throws XMLStreamException {
+        writer.writeStartDocument();
+        isAtStartOfDocument = false;
+    }
+
+    @Override
+    public void writeStartDocument(String version) throws XMLStreamException {
+        writer.writeStartDocument(version);
+        isAtStartOfDocument = false;
+    }
+
+    @Override
+    public void writeStartDocument(String encoding, String version) throws XMLStreamException {
+        writer.writeStartDocument(encoding, version);
+        isAtStartOfDocument = false;
+    }
+
+    @Override
+    public void writeCharacters(String text) throws XMLStreamException {
+        writer.writeCharacters(text);
+    }
+
+    @Override
+    public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+        writer.writeCharacters(text, start, len);
+    }
+
+    @Override
+    public String getPrefix(String uri) throws XMLStreamException {
+        return writer.getPrefix(uri);
+    }
+
+    @Override
+    public void setPrefix(String prefix, String uri) throws XMLStreamException {
+        writer.setPrefix(prefix, uri);
+    }
+
+    @Override
+    public void setDefaultNamespace(String uri) throws XMLStreamException {
+        writer.setDefaultNamespace(uri);
+    }
+
+    @Override
+    public void setNamespaceContext(NamespaceContext context) throws XMLStreamException {
+        writer.setNamespaceContext(context);
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return writer.getNamespaceContext();
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return writer.getProperty(name);
+    }
+}
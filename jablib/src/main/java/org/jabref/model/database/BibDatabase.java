@@ -36,6 +36,7 @@ import org.jabref.model.entry.event.FieldChangedEvent;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
 import org.jabref.model.entry.field.FieldProperty;
+import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.strings.StringUtil;
 
@@ -65,6 +66,9 @@ public class BibDatabase {
     // Not included in equals, because it is not relevant for the content of the database
     private final EventBus eventBus = new EventBus();
 
+    // Citation key to the entries having this key
+    private final Map<String, List<BibEntry>> entriesByCitationKey = new HashMap<>();
+
     // Reverse index for citation links
     private final Map<String, Set<BibEntry>> citationIndex = new ConcurrentHashMap<>();
 
@@ -144,7 +148,7 @@ public class BibDatabase {
      * Returns the entry with the given citation key.
      */
     public synchronized Optional<BibEntry> getEntryByCitationKey(String key) {
-        return entries.stream().filter(entry -> Objects.equals(entry.getCitationKey().orElse(null), key)).findFirst();
+        return getEntriesByCitationKey(key).stream().findFirst();
     }
 
     /**
@@ -154,16 +158,16 @@ public class BibDatabase {
      * @return list of entries that contains the given key
      */
     public synchronized List<BibEntry> getEntriesByCitationKey(String key) {
-        List<BibEntry> result = new ArrayList<>();
-
-        for (BibEntry entry : entries) {
-            entry.getCitationKey().ifPresent(entryKey -> {
-                if (key.equals(entryKey)) {
-                    result.add(entry);
-                }
-            });
+        List<BibEntry> entriesWithKey = entriesByCitationKey.getOrDefault(key, List.of());
+        if (entriesWithKey.size() <= 1) {
+            return new ArrayList<>(entriesWithKey);
         }
-        return result;
+
+        // Duplicate keys are rare, thus the order in the database is determined only for them
+        Set<String> ids = entriesWithKey.stream().map(BibEntry::getId).collect(Collectors.toSet());
+        return entries.stream()
+                      .filter(entry -> ids.contains(entry.getId()))
+                      .collect(Collectors.toCollection(ArrayList::new));
     }
 
     public synchronized void insertEntry(BibEntry entry) {
@@ -201,6 +205,7 @@ public class BibDatabase {
         entries.addAll(newEntries);
         newEntries.forEach(entry -> {
                     entriesId.put(entry.getId(), entry);
+                    addToCitationKeyIndex(entry);
                     indexEntry(entry);
                 }
         );
@@ -249,7 +254,10 @@ public class BibDatabase {
         newEntries.removeIf(entry -> idsToBeDeleted.contains(entry.getId()));
 
         toBeDeleted.forEach(entry -> {
-            entriesId.remove(entry.getId());
+            BibEntry removedEntry = entriesId.remove(entry.getId());
+            if (removedEntry != null) {
+                removedEntry.getCitationKey().ifPresent(key -> removeFromCitationKeyIndex(removedEntry, key));
+            }
             removeEntryFromIndex(entry);
         });
 
@@ -257,6 +265,31 @@ public class BibDatabase {
         eventBus.post(new EntriesRemovedEvent(toBeDeleted, eventSource));
     }
 
+    private void addToCitationKeyIndex(BibEntry entry) {
+        entry.getCitationKey().ifPresent(key -> entriesByCitationKey.computeIfAbsent(key, _ -> new ArrayList<>(1)).add(entry));
+    }
+
+    private void removeFromCitationKeyIndex(BibEntry entry, String key) {
+        List<BibEntry> entriesWithKey = entriesByCitationKey.get(key);
+        if (entriesWithKey != null) {
+            entriesWithKey.removeIf(entryWithKey -> entryWithKey.getId().equals(entry.getId()));
+            if (entriesWithKey.isEmpty()) {
+                entriesByCitationKey.remove(key);
+            }
+        }
+    }
+
+    private synchronized void updateCitationKeyIndex(BibEntry entry, @Nullable String oldKey) {
+        // Removed entries may still send events
+        if (entriesId.get(entry.getId()) != entry) {
+            return;
+        }
+        if (!StringUtil.isBlank(oldKey)) {
+            removeFromCitationKeyIndex(entry, oldKey);
+        }
+        addToCitationKeyIndex(entry);
+    }
+
     private void forEachCitationKey(BibEntry entry, Consumer<String> keyConsumer) {
         for (Field field : entry.getFields()) {
             if (field.getProperties().contains(FieldProperty.SINGLE_ENTRY_LINK) || field.getProperties().contains(FieldProperty.MULTIPLE_ENTRY_LINK)) {
@@ -625,6 +658,9 @@ public class BibDatabase {
 
     @Subscribe
     private void relayEntryChangeEvent(FieldChangedEvent event) {
+        if (event.getField() == InternalField.KEY_FIELD) {
+            updateCitationKeyIndex(event.getBibEntry(), event.getOldValue());
+        }
         eventBus.post(event);
     }
 
@@ -661,11 +697,8 @@ public class BibDatabase {
     /**
      * Returns the number of occurrences of the given citation key in this database.
      */
-    public long getNumberOfCitationKeyOccurrences(String key) {
-        return entries.stream()
-                      .flatMap(entry -> entry.getCitationKey().stream())
-                      .filter(key::equals)
-                      .count();
+    public synchronized long getNumberOfCitationKeyOccurrences(String key) {
+        return entriesByCitationKey.getOrDefault(key, List.of()).size();
     }
 
     /**
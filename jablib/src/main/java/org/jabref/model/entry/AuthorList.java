@@ -1,11 +1,8 @@
 package org.jabref.model.entry;
 
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.WeakHashMap;
 import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -13,6 +10,13 @@ import java.util.stream.Collectors;
 import org.jabref.architecture.AllowedToUseLogic;
 import org.jabref.logic.importer.AuthorListParser;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.jspecify.annotations.NonNull;
 
 /**
@@ -120,7 +124,21 @@ import org.jspecify.annotations.NonNull;
 @AllowedToUseLogic("because it needs access to AuthorList parser")
 public class AuthorList implements Iterable<Author> {
 
-    private static final Map<String, AuthorList> AUTHOR_CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+    /**
+     * Number of parsed author strings to keep. In the order of the number of distinct author and editor fields of a large library.
+     */
+    private static final int AUTHOR_CACHE_SIZE = 100_000;
+
+    /**
+     * Parsed author strings. The cache is split into segments which are locked independently, so that threads parsing
+     * authors in parallel (indexing, sorting, citation key generation, exports) do not wait for each other.
+     */
+    private static final LoadingCache<String, AuthorList> AUTHOR_CACHE = CacheBuilder.newBuilder()
+                                                                                   .maximumSize(AUTHOR_CACHE_SIZE)
+                                                                                   .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+                                                                                   .recordStats()
+                                                                                   .build(CacheLoader.from(string -> new AuthorListParser().parse(string)));
+
     private final List<Author> authors;
     private AuthorList latexFreeAuthors;
 
@@ -167,16 +185,26 @@ public class AuthorList implements Iterable<Author> {
     /**
      * Retrieve an AuthorList for the given string of authors or editors.
      * <p>
-     * This function tries to cache the parsed AuthorLists by the string passed in.
+     * This function caches the parsed AuthorLists by the string passed in. The least recently used ones are evicted first.
      *
      * @param authors The string of authors or editors in bibtex format to parse.
      * @return An AuthorList object representing the given authors.
      */
     public static AuthorList parse(@NonNull final String authors) {
-        return AUTHOR_CACHE.computeIfAbsent(authors, string -> {
-            AuthorListParser parser = new AuthorListParser();
-            return parser.parse(string);
-        });
+        try {
+            return AUTHOR_CACHE.getUnchecked(authors);
+        } catch (UncheckedExecutionException | ExecutionError e) {
+            // The cache wraps what the parser throws, thus the callers would not get the exceptions of the parser
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the hits, misses, and evictions of the cache of {@link #parse(String)} since the start of JabRef
+     */
+    public static CacheStats getParseCacheStats() {
+        return AUTHOR_CACHE.stats();
     }
 
     /**
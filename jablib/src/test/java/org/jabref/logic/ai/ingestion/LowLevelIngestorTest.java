@@ -0,0 +1,72 @@
+package org.jabref.logic.ai.ingestion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+
+import org.jabref.logic.ai.AiPreferences;
+
+import dev.langchain4j.data.document.DefaultDocument;
+import dev.langchain4j.data.document.Document;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.jabref.logic.ai.ingestion.FileEmbeddingsManager.LINK_METADATA_KEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LowLevelIngestorTest {
+
+    private final AiPreferences aiPreferences = mock(AiPreferences.class);
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private final EmbeddingModel embeddingModel = new EmbeddingModel() {
+        @Override
+        public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+            batchSizes.add(textSegments.size());
+            return new Response<>(textSegments.stream().map(_ -> new Embedding(new float[] {1, 0})).toList());
+        }
+    };
+    private final InMemoryEmbeddingStore<TextSegment> embeddingStore = new InMemoryEmbeddingStore<>();
+
+    @BeforeEach
+    void setUp() {
+        when(aiPreferences.customizeExpertSettingsProperty()).thenReturn(new SimpleBooleanProperty());
+        when(aiPreferences.getDocumentSplitterChunkSize()).thenReturn(20);
+        when(aiPreferences.getDocumentSplitterOverlapSize()).thenReturn(0);
+    }
+
+    @Test
+    void embedsSegmentsInBatches() throws InterruptedException {
+        LowLevelIngestor ingestor = new LowLevelIngestor(aiPreferences, embeddingStore, embeddingModel, 2);
+        Document document = new DefaultDocument("First sentence. Second sentence. Third sentence. Fourth sentence. Fifth sentence.");
+        document.metadata().put(LINK_METADATA_KEY, "paper.pdf");
+        SimpleIntegerProperty workDone = new SimpleIntegerProperty();
+        SimpleIntegerProperty workMax = new SimpleIntegerProperty();
+
+        ingestor.ingestDocument(document, new SimpleBooleanProperty(false), workDone, workMax);
+
+        assertEquals(workMax.get(), workDone.get());
+        assertEquals(workMax.get(), batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 2));
+        assertEquals((workMax.get() + 1) / 2, batchSizes.size());
+    }
+
+    @Test
+    void stoppedIngestionThrowsInterruptedException() {
+        LowLevelIngestor ingestor = new LowLevelIngestor(aiPreferences, embeddingStore, embeddingModel);
+        Document document = new DefaultDocument("Some text");
+
+        assertThrows(InterruptedException.class, () -> ingestor.ingestDocument(document, new SimpleBooleanProperty(true), new SimpleIntegerProperty(), new SimpleIntegerProperty()));
+        assertEquals(List.of(), batchSizes);
+    }
+}
@@ -0,0 +1,123 @@
+package org.jabref.logic.ai.ingestion;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+
+import org.jabref.logic.util.NotificationService;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.filter.MetadataFilterBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.jabref.logic.ai.ingestion.FileEmbeddingsManager.LINK_METADATA_KEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class MVStoreEmbeddingStoreTest {
+    @TempDir Path tempDir;
+
+    private final Random random = new Random(42);
+
+    private MVStoreEmbeddingStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new MVStoreEmbeddingStore(tempDir.resolve("embeddings.mv"), mock(NotificationService.class));
+    }
+
+    private void reopen() {
+        store.close();
+        setUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void searchWithFilterOnlyFindsSegmentsOfFile() {
+        store.add(Embedding.from(new float[] {1, 0}), segment("first", "a.pdf"));
+        store.add(Embedding.from(new float[] {1, 0.1f}), segment("second", "b.pdf"));
+        reopen();
+
+        List<String> texts = store.search(request(new float[] {1, 0}, "b.pdf")).matches().stream()
+                                  .map(match -> match.embedded().text())
+                                  .toList();
+        assertEquals(List.of("second"), texts);
+    }
+
+    @Test
+    void removeAllWithFilterRemovesSegmentsOfFile() {
+        store.add(Embedding.from(new float[] {1, 0}), segment("first", "a.pdf"));
+        store.add(Embedding.from(new float[] {1, 0.1f}), segment("second", "b.pdf"));
+
+        store.removeAll(MetadataFilterBuilder.metadataKey(LINK_METADATA_KEY).isEqualTo("a.pdf"));
+
+        assertEquals(List.of(), store.search(request(new float[] {1, 0}, "a.pdf")).matches());
+        assertEquals(1, store.search(request(new float[] {1, 0}, null)).matches().size());
+    }
+
+    @Test
+    void indexedSearchFindsStoredEmbedding() throws ExecutionException, InterruptedException {
+        List<float[]> vectors = IntStream.range(0, EmbeddingClusterIndex.MIN_EMBEDDINGS_FOR_TRAINING).mapToObj(_ -> randomVector()).toList();
+        List<String> ids = vectors.stream().map(vector -> store.add(Embedding.from(vector), segment("text", "a.pdf"))).toList();
+        store.waitForClusterIndexTraining();
+        reopen();
+
+        for (int i = 0; i < 100; i++) {
+            EmbeddingSearchRequest request = request(vectors.get(i), null);
+            List<EmbeddingMatch<TextSegment>> matches = store.search(request).matches();
+            assertEquals(ids.get(i), matches.getFirst().embeddingId());
+            assertEquals(store.searchExactly(request).matches().getFirst().embeddingId(), matches.getFirst().embeddingId());
+        }
+    }
+
+    @Test
+    void embeddingsChangedDuringTrainingAreIndexed() throws ExecutionException, InterruptedException {
+        List<String> ids = IntStream.range(0, EmbeddingClusterIndex.MIN_EMBEDDINGS_FOR_TRAINING)
+                                    .mapToObj(_ -> store.add(Embedding.from(randomVector()), segment("text", "a.pdf")))
+                                    .toList();
+        // The training started with the last addition
+        float[] addedVector = randomVector();
+        String addedId = store.add(Embedding.from(addedVector), segment("added", "a.pdf"));
+        store.remove(ids.getFirst());
+        store.waitForClusterIndexTraining();
+
+        EmbeddingSearchRequest request = request(addedVector, null);
+        assertEquals(addedId, store.search(request).matches().getFirst().embeddingId());
+        assertEquals(0, store.search(request).matches().stream().filter(match -> match.embeddingId().equals(ids.getFirst())).count());
+    }
+
+    private float[] randomVector() {
+        float[] vector = new float[16];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static TextSegment segment(String text, String file) {
+        return new TextSegment(text, new Metadata(Map.of(LINK_METADATA_KEY, file)));
+    }
+
+    private static EmbeddingSearchRequest request(float[] query, String file) {
+        return EmbeddingSearchRequest.builder()
+                                     .queryEmbedding(Embedding.from(query))
+                                     .maxResults(5)
+                                     .minScore(0.0)
+                                     .filter(file == null ? null : MetadataFilterBuilder.metadataKey(LINK_METADATA_KEY).isEqualTo(file))
+                                     .build();
+    }
+}
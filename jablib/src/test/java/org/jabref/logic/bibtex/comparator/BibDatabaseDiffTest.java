@@ -3,6 +3,7 @@ package org.jabref.logic.bibtex.comparator;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
@@ -134,6 +135,33 @@ class BibDatabaseDiffTest {
         assertEquals(entryTwo, diff.getEntryDifferences().getFirst().newEntry(), "there is another value as newEntry");
     }
 
+    @Test
+    void compareOfManyChangedEntriesPairsEachChangedEntryWithItsOriginal() {
+        List<BibEntry> originalEntries = IntStream.range(0, 400)
+                                                  .mapToObj(i -> new BibEntry(BibEntry.DEFAULT_TYPE)
+                                                          .withField(StandardField.TITLE, "Paper number " + i)
+                                                          .withField(StandardField.AUTHOR, "Author" + i)
+                                                          .withField(StandardField.YEAR, "2001")
+                                                          .withCitationKey("key" + i))
+                                                  .toList();
+        List<BibEntry> changedEntries = originalEntries.stream()
+                                                       .map(entry -> new BibEntry(entry.getType())
+                                                               .withField(StandardField.TITLE, entry.getTitle().orElseThrow())
+                                                               .withField(StandardField.AUTHOR, entry.getField(StandardField.AUTHOR).orElseThrow())
+                                                               .withField(StandardField.YEAR, "2002")
+                                                               .withCitationKey("changed" + entry.getCitationKey().orElseThrow()))
+                                                       .toList();
+        BibDatabaseContext databaseOne = new BibDatabaseContext(new BibDatabase(originalEntries));
+        BibDatabaseContext databaseTwo = new BibDatabaseContext(new BibDatabase(changedEntries));
+
+        List<BibEntryDiff> differences = BibDatabaseDiff.compare(databaseOne, databaseTwo).getEntryDifferences();
+
+        assertEquals(400, differences.size());
+        for (BibEntryDiff difference : differences) {
+            assertEquals("changed" + difference.originalEntry().getCitationKey().orElseThrow(), difference.newEntry().getCitationKey().orElseThrow());
+        }
+    }
+
     private BibDatabaseDiff compareEntries(BibEntry entryOne, BibEntry entryTwo) {
         BibDatabaseContext databaseOne = new BibDatabaseContext(new BibDatabase(List.of(entryOne)));
         BibDatabaseContext databaseTwo = new BibDatabaseContext(new BibDatabase(List.of(entryTwo)));
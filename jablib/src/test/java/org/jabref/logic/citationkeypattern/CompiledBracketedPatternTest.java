@@ -0,0 +1,49 @@
+package org.jabref.logic.citationkeypattern;
+
+import java.util.stream.Stream;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompiledBracketedPatternTest {
+
+    private final BibEntry entry = new BibEntry()
+            .withField(StandardField.AUTHOR, "Eric von Hippel and Georg von Krogh")
+            .withField(StandardField.TITLE, "Open Source Software and the Private-Collective Innovation Model")
+            .withField(StandardField.YEAR, "2003");
+
+    @Test
+    void expandsFieldMarkersWithModifiers() {
+        CompiledBracketedPattern compiledPattern = CompiledBracketedPattern.compile("[year]_[fulltitle:abbr]_[editor:(none)]");
+
+        assertEquals("2003_OSSatPIM_none", compiledPattern.expand(entry, ';', null));
+    }
+
+    private static Stream<Arguments> patterns() {
+        return Stream.of(
+                Arguments.of("Hippel2003", "[auth][year]"),
+                Arguments.of("hippelkrogh_OSS", "[authors:lower]_[shorttitle:abbr]"),
+                Arguments.of("No editor 2003", "[editor:(No editor [year])]"),
+                Arguments.of("Closed Source Software and the Private Collective Innovation Model", "[title:regex(\"Open\",\"Closed\")]"),
+                Arguments.of("Literal [text] and \"[quoted]\"", "Literal \\[text\\] and \"[quoted]\""),
+                // Missing closing bracket
+                Arguments.of("Hippel", "[auth")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("patterns")
+    void expandsPattern(String expected, String pattern) {
+        CompiledBracketedPattern compiledPattern = CompiledBracketedPattern.compile(pattern);
+
+        assertEquals(expected, compiledPattern.expand(entry, ';', null));
+        assertEquals(expected, compiledPattern.expand(BracketedPattern.expandBracketContent(';', entry, null)));
+    }
+}
@@ -1,6 +1,8 @@
 package org.jabref.logic.citationstyle;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.jabref.logic.l10n.Localization;
@@ -20,6 +22,11 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class CitationStyleGeneratorTest {
 
@@ -232,6 +239,59 @@ class CitationStyleGeneratorTest {
         assertEquals(expectedCitation, actualCitation);
     }
 
+    @Test
+    void bibliographyPerEntryRendersEachEntryOnItsOwn() {
+        BibEntry otherEntry = new BibEntry(StandardEntryType.Book)
+                .withCitationKey("jone2021")
+                .withField(StandardField.EDITOR, "Jones, John")
+                .withField(StandardField.PUBLISHER, "Great Publisher")
+                .withField(StandardField.TITLE, "A book")
+                .withField(StandardField.YEAR, "2021");
+        BibDatabaseContext bibDatabaseContext = new BibDatabaseContext(new BibDatabase(List.of(testEntry, otherEntry)));
+
+        List<String> expected = List.of(
+                CitationStyleGenerator.generateBibliography(List.of(otherEntry), DEFAULT_STYLE, TEXT_OUTPUT_FORMAT, bibDatabaseContext, ENTRY_TYPES_MANAGER).getFirst(),
+                CitationStyleGenerator.generateBibliography(List.of(testEntry), DEFAULT_STYLE, TEXT_OUTPUT_FORMAT, bibDatabaseContext, ENTRY_TYPES_MANAGER).getFirst());
+
+        assertEquals(expected, CitationStyleGenerator.generateBibliographyPerEntry(List.of(otherEntry, testEntry), DEFAULT_STYLE, TEXT_OUTPUT_FORMAT, bibDatabaseContext, ENTRY_TYPES_MANAGER));
+    }
+
+    @Test
+    void bibliographyPerEntryShowsErrorOnlyForFailingEntry() throws IOException {
+        BibEntry failingEntry = new BibEntry(StandardEntryType.Book).withCitationKey("failing");
+        CSLAdapterPool adapterPool = mock(CSLAdapterPool.class);
+        when(adapterPool.makeBibliographyPerEntry(anyList(), any(), any(), any(), any())).thenThrow(new IllegalArgumentException());
+        when(adapterPool.makeBibliography(eq(List.of(testEntry)), any(), any(), any(), any())).thenReturn(List.of("test entry"));
+        when(adapterPool.makeBibliography(eq(List.of(failingEntry)), any(), any(), any(), any())).thenThrow(new IllegalArgumentException());
+
+        List<String> expected = List.of(
+                "test entry",
+                Localization.lang("Cannot generate bibliography based on selected citation style."),
+                "test entry");
+
+        assertEquals(expected, CitationStyleGenerator.generateBibliographyPerEntry(adapterPool, List.of(testEntry, failingEntry, testEntry), DEFAULT_STYLE, TEXT_OUTPUT_FORMAT, testEntryContext, ENTRY_TYPES_MANAGER));
+    }
+
+    @Test
+    void concurrentCallsWithDifferentStylesRenderTheirOwnStyle() {
+        String otherStyle = STYLE_LIST.stream()
+                                      .map(CitationStyle::getSource)
+                                      .filter(source -> !DEFAULT_STYLE.equals(source))
+                                      .findFirst()
+                                      .orElseThrow();
+        String expectedDefault = CitationStyleGenerator.generateBibliography(List.of(testEntry), DEFAULT_STYLE, TEXT_OUTPUT_FORMAT, testEntryContext, ENTRY_TYPES_MANAGER).getFirst();
+        String expectedOther = CitationStyleGenerator.generateBibliography(List.of(testEntry), otherStyle, TEXT_OUTPUT_FORMAT, testEntryContext, ENTRY_TYPES_MANAGER).getFirst();
+
+        List<String> actual = IntStream.range(0, 20)
+                                       .parallel()
+                                       .mapToObj(i -> CitationStyleGenerator.generateBibliography(List.of(testEntry), (i % 2 == 0) ? DEFAULT_STYLE : otherStyle, TEXT_OUTPUT_FORMAT, testEntryContext, ENTRY_TYPES_MANAGER).getFirst())
+                                       .toList();
+
+        for (int i = 0; i < actual.size(); i++) {
+            assertEquals((i % 2 == 0) ? expectedDefault : expectedOther, actual.get(i));
+        }
+    }
+
     static Stream<Arguments> cslMapping() {
         // if the default citation style changes this has to be modified
         return Stream.of(
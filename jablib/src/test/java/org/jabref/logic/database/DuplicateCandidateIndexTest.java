@@ -0,0 +1,67 @@
+package org.jabref.logic.database;
+
+import java.util.List;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DuplicateCandidateIndexTest {
+
+    private final BibEntry article = new BibEntry(StandardEntryType.Article)
+            .withField(StandardField.AUTHOR, "Single Author")
+            .withField(StandardField.TITLE, "A serious paper about something")
+            .withField(StandardField.YEAR, "2017");
+    private final BibEntry unrelatedArticle = new BibEntry(StandardEntryType.Article)
+            .withField(StandardField.AUTHOR, "Completely Different")
+            .withField(StandardField.TITLE, "Holy Moly Uffdada und Trallalla")
+            .withField(StandardField.YEAR, "1992");
+    private final BibEntry book = new BibEntry(StandardEntryType.Book)
+            .withField(StandardField.TITLE, "Effective Java")
+            .withField(StandardField.ISBN, "0-201-31005-8");
+
+    private final DuplicateCandidateIndex index = new DuplicateCandidateIndex(List.of(article, unrelatedArticle, book));
+
+    @Test
+    void findsEntryWithSimilarTitle() {
+        BibEntry entry = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Another Author")
+                .withField(StandardField.TITLE, "A Serious Paper about something else");
+        assertEquals(List.of(article), index.getCandidates(entry));
+    }
+
+    @Test
+    void findsEntryWithSameFirstAuthorAndYear() {
+        BibEntry entry = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Author, S. and Other, A.")
+                .withField(StandardField.TITLE, "Completely renamed")
+                .withField(StandardField.YEAR, "2017");
+        assertEquals(List.of(article), index.getCandidates(entry));
+    }
+
+    @Test
+    void findsEntryWithSameIsbn() {
+        BibEntry entry = new BibEntry(StandardEntryType.Book)
+                .withField(StandardField.TITLE, "Java Guide")
+                .withField(StandardField.ISBN, "0201310058");
+        assertEquals(List.of(book), index.getCandidates(entry));
+    }
+
+    @Test
+    void entryWithoutKeysIsCandidateOfAllEntries() {
+        BibEntry entry = new BibEntry(StandardEntryType.Misc).withField(StandardField.NOTE, "Only a note");
+        index.add(entry);
+
+        assertEquals(List.of(article, unrelatedArticle, book), index.getCandidates(entry));
+        assertEquals(List.of(entry), index.getCandidates(new BibEntry().withField(StandardField.TITLE, "Unrelated title")));
+    }
+
+    @Test
+    void doesNotContainEntryItself() {
+        assertEquals(List.of(), index.getCandidates(article));
+    }
+}
@@ -0,0 +1,128 @@
+package org.jabref.logic.exporter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+
+import org.jabref.logic.journals.JournalAbbreviationRepository;
+import org.jabref.logic.layout.Layout;
+import org.jabref.logic.layout.LayoutFormatterPreferences;
+import org.jabref.logic.layout.format.NameFormatterPreferences;
+import org.jabref.logic.preferences.CliPreferences;
+import org.jabref.logic.preferences.DOIPreferences;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.metadata.SaveOrder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TemplateExporterTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private Path layoutFile;
+    private TemplateExporter exporter;
+    private final BibDatabaseContext databaseContext = new BibDatabaseContext();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        layoutFile = tempDir.resolve("numbered.layout");
+        Files.writeString(layoutFile, "\\format[Number]{\\citationkey}. \\citationkey\n");
+        exporter = new TemplateExporter(
+                "numbered",
+                layoutFile.toString(),
+                "txt",
+                mock(LayoutFormatterPreferences.class, Answers.RETURNS_DEEP_STUBS),
+                SaveOrder.getDefaultSaveOrder());
+        exporter.setCustomExport(true);
+    }
+
+    @Test
+    void exportOfManyEntriesKeepsOrderAndNumbering() throws IOException {
+        List<BibEntry> entries = IntStream.range(0, 1000)
+                                          .mapToObj(i -> new BibEntry().withCitationKey("key" + i))
+                                          .toList();
+        Path output = tempDir.resolve("output.txt");
+
+        exporter.export(databaseContext, output, entries);
+
+        List<String> expected = IntStream.range(0, 1000)
+                                         .mapToObj(i -> (i + 1) + ". key" + i)
+                                         .toList();
+        assertEquals(expected, Files.readAllLines(output));
+    }
+
+    @Test
+    void exportOfManyEntriesPrintsEachGroupOnce() throws IOException {
+        Files.writeString(layoutFile, "\\begingroup{year}\\year: \\endgroup{year}\\citationkey\n");
+        List<BibEntry> entries = IntStream.range(0, 1000)
+                                          .mapToObj(i -> new BibEntry().withCitationKey("key" + i)
+                                                                       .withField(StandardField.YEAR, String.valueOf(1000 + (i / 300))))
+                                          .toList();
+        Path output = tempDir.resolve("output.txt");
+
+        exporter.export(databaseContext, output, entries);
+
+        List<String> expected = IntStream.range(0, 1000)
+                                         .mapToObj(i -> ((i % 300) == 0 ? (1000 + (i / 300)) + ": " : "") + "key" + i)
+                                         .toList();
+        assertEquals(expected, Files.readAllLines(output));
+    }
+
+    @Test
+    void exportUsesModifiedLayoutFile() throws IOException {
+        List<BibEntry> entries = List.of(new BibEntry().withCitationKey("key"));
+        Path output = tempDir.resolve("output.txt");
+        exporter.export(databaseContext, output, entries);
+
+        Files.writeString(layoutFile, "modified \\citationkey\n");
+        Files.setLastModifiedTime(layoutFile, FileTime.fromMillis(Files.getLastModifiedTime(layoutFile).toMillis() + 1000));
+        exporter.export(databaseContext, output, entries);
+
+        assertEquals(List.of("modified key"), Files.readAllLines(output));
+    }
+
+    @Test
+    void exportersOfSeparateFactoriesShareCompiledLayouts() {
+        CliPreferences preferences = mock(CliPreferences.class, Answers.RETURNS_DEEP_STUBS);
+        when(preferences.getExportPreferences().getCustomExporters()).thenReturn(FXCollections.emptyObservableList());
+        when(preferences.getCustomEntryTypesRepository()).thenReturn(mock(BibEntryTypesManager.class));
+        // Like the actual preferences, a new instance for each call
+        when(preferences.getLayoutFormatterPreferences()).thenAnswer(_ -> new LayoutFormatterPreferences(
+                new NameFormatterPreferences(List.of("Short"), List.of("<author>")),
+                new DOIPreferences(false, "https://doi.org"),
+                new SimpleStringProperty("")));
+        JournalAbbreviationRepository abbreviationRepository = mock(JournalAbbreviationRepository.class);
+
+        TemplateExporter first = (TemplateExporter) ExporterFactory.create(preferences).getExporterByName("html").orElseThrow();
+        TemplateExporter second = (TemplateExporter) ExporterFactory.create(preferences).getExporterByName("html").orElseThrow();
+
+        Layout layout = first.getLayout("html.layout", List.of(), abbreviationRepository).orElseThrow();
+        assertSame(layout, second.getLayout("html.layout", List.of(), abbreviationRepository).orElseThrow());
+    }
+
+    @Test
+    void exportWithoutLayoutFileFails() throws IOException {
+        Files.delete(layoutFile);
+
+        assertThrows(IOException.class, () -> exporter.export(databaseContext, tempDir.resolve("output.txt"), List.of(new BibEntry())));
+    }
+}
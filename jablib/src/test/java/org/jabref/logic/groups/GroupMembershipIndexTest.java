@@ -0,0 +1,108 @@
+package org.jabref.logic.groups;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.groups.GroupHierarchyType;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.groups.SearchGroup;
+import org.jabref.model.groups.WordKeywordGroup;
+import org.jabref.model.search.SearchFlags;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GroupMembershipIndexTest {
+
+    private final BibEntry first = new BibEntry().withField(StandardField.KEYWORDS, "physics").withField(StandardField.TITLE, "first");
+    private final BibEntry second = new BibEntry().withField(StandardField.KEYWORDS, "chemistry").withField(StandardField.TITLE, "second");
+
+    private BibDatabase database;
+    private GroupMembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        database = new BibDatabase(List.of(first, second));
+        index = new GroupMembershipIndex(database);
+    }
+
+    @Test
+    void findsMatchedEntries() {
+        GroupMembershipIndex.Membership membership = index.getMembership(keywordNode("physics")).orElseThrow();
+        assertEquals(Set.of(first.getId()), membership.getMatchedEntryIds());
+    }
+
+    @Test
+    void updatesMatchesOnChangedField() {
+        GroupMembershipIndex.Membership membership = index.getMembership(keywordNode("physics")).orElseThrow();
+        membership.getHitCount();
+
+        second.setField(StandardField.KEYWORDS, "physics, chemistry");
+        first.clearField(StandardField.KEYWORDS);
+
+        assertEquals(Set.of(second.getId()), membership.getMatchedEntryIds());
+    }
+
+    @Test
+    void updatesMatchesOnAddedAndRemovedEntries() {
+        GroupMembershipIndex.Membership membership = index.getMembership(keywordNode("physics")).orElseThrow();
+        membership.getHitCount();
+
+        BibEntry third = new BibEntry().withField(StandardField.KEYWORDS, "physics");
+        database.insertEntry(third);
+        database.removeEntry(first);
+
+        assertEquals(Set.of(third.getId()), membership.getMatchedEntryIds());
+    }
+
+    @Test
+    void notifiesListenersOfChangedMatches() {
+        GroupMembershipIndex.Membership membership = index.getMembership(keywordNode("physics")).orElseThrow();
+        membership.getHitCount();
+        List<String> changedEntryIds = new ArrayList<>();
+        Consumer<String> listener = changedEntryIds::add;
+        membership.addListener(listener);
+
+        second.setField(StandardField.KEYWORDS, "physics, chemistry");
+        second.setField(StandardField.TITLE, "changed");
+        database.removeEntry(first);
+
+        assertEquals(List.of(second.getId(), first.getId()), changedEntryIds);
+    }
+
+    @Test
+    void sharesMatchesOfEqualNodes() {
+        GroupMembershipIndex.Membership membership = index.getMembership(keywordNode("physics")).orElseThrow();
+        assertSame(membership, index.getMembership(keywordNode("physics")).orElseThrow());
+    }
+
+    @Test
+    void refiningGroupMatchesEntriesOfParent() {
+        GroupTreeNode parent = keywordNode("physics");
+        GroupTreeNode child = parent.addSubgroup(new WordKeywordGroup("first", GroupHierarchyType.REFINING, StandardField.TITLE, "first", true, ',', false));
+        GroupTreeNode otherChild = parent.addSubgroup(new WordKeywordGroup("second", GroupHierarchyType.REFINING, StandardField.TITLE, "second", true, ',', false));
+
+        assertEquals(Set.of(first.getId()), index.getMembership(child).orElseThrow().getMatchedEntryIds());
+        assertEquals(Set.of(), index.getMembership(otherChild).orElseThrow().getMatchedEntryIds());
+    }
+
+    @Test
+    void searchGroupIsNotSupported() {
+        GroupTreeNode node = new GroupTreeNode(new SearchGroup("search", GroupHierarchyType.INDEPENDENT, "physics", EnumSet.noneOf(SearchFlags.class)));
+        assertTrue(index.getMembership(node).isEmpty());
+    }
+
+    private static GroupTreeNode keywordNode(String keyword) {
+        return new GroupTreeNode(new WordKeywordGroup(keyword, GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, keyword, true, ',', false));
+    }
+}
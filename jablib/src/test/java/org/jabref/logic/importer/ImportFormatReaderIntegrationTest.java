@@ -14,6 +14,8 @@ import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
 import org.jabref.model.util.DummyFileUpdateMonitor;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Answers;
@@ -60,6 +62,26 @@ class ImportFormatReaderIntegrationTest {
         assertEquals(count, reader.importUnknownFormat(data).parserResult().getDatabase().getEntries().size());
     }
 
+    @Test
+    void importUnknownFormatOfFileLargerThanSample(@TempDir Path tempDir) throws ImportException, IOException {
+        String entry = """
+                TY  - JOUR
+                AU  - Harrison, Warren
+                TI  - Editorial: Open Source and Empirical Software Engineering
+                JO  - Empirical Software Engineering
+                PY  - 2001
+                ER  -
+
+                """;
+        int count = FileSample.MAX_LENGTH / entry.length() * 2;
+        Path file = tempDir.resolve("large.ris");
+        Files.writeString(file, entry.repeat(count));
+
+        ImportFormatReader.UnknownFormatImport unknownFormat = reader.importUnknownFormat(file, new DummyFileUpdateMonitor());
+        assertEquals("RIS", unknownFormat.format());
+        assertEquals(count, unknownFormat.parserResult().getDatabase().getEntryCount());
+    }
+
     private static Stream<Object[]> importFormats() {
         Collection<Object[]> result = new ArrayList<>();
         result.add(new Object[]{"fileformat/RisImporterTest1.ris", "ris", 1});
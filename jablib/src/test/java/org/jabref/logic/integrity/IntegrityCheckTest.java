@@ -13,6 +13,7 @@ import org.jabref.logic.citationkeypattern.CitationKeyGenerator;
 import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
 import org.jabref.logic.citationkeypattern.GlobalCitationKeyPatterns;
 import org.jabref.logic.journals.JournalAbbreviationLoader;
+import org.jabref.logic.l10n.Localization;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.BibDatabaseMode;
@@ -146,6 +147,48 @@ class IntegrityCheckTest {
         assertEquals(clonedEntry, entry);
     }
 
+    @Test
+    void checkAgainFindsProblemsOfChangedEntries() {
+        BibDatabaseContext context = createContext(StandardField.YEAR, "2020");
+        BibEntry entry = context.getDatabase().getEntries().getFirst();
+        IntegrityCheck integrityCheck = createIntegrityCheck(context);
+        assertEquals(List.of(), integrityCheck.check());
+
+        entry.setField(StandardField.YEAR, "abc");
+        assertNotEquals(List.of(), integrityCheck.check());
+
+        entry.setField(StandardField.YEAR, "2020");
+        assertEquals(List.of(), integrityCheck.check());
+    }
+
+    @Test
+    void checkAgainFindsDuplicateCitationKeyOfUnchangedEntry() {
+        BibDatabaseContext context = createContext(StandardField.YEAR, "2020");
+        BibEntry entry = context.getDatabase().getEntries().getFirst().withCitationKey("key");
+        BibEntry otherEntry = new BibEntry().withCitationKey("other").withField(StandardField.YEAR, "2020");
+        context.getDatabase().insertEntry(otherEntry);
+        IntegrityCheck integrityCheck = createIntegrityCheck(context);
+        integrityCheck.check();
+
+        otherEntry.setCitationKey("key");
+
+        List<IntegrityMessage> messages = integrityCheck.check();
+        assertEquals(List.of(entry, otherEntry), messages.stream()
+                                                       .filter(message -> message.message().equals(Localization.lang("Duplicate citation key")))
+                                                       .map(IntegrityMessage::entry)
+                                                       .toList());
+    }
+
+    private IntegrityCheck createIntegrityCheck(BibDatabaseContext context) {
+        FilePreferences filePreferencesMock = mock(FilePreferences.class);
+        when(filePreferencesMock.shouldStoreFilesRelativeToBibFile()).thenReturn(true);
+        return new IntegrityCheck(context,
+                filePreferencesMock,
+                createCitationKeyPatternPreferences(),
+                JournalAbbreviationLoader.loadBuiltInRepository(),
+                false);
+    }
+
     private BibDatabaseContext createContext(Field field, String value, EntryType type) {
         BibEntry entry = new BibEntry(type)
                 .withField(field, value);
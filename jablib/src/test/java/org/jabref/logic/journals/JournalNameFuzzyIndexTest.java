@@ -0,0 +1,47 @@
+package org.jabref.logic.journals;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.jabref.logic.util.strings.StringSimilarity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JournalNameFuzzyIndexTest {
+
+    private final List<Abbreviation> abbreviations = List.of(
+            new Abbreviation("Physical Review Letters", "Phys. Rev. Lett."),
+            new Abbreviation("Physical Review A", "Phys. Rev. A"),
+            new Abbreviation("Physical Review B", "Phys. Rev. B"),
+            new Abbreviation("Physical review letters", "Phys. Rev. Lett."),
+            new Abbreviation("Journal of Applied Physics", "J. Appl. Phys."),
+            new Abbreviation("Journal of Applied Psychology", "J. Appl. Psychol."),
+            new Abbreviation("Nature", "Nature"),
+            new Abbreviation("Nature Physics", "Nat. Phys."),
+            new Abbreviation("Science", "Science"));
+    private final JournalNameFuzzyIndex index = new JournalNameFuzzyIndex(abbreviations);
+    private final StringSimilarity similarity = new StringSimilarity();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Physical Reviw Leters", "physical review c", "Nautre", "Sciense", "Journal of Applied Physic", "Unknown Journal", ""})
+    void findsSameNamesAsLinearScan(String input) {
+        Set<Abbreviation> expected = abbreviations.stream()
+                                                  .filter(abbreviation -> similarity.isSimilar(input, abbreviation.getName()))
+                                                  .collect(Collectors.toSet());
+        Set<Abbreviation> actual = index.findWithin(input, StringSimilarity.METRIC_THRESHOLD).stream()
+                                        .map(JournalNameFuzzyIndex.Match::abbreviation)
+                                        .collect(Collectors.toSet());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void reportsEditDistanceIgnoringCase() {
+        List<JournalNameFuzzyIndex.Match> matches = index.findWithin("SCIENSE", 1);
+        assertEquals(List.of(new JournalNameFuzzyIndex.Match(abbreviations.getLast(), 1)), matches);
+    }
+}
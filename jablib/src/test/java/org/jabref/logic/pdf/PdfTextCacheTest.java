@@ -0,0 +1,82 @@
+package org.jabref.logic.pdf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.jabref.logic.pdf.PdfTextCache.PdfPage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PdfTextCacheTest {
+
+    private static final Path POPUP_PDF = Path.of("src/test/resources/pdfs/minimal-popup.pdf");
+
+    @Test
+    void readsAnnotationsOfPage() throws IOException {
+        try (PdfTextCache cache = new PdfTextCache(Optional.empty())) {
+            List<PdfPage> pages = cache.getPages(POPUP_PDF);
+            assertEquals(1, pages.size());
+            assertEquals(List.of("A simple pop-up note"), pages.getFirst().annotations());
+        }
+    }
+
+    @Test
+    void pagesSurviveReopeningAndDeletedFileIsNotRead(@TempDir Path tempDir) throws IOException {
+        Path pdf = tempDir.resolve("popup.pdf");
+        Files.copy(POPUP_PDF, pdf);
+
+        List<PdfPage> pages;
+        try (PdfTextCache cache = new PdfTextCache(Optional.of(tempDir))) {
+            pages = cache.getPages(pdf);
+        }
+        try (PdfTextCache cache = new PdfTextCache(Optional.of(tempDir))) {
+            assertEquals(pages, cache.getPages(pdf));
+            Files.delete(pdf);
+            assertThrows(IOException.class, () -> cache.getPages(pdf));
+        }
+    }
+
+    @Test
+    void hashOfUnchangedFileSurvivesReopening(@TempDir Path tempDir) throws IOException {
+        Path pdf = tempDir.resolve("popup.pdf");
+        Files.copy(POPUP_PDF, pdf);
+
+        List<PdfPage> pages;
+        try (PdfTextCache cache = new PdfTextCache(Optional.of(tempDir))) {
+            pages = cache.getPages(pdf);
+        }
+        // Same modification time and size, thus the content is not hashed again
+        FileTime modified = Files.getLastModifiedTime(pdf);
+        Files.write(pdf, new byte[(int) Files.size(pdf)]);
+        Files.setLastModifiedTime(pdf, modified);
+        try (PdfTextCache cache = new PdfTextCache(Optional.of(tempDir))) {
+            assertEquals(pages, cache.getPages(pdf));
+        }
+    }
+
+    @Test
+    void sameContentAtOtherPathIsServedFromCache(@TempDir Path tempDir) throws IOException {
+        Path copy = tempDir.resolve("copy.pdf");
+        Files.copy(POPUP_PDF, copy);
+
+        try (PdfTextCache cache = new PdfTextCache(Optional.of(tempDir))) {
+            List<PdfPage> pages = cache.getPages(POPUP_PDF);
+            assertEquals(Optional.of(pages), cache.getPages(copy, () -> true));
+        }
+    }
+
+    @Test
+    void cancelledExtractionReturnsEmpty() throws IOException {
+        try (PdfTextCache cache = new PdfTextCache(Optional.empty())) {
+            assertEquals(Optional.empty(), cache.getPages(POPUP_PDF, () -> true));
+        }
+    }
+}
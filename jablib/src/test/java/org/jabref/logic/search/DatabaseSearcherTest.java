@@ -3,11 +3,13 @@ package org.jabref.logic.search;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import javafx.beans.property.BooleanProperty;
 
 import org.jabref.logic.FilePreferences;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.preferences.CliPreferences;
 import org.jabref.logic.util.CurrentThreadTaskExecutor;
 import org.jabref.logic.util.TaskExecutor;
@@ -67,7 +69,17 @@ public class DatabaseSearcherTest {
         for (BibEntry entry : entries) {
             databaseContext.getDatabase().insertEntry(entry);
         }
-        List<BibEntry> matches = new DatabaseSearcher(query, databaseContext, TASK_EXECUTOR, preferences, postgreServer).getMatches();
+        List<BibEntry> matches = new DatabaseSearcher(query, databaseContext, TASK_EXECUTOR, preferences, postgreServer, new PdfTextCache(Optional.empty())).getMatches();
+        assertEquals(expectedMatches, matches);
+    }
+
+    @ParameterizedTest
+    @MethodSource("databaseSearcher")
+    void inMemoryDatabaseSearcher(List<BibEntry> expectedMatches, SearchQuery query, List<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            databaseContext.getDatabase().insertEntry(entry);
+        }
+        List<BibEntry> matches = new DatabaseSearcher(query, databaseContext, preferences).getMatches();
         assertEquals(expectedMatches, matches);
     }
 
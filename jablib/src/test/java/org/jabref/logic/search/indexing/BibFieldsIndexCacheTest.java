@@ -0,0 +1,81 @@
+package org.jabref.logic.search.indexing;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.jabref.logic.search.indexing.BibFieldsIndexCache.CachedRows;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BibFieldsIndexCacheTest {
+    private final BibDatabaseContext context = mock(BibDatabaseContext.class);
+    private final CachedRows rows = new CachedRows("title\tSome title\tSome title\n", "");
+
+    @BeforeEach
+    void setUp(@TempDir Path indexDir) {
+        when(context.getDatabasePath()).thenReturn(Optional.of(indexDir.resolve("library.bib")));
+        when(context.getFulltextIndexPath()).thenReturn(indexDir);
+    }
+
+    @Test
+    void sameContentHasSameHash() {
+        BibFieldsIndexCache cache = new BibFieldsIndexCache(context, ',');
+        BibEntry first = new BibEntry(StandardEntryType.Article).withField(StandardField.TITLE, "Some title").withField(StandardField.YEAR, "2025");
+        BibEntry second = new BibEntry(StandardEntryType.Article).withField(StandardField.YEAR, "2025").withField(StandardField.TITLE, "Some title");
+        assertEquals(cache.getContentHash(first), cache.getContentHash(second));
+        cache.close();
+    }
+
+    @Test
+    void changedContentChangesHash() {
+        BibFieldsIndexCache cache = new BibFieldsIndexCache(context, ',');
+        BibEntry first = new BibEntry(StandardEntryType.Article).withField(StandardField.TITLE, "Some title");
+        BibEntry second = new BibEntry(StandardEntryType.Book).withField(StandardField.TITLE, "Some title");
+        assertNotEquals(cache.getContentHash(first), cache.getContentHash(second));
+        cache.close();
+    }
+
+    @Test
+    void entryWithCrossrefIsNotCached() {
+        BibFieldsIndexCache cache = new BibFieldsIndexCache(context, ',');
+        BibEntry entry = new BibEntry(StandardEntryType.InProceedings).withField(StandardField.CROSSREF, "proceedings");
+        assertEquals(Optional.empty(), cache.getContentHash(entry));
+        cache.close();
+    }
+
+    @Test
+    void rowsSurviveReopening() {
+        BibFieldsIndexCache cache = new BibFieldsIndexCache(context, ',');
+        cache.put("hash", rows);
+        cache.removeUnusedAndCommit();
+        cache.close();
+
+        BibFieldsIndexCache reopenedCache = new BibFieldsIndexCache(context, ',');
+        assertEquals(Optional.of(rows), reopenedCache.get("hash"));
+        reopenedCache.close();
+    }
+
+    @Test
+    void unusedRowsAreRemoved() {
+        BibFieldsIndexCache cache = new BibFieldsIndexCache(context, ',');
+        cache.put("hash", rows);
+        cache.removeUnusedAndCommit();
+        cache.close();
+
+        BibFieldsIndexCache reopenedCache = new BibFieldsIndexCache(context, ',');
+        reopenedCache.removeUnusedAndCommit();
+        assertEquals(Optional.empty(), reopenedCache.get("hash"));
+        reopenedCache.close();
+    }
+}
@@ -1,11 +1,21 @@
 package org.jabref.logic.search.indexing;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 
 import org.jabref.logic.FilePreferences;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.preferences.CliPreferences;
 import org.jabref.logic.search.LuceneIndexer;
 import org.jabref.logic.util.BackgroundTask;
@@ -14,8 +24,13 @@ import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.LinkedFile;
 import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.model.search.LinkedFilesConstants;
 
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.StoredFields;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +38,7 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -30,6 +46,8 @@ public class LinkedFilesIndexerTest {
     private final CliPreferences preferences = mock(CliPreferences.class);
     private final FilePreferences filePreferences = mock(FilePreferences.class);
 
+    private final PdfTextCache pdfTextCache = new PdfTextCache(Optional.empty());
+
     private LuceneIndexer indexer;
 
     @BeforeEach
@@ -42,12 +60,13 @@ public class LinkedFilesIndexerTest {
         when(context.getFileDirectories(Mockito.any())).thenReturn(List.of(Path.of("src/test/resources/pdfs")));
         when(context.getFulltextIndexPath()).thenReturn(indexDir);
 
-        this.indexer = new DefaultLinkedFilesIndexer(context, filePreferences);
+        this.indexer = new DefaultLinkedFilesIndexer(context, filePreferences, pdfTextCache);
     }
 
     @AfterEach
     void tearDown() {
         this.indexer.closeAndWait();
+        pdfTextCache.close();
     }
 
     @Test
@@ -182,4 +201,165 @@ public class LinkedFilesIndexerTest {
             assertEquals(0, reader.numDocs());
         }
     }
+
+    @Test
+    void readsAtMostMaxPendingFilesAhead(@TempDir Path tempDir) throws IOException {
+        List<BibEntry> entries = createEntriesWithFiles(tempDir, 6);
+        AtomicInteger startedReads = new AtomicInteger();
+        AtomicInteger startedWhileReadingFirstFile = new AtomicInteger();
+        BiFunction<String, Path, List<Document>> pdfReader = (fileLink, path) -> {
+            startedReads.incrementAndGet();
+            if ("0.pdf".equals(fileLink)) {
+                sleep(Duration.ofMillis(500));
+                startedWhileReadingFirstFile.set(startedReads.get());
+            }
+            return List.of(createPage(fileLink));
+        };
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(6)) {
+            LuceneIndexer slowIndexer = new DefaultLinkedFilesIndexer(createContext(tempDir), filePreferences, pdfReader, executor, 2, Duration.ofSeconds(120));
+            slowIndexer.addToIndex(entries, mock(BackgroundTask.class));
+
+            assertEquals(2, startedWhileReadingFirstFile.get());
+            assertEquals(List.of("0.pdf", "1.pdf", "2.pdf", "3.pdf", "4.pdf", "5.pdf"), getIndexedFiles(slowIndexer));
+            slowIndexer.closeAndWait();
+        }
+    }
+
+    @Test
+    void filesAreIndexedInOrderOfEntries(@TempDir Path tempDir) throws IOException {
+        List<BibEntry> entries = createEntriesWithFiles(tempDir, 4);
+        BiFunction<String, Path, List<Document>> pdfReader = (fileLink, path) -> {
+            // The first file is read last
+            if ("0.pdf".equals(fileLink)) {
+                sleep(Duration.ofMillis(300));
+            }
+            return List.of(createPage(fileLink));
+        };
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            LuceneIndexer slowIndexer = new DefaultLinkedFilesIndexer(createContext(tempDir), filePreferences, pdfReader, executor, 4, Duration.ofSeconds(120));
+            slowIndexer.addToIndex(entries, mock(BackgroundTask.class));
+
+            assertEquals(List.of("0.pdf", "1.pdf", "2.pdf", "3.pdf"), getIndexedFiles(slowIndexer));
+            slowIndexer.closeAndWait();
+        }
+    }
+
+    @Test
+    void fileReadLongerThanTimeoutIsSkipped(@TempDir Path tempDir) throws IOException, InterruptedException {
+        List<BibEntry> entries = createEntriesWithFiles(tempDir, 2);
+        CountDownLatch slowReadInterrupted = new CountDownLatch(1);
+        BiFunction<String, Path, List<Document>> pdfReader = (fileLink, path) -> {
+            if ("0.pdf".equals(fileLink)) {
+                blockUntilInterrupted(slowReadInterrupted);
+            }
+            return List.of(createPage(fileLink));
+        };
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            LuceneIndexer slowIndexer = new DefaultLinkedFilesIndexer(createContext(tempDir), filePreferences, pdfReader, executor, 2, Duration.ofMillis(200));
+            slowIndexer.addToIndex(entries, mock(BackgroundTask.class));
+
+            assertTrue(slowReadInterrupted.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of("1.pdf"), getIndexedFiles(slowIndexer));
+            slowIndexer.closeAndWait();
+        }
+    }
+
+    @Test
+    void timeoutStartsWhenReadingOfFileStarts(@TempDir Path tempDir) throws IOException {
+        List<BibEntry> entries = createEntriesWithFiles(tempDir, 3);
+        BiFunction<String, Path, List<Document>> pdfReader = (fileLink, path) -> {
+            sleep(Duration.ofMillis(600));
+            return List.of(createPage(fileLink));
+        };
+
+        // With a single reader thread, the last file starts to be read after 1200 ms
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            LuceneIndexer slowIndexer = new DefaultLinkedFilesIndexer(createContext(tempDir), filePreferences, pdfReader, executor, 3, Duration.ofSeconds(1));
+            slowIndexer.addToIndex(entries, mock(BackgroundTask.class));
+
+            assertEquals(List.of("0.pdf", "1.pdf", "2.pdf"), getIndexedFiles(slowIndexer));
+            slowIndexer.closeAndWait();
+        }
+    }
+
+    @Test
+    void cancellingTaskInterruptsPendingReads(@TempDir Path tempDir) throws IOException, InterruptedException {
+        List<BibEntry> entries = createEntriesWithFiles(tempDir, 3);
+        CountDownLatch readsInterrupted = new CountDownLatch(2);
+        BiFunction<String, Path, List<Document>> pdfReader = (fileLink, path) -> {
+            blockUntilInterrupted(readsInterrupted);
+            return List.of(createPage(fileLink));
+        };
+        BackgroundTask<?> task = mock(BackgroundTask.class);
+        // Cancelled after the first two files have been submitted
+        when(task.isCancelled()).thenReturn(false, false, true);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            LuceneIndexer slowIndexer = new DefaultLinkedFilesIndexer(createContext(tempDir), filePreferences, pdfReader, executor, 2, Duration.ofSeconds(120));
+            slowIndexer.addToIndex(entries, task);
+
+            assertTrue(readsInterrupted.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(), getIndexedFiles(slowIndexer));
+            slowIndexer.closeAndWait();
+        }
+    }
+
+    private BibDatabaseContext createContext(Path fileDirectory) {
+        BibDatabaseContext context = mock(BibDatabaseContext.class);
+        when(context.getDatabasePath()).thenReturn(Optional.of(fileDirectory.resolve("library.bib")));
+        when(context.getFileDirectories(Mockito.any())).thenReturn(List.of(fileDirectory));
+        when(context.getFulltextIndexPath()).thenReturn(fileDirectory.resolve("index"));
+        return context;
+    }
+
+    /**
+     * Creates an entry for each of the files "0.pdf", "1.pdf", ... in the given directory
+     */
+    private static List<BibEntry> createEntriesWithFiles(Path directory, int numberOfFiles) throws IOException {
+        List<BibEntry> entries = new ArrayList<>();
+        for (int i = 0; i < numberOfFiles; i++) {
+            String fileName = i + ".pdf";
+            Files.createFile(directory.resolve(fileName));
+            entries.add(new BibEntry(StandardEntryType.Article)
+                    .withFiles(List.of(new LinkedFile("", fileName, StandardFileType.PDF.getName()))));
+        }
+        return entries;
+    }
+
+    private static Document createPage(String fileLink) {
+        Document page = new Document();
+        page.add(new StringField(LinkedFilesConstants.PATH.toString(), fileLink, Field.Store.YES));
+        return page;
+    }
+
+    private static List<String> getIndexedFiles(LuceneIndexer indexer) throws IOException {
+        indexer.getSearcherManager().maybeRefreshBlocking();
+        List<String> files = new ArrayList<>();
+        try (IndexReader reader = indexer.getSearcherManager().acquire().getIndexReader()) {
+            StoredFields storedFields = reader.storedFields();
+            for (int i = 0; i < reader.maxDoc(); i++) {
+                files.add(storedFields.document(i).get(LinkedFilesConstants.PATH.toString()));
+            }
+        }
+        return files;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void blockUntilInterrupted(CountDownLatch interrupted) {
+        try {
+            new CountDownLatch(1).await();
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+        }
+    }
 }
@@ -0,0 +1,156 @@
+package org.jabref.logic.search.retrieval;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javafx.beans.property.BooleanProperty;
+
+import org.jabref.logic.FilePreferences;
+import org.jabref.logic.pdf.PdfTextCache;
+import org.jabref.logic.preferences.CliPreferences;
+import org.jabref.logic.search.DatabaseSearcher;
+import org.jabref.logic.search.PostgreServer;
+import org.jabref.logic.util.CurrentThreadTaskExecutor;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryPreferences;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.model.search.SearchFlags;
+import org.jabref.model.search.query.SearchQuery;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs a corpus of queries with the in-memory backend and with the PostgreSQL backend and expects the same matches.
+ */
+class InMemoryBibFieldsSearcherTest {
+    private static final BibEntry EINSTEIN = new BibEntry(StandardEntryType.Article)
+            .withField(StandardField.AUTHOR, "Albert Einstein")
+            .withField(StandardField.TITLE, "Zur Elektrodynamik bewegter K{\\\"o}rper")
+            .withField(StandardField.YEAR, "1905")
+            .withField(StandardField.KEYWORDS, "physics, relativity")
+            .withField(StandardField.GROUPS, "Classics");
+    private static final BibEntry SMITH = new BibEntry(StandardEntryType.Book)
+            .withCitationKey("Smith2020")
+            .withField(StandardField.AUTHOR, "Smith, John and Doe, Jane")
+            .withField(StandardField.TITLE, "Machine Learning")
+            .withField(StandardField.DATE, "2020-05-01")
+            .withField(StandardField.KEYWORDS, "ml");
+    private static final BibEntry MUELLER = new BibEntry(StandardEntryType.InProceedings)
+            .withField(StandardField.EDITOR, "M{\\\"u}ller, Hans")
+            .withField(StandardField.TITLE, "Graph Theory")
+            .withField(StandardField.YEAR, "1999")
+            .withField(StandardField.NOTE, "Case SENSITIVE")
+            .withField(StandardField.GROUPS, "Math, Physics");
+    private static final BibEntry CHILD = new BibEntry(StandardEntryType.InBook)
+            .withCitationKey("Child")
+            .withField(StandardField.CROSSREF, "Smith2020")
+            .withField(StandardField.TITLE, "Child Title");
+
+    private static PostgreServer postgreServer;
+
+    private final CliPreferences preferences = mock(CliPreferences.class);
+    private final FilePreferences filePreferences = mock(FilePreferences.class);
+    private final BibEntryPreferences bibEntryPreferences = mock(BibEntryPreferences.class);
+    private BibDatabaseContext databaseContext;
+
+    @TempDir
+    private Path indexDir;
+
+    @BeforeAll
+    static void startServer() {
+        postgreServer = new PostgreServer();
+    }
+
+    @AfterAll
+    static void shutdownServer() {
+        postgreServer.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(preferences.getBibEntryPreferences()).thenReturn(bibEntryPreferences);
+        when(preferences.getFilePreferences()).thenReturn(filePreferences);
+        when(bibEntryPreferences.getKeywordSeparator()).thenReturn(',');
+        when(filePreferences.shouldFulltextIndexLinkedFiles()).thenReturn(false);
+        when(filePreferences.fulltextIndexLinkedFilesProperty()).thenReturn(mock(BooleanProperty.class));
+
+        databaseContext = spy(new BibDatabaseContext());
+        when(databaseContext.getFulltextIndexPath()).thenReturn(indexDir);
+        databaseContext.getDatabase().insertEntries(List.of(EINSTEIN, SMITH, MUELLER, CHILD, new BibEntry()));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void findsSameEntriesAsPostgres(SearchQuery query) throws IOException {
+        Set<BibEntry> postgresMatches = Set.copyOf(new DatabaseSearcher(query, databaseContext, new CurrentThreadTaskExecutor(), preferences, postgreServer, new PdfTextCache(Optional.empty())).getMatches());
+        Set<BibEntry> inMemoryMatches = Set.copyOf(new DatabaseSearcher(query, databaseContext, preferences).getMatches());
+
+        assertEquals(postgresMatches, inMemoryMatches);
+    }
+
+    private static Stream<SearchQuery> findsSameEntriesAsPostgres() {
+        return Stream.of(
+                new SearchQuery("einstein"),
+                new SearchQuery("physics"),
+                new SearchQuery("körper"),
+                new SearchQuery("Einstein", EnumSet.of(SearchFlags.CASE_SENSITIVE)),
+                new SearchQuery("einstein", EnumSet.of(SearchFlags.CASE_SENSITIVE)),
+                new SearchQuery("^zur", EnumSet.of(SearchFlags.REGULAR_EXPRESSION)),
+                new SearchQuery("author = einstein"),
+                new SearchQuery("author =! einstein"),
+                new SearchQuery("author == \"Albert Einstein\""),
+                new SearchQuery("author == einstein"),
+                new SearchQuery("author == \"Jane Doe\""),
+                new SearchQuery("author !== \"Jane Doe\""),
+                new SearchQuery("editor = müller"),
+                new SearchQuery("title = körper"),
+                new SearchQuery("title =~ \"^machine\""),
+                new SearchQuery("title =~! \"^machine\""),
+                new SearchQuery("title !=~ \"^machine\""),
+                new SearchQuery("title = \"\""),
+                new SearchQuery("title != \"\""),
+                new SearchQuery("keywords == relativity"),
+                new SearchQuery("anykeyword == ml"),
+                new SearchQuery("groups == Physics"),
+                new SearchQuery("anyfield == 1999"),
+                new SearchQuery("note ==! \"Case SENSITIVE\""),
+                new SearchQuery("note ==! \"case sensitive\""),
+                new SearchQuery("key = smith2020"),
+                new SearchQuery("crossref = smith"),
+                new SearchQuery("entrytype = book"),
+                new SearchQuery("year = 2020"),
+                new SearchQuery("NOT author = einstein"),
+                new SearchQuery("author != einstein"),
+                new SearchQuery("author = einstein OR title = graph"),
+                new SearchQuery("author = einstein AND year = 1905"),
+                new SearchQuery("author = smith year = 2020"),
+                new SearchQuery("(author = doe OR author = einstein) AND NOT year = 1905"),
+                new SearchQuery("unknownfield = value"),
+                new SearchQuery("unknownfield != value"));
+    }
+
+    @Test
+    void findsEntriesWithoutServer() {
+        List<BibEntry> matches = new DatabaseSearcher(new SearchQuery("author = einstein OR title = graph"), databaseContext, preferences).getMatches();
+
+        assertEquals(Set.of(EINSTEIN, MUELLER), Set.copyOf(matches));
+    }
+}
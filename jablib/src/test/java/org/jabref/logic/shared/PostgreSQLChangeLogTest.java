@@ -0,0 +1,200 @@
+package org.jabref.logic.shared;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import javafx.collections.FXCollections;
+
+import org.jabref.logic.bibtex.FieldPreferences;
+import org.jabref.logic.citationkeypattern.GlobalCitationKeyPatterns;
+import org.jabref.logic.shared.exception.InvalidDBMSConnectionPropertiesException;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.model.util.DummyFileUpdateMonitor;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the incremental synchronization based on the change log using the embedded PostgreSQL server
+ */
+class PostgreSQLChangeLogTest {
+    private static EmbeddedPostgres pg;
+
+    private final GlobalCitationKeyPatterns pattern = GlobalCitationKeyPatterns.fromPattern("[auth][year]");
+    private BibDatabaseContext clientContextA;
+    private BibDatabaseContext clientContextB;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        pg = EmbeddedPostgres.builder().start();
+    }
+
+    @AfterAll
+    static void stopServer() throws IOException {
+        pg.close();
+    }
+
+    private static DBMSConnection getConnection() throws SQLException, InvalidDBMSConnectionPropertiesException {
+        return new DBMSConnection(new DBMSConnectionPropertiesBuilder()
+                .setType(DBMSType.POSTGRESQL)
+                .setHost("localhost")
+                .setPort(pg.getPort())
+                .setDatabase("postgres")
+                .setUser("postgres")
+                .setPassword("postgres")
+                .setUseSSL(false)
+                .createDBMSConnectionProperties());
+    }
+
+    private BibDatabaseContext openClient(DBMSConnection connection) throws DatabaseNotSupportedException {
+        FieldPreferences fieldPreferences = mock(FieldPreferences.class);
+        when(fieldPreferences.getNonWrappableFields()).thenReturn(FXCollections.observableArrayList());
+
+        BibDatabaseContext context = new BibDatabaseContext();
+        DBMSSynchronizer synchronizer = new DBMSSynchronizer(context, ',', fieldPreferences, pattern, new DummyFileUpdateMonitor());
+        context.convertToSharedDatabase(synchronizer);
+        context.getDBMSSynchronizer().openSharedDatabase(connection);
+        return context;
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException, InvalidDBMSConnectionPropertiesException, DatabaseNotSupportedException {
+        DBMSConnection connectionA = getConnection();
+        TestManager.clearTables(connectionA);
+        clientContextA = openClient(connectionA);
+        clientContextB = openClient(getConnection());
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientContextA.getDBMSSynchronizer().closeSharedDatabase();
+        clientContextB.getDBMSSynchronizer().closeSharedDatabase();
+    }
+
+    private BibEntry getBibEntryExample() {
+        return new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Wirthlin, Michael J")
+                .withField(StandardField.TITLE, "The nano processor")
+                .withCitationKey("nanoproc1994");
+    }
+
+    private DBMSSynchronizer getSynchronizerB() {
+        return (DBMSSynchronizer) clientContextB.getDBMSSynchronizer();
+    }
+
+    private static long getLatestChangeSequence() throws SQLException, InvalidDBMSConnectionPropertiesException {
+        try (Connection connection = getConnection().getConnection();
+             ResultSet resultSet = connection.createStatement().executeQuery("SELECT MAX(\"SEQUENCE\") FROM jabref.\"CHANGELOG\"")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Test
+    void insertionIsRecordedInChangeLog() {
+        DBMSProcessor processor = getSynchronizerB().getDBProcessor();
+        long positionBefore = processor.getChangeLogPosition();
+
+        BibEntry entry = getBibEntryExample();
+        clientContextA.getDatabase().insertEntry(entry);
+
+        Optional<List<SharedEntryChange>> changes = processor.getEntryChangesSince(positionBefore);
+        assertTrue(changes.isPresent());
+        assertEquals(List.of(entry.getSharedBibEntryData().getSharedID()),
+                changes.get().stream().map(SharedEntryChange::sharedID).distinct().toList());
+    }
+
+    @Test
+    void incrementalPullAppliesInsertionUpdateAndDeletion() throws SQLException, InvalidDBMSConnectionPropertiesException {
+        BibEntry entry = getBibEntryExample();
+        clientContextA.getDatabase().insertEntry(entry);
+        getSynchronizerB().pullEntryChanges(getLatestChangeSequence());
+        assertEquals(clientContextA.getDatabase().getEntries(), clientContextB.getDatabase().getEntries());
+
+        entry.setField(StandardField.YEAR, "1994");
+        getSynchronizerB().pullEntryChanges(getLatestChangeSequence());
+        assertEquals(clientContextA.getDatabase().getEntries(), clientContextB.getDatabase().getEntries());
+
+        clientContextA.getDatabase().removeEntry(entry);
+        getSynchronizerB().pullEntryChanges(getLatestChangeSequence());
+        assertTrue(clientContextB.getDatabase().getEntries().isEmpty());
+    }
+
+    @Test
+    void incrementalSynchronizationCatchesUpOnMissedChanges() {
+        BibEntry first = getBibEntryExample();
+        BibEntry second = getBibEntryExample().withCitationKey("second");
+        clientContextA.getDatabase().insertEntry(first);
+        clientContextA.getDatabase().insertEntry(second);
+        first.setField(StandardField.YEAR, "1994");
+
+        getSynchronizerB().synchronizeLocalDatabaseIncrementally();
+
+        assertEquals(clientContextA.getDatabase().getEntries(), clientContextB.getDatabase().getEntries());
+    }
+
+    @Test
+    void prunedChangesAreSynchronizedFully() throws SQLException, InvalidDBMSConnectionPropertiesException {
+        PostgreSQLProcessor processor = (PostgreSQLProcessor) getSynchronizerB().getDBProcessor();
+        long positionBefore = processor.getChangeLogPosition();
+        BibEntry entry = getBibEntryExample();
+        clientContextA.getDatabase().insertEntry(entry);
+
+        try (Connection connection = getConnection().getConnection()) {
+            connection.createStatement().executeUpdate("UPDATE jabref.\"CHANGELOG\" SET \"CREATED\" = now() - interval '8 days'");
+        }
+        processor.pruneChangeLog();
+
+        assertEquals(0, getLatestChangeSequence());
+        assertEquals(Optional.empty(), processor.getEntryChangesSince(positionBefore));
+        getSynchronizerB().synchronizeLocalDatabaseIncrementally();
+        assertEquals(clientContextA.getDatabase().getEntries(), clientContextB.getDatabase().getEntries());
+        assertTrue(processor.getEntryChangesSince(processor.getChangeLogPosition()).isPresent());
+    }
+
+    @Test
+    void incrementalPullAppliesChangeCommittedAfterLaterChange() throws Exception {
+        BibEntry first = getBibEntryExample();
+        clientContextA.getDatabase().insertEntry(first);
+        getSynchronizerB().synchronizeLocalDatabaseIncrementally();
+        int sharedID = first.getSharedBibEntryData().getSharedID();
+
+        // The update gets the lower sequence number, but is committed after the insertion below
+        try (Connection connection = getConnection().getConnection()) {
+            connection.setAutoCommit(false);
+            connection.createStatement().executeUpdate(
+                    "UPDATE jabref.\"ENTRY\" SET \"VERSION\" = \"VERSION\" + 1 WHERE \"SHARED_ID\" = " + sharedID);
+            ResultSet resultSet = connection.createStatement().executeQuery("SELECT MAX(\"SEQUENCE\") FROM jabref.\"CHANGELOG\"");
+            resultSet.next();
+            long updateSequence = resultSet.getLong(1);
+
+            clientContextA.getDatabase().insertEntry(getBibEntryExample().withCitationKey("second"));
+            getSynchronizerB().pullEntryChanges(getLatestChangeSequence());
+
+            connection.commit();
+            getSynchronizerB().pullEntryChanges(updateSequence);
+        }
+
+        BibEntry pulled = clientContextB.getDatabase().getEntries().stream()
+                                        .filter(entry -> entry.getSharedBibEntryData().getSharedID() == sharedID)
+                                        .findFirst()
+                                        .orElseThrow();
+        assertEquals(first.getSharedBibEntryData().getVersion() + 1, pulled.getSharedBibEntryData().getVersion());
+    }
+}
@@ -0,0 +1,71 @@
+package org.jabref.logic.util.io;
+
+import java.io.StringWriter;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndentingXMLStreamWriterTest {
+
+    private StringWriter output;
+    private XMLStreamWriter writer;
+
+    @BeforeEach
+    void setUp() throws XMLStreamException {
+        output = new StringWriter();
+        writer = new IndentingXMLStreamWriter(XMLOutputFactory.newFactory().createXMLStreamWriter(output), 2);
+    }
+
+    @Test
+    void indentsNestedElements() throws XMLStreamException {
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeStartElement("records");
+        writer.writeStartElement("record");
+        writer.writeStartElement("title");
+        writer.writeCharacters("A title");
+        writer.writeEndElement();
+        writer.writeEmptyElement("part");
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndDocument();
+
+        assertEquals("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <records>
+                  <record>
+                    <title>A title</title>
+                    <part/>
+                  </record>
+                </records>
+                """, output.toString());
+    }
+
+    @Test
+    void keepsWhitespaceOfText() throws XMLStreamException {
+        writer.writeStartElement("note");
+        writer.writeCharacters(" two  spaces ");
+        writer.writeEndElement();
+        writer.writeEndDocument();
+
+        assertEquals("<note> two  spaces </note>\n", output.toString());
+    }
+
+    @Test
+    void closesOpenElementsAtEndOfDocument() throws XMLStreamException {
+        writer.writeStartElement("records");
+        writer.writeStartElement("record");
+        writer.writeEndDocument();
+
+        assertEquals("""
+                <records>
+                  <record></record>
+                </records>
+                """, output.toString());
+    }
+}
@@ -1108,21 +1108,20 @@ public class AuthorListTest {
     }
 
     @Test
-    void parseGarbageCollectAuthorListForUnreachableKey() {
+    void parseRetrieveCachedAuthorListForEqualString() {
         final String uniqueAuthorName = "Fleur Hornbach";
         // Note that "new String()" is needed, uniqueAuthorName is a reference to a String literal
         AuthorList uniqueAuthor = AuthorList.parse(new String(uniqueAuthorName));
-        System.gc();
-        assertNotSame(uniqueAuthor, AuthorList.parse(uniqueAuthorName));
+        assertSame(uniqueAuthor, AuthorList.parse(uniqueAuthorName));
     }
 
     @Test
-    void parseGarbageCollectUnreachableInstitution() {
-        final String uniqueInstitutionName = "{Unique LLC}";
-        // Note that "new String()" is needed, uniqueInstitutionName is a reference to a String literal
-        AuthorList uniqueInstitution = AuthorList.parse(new String(uniqueInstitutionName));
-        System.gc();
-        assertNotSame(uniqueInstitution, AuthorList.parse(uniqueInstitutionName));
+    void parseCountsCacheHits() {
+        final String uniqueAuthorName = "Hildegard Quast";
+        AuthorList.parse(uniqueAuthorName);
+        long hitCount = AuthorList.getParseCacheStats().hitCount();
+        AuthorList.parse(uniqueAuthorName);
+        assertTrue(AuthorList.getParseCacheStats().hitCount() > hitCount);
     }
 
     /**
@@ -8,16 +8,20 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 
 import org.jabref.http.JabrefMediaType;
 import org.jabref.http.dto.BibEntryDTO;
 import org.jabref.http.server.services.FilesToServe;
+import org.jabref.http.server.services.LibraryCache;
 import org.jabref.logic.citationstyle.JabRefItemDataProvider;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.importer.fileformat.BibtexImporter;
 import org.jabref.logic.preferences.CliPreferences;
 import org.jabref.logic.util.io.BackupFileUtil;
 import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryTypesManager;
 import org.jabref.model.util.DummyFileUpdateMonitor;
 
@@ -30,7 +34,9 @@ import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
 import org.jspecify.annotations.Nullable;
@@ -50,25 +56,57 @@ public class LibraryResource {
     @Inject
     Gson gson;
 
+    @Inject
+    LibraryCache libraryCache;
+
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public String getJson(@PathParam("id") String id) throws IOException {
-        ParserResult parserResult = getParserResult(id);
-        BibEntryTypesManager entryTypesManager = Injector.instantiateModelOrService(BibEntryTypesManager.class);
-        List<BibEntryDTO> list = parserResult.getDatabase().getEntries().stream()
-                                             .peek(bibEntry -> bibEntry.getSharedBibEntryData().setSharedID(Objects.hash(bibEntry)))
-                                             .map(entry -> new BibEntryDTO(entry, parserResult.getDatabaseContext().getMode(), preferences.getFieldPreferences(), entryTypesManager))
-                                             .toList();
-        return gson.toJson(list);
+    public Response getJson(@PathParam("id") String id, @Context Request request) {
+        return getRepresentation(id, MediaType.APPLICATION_JSON, request, parserResult -> {
+            BibEntryTypesManager entryTypesManager = Injector.instantiateModelOrService(BibEntryTypesManager.class);
+            // The parsed library is shared between requests, thus the shared ids are set on copies of the entries
+            List<BibEntryDTO> list = parserResult.getDatabase().getEntries().stream()
+                                                 .map(bibEntry -> {
+                                                     BibEntry copy = (BibEntry) bibEntry.clone();
+                                                     copy.getSharedBibEntryData().setSharedID(Objects.hash(bibEntry));
+                                                     return copy;
+                                                 })
+                                                 .map(entry -> new BibEntryDTO(entry, parserResult.getDatabaseContext().getMode(), preferences.getFieldPreferences(), entryTypesManager))
+                                                 .toList();
+            return gson.toJson(list);
+        });
     }
 
     @GET
     @Produces(JabrefMediaType.JSON_CSL_ITEM)
-    public String getClsItemJson(@PathParam("id") String id) throws IOException {
-        ParserResult parserResult = getParserResult(id);
-        JabRefItemDataProvider jabRefItemDataProvider = new JabRefItemDataProvider();
-        jabRefItemDataProvider.setData(parserResult.getDatabaseContext(), new BibEntryTypesManager());
-        return jabRefItemDataProvider.toJson();
+    public Response getClsItemJson(@PathParam("id") String id, @Context Request request) {
+        return getRepresentation(id, JabrefMediaType.JSON_CSL_ITEM, request, parserResult -> {
+            JabRefItemDataProvider jabRefItemDataProvider = new JabRefItemDataProvider();
+            jabRefItemDataProvider.setData(parserResult.getDatabaseContext(), Injector.instantiateModelOrService(BibEntryTypesManager.class));
+            return jabRefItemDataProvider.toJson();
+        });
+    }
+
+    /// Serves the serialization of the library from the {@link LibraryCache}.
+    /// If the client already has the current serialization (matching <code>If-None-Match</code> header), <code>304 Not Modified</code> is returned.
+    private Response getRepresentation(String id, String mediaType, Request request, Function<ParserResult, String> serializer) {
+        Optional<java.nio.file.Path> library = "demo".equals(id) ? Optional.empty() : Optional.of(getLibraryPath(id));
+        LibraryCache.CachedLibrary cachedLibrary;
+        try {
+            cachedLibrary = libraryCache.get(id, library, () -> getParserResult(library));
+        } catch (IOException e) {
+            LOGGER.warn("Could not read library {}", id, e);
+            throw new InternalServerErrorException("Could not read library", e);
+        }
+
+        LibraryCache.Representation representation = cachedLibrary.getRepresentation(mediaType, serializer);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(representation.entityTag());
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(representation.body())
+                       .tag(representation.entityTag())
+                       .build();
     }
 
     @GET
@@ -109,22 +147,21 @@ public class LibraryResource {
                           .orElseThrow(NotFoundException::new);
     }
 
-    private ParserResult getParserResult(String id) throws IOException {
+    private ParserResult getParserResult(Optional<java.nio.file.Path> library) throws IOException {
         BibtexImporter bibtexImporter = new BibtexImporter(preferences.getImportFormatPreferences(), new DummyFileUpdateMonitor());
 
-        if ("demo".equals(id)) {
+        if (library.isEmpty()) {
             try (InputStream chocolateBibInputStream = getChocolateBibAsStream()) {
                 BufferedReader reader = new BufferedReader(new InputStreamReader(chocolateBibInputStream, StandardCharsets.UTF_8));
                 return bibtexImporter.importDatabase(reader);
             }
         }
 
-        java.nio.file.Path library = getLibraryPath(id);
         ParserResult parserResult;
         try {
-            parserResult = bibtexImporter.importDatabase(library);
+            parserResult = bibtexImporter.importDatabase(library.get());
         } catch (IOException e) {
-            LOGGER.warn("Could not find open library file {}", library, e);
+            LOGGER.warn("Could not find open library file {}", library.get(), e);
             throw new InternalServerErrorException("Could not parse library", e);
         }
         return parserResult;
@@ -0,0 +1,78 @@
+package org.jabref.http.server.services;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jabref.logic.importer.ParserResult;
+
+import com.google.common.hash.Hashing;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.core.EntityTag;
+
+/// Keeps the parsed libraries and their serializations, so that requests for an unchanged library neither parse nor serialize it again.
+///
+/// A library is parsed again if the modification time or the size of its file changed.
+/// Concurrent requests for a changed library may parse it concurrently; the last one wins.
+@Singleton
+public class LibraryCache {
+    private final Map<String, CachedLibrary> libraries = new ConcurrentHashMap<>();
+
+    /// @param id      the id of the library
+    /// @param library the file of the library, or empty if the library never changes (such as the demo library)
+    /// @param loader  parses the library
+    public CachedLibrary get(String id, Optional<Path> library, LibraryLoader loader) throws IOException {
+        Optional<FileStamp> stamp = library.isPresent() ? Optional.of(FileStamp.of(library.get())) : Optional.empty();
+        CachedLibrary cachedLibrary = libraries.get(id);
+        if (cachedLibrary != null && cachedLibrary.stamp.equals(stamp)) {
+            return cachedLibrary;
+        }
+
+        cachedLibrary = new CachedLibrary(stamp, loader.load());
+        libraries.put(id, cachedLibrary);
+        return cachedLibrary;
+    }
+
+    @FunctionalInterface
+    public interface LibraryLoader {
+        ParserResult load() throws IOException;
+    }
+
+    public static class CachedLibrary {
+        private final Optional<FileStamp> stamp;
+        private final ParserResult parserResult;
+        private final Map<String, Representation> representations = new ConcurrentHashMap<>();
+
+        private CachedLibrary(Optional<FileStamp> stamp, ParserResult parserResult) {
+            this.stamp = stamp;
+            this.parserResult = parserResult;
+        }
+
+        /// @param mediaType  the media type of the serialization
+        /// @param serializer serializes the library, called only once per media type
+        public Representation getRepresentation(String mediaType, Function<ParserResult, String> serializer) {
+            return representations.computeIfAbsent(mediaType, _ -> Representation.of(serializer.apply(parserResult)));
+        }
+    }
+
+    /// A serialization of a library, together with its entity tag for conditional requests.
+    public record Representation(String body, EntityTag entityTag) {
+        static Representation of(String body) {
+            return new Representation(body, new EntityTag(Hashing.sha256().hashString(body, StandardCharsets.UTF_8).toString()));
+        }
+    }
+
+    private record FileStamp(FileTime lastModifiedTime, long size) {
+        static FileStamp of(Path file) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileStamp(attributes.lastModifiedTime(), attributes.size());
+        }
+    }
+}